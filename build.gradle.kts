@@ -27,15 +27,34 @@ repositories {
     mavenCentral()
 }
 
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-api:2.8.17")
     implementation("org.springframework.ai:spring-ai-starter-mcp-server-webmvc")
     implementation("com.jayway.jsonpath:json-path:3.0.0")
+    implementation("org.apache.httpcomponents.client5:httpclient5")
+
+    compileOnly("org.springframework.boot:spring-boot-actuator-autoconfigure")
+    compileOnly("org.springframework.security:spring-security-core")
 
     annotationProcessor("org.springframework.boot:spring-boot-configuration-processor")
 
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("org.springframework.boot:spring-boot-starter-actuator")
+    testImplementation("org.springframework.security:spring-security-core")
+    testImplementation("org.springframework.security:spring-security-web")
+
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhImplementation"("org.springframework.security:spring-security-core")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 dependencyManagement {
@@ -53,6 +72,33 @@ tasks.withType<JavaCompile> {
     options.release.set(17)
 }
 
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks in src/jmh/java. Pass -PjmhInclude=<regex> to select benchmarks."
+    group = "verification"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args(providers.gradleProperty("jmhInclude").orElse(".*").get())
+}
+
+tasks.register<JavaExec>("generateMcpCatalog") {
+    description = "Generates a prebuilt MCP tool catalog from an OpenAPI document. " +
+            "Pass -PmcpCatalogSpec=<file>, optionally -PmcpCatalogConfig=<application.yml> and -PmcpCatalogOutput=<file>."
+    group = "build"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("io.github.neo1228.swagger.mcp.SwaggerMcpCatalogGenerator")
+    val spec = providers.gradleProperty("mcpCatalogSpec")
+    val config = providers.gradleProperty("mcpCatalogConfig")
+    val output = providers.gradleProperty("mcpCatalogOutput")
+        .orElse(layout.buildDirectory.file("generated/swagger-mcp/META-INF/swagger-mcp/catalog.json").map { it.asFile.path })
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOfNotNull(
+            "--spec=" + spec.get(),
+            config.orNull?.let { "--config=$it" },
+            "--output=" + output.get()
+        )
+    })
+}
+
 tasks.register("verifyProjectVersion") {
     doLast {
         val currentVersion = project.version.toString()
@@ -73,6 +119,11 @@ tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar") {
     enabled = false
 }
 
+// A library with several CLI entry points (catalog generator, audit journal reader) has no single main class.
+tasks.named("resolveMainClassName") {
+    enabled = false
+}
+
 tasks.named<Jar>("jar") {
     enabled = true
     archiveClassifier.set("")
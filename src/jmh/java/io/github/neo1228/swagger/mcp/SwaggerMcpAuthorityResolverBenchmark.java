@@ -0,0 +1,116 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-call cost of a role check through {@link SwaggerMcpAuthorityResolver} with the previous
+ * reflective lookup ({@code Class.forName} plus {@code getMethod}/{@code invoke} per object).
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhInclude=SwaggerMcpAuthorityResolverBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SwaggerMcpAuthorityResolverBenchmark {
+
+    private static final Set<String> REQUIRED_ROLES = Set.of("ROLE_API_ADMIN");
+
+    @Param({"2", "20"})
+    public int authorities;
+
+    private SwaggerMcpAuthorityResolver resolver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<SimpleGrantedAuthority> granted = new ArrayList<>();
+        for (int i = 0; i < authorities - 1; i++) {
+            granted.add(new SimpleGrantedAuthority("ROLE_USER_" + i));
+        }
+        granted.add(new SimpleGrantedAuthority("ROLE_API_ADMIN"));
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken("user", "n/a", granted));
+        resolver = SwaggerMcpAuthorityResolver.detect(getClass().getClassLoader());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean resolver() {
+        return resolver.hasAnyAuthority(REQUIRED_ROLES);
+    }
+
+    @Benchmark
+    public boolean reflectiveLookup() {
+        Set<String> current = reflectiveAuthorities();
+        return !current.isEmpty() && REQUIRED_ROLES.stream().anyMatch(current::contains);
+    }
+
+    /**
+     * The lookup as it was before the resolver SPI.
+     */
+    private static Set<String> reflectiveAuthorities() {
+        try {
+            Class<?> holderClass = Class.forName("org.springframework.security.core.context.SecurityContextHolder");
+            Method getContext = holderClass.getMethod("getContext");
+            Object context = getContext.invoke(null);
+            if (context == null) {
+                return Collections.emptySet();
+            }
+            Method getAuthentication = context.getClass().getMethod("getAuthentication");
+            Object authentication = getAuthentication.invoke(context);
+            if (authentication == null) {
+                return Collections.emptySet();
+            }
+            Method getAuthorities = authentication.getClass().getMethod("getAuthorities");
+            Object authoritiesObj = getAuthorities.invoke(authentication);
+            if (!(authoritiesObj instanceof Collection<?> authorities)) {
+                return Collections.emptySet();
+            }
+            Set<String> authoritySet = new LinkedHashSet<>();
+            for (Object authority : authorities) {
+                if (authority == null) {
+                    continue;
+                }
+                Method getAuthority = authority.getClass().getMethod("getAuthority");
+                Object value = getAuthority.invoke(authority);
+                if (value != null) {
+                    authoritySet.add(String.valueOf(value));
+                }
+            }
+            return authoritySet;
+        }
+        catch (Exception ex) {
+            return Collections.emptySet();
+        }
+    }
+}
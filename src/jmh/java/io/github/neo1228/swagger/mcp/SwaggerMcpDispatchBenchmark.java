@@ -0,0 +1,91 @@
+package io.github.neo1228.swagger.mcp;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loopback HTTP dispatch against in-process {@code DispatcherServlet} dispatch for one generated GET tool.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhInclude=SwaggerMcpDispatchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@Threads(8)
+public class SwaggerMcpDispatchBenchmark {
+
+    @Param({"LOOPBACK", "IN_PROCESS"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private SwaggerMcpServerAdapter adapter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkApp.class)
+                .properties(
+                        "server.port=0",
+                        "logging.level.root=WARN",
+                        "spring.ai.mcp.server.protocol=STREAMABLE_HTTP",
+                        "swagger.mcp.execution.mode=" + mode,
+                        "swagger.mcp.security.audit-log-enabled=false"
+                )
+                .run();
+        adapter = context.getBean(SwaggerMcpServerAdapter.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public McpSchema.CallToolResult invokeGeneratedTool() {
+        return adapter.invokeTool("api_getgreeting", Map.of("name", "bench"));
+    }
+
+    @RestController
+    static class GreetingController {
+
+        @GetMapping(path = "/greeting", produces = MediaType.APPLICATION_JSON_VALUE)
+        public Map<String, Object> getGreeting(@RequestParam String name) {
+            return Map.of("message", "Hello " + name, "length", name.length());
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @Import(GreetingController.class)
+    static class BenchmarkApp {
+    }
+}
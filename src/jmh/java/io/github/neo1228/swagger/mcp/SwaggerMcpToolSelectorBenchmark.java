@@ -0,0 +1,166 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the BM25 inverted-index selector with the previous linear overlap scorer on synthetic catalogs.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhInclude=SwaggerMcpToolSelectorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SwaggerMcpToolSelectorBenchmark {
+
+    private static final String[] RESOURCES = {
+            "order", "customer", "invoice", "payment", "shipment", "product", "inventory", "warehouse", "refund",
+            "subscription", "coupon", "review", "account", "address", "carrier", "ticket", "report", "export"
+    };
+    private static final String[] ACTIONS = {"get", "list", "search", "create", "update", "delete", "cancel", "approve"};
+    private static final String[] QUERIES = {
+            "find the invoice for a customer",
+            "cancel shipment 42",
+            "list warehouse inventory levels",
+            "approve refund request",
+            "search product reviews by rating"
+    };
+
+    @Param({"100", "1000", "10000"})
+    public int operations;
+
+    private SwaggerMcpToolSelector indexed;
+    private LinearScanSelector linear;
+    private int queryIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<OpenApiOperationDescriptor> catalog = new ArrayList<>(operations);
+        for (int i = 0; i < operations; i++) {
+            String action = ACTIONS[random.nextInt(ACTIONS.length)];
+            String resource = RESOURCES[random.nextInt(RESOURCES.length)];
+            String parent = RESOURCES[random.nextInt(RESOURCES.length)];
+            String operationId = action + capitalize(resource) + "V" + i;
+            catalog.add(new OpenApiOperationDescriptor(
+                    "api_" + operationId.toLowerCase(Locale.ROOT),
+                    operationId,
+                    "get".equals(action) || "list".equals(action) || "search".equals(action) ? HttpMethod.GET : HttpMethod.POST,
+                    "/v" + (i % 7) + "/" + parent + "s/{id}/" + resource + "s",
+                    capitalize(action) + " " + resource + " records for a " + parent,
+                    List.of(resource, parent),
+                    List.of(),
+                    false,
+                    null,
+                    false
+            ));
+        }
+        indexed = new SwaggerMcpToolSelector();
+        indexed.setCandidates(catalog);
+        linear = new LinearScanSelector(catalog);
+    }
+
+    @Benchmark
+    public List<SwaggerMcpToolSelector.ScoredTool> bm25InvertedIndex() {
+        return indexed.select(nextQuery(), 5);
+    }
+
+    @Benchmark
+    public List<SwaggerMcpToolSelector.ScoredTool> linearOverlapScan() {
+        return linear.select(nextQuery(), 5);
+    }
+
+    private String nextQuery() {
+        queryIndex = (queryIndex + 1) % QUERIES.length;
+        return QUERIES[queryIndex];
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    /**
+     * The selector as it was before the inverted index: scores every candidate and sorts the full list.
+     */
+    static final class LinearScanSelector {
+
+        private static final Pattern SPLIT_PATTERN = Pattern.compile("[^a-zA-Z0-9]+");
+        private final List<Candidate> candidates = new ArrayList<>();
+
+        LinearScanSelector(List<OpenApiOperationDescriptor> operations) {
+            for (OpenApiOperationDescriptor operation : operations) {
+                String searchText = normalize(operation.toolName() + ' ' + operation.operationId() + ' '
+                        + operation.httpMethod() + ' ' + operation.path() + ' ' + operation.description() + ' '
+                        + String.join(" ", operation.tags()));
+                candidates.add(new Candidate(operation, searchText, tokenize(searchText)));
+            }
+        }
+
+        List<SwaggerMcpToolSelector.ScoredTool> select(String query, int topK) {
+            Set<String> queryTokens = tokenize(query);
+            String normalizedQuery = normalize(query);
+            return candidates.stream()
+                    .map(candidate -> new SwaggerMcpToolSelector.ScoredTool(
+                            candidate.operation(),
+                            score(queryTokens, normalizedQuery, candidate)))
+                    .filter(scored -> scored.score() > 0d)
+                    .sorted(Comparator.comparingDouble(SwaggerMcpToolSelector.ScoredTool::score).reversed())
+                    .limit(Math.max(1, topK))
+                    .collect(Collectors.toList());
+        }
+
+        private double score(Set<String> queryTokens, String normalizedQuery, Candidate candidate) {
+            if (candidate.tokens().isEmpty()) {
+                return 0d;
+            }
+            long overlap = queryTokens.stream().filter(candidate.tokens()::contains).count();
+            double overlapScore = queryTokens.isEmpty() ? 0d : (double) overlap / (double) queryTokens.size();
+            double coverageScore = (double) overlap / (double) candidate.tokens().size();
+            double containsScore = normalizedQuery.isEmpty() ? 0d : (candidate.searchText().contains(normalizedQuery) ? 0.45d : 0d);
+            return overlapScore * 0.65d + coverageScore * 0.2d + containsScore;
+        }
+
+        private static Set<String> tokenize(String value) {
+            String normalized = normalize(value);
+            Set<String> tokens = new LinkedHashSet<>();
+            for (String part : SPLIT_PATTERN.split(normalized)) {
+                if (!part.isBlank()) {
+                    tokens.add(part);
+                }
+            }
+            return tokens;
+        }
+
+        private static String normalize(String value) {
+            return value == null ? "" : value.toLowerCase(Locale.ROOT).trim();
+        }
+
+        private record Candidate(OpenApiOperationDescriptor operation, String searchText, Set<String> tokens) {
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package io.github.neo1228.swagger.mcp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limits for upstream dispatch that adapt to observed latency and overload
+ * ({@code swagger.mcp.resilience.adaptive-limit.*}).
+ * <p>
+ * Each limit admits calls while its in-flight count is below the current limit and rejects the rest with the
+ * retryable {@link SwaggerMcpErrorCode#CONCURRENCY_LIMIT_EXCEEDED} instead of queueing them. Every completed call feeds
+ * its round-trip time back: {@code AIMD} grows the limit by one while it is in use and multiplies it by
+ * {@code backoff-ratio} on a dispatch failure or a {@code 429}/{@code 503}/{@code 504} response; {@code GRADIENT}
+ * additionally shrinks it as latency rises above {@code rtt-tolerance} times the minimum observed round trip, which
+ * keeps upstream latency close to that minimum under overload. The minimum is re-probed every
+ * {@code min-rtt-probe-interval} samples so a slower baseline is eventually accepted. Limits are global, per tool or
+ * both ({@code scope}); per-tool limits are created on first use with the settings current at that time.
+ */
+public class SwaggerMcpAdaptiveLimiter {
+
+    static final String GLOBAL = "global";
+
+    private static final Token NO_TOKEN = new Token(List.of());
+
+    private final SwaggerMcpProperties properties;
+    private final ConcurrentMap<String, Limit> limits = new ConcurrentHashMap<>();
+
+    public SwaggerMcpAdaptiveLimiter(SwaggerMcpProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Admits a call through every applicable limit or throws {@link SwaggerMcpToolException}. The returned token
+     * must be completed exactly once with the outcome of the upstream exchange.
+     */
+    Token acquire(OpenApiOperationDescriptor operation) {
+        SwaggerMcpProperties.AdaptiveLimit settings = properties.getResilience().getAdaptiveLimit();
+        if (!settings.isEnabled()) {
+            return NO_TOKEN;
+        }
+        SwaggerMcpProperties.AdaptiveLimitScope scope = settings.getScope();
+        List<Limit> applicable = new ArrayList<>(2);
+        if (scope != SwaggerMcpProperties.AdaptiveLimitScope.OPERATION) {
+            applicable.add(limits.computeIfAbsent(GLOBAL, name -> new Limit(name, settings)));
+        }
+        if (scope != SwaggerMcpProperties.AdaptiveLimitScope.GLOBAL) {
+            applicable.add(limits.computeIfAbsent(
+                    "tool:" + operation.toolName(), name -> new Limit(name, settings)));
+        }
+        List<Sample> acquired = new ArrayList<>(applicable.size());
+        for (Limit limit : applicable) {
+            Sample sample = limit.tryAcquire();
+            if (sample == null) {
+                acquired.forEach(Sample::ignore);
+                throw limit.reject();
+            }
+            acquired.add(sample);
+        }
+        return new Token(acquired);
+    }
+
+    /**
+     * Current limit, in-flight count, minimum round trip and rejections per limit ({@code global} or
+     * {@code tool:<name>}).
+     */
+    public Map<String, Gauge> gauges() {
+        Map<String, Gauge> gauges = new TreeMap<>();
+        limits.forEach((name, limit) -> gauges.put(name, limit.gauge()));
+        return gauges;
+    }
+
+    /**
+     * Whether an upstream response signals overload rather than a problem with the request itself.
+     */
+    static boolean isOverloadStatus(int status) {
+        return status == 429 || status == 503 || status == 504;
+    }
+
+    public record Gauge(int limit, int inFlight, long minRttMicros, long rejected) {
+    }
+
+    /**
+     * Outcome callback for one admitted call; only the first completion counts.
+     */
+    static final class Token {
+
+        private final List<Sample> samples;
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Token(List<Sample> samples) {
+            this.samples = samples;
+        }
+
+        /** The upstream answered; overload statuses count as drops. */
+        void onResponse(int status) {
+            if (isOverloadStatus(status)) {
+                onDropped();
+            }
+            else if (completed.compareAndSet(false, true)) {
+                samples.forEach(Sample::success);
+            }
+        }
+
+        /** Dispatch failed or the upstream signalled overload. */
+        void onDropped() {
+            if (completed.compareAndSet(false, true)) {
+                samples.forEach(Sample::dropped);
+            }
+        }
+
+        /** The call ended without a meaningful latency sample, e.g. it was interrupted. */
+        void onIgnore() {
+            if (completed.compareAndSet(false, true)) {
+                samples.forEach(Sample::ignore);
+            }
+        }
+    }
+
+    private record Sample(Limit limit, long startNanos, int inFlight) {
+
+        void success() {
+            limit.release();
+            limit.onSample(System.nanoTime() - startNanos, inFlight, false);
+        }
+
+        void dropped() {
+            limit.release();
+            limit.onSample(System.nanoTime() - startNanos, inFlight, true);
+        }
+
+        void ignore() {
+            limit.release();
+        }
+    }
+
+    static final class Limit {
+
+        private final String name;
+        private final SwaggerMcpProperties.AdaptiveLimitAlgorithm algorithm;
+        private final int minLimit;
+        private final int maxLimit;
+        private final double backoffRatio;
+        private final double rttTolerance;
+        private final double smoothing;
+        private final int minRttProbeInterval;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder rejected = new LongAdder();
+        private volatile int limit;
+        private double estimate;
+        private long minRttNanos;
+        private long samples;
+
+        Limit(String name, SwaggerMcpProperties.AdaptiveLimit settings) {
+            this.name = name;
+            this.algorithm = settings.getAlgorithm();
+            this.minLimit = Math.max(1, settings.getMinLimit());
+            this.maxLimit = Math.max(minLimit, settings.getMaxLimit());
+            this.backoffRatio = Math.min(Math.max(settings.getBackoffRatio(), 0.1), 1.0);
+            this.rttTolerance = Math.max(1.0, settings.getRttTolerance());
+            this.smoothing = Math.min(Math.max(settings.getSmoothing(), 0.01), 1.0);
+            this.minRttProbeInterval = Math.max(0, settings.getMinRttProbeInterval());
+            this.estimate = clamp(settings.getInitialLimit());
+            this.limit = (int) estimate;
+        }
+
+        /**
+         * Returns a sample to complete when the call ends, or {@code null} when the limit is reached.
+         */
+        Sample tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= limit) {
+                    return null;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return new Sample(this, System.nanoTime(), current + 1);
+                }
+            }
+        }
+
+        void release() {
+            inFlight.decrementAndGet();
+        }
+
+        int limit() {
+            return limit;
+        }
+
+        synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+            if (dropped) {
+                estimate = clamp(estimate * backoffRatio);
+                limit = (int) estimate;
+                return;
+            }
+            long rtt = Math.max(1, rttNanos);
+            samples++;
+            if (minRttNanos == 0 || rtt < minRttNanos
+                    || (minRttProbeInterval > 0 && samples % minRttProbeInterval == 0)) {
+                minRttNanos = rtt;
+            }
+            // Only a limit that is actually being used says anything about whether it could be higher.
+            boolean applicationLimited = inFlightAtStart * 2 < estimate;
+            if (algorithm == SwaggerMcpProperties.AdaptiveLimitAlgorithm.AIMD) {
+                if (!applicationLimited) {
+                    estimate = clamp(estimate + 1);
+                }
+            }
+            else {
+                double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * minRttNanos / rtt));
+                if (gradient >= 1.0 && applicationLimited) {
+                    return;
+                }
+                double target = estimate * gradient + Math.sqrt(estimate);
+                estimate = clamp(estimate * (1 - smoothing) + target * smoothing);
+            }
+            limit = (int) estimate;
+        }
+
+        SwaggerMcpToolException reject() {
+            rejected.increment();
+            return SwaggerMcpToolException.concurrencyLimitExceeded("adaptive:" + name, limit);
+        }
+
+        synchronized Gauge gauge() {
+            return new Gauge(limit, inFlight.get(), minRttNanos / 1_000, rejected.sum());
+        }
+
+        private double clamp(double value) {
+            return Math.max(minLimit, Math.min(maxLimit, value));
+        }
+    }
+}
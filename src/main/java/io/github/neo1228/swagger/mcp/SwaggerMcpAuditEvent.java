@@ -0,0 +1,77 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One audit record of a generated tool call: {@link Phase#STARTED} carries the argument names,
+ * {@link Phase#FINISHED} the outcome, HTTP status and, when known, the latency since the call started.
+ * {@code mdc} is the caller's SLF4J MDC when the event was created, so sinks running on another thread can log with
+ * the caller's trace and request ids.
+ */
+public record SwaggerMcpAuditEvent(
+        Instant timestamp,
+        Phase phase,
+        String toolName,
+        String httpMethod,
+        String path,
+        List<String> argumentKeys,
+        Boolean success,
+        Integer status,
+        Duration latency,
+        Map<String, String> mdc
+) {
+
+    public SwaggerMcpAuditEvent {
+        mdc = mdc == null ? Map.of() : Map.copyOf(mdc);
+    }
+
+    public enum Phase {
+        STARTED,
+        FINISHED
+    }
+
+    static SwaggerMcpAuditEvent started(OpenApiOperationDescriptor operation, List<String> argumentKeys) {
+        return new SwaggerMcpAuditEvent(Instant.now(), Phase.STARTED, operation.toolName(),
+                operation.httpMethod().name(), operation.path(), argumentKeys, null, null, null, MDC.getCopyOfContextMap());
+    }
+
+    static SwaggerMcpAuditEvent finished(
+            OpenApiOperationDescriptor operation,
+            boolean success,
+            int status,
+            Duration latency) {
+        return new SwaggerMcpAuditEvent(Instant.now(), Phase.FINISHED, operation.toolName(),
+                operation.httpMethod().name(), operation.path(), List.of(), success, status, latency, MDC.getCopyOfContextMap());
+    }
+
+    /**
+     * Flat representation used by the JSON sinks; absent fields are omitted.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("timestamp", timestamp.toString());
+        map.put("phase", phase.name());
+        map.put("tool", toolName);
+        map.put("method", httpMethod);
+        map.put("path", path);
+        if (phase == Phase.STARTED) {
+            map.put("argKeys", argumentKeys);
+        }
+        if (success != null) {
+            map.put("success", success);
+        }
+        if (status != null) {
+            map.put("status", status);
+        }
+        if (latency != null) {
+            map.put("latencyMicros", latency.toNanos() / 1_000);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,196 @@
+package io.github.neo1228.swagger.mcp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Binary layout shared by {@link SwaggerMcpJournalAuditSink} and {@link SwaggerMcpAuditJournalReader}.
+ * <p>
+ * A journal is a directory of pre-allocated segment files named {@code audit-<first sequence>.journal}. Each segment
+ * starts with a {@value #HEADER_SIZE}-byte header (magic, format version, first sequence) followed by records:
+ * <pre>
+ * int    body length (0 marks the end of written data; the pre-allocated tail is zero-filled)
+ * int    CRC32 of the body
+ * body:  long sequence, long epoch millis, byte phase, byte success (-1 unknown, 0 false, 1 true),
+ *        int status (-1 unknown), long latency micros (-1 unknown),
+ *        tool, method, path as unsigned-short length + UTF-8, unsigned-short argument key count + keys
+ * </pre>
+ * A record whose length or CRC does not check out ends the readable data of its segment, so a record torn by a
+ * crash is ignored rather than misread.
+ */
+final class SwaggerMcpAuditJournal {
+
+    static final int MAGIC = 0x534D414A;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_OVERHEAD = Integer.BYTES * 2;
+    static final String SEGMENT_PREFIX = "audit-";
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+
+    private SwaggerMcpAuditJournal() {
+    }
+
+    static Path segmentPath(Path directory, long firstSequence) {
+        return directory.resolve(String.format(Locale.ROOT, "%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Segment files of {@code directory} in sequence order.
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static void writeHeader(ByteBuffer buffer, long firstSequence) {
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, VERSION);
+        buffer.putLong(8, firstSequence);
+        buffer.putLong(16, System.currentTimeMillis());
+    }
+
+    static boolean hasValidHeader(ByteBuffer buffer) {
+        return buffer.limit() >= HEADER_SIZE && buffer.getInt(0) == MAGIC && buffer.getShort(4) == VERSION;
+    }
+
+    /**
+     * Visits every intact record after the header and returns the offset where the next record would be written.
+     */
+    static int scan(ByteBuffer segment, RecordVisitor visitor) {
+        int position = HEADER_SIZE;
+        while (position + RECORD_OVERHEAD <= segment.limit()) {
+            int length = segment.getInt(position);
+            if (length <= 0 || length > segment.limit() - position - RECORD_OVERHEAD) {
+                break;
+            }
+            ByteBuffer body = segment.slice(position + RECORD_OVERHEAD, length);
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != segment.getInt(position + Integer.BYTES)) {
+                break;
+            }
+            if (visitor != null) {
+                visitor.visit(body);
+            }
+            position += RECORD_OVERHEAD + length;
+        }
+        return position;
+    }
+
+    static byte[] encode(long sequence, SwaggerMcpAuditEvent event) {
+        byte[] tool = utf8(event.toolName());
+        byte[] method = utf8(event.httpMethod());
+        byte[] path = utf8(event.path());
+        List<String> argumentKeys = event.argumentKeys() == null ? List.of() : event.argumentKeys();
+        int argumentCount = Math.min(argumentKeys.size(), MAX_STRING_BYTES);
+        List<byte[]> keys = new ArrayList<>(argumentCount);
+        int size = Long.BYTES * 2 + 2 + Integer.BYTES + Long.BYTES
+                + 2 + tool.length + 2 + method.length + 2 + path.length + 2;
+        for (int i = 0; i < argumentCount; i++) {
+            byte[] key = utf8(argumentKeys.get(i));
+            keys.add(key);
+            size += 2 + key.length;
+        }
+
+        ByteBuffer body = ByteBuffer.allocate(size);
+        body.putLong(sequence);
+        body.putLong(event.timestamp() == null ? System.currentTimeMillis() : event.timestamp().toEpochMilli());
+        body.put((byte) event.phase().ordinal());
+        body.put(event.success() == null ? (byte) -1 : (byte) (event.success() ? 1 : 0));
+        body.putInt(event.status() == null ? -1 : event.status());
+        body.putLong(event.latency() == null ? -1L : event.latency().toNanos() / 1_000);
+        putString(body, tool);
+        putString(body, method);
+        putString(body, path);
+        body.putShort((short) argumentCount);
+        for (byte[] key : keys) {
+            putString(body, key);
+        }
+        return body.array();
+    }
+
+    static int crc(byte[] body, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(body, offset, length);
+        return (int) crc.getValue();
+    }
+
+    static SwaggerMcpAuditJournalReader.Entry decode(ByteBuffer body) {
+        long sequence = body.getLong();
+        Instant timestamp = Instant.ofEpochMilli(body.getLong());
+        SwaggerMcpAuditEvent.Phase phase = SwaggerMcpAuditEvent.Phase.values()[body.get()];
+        byte success = body.get();
+        int status = body.getInt();
+        long latencyMicros = body.getLong();
+        String tool = getString(body);
+        String method = getString(body);
+        String path = getString(body);
+        int argumentCount = Short.toUnsignedInt(body.getShort());
+        List<String> argumentKeys = new ArrayList<>(argumentCount);
+        for (int i = 0; i < argumentCount; i++) {
+            argumentKeys.add(getString(body));
+        }
+        SwaggerMcpAuditEvent event = new SwaggerMcpAuditEvent(
+                timestamp,
+                phase,
+                tool,
+                method,
+                path,
+                List.copyOf(argumentKeys),
+                success < 0 ? null : success == 1,
+                status < 0 ? null : status,
+                latencyMicros < 0 ? null : Duration.ofNanos(latencyMicros * 1_000),
+                Map.of());
+        return new SwaggerMcpAuditJournalReader.Entry(sequence, event);
+    }
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        void visit(ByteBuffer body);
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_STRING_BYTES) {
+            return bytes;
+        }
+        byte[] truncated = new byte[MAX_STRING_BYTES];
+        System.arraycopy(bytes, 0, truncated, 0, MAX_STRING_BYTES);
+        return truncated;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        buffer.putShort((short) value.length);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.neo1228.swagger.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Reads a journal written by {@link SwaggerMcpJournalAuditSink}, in sequence order. Safe to run against a journal
+ * that is still being written; records that are not complete yet are not returned.
+ * <p>
+ * From the command line it prints matching records as JSON lines:
+ * {@code --dir=<journal directory>} (required), {@code --tool=<tool name>}, {@code --since=<ISO instant>},
+ * {@code --until=<ISO instant>}.
+ */
+public final class SwaggerMcpAuditJournalReader {
+
+    private SwaggerMcpAuditJournalReader() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(option.substring(0, separator), option.substring(separator + 1));
+        }
+        String directory = options.get("dir");
+        if (!StringUtils.hasText(directory)) {
+            throw new IllegalArgumentException("--dir=<journal directory> is required");
+        }
+        Predicate<SwaggerMcpAuditEvent> filter = event -> true;
+        String tool = options.get("tool");
+        if (StringUtils.hasText(tool)) {
+            filter = filter.and(event -> tool.equals(event.toolName()));
+        }
+        if (StringUtils.hasText(options.get("since"))) {
+            Instant since = Instant.parse(options.get("since"));
+            filter = filter.and(event -> !event.timestamp().isBefore(since));
+        }
+        if (StringUtils.hasText(options.get("until"))) {
+            Instant until = Instant.parse(options.get("until"));
+            filter = filter.and(event -> event.timestamp().isBefore(until));
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (Entry entry : read(Path.of(directory), filter)) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("sequence", entry.sequence());
+            line.putAll(entry.event().toMap());
+            System.out.println(objectMapper.writeValueAsString(line));
+        }
+    }
+
+    public static List<Entry> read(Path directory) throws IOException {
+        return read(directory, event -> true);
+    }
+
+    public static List<Entry> read(Path directory, Predicate<SwaggerMcpAuditEvent> filter) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (Path segmentFile : SwaggerMcpAuditJournal.segments(directory)) {
+            try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (!SwaggerMcpAuditJournal.hasValidHeader(segment)) {
+                    continue;
+                }
+                SwaggerMcpAuditJournal.scan(segment, body -> {
+                    Entry entry = SwaggerMcpAuditJournal.decode(body);
+                    if (filter.test(entry.event())) {
+                        entries.add(entry);
+                    }
+                });
+            }
+        }
+        return entries;
+    }
+
+    public record Entry(long sequence, SwaggerMcpAuditEvent event) {
+    }
+}
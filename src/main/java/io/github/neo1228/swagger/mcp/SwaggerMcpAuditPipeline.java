@@ -0,0 +1,193 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves audit events off request threads: {@link #publish} puts the event into a bounded lock-free ring buffer and a
+ * single daemon writer thread hands batches of up to {@code batch-size} events to the {@link SwaggerMcpAuditSink}.
+ * <p>
+ * When the buffer is full the {@code overflow-policy} either parks the caller until a slot frees up ({@code BLOCK})
+ * or discards the event ({@code DROP}); both are visible in {@link #stats()}. With {@code async=false} events are
+ * written on the calling thread, as before the pipeline existed. Sink failures are logged and counted but never
+ * reach the tool call.
+ */
+public class SwaggerMcpAuditPipeline implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerMcpAuditPipeline.class);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final SwaggerMcpAuditSink sink;
+    private final boolean async;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final SwaggerMcpProperties.AuditOverflowPolicy overflowPolicy;
+    private final SwaggerMcpAuditRingBuffer<SwaggerMcpAuditEvent> buffer;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private volatile boolean running = true;
+    private volatile Thread writer;
+
+    public SwaggerMcpAuditPipeline(SwaggerMcpAuditSink sink, SwaggerMcpProperties.Audit audit) {
+        this.sink = sink;
+        this.async = audit.isAsync();
+        this.batchSize = Math.max(1, audit.getBatchSize());
+        Duration flushInterval = audit.getFlushInterval() == null ? Duration.ofMillis(100) : audit.getFlushInterval();
+        this.flushIntervalNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), flushInterval.toNanos());
+        this.overflowPolicy = audit.getOverflowPolicy() == null
+                ? SwaggerMcpProperties.AuditOverflowPolicy.BLOCK
+                : audit.getOverflowPolicy();
+        this.buffer = async ? new SwaggerMcpAuditRingBuffer<>(Math.max(2, audit.getBufferSize())) : null;
+    }
+
+    /**
+     * Writes every event on the calling thread; used when no pipeline bean is configured.
+     */
+    static SwaggerMcpAuditPipeline synchronous(SwaggerMcpAuditSink sink) {
+        SwaggerMcpProperties.Audit audit = new SwaggerMcpProperties.Audit();
+        audit.setAsync(false);
+        return new SwaggerMcpAuditPipeline(sink, audit);
+    }
+
+    public void publish(SwaggerMcpAuditEvent event) {
+        if (!async || !running) {
+            published.increment();
+            writeBatch(List.of(event));
+            return;
+        }
+        startWriter();
+        if (buffer.offer(event)) {
+            published.increment();
+            if (!running) {
+                // destroy() may have drained the buffer before this offer landed.
+                drainAfterWriterStopped();
+            }
+            return;
+        }
+        if (overflowPolicy == SwaggerMcpProperties.AuditOverflowPolicy.DROP) {
+            dropped.increment();
+            return;
+        }
+        blocked.increment();
+        while (!buffer.offer(event)) {
+            if (!running) {
+                published.increment();
+                writeBatch(List.of(event));
+                return;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+        }
+        published.increment();
+    }
+
+    public Stats stats() {
+        return new Stats(
+                published.sum(),
+                written.sum(),
+                dropped.sum(),
+                failed.sum(),
+                blocked.sum(),
+                buffer == null ? 0 : buffer.size());
+    }
+
+    /**
+     * Waits until every published event has been handed to the sink, or the timeout elapses. Returns whether the
+     * pipeline is drained.
+     */
+    public boolean awaitDrained(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (written.sum() + failed.sum() < published.sum()) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        drainAfterWriterStopped();
+    }
+
+    /**
+     * Waits for the writer thread to exit, then writes whatever is left on the calling thread; the buffer has a
+     * single consumer, so the two must not drain concurrently.
+     */
+    private void drainAfterWriterStopped() {
+        Thread current = writer;
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        drainRemaining();
+    }
+
+    private void startWriter() {
+        if (started.get() || !started.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(this::runWriter, "swagger-mcp-audit");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    private void runWriter() {
+        List<SwaggerMcpAuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private synchronized void drainRemaining() {
+        if (buffer == null) {
+            return;
+        }
+        List<SwaggerMcpAuditEvent> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<SwaggerMcpAuditEvent> batch) {
+        try {
+            sink.write(batch);
+            written.add(batch.size());
+        }
+        catch (Exception ex) {
+            failed.add(batch.size());
+            logger.warn("Failed to write {} audit event(s)", batch.size(), ex);
+        }
+    }
+
+    public record Stats(long published, long written, long dropped, long failed, long blocked, int pending) {
+    }
+}
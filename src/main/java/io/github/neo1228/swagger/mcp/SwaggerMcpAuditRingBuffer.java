@@ -0,0 +1,102 @@
+package io.github.neo1228.swagger.mcp;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer ring buffer (Vyukov's sequence-per-slot design). Producers claim a slot with one
+ * CAS on the tail; the consumer publishes a freed slot by advancing its sequence. Capacity is rounded up to a power
+ * of two.
+ */
+final class SwaggerMcpAuditRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    SwaggerMcpAuditRingBuffer(int requestedCapacity) {
+        int capacity = requestedCapacity <= 2 ? 2 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns {@code false} without waiting when the buffer is full.
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            }
+            else if (difference < 0) {
+                return false;
+            }
+            else {
+                position = tail.get();
+            }
+        }
+    }
+
+    E poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = elements.get(index);
+                    elements.set(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return element;
+                }
+                position = head.get();
+            }
+            else if (difference < 0) {
+                return null;
+            }
+            else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code maxElements} into {@code target} and returns how many were moved.
+     */
+    int drainTo(List<E> target, int maxElements) {
+        int drained = 0;
+        while (drained < maxElements) {
+            E element = poll();
+            if (element == null) {
+                break;
+            }
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, Math.min(capacity(), tail.get() - head.get()));
+    }
+}
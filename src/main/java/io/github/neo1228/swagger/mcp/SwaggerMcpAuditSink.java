@@ -0,0 +1,19 @@
+package io.github.neo1228.swagger.mcp;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of audit events. The pipeline calls {@link #write} from a single writer thread (or the caller's thread
+ * when {@code swagger.mcp.security.audit.async=false}) with batches in publication order.
+ * <p>
+ * Declare a bean of this type to replace the built-in sink selected by {@code swagger.mcp.security.audit.sink}.
+ */
+public interface SwaggerMcpAuditSink extends AutoCloseable {
+
+    void write(List<SwaggerMcpAuditEvent> events) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+}
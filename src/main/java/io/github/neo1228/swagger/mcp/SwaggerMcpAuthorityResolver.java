@@ -0,0 +1,48 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Resolves the authorities of the caller for {@code swagger.mcp.security.required-any-role} checks.
+ * <p>
+ * The default binds directly to Spring Security's {@code SecurityContextHolder} when it is on the classpath and
+ * otherwise reports no authorities. Register a bean of this type to read roles from another source.
+ */
+@FunctionalInterface
+public interface SwaggerMcpAuthorityResolver {
+
+    /**
+     * Returns the authorities of the current caller, or an empty set when unauthenticated.
+     */
+    Set<String> currentAuthorities();
+
+    /**
+     * Whether the current caller holds at least one of {@code requiredAuthorities}. Implementations can override this
+     * to avoid materializing the full authority set.
+     */
+    default boolean hasAnyAuthority(Collection<String> requiredAuthorities) {
+        if (requiredAuthorities == null || requiredAuthorities.isEmpty()) {
+            return true;
+        }
+        Set<String> current = currentAuthorities();
+        return !current.isEmpty() && requiredAuthorities.stream().anyMatch(current::contains);
+    }
+
+    static SwaggerMcpAuthorityResolver none() {
+        return Set::of;
+    }
+
+    /**
+     * Picks the Spring Security resolver when {@code SecurityContextHolder} is loadable, otherwise {@link #none()}.
+     * Detection happens once, here, rather than on every call.
+     */
+    static SwaggerMcpAuthorityResolver detect(ClassLoader classLoader) {
+        if (ClassUtils.isPresent(SwaggerMcpSpringSecurityAuthorityResolver.SECURITY_CONTEXT_HOLDER, classLoader)) {
+            return new SwaggerMcpSpringSecurityAuthorityResolver();
+        }
+        return none();
+    }
+}
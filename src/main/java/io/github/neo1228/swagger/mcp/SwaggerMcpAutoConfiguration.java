@@ -2,23 +2,36 @@ package io.github.neo1228.swagger.mcp;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.modelcontextprotocol.json.jackson.JacksonMcpJsonMapper;
+import io.modelcontextprotocol.server.McpAsyncServer;
 import io.modelcontextprotocol.server.McpServer;
 import io.modelcontextprotocol.server.McpSyncServer;
 import io.modelcontextprotocol.server.transport.WebMvcStreamableServerTransportProvider;
 import io.modelcontextprotocol.spec.McpSchema;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletRegistrationBean;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.DispatcherServlet;
 import org.springframework.web.servlet.function.RouterFunction;
 import org.springframework.web.servlet.function.ServerResponse;
 
+import java.nio.file.Path;
+
 @AutoConfiguration(afterName = {
+        "org.springframework.ai.mcp.server.common.autoconfigure.McpServerAutoConfiguration",
+        "org.springframework.ai.mcp.server.common.autoconfigure.McpServerStatelessAutoConfiguration",
         "org.springframework.ai.mcp.server.autoconfigure.McpServerSseWebMvcAutoConfiguration",
         "org.springframework.ai.mcp.server.autoconfigure.McpServerStreamableHttpWebMvcAutoConfiguration",
         "org.springframework.ai.mcp.server.autoconfigure.McpServerStatelessWebMvcAutoConfiguration"
@@ -29,7 +42,11 @@ import org.springframework.web.servlet.function.ServerResponse;
 public class SwaggerMcpAutoConfiguration {
 
     @Bean(name = "swaggerMcpFallbackTransportProvider")
-    @ConditionalOnMissingBean(value = {McpSyncServer.class, WebMvcStreamableServerTransportProvider.class})
+    @ConditionalOnMissingBean(value = {
+            McpSyncServer.class,
+            McpAsyncServer.class,
+            WebMvcStreamableServerTransportProvider.class
+    })
     public WebMvcStreamableServerTransportProvider fallbackTransportProvider(ObjectMapper objectMapper, Environment environment) {
         String endpoint = environment.getProperty("spring.ai.mcp.server.streamable-http.mcp-endpoint", "/mcp");
         return WebMvcStreamableServerTransportProvider.builder()
@@ -39,14 +56,16 @@ public class SwaggerMcpAutoConfiguration {
     }
 
     @Bean(name = "swaggerMcpFallbackRouterFunction")
-    @ConditionalOnMissingBean(value = McpSyncServer.class, name = "webMvcStreamableServerRouterFunction")
+    @ConditionalOnMissingBean(
+            value = {McpSyncServer.class, McpAsyncServer.class},
+            name = "webMvcStreamableServerRouterFunction")
     public RouterFunction<ServerResponse> fallbackRouterFunction(
             WebMvcStreamableServerTransportProvider swaggerMcpFallbackTransportProvider) {
         return swaggerMcpFallbackTransportProvider.getRouterFunction();
     }
 
     @Bean
-    @ConditionalOnMissingBean(McpSyncServer.class)
+    @ConditionalOnMissingBean({McpSyncServer.class, McpAsyncServer.class})
     public McpSyncServer fallbackMcpSyncServer(WebMvcStreamableServerTransportProvider transportProvider) {
         McpSchema.ServerCapabilities capabilities = McpSchema.ServerCapabilities.builder()
                 .tools(true)
@@ -83,15 +102,73 @@ public class SwaggerMcpAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public SwaggerMcpSecurityPolicy swaggerMcpSecurityPolicy(SwaggerMcpProperties properties) {
-        return new SwaggerMcpSecurityPolicy(properties);
+    public SwaggerMcpAuthorityResolver swaggerMcpAuthorityResolver() {
+        return SwaggerMcpAuthorityResolver.detect(SwaggerMcpAutoConfiguration.class.getClassLoader());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SwaggerMcpAuditSink swaggerMcpAuditSink(SwaggerMcpProperties properties, ObjectMapper objectMapper) {
+        SwaggerMcpProperties.Audit audit = properties.getSecurity().getAudit();
+        return switch (audit.getSink()) {
+            case LOGGER -> new SwaggerMcpLoggerAuditSink();
+            case JSON_FILE -> new SwaggerMcpJsonLinesAuditSink(
+                    Path.of(audit.getFile().getPath()),
+                    audit.getFile().getMaxSize().toBytes(),
+                    audit.getFile().getMaxHistory(),
+                    objectMapper);
+            case JOURNAL -> new SwaggerMcpJournalAuditSink(
+                    Path.of(audit.getJournal().getDirectory()),
+                    audit.getJournal().getSegmentSize().toBytes(),
+                    audit.getJournal().isFsync());
+        };
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SwaggerMcpAuditPipeline swaggerMcpAuditPipeline(SwaggerMcpAuditSink auditSink, SwaggerMcpProperties properties) {
+        return new SwaggerMcpAuditPipeline(auditSink, properties.getSecurity().getAudit());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SwaggerMcpSecurityPolicy swaggerMcpSecurityPolicy(
+            SwaggerMcpProperties properties,
+            SwaggerMcpAuthorityResolver authorityResolver,
+            SwaggerMcpAuditPipeline auditPipeline) {
+        return new SwaggerMcpSecurityPolicy(properties, authorityResolver, auditPipeline);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SwaggerMcpDispatchClient swaggerMcpDispatchClient(
+            SwaggerMcpProperties properties,
+            RestTemplateBuilder restTemplateBuilder,
+            ObjectMapper objectMapper) {
+        return new SwaggerMcpPooledDispatchClient(properties, restTemplateBuilder, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SwaggerMcpInProcessDispatcher swaggerMcpInProcessDispatcher(
+            ListableBeanFactory beanFactory,
+            ObjectProvider<DispatcherServlet> dispatcherServlet,
+            ObjectMapper objectMapper) {
+        return new SwaggerMcpInProcessDispatcher(beanFactory, dispatcherServlet, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnClass(DispatcherServletRegistrationBean.class)
+    public static BeanPostProcessor swaggerMcpDispatcherServletStartupPostProcessor(Environment environment) {
+        return new DispatcherServletStartupPostProcessor(environment);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    @ConditionalOnBean(McpSyncServer.class)
+    @Conditional(OnMcpServerCondition.class)
     public SwaggerMcpServerAdapter swaggerMcpServerAdapter(
-            McpSyncServer mcpSyncServer,
+            ObjectProvider<McpSyncServer> mcpSyncServer,
+            ObjectProvider<McpAsyncServer> mcpAsyncServer,
             OpenApiToMcpToolConverter converter,
             SwaggerMcpToolSelector toolSelector,
             SwaggerMcpOperationCatalog operationCatalog,
@@ -99,10 +176,15 @@ public class SwaggerMcpAutoConfiguration {
             SwaggerMcpSecurityPolicy securityPolicy,
             SwaggerMcpProperties properties,
             Environment environment,
-            RestTemplateBuilder restTemplateBuilder,
+            SwaggerMcpDispatchClient dispatchClient,
+            SwaggerMcpInProcessDispatcher inProcessDispatcher,
             ObjectMapper objectMapper) {
+        McpSyncServer syncServer = mcpSyncServer.getIfUnique();
+        SwaggerMcpToolServer toolServer = syncServer != null
+                ? SwaggerMcpToolServer.of(syncServer)
+                : SwaggerMcpToolServer.of(mcpAsyncServer.getObject());
         return new SwaggerMcpServerAdapter(
-                mcpSyncServer,
+                toolServer,
                 converter,
                 toolSelector,
                 operationCatalog,
@@ -110,29 +192,79 @@ public class SwaggerMcpAutoConfiguration {
                 securityPolicy,
                 properties,
                 environment,
-                restTemplateBuilder,
+                dispatchClient,
+                inProcessDispatcher,
                 objectMapper
         );
     }
 
     @Bean
     @ConditionalOnMissingBean
-    @ConditionalOnBean(McpSyncServer.class)
+    @Conditional(OnMcpServerCondition.class)
     public SwaggerMcpService swaggerMcpService(
             OpenApiToMcpToolConverter converter,
             SwaggerMcpServerAdapter adapter,
             SwaggerMcpSecurityPolicy securityPolicy,
             SwaggerMcpProperties properties,
             Environment environment,
-            RestTemplateBuilder restTemplateBuilder) {
+            SwaggerMcpDispatchClient dispatchClient,
+            ListableBeanFactory beanFactory) {
         return new SwaggerMcpService(
                 converter,
                 adapter,
                 securityPolicy,
                 properties,
                 environment,
-                restTemplateBuilder
+                dispatchClient,
+                new SwaggerMcpSpringdocOpenApiLoader(beanFactory, environment)
         );
     }
-}
 
+    /**
+     * Matches when either a sync or an async MCP server is available; async servers get the non-blocking pipeline.
+     */
+    static class OnMcpServerCondition extends AnyNestedCondition {
+
+        OnMcpServerCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnBean(McpSyncServer.class)
+        static class OnSyncServer {
+        }
+
+        @ConditionalOnBean(McpAsyncServer.class)
+        static class OnAsyncServer {
+        }
+    }
+
+    /**
+     * In-process dispatch needs an initialized {@link DispatcherServlet}. The container initializes it lazily on the
+     * first HTTP request, which may never come when the OpenAPI document is read in-process, so it is loaded on
+     * startup unless {@code spring.mvc.servlet.load-on-startup} says otherwise.
+     */
+    static class DispatcherServletStartupPostProcessor implements BeanPostProcessor {
+
+        private final Environment environment;
+
+        DispatcherServletStartupPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+            if (bean instanceof DispatcherServletRegistrationBean registration && isInProcessMode()
+                    && !environment.containsProperty("spring.mvc.servlet.load-on-startup")) {
+                registration.setLoadOnStartup(1);
+            }
+            return bean;
+        }
+
+        private boolean isInProcessMode() {
+            return Binder.get(environment)
+                    .bind("swagger.mcp.execution.mode", SwaggerMcpProperties.DispatchMode.class)
+                    .map(mode -> mode == SwaggerMcpProperties.DispatchMode.IN_PROCESS)
+                    .orElse(false);
+        }
+    }
+}
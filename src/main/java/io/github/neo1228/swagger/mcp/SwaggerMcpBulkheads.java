@@ -0,0 +1,167 @@
+package io.github.neo1228.swagger.mcp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Semaphore bulkheads that cap in-flight upstream calls per tool and per OpenAPI tag
+ * ({@code swagger.mcp.resilience.bulkhead.*}).
+ * <p>
+ * A call takes one permit from every compartment that applies to it: each configured tag of the operation (shared by
+ * all tools carrying that tag, taken in name order) and its tool compartment (an explicit {@code tools.<name>} limit,
+ * otherwise {@code defaults}). When a compartment is full a blocking call may wait up to {@code max-wait} if fewer than
+ * {@code max-waiting} callers are already queued; anything else is rejected with the retryable
+ * {@link SwaggerMcpErrorCode#CONCURRENCY_LIMIT_EXCEEDED}. Asynchronous calls never wait. Limits are read when a
+ * compartment is first used.
+ */
+public class SwaggerMcpBulkheads {
+
+    private static final Permit NO_PERMIT = () -> {
+    };
+
+    private final SwaggerMcpProperties properties;
+    private final ConcurrentMap<String, Compartment> compartments = new ConcurrentHashMap<>();
+
+    public SwaggerMcpBulkheads(SwaggerMcpProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Takes a permit from every applicable compartment or throws {@link SwaggerMcpToolException}; close the permit
+     * when the upstream exchange is over.
+     */
+    Permit acquire(OpenApiOperationDescriptor operation, boolean mayWait) {
+        SwaggerMcpProperties.Bulkhead bulkhead = properties.getResilience().getBulkhead();
+        if (!bulkhead.isEnabled()) {
+            return NO_PERMIT;
+        }
+        List<Compartment> applicable = applicableCompartments(bulkhead, operation);
+        if (applicable.isEmpty()) {
+            return NO_PERMIT;
+        }
+        List<Compartment> acquired = new ArrayList<>(applicable.size());
+        try {
+            for (Compartment compartment : applicable) {
+                compartment.acquire(mayWait);
+                acquired.add(compartment);
+            }
+        }
+        catch (RuntimeException ex) {
+            acquired.forEach(Compartment::release);
+            throw ex;
+        }
+        AtomicInteger released = new AtomicInteger();
+        return () -> {
+            if (released.compareAndSet(0, 1)) {
+                acquired.forEach(Compartment::release);
+            }
+        };
+    }
+
+    /**
+     * Current in-flight, waiting and rejected counts per compartment ({@code tool:<name>} or {@code tag:<name>}).
+     */
+    public Map<String, Gauge> gauges() {
+        Map<String, Gauge> gauges = new TreeMap<>();
+        compartments.forEach((name, compartment) -> gauges.put(name, compartment.gauge()));
+        return gauges;
+    }
+
+    private List<Compartment> applicableCompartments(
+            SwaggerMcpProperties.Bulkhead bulkhead,
+            OpenApiOperationDescriptor operation) {
+        List<Compartment> applicable = new ArrayList<>(2);
+        if (!bulkhead.getTags().isEmpty() && operation.tags() != null) {
+            for (String tag : new TreeSet<>(operation.tags())) {
+                SwaggerMcpProperties.BulkheadLimit limit = bulkhead.getTags().get(tag);
+                if (limit != null && limit.getMaxConcurrent() > 0) {
+                    applicable.add(compartments.computeIfAbsent("tag:" + tag, name -> new Compartment(name, limit)));
+                }
+            }
+        }
+        SwaggerMcpProperties.BulkheadLimit toolLimit = bulkhead.getTools().getOrDefault(
+                operation.toolName(), bulkhead.getDefaults());
+        if (toolLimit.getMaxConcurrent() > 0) {
+            applicable.add(compartments.computeIfAbsent(
+                    "tool:" + operation.toolName(), name -> new Compartment(name, toolLimit)));
+        }
+        return applicable;
+    }
+
+    @FunctionalInterface
+    interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public record Gauge(int limit, int inFlight, int waiting, long rejected) {
+    }
+
+    private static final class Compartment {
+
+        private final String name;
+        private final int limit;
+        private final int maxWaiting;
+        private final long maxWaitNanos;
+        private final Semaphore semaphore;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final LongAdder rejected = new LongAdder();
+
+        Compartment(String name, SwaggerMcpProperties.BulkheadLimit limit) {
+            this.name = name;
+            this.limit = limit.getMaxConcurrent();
+            this.maxWaiting = Math.max(0, limit.getMaxWaiting());
+            Duration maxWait = limit.getMaxWait() == null ? Duration.ZERO : limit.getMaxWait();
+            this.maxWaitNanos = Math.max(0, maxWait.toNanos());
+            this.semaphore = new Semaphore(this.limit, true);
+        }
+
+        void acquire(boolean mayWait) {
+            if (semaphore.tryAcquire()) {
+                return;
+            }
+            if (!mayWait || maxWaitNanos == 0 || maxWaiting == 0) {
+                throw reject();
+            }
+            if (waiting.incrementAndGet() > maxWaiting) {
+                waiting.decrementAndGet();
+                throw reject();
+            }
+            try {
+                if (!semaphore.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                    throw reject();
+                }
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw SwaggerMcpToolException.dispatchInterrupted(ex);
+            }
+            finally {
+                waiting.decrementAndGet();
+            }
+        }
+
+        void release() {
+            semaphore.release();
+        }
+
+        Gauge gauge() {
+            return new Gauge(limit, limit - semaphore.availablePermits(), waiting.get(), rejected.sum());
+        }
+
+        private SwaggerMcpToolException reject() {
+            rejected.increment();
+            return SwaggerMcpToolException.concurrencyLimitExceeded(name, limit);
+        }
+    }
+}
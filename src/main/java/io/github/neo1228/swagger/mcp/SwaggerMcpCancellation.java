@@ -0,0 +1,96 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Cancellation scope of one blocking exchange. The thread running the exchange binds the scope, the transport
+ * registers how to abort its request, and whoever cancels the exchange runs those actions. This reaches I/O that
+ * ignores {@link Thread#interrupt()}, such as socket reads of the Apache classic engine on platform threads.
+ */
+final class SwaggerMcpCancellation {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerMcpCancellation.class);
+    private static final ThreadLocal<SwaggerMcpCancellation> CURRENT = new ThreadLocal<>();
+
+    private final List<Runnable> aborts = new ArrayList<>(1);
+    private boolean cancelled;
+
+    /**
+     * Runs {@code task} on the calling thread with this scope bound to it.
+     */
+    <T> T run(Supplier<T> task) {
+        SwaggerMcpCancellation previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        }
+        finally {
+            if (previous == null) {
+                CURRENT.remove();
+            }
+            else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs every registered abort action; actions registered later run as soon as they are registered.
+     */
+    void cancel() {
+        List<Runnable> pending;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            pending = new ArrayList<>(aborts);
+            aborts.clear();
+        }
+        pending.forEach(SwaggerMcpCancellation::runQuietly);
+    }
+
+    /**
+     * Registers how to abort the exchange running on the current thread. Does nothing outside a scope.
+     */
+    static void onCancel(Runnable abort) {
+        SwaggerMcpCancellation scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+        synchronized (scope) {
+            if (!scope.cancelled) {
+                scope.aborts.add(abort);
+                return;
+            }
+        }
+        runQuietly(abort);
+    }
+
+    /**
+     * Whether the scope bound to the current thread has been cancelled.
+     */
+    static boolean isCurrentCancelled() {
+        SwaggerMcpCancellation scope = CURRENT.get();
+        if (scope == null) {
+            return false;
+        }
+        synchronized (scope) {
+            return scope.cancelled;
+        }
+    }
+
+    private static void runQuietly(Runnable abort) {
+        try {
+            abort.run();
+        }
+        catch (RuntimeException ex) {
+            logger.debug("Failed to abort a cancelled exchange", ex);
+        }
+    }
+}
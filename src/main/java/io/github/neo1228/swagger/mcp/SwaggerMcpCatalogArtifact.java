@@ -0,0 +1,188 @@
+package io.github.neo1228.swagger.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.media.Schema;
+import org.springframework.http.HttpMethod;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Operation descriptors and their converted tool definitions, serialized at build time so startup can register tools
+ * without fetching, parsing and walking the OpenAPI document.
+ * <p>
+ * The file holds two lines: a small JSON header ({@code formatVersion}, {@code settingsFingerprint},
+ * {@code operationCount}, {@code checksum}) and the compact JSON payload. The checksum is the SHA-256 of the exact
+ * payload bytes, so a truncated or edited file is rejected before anything is parsed. The settings fingerprint covers
+ * every property that changes descriptors or tool schemas; a catalog generated with other settings is not used.
+ */
+record SwaggerMcpCatalogArtifact(
+        String settingsFingerprint,
+        List<OpenApiOperationDescriptor> operations,
+        Map<String, McpSchema.Tool> tools) {
+
+    static final int FORMAT_VERSION = 1;
+
+    SwaggerMcpCatalogArtifact {
+        operations = List.copyOf(operations);
+        tools = Map.copyOf(tools);
+    }
+
+    /**
+     * Hashes the settings that shape extracted descriptors and converted tools.
+     */
+    static String fingerprint(SwaggerMcpProperties properties) {
+        SwaggerMcpProperties.Security security = properties.getSecurity();
+        StringBuilder builder = new StringBuilder();
+        builder.append("toolNamePrefix=").append(properties.getToolNamePrefix()).append('\n');
+        builder.append("includePathPatterns=").append(properties.getIncludePathPatterns()).append('\n');
+        builder.append("excludePathPatterns=").append(properties.getExcludePathPatterns()).append('\n');
+        builder.append("includeHttpMethods=").append(new TreeSet<>(properties.getIncludeHttpMethods())).append('\n');
+        builder.append("riskyHttpMethods=").append(new TreeSet<>(security.getRiskyHttpMethods())).append('\n');
+        builder.append("riskyPathPatterns=").append(security.getRiskyPathPatterns()).append('\n');
+        builder.append("requireConfirmation=").append(security.isRequireConfirmationForRiskyOperations()).append('\n');
+        builder.append("confirmationToken=").append(security.getConfirmationToken()).append('\n');
+        builder.append("projectionArgument=").append(properties.getResponse().isProjectionArgumentEnabled()).append('\n');
+        return sha256(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    void write(OutputStream output) throws IOException {
+        ObjectMapper mapper = Json.mapper();
+        ObjectNode payload = mapper.createObjectNode();
+        ArrayNode operationNodes = payload.putArray("operations");
+        for (OpenApiOperationDescriptor operation : operations) {
+            ObjectNode node = operationNodes.addObject();
+            node.put("toolName", operation.toolName());
+            node.put("operationId", operation.operationId());
+            node.put("httpMethod", operation.httpMethod().name());
+            node.put("path", operation.path());
+            node.put("description", operation.description());
+            ArrayNode tags = node.putArray("tags");
+            operation.tags().forEach(tags::add);
+            ArrayNode parameters = node.putArray("parameters");
+            for (OpenApiParameterDescriptor parameter : operation.parameters()) {
+                ObjectNode parameterNode = parameters.addObject();
+                parameterNode.put("name", parameter.name());
+                parameterNode.put("location", parameter.location().name());
+                parameterNode.put("required", parameter.required());
+                parameterNode.set("schema", mapper.valueToTree(parameter.schema()));
+            }
+            node.put("requestBodyRequired", operation.requestBodyRequired());
+            node.set("requestBodySchema", mapper.valueToTree(operation.requestBodySchema()));
+            node.put("risky", operation.risky());
+            node.set("tool", mapper.valueToTree(tools.get(operation.toolName())));
+        }
+        byte[] payloadBytes = mapper.writeValueAsBytes(payload);
+
+        ObjectNode header = mapper.createObjectNode();
+        header.put("formatVersion", FORMAT_VERSION);
+        header.put("settingsFingerprint", settingsFingerprint);
+        header.put("operationCount", operations.size());
+        header.put("checksum", sha256(payloadBytes));
+        output.write(mapper.writeValueAsBytes(header));
+        output.write('\n');
+        output.write(payloadBytes);
+        output.write('\n');
+    }
+
+    /**
+     * Reads and verifies an artifact; any format, checksum or shape problem is reported as an {@link IOException}.
+     */
+    static SwaggerMcpCatalogArtifact read(InputStream input) throws IOException {
+        byte[] content = input.readAllBytes();
+        int newline = indexOf(content, (byte) '\n');
+        if (newline < 0) {
+            throw new IOException("Catalog header is missing");
+        }
+        ObjectMapper mapper = Json.mapper();
+        JsonNode header = mapper.readTree(Arrays.copyOfRange(content, 0, newline));
+        if (header.path("formatVersion").asInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported catalog format version: " + header.path("formatVersion"));
+        }
+        int end = content.length;
+        while (end > newline + 1 && (content[end - 1] == '\n' || content[end - 1] == '\r')) {
+            end--;
+        }
+        byte[] payloadBytes = Arrays.copyOfRange(content, newline + 1, end);
+        if (!sha256(payloadBytes).equals(header.path("checksum").asText())) {
+            throw new IOException("Catalog checksum mismatch");
+        }
+
+        JsonNode operationNodes = mapper.readTree(payloadBytes).path("operations");
+        if (operationNodes.size() != header.path("operationCount").asInt(-1)) {
+            throw new IOException("Catalog operation count does not match its header");
+        }
+        List<OpenApiOperationDescriptor> operations = new ArrayList<>(operationNodes.size());
+        Map<String, McpSchema.Tool> tools = new LinkedHashMap<>();
+        for (JsonNode node : operationNodes) {
+            List<String> tags = new ArrayList<>();
+            node.path("tags").forEach(tag -> tags.add(tag.asText()));
+            List<OpenApiParameterDescriptor> parameters = new ArrayList<>();
+            for (JsonNode parameterNode : node.path("parameters")) {
+                parameters.add(new OpenApiParameterDescriptor(
+                        parameterNode.path("name").asText(),
+                        OpenApiParameterLocation.valueOf(parameterNode.path("location").asText()),
+                        parameterNode.path("required").asBoolean(),
+                        readSchema(mapper, parameterNode.get("schema"))
+                ));
+            }
+            OpenApiOperationDescriptor operation = new OpenApiOperationDescriptor(
+                    node.path("toolName").asText(),
+                    node.path("operationId").asText(),
+                    HttpMethod.valueOf(node.path("httpMethod").asText()),
+                    node.path("path").asText(),
+                    node.path("description").isNull() ? null : node.path("description").asText(null),
+                    tags,
+                    parameters,
+                    node.path("requestBodyRequired").asBoolean(),
+                    readSchema(mapper, node.get("requestBodySchema")),
+                    node.path("risky").asBoolean()
+            );
+            operations.add(operation);
+            JsonNode toolNode = node.get("tool");
+            if (toolNode == null || toolNode.isNull()) {
+                throw new IOException("Catalog entry has no tool definition: " + operation.toolName());
+            }
+            tools.put(operation.toolName(), mapper.treeToValue(toolNode, McpSchema.Tool.class));
+        }
+        return new SwaggerMcpCatalogArtifact(header.path("settingsFingerprint").asText(), operations, tools);
+    }
+
+    private static Schema<?> readSchema(ObjectMapper mapper, JsonNode node) throws IOException {
+        return node == null || node.isNull() ? null : mapper.treeToValue(node, Schema.class);
+    }
+
+    private static int indexOf(byte[] content, byte value) {
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
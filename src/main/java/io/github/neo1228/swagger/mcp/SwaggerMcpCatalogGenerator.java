@@ -0,0 +1,125 @@
+package io.github.neo1228.swagger.mcp;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Json31;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Build-time entry point that turns an OpenAPI document into the prebuilt catalog loaded by {@link SwaggerMcpService}.
+ * <p>
+ * Arguments: {@code --spec=<openapi.json|yaml>} (required), {@code --output=<file>} (defaults to
+ * {@value #DEFAULT_OUTPUT}), {@code --config=<application.yml|properties>} to read {@code swagger.mcp.*} the same way
+ * the application will, and any number of {@code --swagger.mcp.<property>=<value>} overrides. The settings must match
+ * the runtime configuration, otherwise the application ignores the catalog and discovers tools live.
+ */
+public final class SwaggerMcpCatalogGenerator {
+
+    static final String DEFAULT_OUTPUT = "build/generated/swagger-mcp/META-INF/swagger-mcp/catalog.json";
+
+    private SwaggerMcpCatalogGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        Map<String, Object> overrides = new LinkedHashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = option.substring(0, separator);
+            String value = option.substring(separator + 1);
+            if (name.startsWith("swagger.mcp.")) {
+                overrides.put(name, value);
+            }
+            else {
+                options.put(name, value);
+            }
+        }
+        String spec = options.get("spec");
+        if (!StringUtils.hasText(spec)) {
+            throw new IllegalArgumentException("--spec=<OpenAPI document> is required");
+        }
+
+        SwaggerMcpProperties properties = bindProperties(options.get("config"), overrides);
+        SwaggerMcpCatalogArtifact artifact = generate(readOpenApi(Path.of(spec)), properties);
+        Path output = Path.of(options.getOrDefault("output", DEFAULT_OUTPUT));
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (OutputStream stream = Files.newOutputStream(output)) {
+            artifact.write(stream);
+        }
+        System.out.println("Wrote " + artifact.operations().size() + " MCP tool definitions to " + output);
+    }
+
+    static SwaggerMcpCatalogArtifact generate(OpenAPI openAPI, SwaggerMcpProperties properties) {
+        OpenApiToMcpToolConverter converter = new OpenApiToMcpToolConverter();
+        SwaggerMcpOperationExtractor extractor =
+                new SwaggerMcpOperationExtractor(converter, new SwaggerMcpSecurityPolicy(properties), properties);
+        List<OpenApiOperationDescriptor> operations = extractor.extract(openAPI);
+        List<McpSchema.Tool> converted = (properties.getExtraction().isParallel(operations.size())
+                ? operations.parallelStream()
+                : operations.stream())
+                .map(operation -> converter.convert(operation, properties))
+                .toList();
+        Map<String, McpSchema.Tool> tools = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            tools.put(operations.get(i).toolName(), converted.get(i));
+        }
+        return new SwaggerMcpCatalogArtifact(SwaggerMcpCatalogArtifact.fingerprint(properties), operations, tools);
+    }
+
+    static SwaggerMcpProperties bindProperties(String configFile, Map<String, Object> overrides) throws IOException {
+        List<PropertySource<?>> sources = new ArrayList<>();
+        sources.add(new MapPropertySource("arguments", overrides));
+        if (StringUtils.hasText(configFile)) {
+            String lowerName = configFile.toLowerCase(Locale.ROOT);
+            PropertySourceLoader loader = lowerName.endsWith(".yml") || lowerName.endsWith(".yaml")
+                    ? new YamlPropertySourceLoader()
+                    : new PropertiesPropertySourceLoader();
+            sources.addAll(loader.load(configFile, new FileSystemResource(configFile)));
+        }
+        SwaggerMcpProperties properties = new SwaggerMcpProperties();
+        new Binder(ConfigurationPropertySources.from(sources)).bind("swagger.mcp", Bindable.ofInstance(properties));
+        return properties;
+    }
+
+    private static OpenAPI readOpenApi(Path spec) throws IOException {
+        String content = Files.readString(spec, StandardCharsets.UTF_8);
+        String fileName = spec.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".yml") || fileName.endsWith(".yaml")) {
+            return Yaml.mapper().readValue(content, OpenAPI.class);
+        }
+        try {
+            return Json31.mapper().readValue(content, OpenAPI.class);
+        }
+        catch (Exception json31Ex) {
+            return Json.mapper().readValue(content, OpenAPI.class);
+        }
+    }
+}
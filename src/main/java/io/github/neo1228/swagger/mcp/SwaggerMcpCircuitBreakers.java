@@ -0,0 +1,272 @@
+package io.github.neo1228.swagger.mcp;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-tool circuit breakers around upstream dispatch ({@code swagger.mcp.resilience.circuit-breaker.*}).
+ * <p>
+ * A closed breaker records the outcome of the last {@code sliding-window-size} calls. Dispatch failures and
+ * {@code 5xx} responses count as failures, and calls taking at least {@code slow-call-duration} as slow. Once
+ * {@code minimum-calls} are recorded and either rate reaches its threshold the breaker opens: calls fail immediately
+ * with the retryable {@link SwaggerMcpErrorCode#CIRCUIT_OPEN} and a {@code retryAfter} hint in seconds, instead of
+ * waiting for the upstream timeout. After {@code wait-duration-in-open-state} the breaker half-opens and lets
+ * {@code permitted-calls-in-half-open-state} trial calls through; one failing or slow trial reopens it, all of them
+ * succeeding closes it with a fresh window. Outcomes of calls admitted before a state change are ignored.
+ */
+public class SwaggerMcpCircuitBreakers {
+
+    private static final Permit NO_PERMIT = new Permit(null, 0, 0);
+
+    private final SwaggerMcpProperties properties;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+    public SwaggerMcpCircuitBreakers(SwaggerMcpProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    SwaggerMcpCircuitBreakers(SwaggerMcpProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Admits a call or throws {@link SwaggerMcpToolException} while the breaker of the operation is open. The returned
+     * permit must be completed exactly once with the outcome of the upstream exchange.
+     */
+    Permit acquire(OpenApiOperationDescriptor operation) {
+        SwaggerMcpProperties.CircuitBreaker settings = properties.getResilience().getCircuitBreaker();
+        if (!settings.isEnabled()) {
+            return NO_PERMIT;
+        }
+        return breakers.computeIfAbsent(operation.toolName(), name -> new Breaker(name, settings, nanoClock))
+                .acquire();
+    }
+
+    public boolean isEnabled() {
+        return properties.getResilience().getCircuitBreaker().isEnabled();
+    }
+
+    /**
+     * State and window statistics of every breaker that has seen a call, keyed by tool name.
+     */
+    public Map<String, BreakerSnapshot> snapshots() {
+        Map<String, BreakerSnapshot> snapshots = new TreeMap<>();
+        breakers.forEach((name, breaker) -> snapshots.put(name, breaker.snapshot()));
+        return snapshots;
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * @param failureRate   failed calls in the window, in percent, or {@code -1} below {@code minimum-calls}
+     * @param slowCallRate  slow calls in the window, in percent, or {@code -1} below {@code minimum-calls}
+     * @param retryAfter    time until an open breaker half-opens, zero otherwise
+     */
+    public record BreakerSnapshot(
+            State state,
+            float failureRate,
+            float slowCallRate,
+            int bufferedCalls,
+            Duration retryAfter) {
+    }
+
+    /**
+     * Outcome callback for one admitted call; only the first completion counts.
+     */
+    static final class Permit {
+
+        private final Breaker breaker;
+        private final long generation;
+        private final long startNanos;
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Permit(Breaker breaker, long generation, long startNanos) {
+            this.breaker = breaker;
+            this.generation = generation;
+            this.startNanos = startNanos;
+        }
+
+        /** The upstream answered; {@code 5xx} statuses count as failures. */
+        void onResponse(int status) {
+            complete(status >= 500 ? Outcome.FAILURE : Outcome.SUCCESS);
+        }
+
+        /** Dispatch failed without a response, e.g. it timed out. */
+        void onFailure() {
+            complete(Outcome.FAILURE);
+        }
+
+        /** The call never reached the upstream or was interrupted; it says nothing about upstream health. */
+        void onIgnore() {
+            complete(Outcome.IGNORED);
+        }
+
+        private void complete(Outcome outcome) {
+            if (breaker != null && completed.compareAndSet(false, true)) {
+                breaker.onComplete(this, outcome);
+            }
+        }
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        FAILURE,
+        IGNORED
+    }
+
+    private static final class Breaker {
+
+        private static final byte FAILED = 1;
+        private static final byte SLOW = 2;
+
+        private final String toolName;
+        private final LongSupplier nanoClock;
+        private final int minimumCalls;
+        private final float failureRateThreshold;
+        private final float slowCallRateThreshold;
+        private final long slowCallNanos;
+        private final long openNanos;
+        private final int permittedHalfOpenCalls;
+        private final byte[] window;
+        private State state = State.CLOSED;
+        private long generation;
+        private int windowIndex;
+        private int bufferedCalls;
+        private int failedCalls;
+        private int slowCalls;
+        private long openedAtNanos;
+        private int halfOpenAdmitted;
+        private int halfOpenSucceeded;
+
+        Breaker(String toolName, SwaggerMcpProperties.CircuitBreaker settings, LongSupplier nanoClock) {
+            this.toolName = toolName;
+            this.nanoClock = nanoClock;
+            int windowSize = Math.max(1, settings.getSlidingWindowSize());
+            this.window = new byte[windowSize];
+            this.minimumCalls = Math.min(windowSize, Math.max(1, settings.getMinimumCalls()));
+            this.failureRateThreshold = settings.getFailureRateThreshold();
+            this.slowCallRateThreshold = settings.getSlowCallRateThreshold();
+            this.slowCallNanos = positiveNanos(settings.getSlowCallDuration(), Long.MAX_VALUE);
+            this.openNanos = positiveNanos(settings.getWaitDurationInOpenState(), 0);
+            this.permittedHalfOpenCalls = Math.max(1, settings.getPermittedCallsInHalfOpenState());
+        }
+
+        synchronized Permit acquire() {
+            long now = nanoClock.getAsLong();
+            if (state == State.OPEN) {
+                long remaining = openedAtNanos + openNanos - now;
+                if (remaining > 0) {
+                    throw SwaggerMcpToolException.circuitOpen(
+                            toolName, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + 999_999_999)));
+                }
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenAdmitted >= permittedHalfOpenCalls) {
+                    throw SwaggerMcpToolException.circuitOpen(toolName, 1);
+                }
+                halfOpenAdmitted++;
+            }
+            return new Permit(this, generation, now);
+        }
+
+        synchronized void onComplete(Permit permit, Outcome outcome) {
+            if (permit.generation != generation) {
+                return;
+            }
+            if (outcome == Outcome.IGNORED) {
+                if (state == State.HALF_OPEN) {
+                    halfOpenAdmitted--;
+                }
+                return;
+            }
+            boolean failed = outcome == Outcome.FAILURE;
+            boolean slow = nanoClock.getAsLong() - permit.startNanos >= slowCallNanos;
+            if (state == State.HALF_OPEN) {
+                if (failed || slow) {
+                    open();
+                }
+                else if (++halfOpenSucceeded >= permittedHalfOpenCalls) {
+                    transition(State.CLOSED);
+                }
+                return;
+            }
+            record((byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0)));
+            if (bufferedCalls >= minimumCalls
+                    && (failureRate() >= failureRateThreshold || slowCallRate() >= slowCallRateThreshold)) {
+                open();
+            }
+        }
+
+        synchronized BreakerSnapshot snapshot() {
+            long now = nanoClock.getAsLong();
+            boolean measured = bufferedCalls >= minimumCalls;
+            Duration retryAfter = state == State.OPEN
+                    ? Duration.ofNanos(Math.max(0, openedAtNanos + openNanos - now))
+                    : Duration.ZERO;
+            return new BreakerSnapshot(
+                    state,
+                    measured ? failureRate() : -1,
+                    measured ? slowCallRate() : -1,
+                    bufferedCalls,
+                    retryAfter);
+        }
+
+        private void record(byte outcome) {
+            if (bufferedCalls == window.length) {
+                byte evicted = window[windowIndex];
+                failedCalls -= evicted & FAILED;
+                slowCalls -= (evicted & SLOW) >> 1;
+            }
+            else {
+                bufferedCalls++;
+            }
+            window[windowIndex] = outcome;
+            failedCalls += outcome & FAILED;
+            slowCalls += (outcome & SLOW) >> 1;
+            windowIndex = (windowIndex + 1) % window.length;
+        }
+
+        private float failureRate() {
+            return failedCalls * 100f / bufferedCalls;
+        }
+
+        private float slowCallRate() {
+            return slowCalls * 100f / bufferedCalls;
+        }
+
+        private void open() {
+            transition(State.OPEN);
+            openedAtNanos = nanoClock.getAsLong();
+        }
+
+        private void transition(State next) {
+            state = next;
+            generation++;
+            halfOpenAdmitted = 0;
+            halfOpenSucceeded = 0;
+            if (next == State.CLOSED) {
+                windowIndex = 0;
+                bufferedCalls = 0;
+                failedCalls = 0;
+                slowCalls = 0;
+            }
+        }
+
+        private static long positiveNanos(Duration duration, long fallback) {
+            return duration == null || duration.isNegative() || duration.isZero() ? fallback : duration.toNanos();
+        }
+    }
+}
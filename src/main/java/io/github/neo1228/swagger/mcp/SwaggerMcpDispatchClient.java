@@ -0,0 +1,51 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Outbound HTTP client used to dispatch generated tool calls and to fetch the OpenAPI document.
+ * <p>
+ * Implementations must not treat non-2xx responses as errors: the status is reported back to the MCP client.
+ * Transport failures should be thrown as runtime exceptions. Bodies are read up to {@code maxBodyBytes} (zero or
+ * negative means unbounded); beyond that the implementation stops buffering, marks the body truncated and either
+ * drains or aborts the connection. Register a bean of this type to replace the default
+ * {@link SwaggerMcpPooledDispatchClient}.
+ */
+public interface SwaggerMcpDispatchClient {
+
+    ResponseEntity<SwaggerMcpResponseBody> exchange(
+            HttpMethod method,
+            URI uri,
+            HttpHeaders headers,
+            Object body,
+            long maxBodyBytes);
+
+    /**
+     * Non-blocking variant used when tools are served by an {@code McpAsyncServer}. Transport failures complete
+     * the future exceptionally. The default runs {@link #exchange} on {@code blockingExecutor}, the caller's executor
+     * for blocking work (never the common fork-join pool); override it with real non-blocking I/O to keep thousands
+     * of slow calls in flight on a handful of threads.
+     */
+    default CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> exchangeAsync(
+            HttpMethod method,
+            URI uri,
+            HttpHeaders headers,
+            Object body,
+            long maxBodyBytes,
+            Executor blockingExecutor) {
+        return CompletableFuture.supplyAsync(() -> exchange(method, uri, headers, body, maxBodyBytes), blockingExecutor);
+    }
+
+    /**
+     * Short engine identifier reported by the capabilities meta tool.
+     */
+    default String engine() {
+        return getClass().getSimpleName();
+    }
+}
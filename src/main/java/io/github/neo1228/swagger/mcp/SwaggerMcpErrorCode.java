@@ -12,6 +12,12 @@ public enum SwaggerMcpErrorCode {
     SECURITY_DENIED,
     /** Workflow definition, validation, or interpolation failed. */
     WORKFLOW_ERROR,
+    /** Tools are still being registered in the background; retry shortly. */
+    CATALOG_NOT_READY,
+    /** A bulkhead or concurrency limit for the operation is saturated; retry shortly. */
+    CONCURRENCY_LIMIT_EXCEEDED,
+    /** The circuit breaker of the operation is open after repeated upstream failures; retry after the hint. */
+    CIRCUIT_OPEN,
     /** Outbound HTTP dispatch failed before a response was produced. */
     HTTP_DISPATCH_FAILED,
     /** Outbound HTTP dispatch was interrupted. */
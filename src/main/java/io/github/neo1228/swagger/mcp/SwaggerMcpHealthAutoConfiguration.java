@@ -0,0 +1,35 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Contributes the {@code swaggerMcp} health indicator when Spring Boot Actuator is present. Disable it with
+ * {@code management.health.swagger-mcp.enabled=false}.
+ */
+@AutoConfiguration(after = SwaggerMcpAutoConfiguration.class)
+@ConditionalOnClass(HealthIndicator.class)
+@ConditionalOnBean(SwaggerMcpService.class)
+@ConditionalOnEnabledHealthIndicator("swagger-mcp")
+public class SwaggerMcpHealthAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(name = "swaggerMcpHealthIndicator")
+    public HealthIndicator swaggerMcpHealthIndicator(
+            SwaggerMcpService swaggerMcpService,
+            SwaggerMcpOperationCatalog swaggerMcpOperationCatalog,
+            ObjectProvider<SwaggerMcpAuditPipeline> swaggerMcpAuditPipeline,
+            ObjectProvider<SwaggerMcpServerAdapter> swaggerMcpServerAdapter) {
+        return new SwaggerMcpHealthIndicator(
+                swaggerMcpService,
+                swaggerMcpOperationCatalog,
+                swaggerMcpAuditPipeline.getIfAvailable(),
+                swaggerMcpServerAdapter.getIfAvailable());
+    }
+}
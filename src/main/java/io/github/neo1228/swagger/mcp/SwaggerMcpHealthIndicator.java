@@ -0,0 +1,132 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports whether the MCP tool catalog is registered: {@code UP} once ready, {@code OUT_OF_SERVICE} while startup
+ * registration is pending or running, {@code DOWN} when the last attempt failed.
+ * <p>
+ * Add {@code swaggerMcp} to a readiness health group to hold traffic until tools are available.
+ */
+class SwaggerMcpHealthIndicator extends AbstractHealthIndicator {
+
+    private final SwaggerMcpService service;
+    private final SwaggerMcpOperationCatalog operationCatalog;
+    private final SwaggerMcpAuditPipeline auditPipeline;
+    private final SwaggerMcpServerAdapter adapter;
+
+    SwaggerMcpHealthIndicator(
+            SwaggerMcpService service,
+            SwaggerMcpOperationCatalog operationCatalog,
+            SwaggerMcpAuditPipeline auditPipeline) {
+        this(service, operationCatalog, auditPipeline, null);
+    }
+
+    SwaggerMcpHealthIndicator(
+            SwaggerMcpService service,
+            SwaggerMcpOperationCatalog operationCatalog,
+            SwaggerMcpAuditPipeline auditPipeline,
+            SwaggerMcpServerAdapter adapter) {
+        super("Swagger MCP health check failed");
+        this.service = service;
+        this.operationCatalog = operationCatalog;
+        this.auditPipeline = auditPipeline;
+        this.adapter = adapter;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        SwaggerMcpService.RegistrationState state = service.registrationState();
+        Status status = switch (state) {
+            case READY -> Status.UP;
+            case FAILED -> Status.DOWN;
+            case PENDING, REGISTERING -> Status.OUT_OF_SERVICE;
+        };
+        SwaggerMcpOperationCatalog.Snapshot catalog = operationCatalog.snapshot();
+        builder.status(status)
+                .withDetail("state", state.name())
+                .withDetail("generation", catalog.generation())
+                .withDetail("operationCount", catalog.stats().operationCount());
+        if (service.registrationFailure() != null) {
+            builder.withDetail("failure", service.registrationFailure());
+        }
+        SwaggerMcpService.RefreshReport lastRefresh = service.lastRefresh();
+        if (lastRefresh != null) {
+            builder.withDetail("lastRefresh", Map.of(
+                    "completedAt", lastRefresh.completedAt().toString(),
+                    "outcome", lastRefresh.outcome().name(),
+                    "loadMillis", lastRefresh.loadTime().toMillis(),
+                    "extractMillis", lastRefresh.extractTime().toMillis(),
+                    "registerMillis", lastRefresh.registerTime().toMillis()));
+        }
+        if (auditPipeline != null) {
+            SwaggerMcpAuditPipeline.Stats audit = auditPipeline.stats();
+            builder.withDetail("audit", Map.of(
+                    "published", audit.published(),
+                    "written", audit.written(),
+                    "dropped", audit.dropped(),
+                    "failed", audit.failed(),
+                    "blocked", audit.blocked(),
+                    "pending", audit.pending()));
+        }
+        if (adapter != null) {
+            Map<String, Object> bulkheads = new LinkedHashMap<>();
+            adapter.bulkheads().gauges().forEach((name, gauge) -> bulkheads.put(name, Map.of(
+                    "limit", gauge.limit(),
+                    "inFlight", gauge.inFlight(),
+                    "waiting", gauge.waiting(),
+                    "rejected", gauge.rejected())));
+            if (!bulkheads.isEmpty()) {
+                builder.withDetail("bulkheads", bulkheads);
+            }
+            Map<String, Object> adaptiveLimits = new LinkedHashMap<>();
+            adapter.adaptiveLimiter().gauges().forEach((name, gauge) -> adaptiveLimits.put(name, Map.of(
+                    "limit", gauge.limit(),
+                    "inFlight", gauge.inFlight(),
+                    "minRttMicros", gauge.minRttMicros(),
+                    "rejected", gauge.rejected())));
+            if (!adaptiveLimits.isEmpty()) {
+                builder.withDetail("adaptiveLimits", adaptiveLimits);
+            }
+            SwaggerMcpSingleFlight.Stats singleFlight = adapter.singleFlight().stats();
+            if (singleFlight.dispatched() > 0) {
+                builder.withDetail("singleFlight", Map.of(
+                        "dispatched", singleFlight.dispatched(),
+                        "coalesced", singleFlight.coalesced(),
+                        "inFlight", singleFlight.inFlight()));
+            }
+            SwaggerMcpHedging.Stats hedging = adapter.hedging().stats();
+            if (hedging.hedgedCalls() > 0 || hedging.budgetDenied() > 0) {
+                builder.withDetail("hedging", Map.of(
+                        "hedgedCalls", hedging.hedgedCalls(),
+                        "hedgeWins", hedging.hedgeWins(),
+                        "budgetDenied", hedging.budgetDenied()));
+            }
+            SwaggerMcpRetries.Stats retries = adapter.retries().stats();
+            if (retries.retriedCalls() > 0 || retries.exhausted() > 0 || retries.deadlineExceeded() > 0) {
+                builder.withDetail("retries", Map.of(
+                        "retriedCalls", retries.retriedCalls(),
+                        "retries", retries.retries(),
+                        "recovered", retries.recovered(),
+                        "exhausted", retries.exhausted(),
+                        "deadlineExceeded", retries.deadlineExceeded()));
+            }
+            SwaggerMcpResponseCache.Stats responseCache = adapter.responseCache().stats();
+            if (responseCache.hits() > 0 || responseCache.misses() > 0) {
+                builder.withDetail("responseCache", Map.of(
+                        "hits", responseCache.hits(),
+                        "misses", responseCache.misses(),
+                        "stores", responseCache.stores(),
+                        "evictions", responseCache.evictions(),
+                        "expirations", responseCache.expirations(),
+                        "entries", responseCache.entries(),
+                        "bytes", responseCache.bytes()));
+            }
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hedged dispatch for read-only operations ({@code swagger.mcp.resilience.hedge.*}) to cut tail latency.
+ * <p>
+ * Each read-only tool keeps a window of its recent call latencies. Once {@code min-samples} are known, a call that
+ * has not answered within the {@code percentile} of that window (clamped to {@code min-delay}..{@code max-delay})
+ * sends one identical second request; the first response wins and the other exchange is cancelled. A failure only
+ * ends the call when no other attempt is still running. Hedges draw on a global token budget that every read-only
+ * call refills by {@code budget-percent} of a token, up to {@code budget-burst} tokens, so hedging cannot add more
+ * than that share of extra load when an upstream degrades as a whole.
+ * <p>
+ * Blocking attempts run on the caller-supplied executor and perform their exchange on that thread, so cancelling a
+ * loser interrupts that thread and aborts the request the transport registered with {@link SwaggerMcpCancellation}
+ * (the Apache engine closes the connection, which ends a socket read the interrupt alone would not). Asynchronous
+ * attempts cancel the engine's exchange. A custom engine that neither honours interrupts nor registers an abort
+ * finishes the exchange in the background, still holding its concurrency permits, and its response is discarded.
+ */
+public class SwaggerMcpHedging {
+
+    private static final long MILLI_TOKENS = 1000;
+
+    private final SwaggerMcpProperties properties;
+    private final ConcurrentMap<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+    private final AtomicLong budgetMilliTokens = new AtomicLong(-1);
+    private final LongAdder hedgedCalls = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder budgetDenied = new LongAdder();
+
+    public SwaggerMcpHedging(SwaggerMcpProperties properties) {
+        this.properties = properties;
+    }
+
+    ResponseEntity<SwaggerMcpResponseBody> execute(
+            OpenApiOperationDescriptor operation,
+            Executor executor,
+            Supplier<ResponseEntity<SwaggerMcpResponseBody>> attempt) {
+        if (!isHedged(operation)) {
+            return attempt.get();
+        }
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> result =
+                executeAsync(operation, () -> interruptible(attempt, executor));
+        try {
+            return result.get();
+        }
+        catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw SwaggerMcpToolException.dispatchInterrupted(ex);
+        }
+        catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw SwaggerMcpToolException.dispatchFailed("HTTP dispatch failed: " + ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> executeAsync(
+            OpenApiOperationDescriptor operation,
+            Supplier<CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>>> attempt) {
+        if (!isHedged(operation)) {
+            return attempt.get();
+        }
+        SwaggerMcpProperties.Hedge settings = properties.getResilience().getHedge();
+        depositBudget(settings);
+        LatencyWindow window = windows.computeIfAbsent(operation.toolName(), name -> new LatencyWindow(settings));
+        Race race = new Race(window);
+        race.launch(start(attempt), false);
+        long delayNanos = window.hedgeDelayNanos();
+        if (delayNanos >= 0 && !race.result.isDone()) {
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+                if (race.result.isDone()) {
+                    return;
+                }
+                if (!tryConsumeBudget()) {
+                    budgetDenied.increment();
+                    return;
+                }
+                hedgedCalls.increment();
+                race.launch(start(attempt), true);
+            });
+        }
+        return race.result;
+    }
+
+    /**
+     * Current hedge delay per tool, or {@code null} while a tool has fewer than {@code min-samples} latencies.
+     */
+    public Map<String, Duration> delays() {
+        Map<String, Duration> delays = new TreeMap<>();
+        windows.forEach((name, window) -> {
+            long delayNanos = window.hedgeDelayNanos();
+            delays.put(name, delayNanos < 0 ? null : Duration.ofNanos(delayNanos));
+        });
+        return delays;
+    }
+
+    public Stats stats() {
+        return new Stats(hedgedCalls.sum(), hedgeWins.sum(), budgetDenied.sum());
+    }
+
+    /**
+     * @param hedgedCalls  calls that sent a second request
+     * @param hedgeWins    hedged calls answered by the second request first
+     * @param budgetDenied hedges skipped because the global budget was exhausted
+     */
+    public record Stats(long hedgedCalls, long hedgeWins, long budgetDenied) {
+    }
+
+    boolean isHedged(OpenApiOperationDescriptor operation) {
+        return properties.getResilience().getHedge().isEnabled() && operation.isReadOnly();
+    }
+
+    private void depositBudget(SwaggerMcpProperties.Hedge settings) {
+        long capacity = Math.max(1, settings.getBudgetBurst()) * MILLI_TOKENS;
+        long deposit = (long) (Math.max(0, settings.getBudgetPercent()) * MILLI_TOKENS / 100);
+        budgetMilliTokens.updateAndGet(current -> current < 0 ? capacity : Math.min(capacity, current + deposit));
+    }
+
+    private boolean tryConsumeBudget() {
+        while (true) {
+            long current = budgetMilliTokens.get();
+            if (current < MILLI_TOKENS) {
+                return false;
+            }
+            if (budgetMilliTokens.compareAndSet(current, current - MILLI_TOKENS)) {
+                return true;
+            }
+        }
+    }
+
+    private static CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> start(
+            Supplier<CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>>> attempt) {
+        try {
+            return attempt.get();
+        }
+        catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Runs a blocking attempt on {@code executor}; cancelling the returned future interrupts it and aborts the
+     * request its transport registered with {@link SwaggerMcpCancellation}.
+     */
+    private static <T> CompletableFuture<T> interruptible(Supplier<T> task, Executor executor) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        SwaggerMcpCancellation cancellation = new SwaggerMcpCancellation();
+        FutureTask<Void> future = new FutureTask<>(() -> {
+            try {
+                result.complete(cancellation.run(task));
+            }
+            catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+            return null;
+        });
+        result.whenComplete((value, failure) -> {
+            if (result.isCancelled()) {
+                // Interrupt first, so the attempt already sees itself cancelled when the aborted I/O fails.
+                future.cancel(true);
+                cancellation.cancel();
+            }
+        });
+        executor.execute(future);
+        return result;
+    }
+
+    /**
+     * The primary attempt and at most one hedge racing for {@link #result}.
+     */
+    private final class Race {
+
+        private final CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> result = new CompletableFuture<>();
+        private final List<CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>>> attempts = new ArrayList<>(2);
+        private final LatencyWindow window;
+        private final long startNanos = System.nanoTime();
+        private int pending;
+        private boolean settled;
+
+        Race(LatencyWindow window) {
+            this.window = window;
+            result.whenComplete((value, failure) -> {
+                if (result.isCancelled()) {
+                    cancelAll(null);
+                }
+            });
+        }
+
+        synchronized void launch(CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> attempt, boolean hedge) {
+            if (result.isDone()) {
+                attempt.cancel(true);
+                return;
+            }
+            attempts.add(attempt);
+            pending++;
+            attempt.whenComplete((value, failure) -> onComplete(attempt, hedge, value, failure));
+        }
+
+        private synchronized void onComplete(
+                CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> attempt,
+                boolean hedge,
+                ResponseEntity<SwaggerMcpResponseBody> value,
+                Throwable failure) {
+            pending--;
+            if (settled || result.isDone()) {
+                return;
+            }
+            if (failure == null) {
+                settled = true;
+                window.record(System.nanoTime() - startNanos);
+                if (hedge) {
+                    hedgeWins.increment();
+                }
+                // Losers are cancelled before the caller resumes, so their exchanges end as early as possible.
+                cancelAll(attempt);
+                result.complete(value);
+            }
+            else if (pending == 0) {
+                settled = true;
+                result.completeExceptionally(unwrap(failure));
+            }
+        }
+
+        private synchronized void cancelAll(CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> winner) {
+            for (CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> attempt : attempts) {
+                if (attempt != winner) {
+                    attempt.cancel(true);
+                }
+            }
+        }
+
+        private Throwable unwrap(Throwable failure) {
+            return failure instanceof CompletionException && failure.getCause() != null
+                    && !(failure.getCause() instanceof CancellationException)
+                    ? failure.getCause()
+                    : failure;
+        }
+    }
+
+    /**
+     * Ring of recent call latencies; the hedge delay is recomputed from it every few samples.
+     */
+    private static final class LatencyWindow {
+
+        private static final int RECOMPUTE_EVERY = 16;
+
+        private final long[] samples;
+        private final double percentile;
+        private final int minSamples;
+        private final long minDelayNanos;
+        private final long maxDelayNanos;
+        private int next;
+        private int count;
+        private int sinceRecompute;
+        private volatile long delayNanos = -1;
+
+        LatencyWindow(SwaggerMcpProperties.Hedge settings) {
+            this.samples = new long[Math.max(1, settings.getWindowSize())];
+            this.percentile = Math.min(Math.max(settings.getPercentile(), 0.0), 100.0);
+            this.minSamples = Math.min(samples.length, Math.max(1, settings.getMinSamples()));
+            this.minDelayNanos = nanos(settings.getMinDelay(), 0);
+            this.maxDelayNanos = Math.max(minDelayNanos, nanos(settings.getMaxDelay(), Long.MAX_VALUE));
+        }
+
+        /** Delay before hedging, or {@code -1} while too few latencies are known. */
+        long hedgeDelayNanos() {
+            return delayNanos;
+        }
+
+        synchronized void record(long latencyNanos) {
+            samples[next] = latencyNanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            if (count >= minSamples && (++sinceRecompute >= RECOMPUTE_EVERY || delayNanos < 0)) {
+                sinceRecompute = 0;
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(percentile / 100 * count) - 1;
+                long value = sorted[Math.max(0, Math.min(count - 1, index))];
+                delayNanos = Math.max(minDelayNanos, Math.min(maxDelayNanos, value));
+            }
+        }
+
+        private static long nanos(Duration duration, long fallback) {
+            return duration == null || duration.isNegative() ? fallback : duration.toNanos();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.neo1228.swagger.mcp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps audit events in memory, for tests that assert on what was audited.
+ */
+public class SwaggerMcpInMemoryAuditSink implements SwaggerMcpAuditSink {
+
+    private final List<SwaggerMcpAuditEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized void write(List<SwaggerMcpAuditEvent> batch) {
+        events.addAll(batch);
+    }
+
+    public synchronized List<SwaggerMcpAuditEvent> events() {
+        return List.copyOf(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
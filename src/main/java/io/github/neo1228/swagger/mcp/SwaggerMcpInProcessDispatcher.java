@@ -0,0 +1,1312 @@
+package io.github.neo1228.swagger.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletMapping;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.MappingMatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.servlet.AbstractFilterRegistrationBean;
+import org.springframework.boot.web.servlet.ServletContextInitializer;
+import org.springframework.boot.web.servlet.ServletContextInitializerBeans;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dispatches generated API tool calls straight into the Spring MVC {@link DispatcherServlet} of the hosting
+ * application instead of sending a loopback HTTP request. Registered servlet filters run in their configured
+ * order in front of the servlet, so security and observation filters still see the call.
+ * <p>
+ * Requests are stateless: each synthetic request gets its own in-memory HTTP session that is discarded with it, and
+ * async processing is not supported.
+ */
+public class SwaggerMcpInProcessDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerMcpInProcessDispatcher.class);
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+
+    private final ListableBeanFactory beanFactory;
+    private final ObjectProvider<DispatcherServlet> dispatcherServletProvider;
+    private final ObjectMapper objectMapper;
+    private volatile List<FilterMapping> filterMappings;
+
+    public SwaggerMcpInProcessDispatcher(
+            ListableBeanFactory beanFactory,
+            ObjectProvider<DispatcherServlet> dispatcherServletProvider,
+            ObjectMapper objectMapper) {
+        this.beanFactory = beanFactory;
+        this.dispatcherServletProvider = dispatcherServletProvider;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns {@code true} once the {@link DispatcherServlet} has been initialized by the servlet container.
+     */
+    public boolean isAvailable() {
+        DispatcherServlet dispatcherServlet = dispatcherServletProvider.getIfAvailable();
+        return dispatcherServlet != null && dispatcherServlet.getServletConfig() != null;
+    }
+
+    /**
+     * Dispatches one request through the filter chain and {@link DispatcherServlet}. At most {@code maxBodyBytes}
+     * of the response body are kept (zero or negative means unbounded); anything the handler writes past that is
+     * discarded as it is written.
+     */
+    public ResponseEntity<SwaggerMcpResponseBody> exchange(
+            HttpMethod method,
+            URI uri,
+            HttpHeaders headers,
+            Object body,
+            long maxBodyBytes) {
+        DispatcherServlet dispatcherServlet = dispatcherServletProvider.getIfAvailable();
+        if (dispatcherServlet == null || dispatcherServlet.getServletConfig() == null) {
+            throw new IllegalStateException("DispatcherServlet is not initialized; in-process dispatch is unavailable");
+        }
+        ServletContext servletContext = dispatcherServlet.getServletContext();
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.putAll(headers);
+        byte[] content = serializeBody(body, requestHeaders);
+
+        InProcessRequest request = new InProcessRequest(servletContext, method, uri, requestHeaders, content);
+        InProcessResponse response = new InProcessResponse(maxBodyBytes);
+        // The chain may run on the MCP caller's own thread, and filters such as RequestContextFilter and Spring
+        // Security's FilterChainProxy clear their thread-bound state when they finish. Start the synthetic request
+        // from a clean thread, as a loopback request would, and hand the caller's state back afterwards.
+        ThreadContext callerContext = ThreadContext.detach();
+        try {
+            List<Filter> filters = new ArrayList<>();
+            for (FilterMapping mapping : filterMappings()) {
+                if (mapping.matches(request.getPathWithinApplication())) {
+                    filters.add(mapping.filter());
+                }
+            }
+            new InProcessFilterChain(filters.iterator(), dispatcherServlet).doFilter(request, response);
+        }
+        catch (IOException | ServletException | RuntimeException ex) {
+            // Like the servlet container, never hand the raw exception message to the caller.
+            logger.warn("In-process dispatch failed for {} {}", method, uri.getRawPath(), ex);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendErrorQuietly(HttpStatus.INTERNAL_SERVER_ERROR.value(), null);
+            }
+        }
+        finally {
+            callerContext.restore();
+        }
+        return toResponseEntity(request, response);
+    }
+
+    private byte[] serializeBody(Object body, HttpHeaders headers) {
+        if (body == null) {
+            return new byte[0];
+        }
+        if (body instanceof byte[] bytes) {
+            if (headers.getContentType() == null) {
+                headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+            }
+            return bytes;
+        }
+        if (body instanceof String text) {
+            if (headers.getContentType() == null) {
+                headers.setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+            }
+            return text.getBytes(charsetOf(headers.getContentType()));
+        }
+        if (headers.getContentType() == null) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        }
+        catch (Exception ex) {
+            throw SwaggerMcpToolException.invalidArgument("Request body could not be serialized: " + ex.getMessage());
+        }
+    }
+
+    private ResponseEntity<SwaggerMcpResponseBody> toResponseEntity(InProcessRequest request, InProcessResponse response) {
+        response.flushWriter();
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.putAll(response.headers);
+        SwaggerMcpResponseBody responseBody;
+        if (response.content.size() == 0 && response.errorMessage != null) {
+            responseBody = SwaggerMcpResponseBody.of(errorBody(request, response));
+            responseHeaders.setContentType(MediaType.APPLICATION_JSON);
+        }
+        else {
+            responseBody = response.content.toBody(charsetOf(responseHeaders.getContentType(), response.characterEncoding));
+        }
+        return ResponseEntity.status(response.getStatus()).headers(responseHeaders).body(responseBody);
+    }
+
+    private String errorBody(InProcessRequest request, InProcessResponse response) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("timestamp", Instant.now().toString());
+        error.put("status", response.getStatus());
+        HttpStatus status = HttpStatus.resolve(response.getStatus());
+        error.put("error", status == null ? "Unknown" : status.getReasonPhrase());
+        if (StringUtils.hasText(response.errorMessage)) {
+            error.put("message", response.errorMessage);
+        }
+        error.put("path", request.getPathWithinApplication());
+        try {
+            return objectMapper.writeValueAsString(error);
+        }
+        catch (Exception ex) {
+            return "";
+        }
+    }
+
+    private List<FilterMapping> filterMappings() {
+        List<FilterMapping> mappings = filterMappings;
+        if (mappings == null) {
+            synchronized (this) {
+                mappings = filterMappings;
+                if (mappings == null) {
+                    mappings = resolveFilterMappings();
+                    filterMappings = mappings;
+                }
+            }
+        }
+        return mappings;
+    }
+
+    private List<FilterMapping> resolveFilterMappings() {
+        List<FilterMapping> mappings = new ArrayList<>();
+        for (ServletContextInitializer initializer : new ServletContextInitializerBeans(beanFactory)) {
+            if (!(initializer instanceof AbstractFilterRegistrationBean<?> registration) || !registration.isEnabled()) {
+                continue;
+            }
+            // Synthetic calls are plain REQUEST dispatches; ERROR/ASYNC-only filters would not run for them.
+            if (!registration.determineDispatcherTypes().contains(DispatcherType.REQUEST)) {
+                continue;
+            }
+            Filter filter = registration.getFilter();
+            if (filter == null) {
+                continue;
+            }
+            Collection<String> urlPatterns = registration.getUrlPatterns();
+            mappings.add(new FilterMapping(filter, urlPatterns == null ? List.of() : List.copyOf(urlPatterns)));
+        }
+        logger.debug("In-process MCP dispatch applies {} servlet filter(s)", mappings.size());
+        return List.copyOf(mappings);
+    }
+
+    private static Charset charsetOf(MediaType mediaType) {
+        return charsetOf(mediaType, null);
+    }
+
+    private static Charset charsetOf(MediaType mediaType, String characterEncoding) {
+        if (mediaType != null && mediaType.getCharset() != null) {
+            return mediaType.getCharset();
+        }
+        if (StringUtils.hasText(characterEncoding)) {
+            try {
+                return Charset.forName(characterEncoding);
+            }
+            catch (Exception ex) {
+                return StandardCharsets.UTF_8;
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T unsupported(Class<T> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> type.getSimpleName() + "[in-process]";
+                default -> throw new UnsupportedOperationException(
+                        type.getSimpleName() + "." + method.getName() + " is not supported for in-process MCP dispatch");
+            };
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    /**
+     * Thread-bound request, locale and (when Spring Security is present) security context of the calling thread.
+     */
+    private record ThreadContext(RequestAttributes requestAttributes, LocaleContext localeContext, Object securityContext) {
+
+        private static final boolean SECURITY_PRESENT = ClassUtils.isPresent(
+                SwaggerMcpSpringSecurityAuthorityResolver.SECURITY_CONTEXT_HOLDER,
+                SwaggerMcpInProcessDispatcher.class.getClassLoader());
+
+        static ThreadContext detach() {
+            ThreadContext context = new ThreadContext(
+                    RequestContextHolder.getRequestAttributes(),
+                    LocaleContextHolder.getLocaleContext(),
+                    SECURITY_PRESENT ? SecurityContexts.detach() : null);
+            RequestContextHolder.resetRequestAttributes();
+            LocaleContextHolder.resetLocaleContext();
+            return context;
+        }
+
+        void restore() {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            LocaleContextHolder.setLocaleContext(localeContext);
+            if (SECURITY_PRESENT) {
+                SecurityContexts.restore(securityContext);
+            }
+        }
+    }
+
+    /**
+     * Only loaded once {@link ThreadContext} has found Spring Security on the classpath.
+     */
+    private static final class SecurityContexts {
+
+        static Object detach() {
+            SecurityContext context = SecurityContextHolder.getContext();
+            SecurityContextHolder.clearContext();
+            return context;
+        }
+
+        static void restore(Object context) {
+            if (context instanceof SecurityContext securityContext) {
+                SecurityContextHolder.setContext(securityContext);
+            }
+            else {
+                SecurityContextHolder.clearContext();
+            }
+        }
+    }
+
+    private record FilterMapping(Filter filter, List<String> urlPatterns) {
+
+        boolean matches(String path) {
+            if (urlPatterns.isEmpty()) {
+                return true;
+            }
+            for (String pattern : urlPatterns) {
+                if ("/*".equals(pattern) || "/".equals(pattern) || pattern.equals(path)) {
+                    return true;
+                }
+                if (pattern.endsWith("/*")) {
+                    String prefix = pattern.substring(0, pattern.length() - 2);
+                    if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                        return true;
+                    }
+                }
+                else if (pattern.startsWith("*.") && path.endsWith(pattern.substring(1))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class InProcessFilterChain implements FilterChain {
+
+        private final Iterator<Filter> filters;
+        private final Servlet servlet;
+
+        InProcessFilterChain(Iterator<Filter> filters, Servlet servlet) {
+            this.filters = filters;
+            this.servlet = servlet;
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+            if (filters.hasNext()) {
+                filters.next().doFilter(request, response, this);
+                return;
+            }
+            servlet.service(request, response);
+        }
+    }
+
+    /**
+     * Synthetic request backed by in-memory state. Every servlet API method a filter or handler is expected to
+     * use is overridden; anything else hits the unsupported base request and fails loudly.
+     */
+    static final class InProcessRequest extends HttpServletRequestWrapper {
+
+        private final ServletContext servletContext;
+        private final HttpMethod method;
+        private final String contextPath;
+        private final String pathWithinApplication;
+        private final String rawQuery;
+        private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>(Locale.ROOT);
+        private final Map<String, String[]> parameters = new LinkedHashMap<>();
+        private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+        private final byte[] content;
+        private final List<Locale> locales;
+        private Cookie[] cookies;
+        private InProcessSession session;
+        private String characterEncoding;
+        private ServletInputStream inputStream;
+        private BufferedReader reader;
+
+        InProcessRequest(ServletContext servletContext, HttpMethod method, URI uri, HttpHeaders headers, byte[] content) {
+            super(unsupported(HttpServletRequest.class));
+            this.servletContext = servletContext;
+            this.method = method;
+            this.contextPath = servletContext.getContextPath() == null ? "" : servletContext.getContextPath();
+            String rawPath = StringUtils.hasText(uri.getRawPath()) ? uri.getRawPath() : "/";
+            this.pathWithinApplication = rawPath;
+            this.rawQuery = uri.getRawQuery();
+            this.content = content;
+            headers.forEach((name, values) -> this.headers.put(name, List.copyOf(values)));
+            if (content.length > 0) {
+                this.headers.put(HttpHeaders.CONTENT_LENGTH, List.of(String.valueOf(content.length)));
+            }
+            MediaType contentType = headers.getContentType();
+            if (contentType != null && contentType.getCharset() != null) {
+                this.characterEncoding = contentType.getCharset().name();
+            }
+            this.locales = parseLocales(headers);
+            parseQueryParameters();
+        }
+
+        private static List<Locale> parseLocales(HttpHeaders headers) {
+            try {
+                List<Locale> accepted = headers.getAcceptLanguageAsLocales();
+                if (!accepted.isEmpty()) {
+                    return accepted;
+                }
+            }
+            catch (IllegalArgumentException ex) {
+                // A malformed Accept-Language is ignored, as the servlet container does.
+            }
+            return List.of(Locale.getDefault());
+        }
+
+        private Cookie[] parseCookies() {
+            List<Cookie> parsed = new ArrayList<>();
+            for (String header : headers.getOrDefault(HttpHeaders.COOKIE, List.of())) {
+                for (String pair : header.split(";")) {
+                    int separator = pair.indexOf('=');
+                    if (separator <= 0) {
+                        continue;
+                    }
+                    String name = pair.substring(0, separator).trim();
+                    String value = pair.substring(separator + 1).trim();
+                    if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                        value = value.substring(1, value.length() - 1);
+                    }
+                    try {
+                        parsed.add(new Cookie(name, value));
+                    }
+                    catch (IllegalArgumentException ex) {
+                        // Skip names the servlet API rejects instead of failing the whole request.
+                    }
+                }
+            }
+            return parsed.isEmpty() ? null : parsed.toArray(Cookie[]::new);
+        }
+
+        String getPathWithinApplication() {
+            return pathWithinApplication;
+        }
+
+        private void parseQueryParameters() {
+            if (!StringUtils.hasText(rawQuery)) {
+                return;
+            }
+            MultiValueMap<String, String> queryParams = UriComponentsBuilder.newInstance()
+                    .query(rawQuery)
+                    .build()
+                    .getQueryParams();
+            MultiValueMap<String, String> decoded = new LinkedMultiValueMap<>();
+            queryParams.forEach((name, values) -> {
+                String decodedName = UriUtils.decode(name, StandardCharsets.UTF_8);
+                for (String value : values) {
+                    decoded.add(decodedName, value == null ? "" : UriUtils.decode(value, StandardCharsets.UTF_8));
+                }
+            });
+            decoded.forEach((name, values) -> parameters.put(name, values.toArray(String[]::new)));
+        }
+
+        @Override
+        public String getMethod() {
+            return method.name();
+        }
+
+        @Override
+        public String getRequestURI() {
+            return contextPath + pathWithinApplication;
+        }
+
+        @Override
+        public StringBuffer getRequestURL() {
+            StringBuffer url = new StringBuffer();
+            url.append(getScheme()).append("://").append(getServerName()).append(':').append(getServerPort());
+            url.append(getRequestURI());
+            return url;
+        }
+
+        @Override
+        public String getContextPath() {
+            return contextPath;
+        }
+
+        @Override
+        public String getServletPath() {
+            return pathWithinApplication;
+        }
+
+        @Override
+        public String getPathInfo() {
+            return null;
+        }
+
+        @Override
+        public String getPathTranslated() {
+            return null;
+        }
+
+        @Override
+        public HttpServletMapping getHttpServletMapping() {
+            return new HttpServletMapping() {
+                @Override
+                public String getMatchValue() {
+                    return "";
+                }
+
+                @Override
+                public String getPattern() {
+                    return "/";
+                }
+
+                @Override
+                public String getServletName() {
+                    return DispatcherServlet.class.getSimpleName();
+                }
+
+                @Override
+                public MappingMatch getMappingMatch() {
+                    return MappingMatch.DEFAULT;
+                }
+            };
+        }
+
+        @Override
+        public String getQueryString() {
+            return rawQuery;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            List<String> values = headers.get(name);
+            return values == null || values.isEmpty() ? null : values.get(0);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            List<String> values = headers.get(name);
+            return Collections.enumeration(values == null ? List.of() : values);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(new ArrayList<>(headers.keySet()));
+        }
+
+        @Override
+        public int getIntHeader(String name) {
+            String value = getHeader(name);
+            return value == null ? -1 : Integer.parseInt(value);
+        }
+
+        @Override
+        public long getDateHeader(String name) {
+            String value = getHeader(name);
+            if (value == null) {
+                return -1L;
+            }
+            try {
+                return Instant.from(HTTP_DATE.parse(value)).toEpochMilli();
+            }
+            catch (Exception ex) {
+                throw new IllegalArgumentException("Cannot parse date header " + name + ": " + value, ex);
+            }
+        }
+
+        @Override
+        public Cookie[] getCookies() {
+            if (cookies == null) {
+                cookies = parseCookies();
+            }
+            return cookies == null ? null : cookies.clone();
+        }
+
+        @Override
+        public String getAuthType() {
+            return null;
+        }
+
+        @Override
+        public String getRemoteUser() {
+            return null;
+        }
+
+        @Override
+        public boolean isUserInRole(String role) {
+            return false;
+        }
+
+        @Override
+        public java.security.Principal getUserPrincipal() {
+            return null;
+        }
+
+        @Override
+        public String getRequestedSessionId() {
+            return null;
+        }
+
+        @Override
+        public HttpSession getSession(boolean create) {
+            if (session != null && session.isInvalidated()) {
+                session = null;
+            }
+            if (session == null && create) {
+                session = new InProcessSession(servletContext);
+            }
+            return session;
+        }
+
+        @Override
+        public HttpSession getSession() {
+            return getSession(true);
+        }
+
+        @Override
+        public String changeSessionId() {
+            if (session == null || session.isInvalidated()) {
+                throw new IllegalStateException("No session is associated with this request");
+            }
+            return session.changeId();
+        }
+
+        @Override
+        public boolean isRequestedSessionIdValid() {
+            return false;
+        }
+
+        @Override
+        public boolean isRequestedSessionIdFromCookie() {
+            return false;
+        }
+
+        @Override
+        public boolean isRequestedSessionIdFromURL() {
+            return false;
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public Enumeration<String> getAttributeNames() {
+            return Collections.enumeration(new ArrayList<>(attributes.keySet()));
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            if (value == null) {
+                attributes.remove(name);
+                return;
+            }
+            attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            attributes.remove(name);
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return characterEncoding;
+        }
+
+        @Override
+        public void setCharacterEncoding(String env) throws UnsupportedEncodingException {
+            this.characterEncoding = env;
+        }
+
+        @Override
+        public int getContentLength() {
+            return content.length == 0 ? -1 : content.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return getContentLength();
+        }
+
+        @Override
+        public String getContentType() {
+            return getHeader(HttpHeaders.CONTENT_TYPE);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            if (reader != null) {
+                throw new IllegalStateException("getReader() has already been called for this request");
+            }
+            if (inputStream == null) {
+                inputStream = new ByteArrayServletInputStream(content);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            if (inputStream != null) {
+                throw new IllegalStateException("getInputStream() has already been called for this request");
+            }
+            if (reader == null) {
+                Charset charset = charsetOf(null, characterEncoding);
+                reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content), charset));
+            }
+            return reader;
+        }
+
+        @Override
+        public String getParameter(String name) {
+            String[] values = parameters.get(name);
+            return values == null || values.length == 0 ? null : values[0];
+        }
+
+        @Override
+        public Enumeration<String> getParameterNames() {
+            return Collections.enumeration(parameters.keySet());
+        }
+
+        @Override
+        public String[] getParameterValues(String name) {
+            return parameters.get(name);
+        }
+
+        @Override
+        public Map<String, String[]> getParameterMap() {
+            return Collections.unmodifiableMap(parameters);
+        }
+
+        @Override
+        public String getProtocol() {
+            return "HTTP/1.1";
+        }
+
+        @Override
+        public String getScheme() {
+            return "http";
+        }
+
+        @Override
+        public String getServerName() {
+            return "localhost";
+        }
+
+        @Override
+        public int getServerPort() {
+            return 80;
+        }
+
+        @Override
+        public String getRemoteAddr() {
+            return "127.0.0.1";
+        }
+
+        @Override
+        public String getRemoteHost() {
+            return "localhost";
+        }
+
+        @Override
+        public int getRemotePort() {
+            return 0;
+        }
+
+        @Override
+        public String getLocalName() {
+            return "localhost";
+        }
+
+        @Override
+        public String getLocalAddr() {
+            return "127.0.0.1";
+        }
+
+        @Override
+        public int getLocalPort() {
+            return 80;
+        }
+
+        @Override
+        public Locale getLocale() {
+            return locales.get(0);
+        }
+
+        @Override
+        public Enumeration<Locale> getLocales() {
+            return Collections.enumeration(locales);
+        }
+
+        @Override
+        public boolean isSecure() {
+            return false;
+        }
+
+        @Override
+        public RequestDispatcher getRequestDispatcher(String path) {
+            return servletContext.getRequestDispatcher(path);
+        }
+
+        @Override
+        public ServletContext getServletContext() {
+            return servletContext;
+        }
+
+        @Override
+        public boolean isAsyncStarted() {
+            return false;
+        }
+
+        @Override
+        public boolean isAsyncSupported() {
+            return false;
+        }
+
+        @Override
+        public AsyncContext startAsync() {
+            throw new IllegalStateException("Async processing is not supported for in-process MCP dispatch");
+        }
+
+        @Override
+        public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+            throw new IllegalStateException("Async processing is not supported for in-process MCP dispatch");
+        }
+
+        @Override
+        public DispatcherType getDispatcherType() {
+            return DispatcherType.REQUEST;
+        }
+
+        @Override
+        public String getRequestId() {
+            return "";
+        }
+
+        @Override
+        public String getProtocolRequestId() {
+            return "";
+        }
+    }
+
+    /**
+     * Session that lives only as long as its synthetic request, so code that insists on a session (for example a
+     * security request cache) works without state leaking between tool calls.
+     */
+    static final class InProcessSession implements HttpSession {
+
+        private final ServletContext servletContext;
+        private final long creationTime = System.currentTimeMillis();
+        private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+        private String id = UUID.randomUUID().toString();
+        private int maxInactiveInterval;
+        private boolean invalidated;
+
+        InProcessSession(ServletContext servletContext) {
+            this.servletContext = servletContext;
+        }
+
+        boolean isInvalidated() {
+            return invalidated;
+        }
+
+        String changeId() {
+            id = UUID.randomUUID().toString();
+            return id;
+        }
+
+        private void checkValid() {
+            if (invalidated) {
+                throw new IllegalStateException("Session has already been invalidated");
+            }
+        }
+
+        @Override
+        public long getCreationTime() {
+            checkValid();
+            return creationTime;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public long getLastAccessedTime() {
+            checkValid();
+            return creationTime;
+        }
+
+        @Override
+        public ServletContext getServletContext() {
+            return servletContext;
+        }
+
+        @Override
+        public void setMaxInactiveInterval(int interval) {
+            this.maxInactiveInterval = interval;
+        }
+
+        @Override
+        public int getMaxInactiveInterval() {
+            return maxInactiveInterval;
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            checkValid();
+            return attributes.get(name);
+        }
+
+        @Override
+        public Enumeration<String> getAttributeNames() {
+            checkValid();
+            return Collections.enumeration(new ArrayList<>(attributes.keySet()));
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            checkValid();
+            if (value == null) {
+                attributes.remove(name);
+                return;
+            }
+            attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            checkValid();
+            attributes.remove(name);
+        }
+
+        @Override
+        public void invalidate() {
+            checkValid();
+            invalidated = true;
+            attributes.clear();
+        }
+
+        @Override
+        public boolean isNew() {
+            checkValid();
+            return true;
+        }
+    }
+
+    /**
+     * Synthetic response that captures status, headers and body in memory.
+     */
+    static final class InProcessResponse extends HttpServletResponseWrapper {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final SwaggerMcpResponseBody.Collector content;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+        private String characterEncoding;
+        private Locale locale = Locale.getDefault();
+        private int status = HttpStatus.OK.value();
+        private int bufferSize = 8192;
+        private boolean committed;
+        private String errorMessage;
+
+        InProcessResponse(long maxBodyBytes) {
+            super(unsupported(HttpServletResponse.class));
+            this.content = new SwaggerMcpResponseBody.Collector(maxBodyBytes);
+        }
+
+        void sendErrorQuietly(int statusCode, String message) {
+            this.status = statusCode;
+            this.errorMessage = message == null ? "" : message;
+            this.committed = true;
+        }
+
+        void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        @Override
+        public void addCookie(Cookie cookie) {
+            headers.add(HttpHeaders.SET_COOKIE, cookie.getName() + "=" + cookie.getValue());
+        }
+
+        @Override
+        public boolean containsHeader(String name) {
+            return headers.containsKey(name);
+        }
+
+        @Override
+        public String encodeURL(String url) {
+            return url;
+        }
+
+        @Override
+        public String encodeRedirectURL(String url) {
+            return url;
+        }
+
+        @Override
+        public void sendError(int statusCode, String message) {
+            if (committed) {
+                throw new IllegalStateException("Response is already committed");
+            }
+            sendErrorQuietly(statusCode, message);
+        }
+
+        @Override
+        public void sendError(int statusCode) {
+            sendError(statusCode, null);
+        }
+
+        @Override
+        public void sendRedirect(String location) {
+            if (committed) {
+                throw new IllegalStateException("Response is already committed");
+            }
+            headers.set(HttpHeaders.LOCATION, location);
+            status = HttpStatus.FOUND.value();
+            committed = true;
+        }
+
+        @Override
+        public void setDateHeader(String name, long date) {
+            headers.set(name, HTTP_DATE.format(Instant.ofEpochMilli(date)));
+        }
+
+        @Override
+        public void addDateHeader(String name, long date) {
+            headers.add(name, HTTP_DATE.format(Instant.ofEpochMilli(date)));
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                setContentType(value);
+                return;
+            }
+            if (value == null) {
+                headers.remove(name);
+                return;
+            }
+            headers.set(name, value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                setContentType(value);
+                return;
+            }
+            if (value != null) {
+                headers.add(name, value);
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            headers.set(name, String.valueOf(value));
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            headers.add(name, String.valueOf(value));
+        }
+
+        @Override
+        public void setStatus(int statusCode) {
+            if (!committed) {
+                this.status = statusCode;
+            }
+        }
+
+        @Override
+        public int getStatus() {
+            return status;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return headers.getFirst(name);
+        }
+
+        @Override
+        public Collection<String> getHeaders(String name) {
+            List<String> values = headers.get(name);
+            return values == null ? List.of() : List.copyOf(values);
+        }
+
+        @Override
+        public Collection<String> getHeaderNames() {
+            return List.copyOf(headers.keySet());
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return characterEncoding == null ? StandardCharsets.ISO_8859_1.name() : characterEncoding;
+        }
+
+        @Override
+        public void setCharacterEncoding(String charset) {
+            if (writer != null || committed) {
+                return;
+            }
+            this.characterEncoding = charset;
+            MediaType contentType = headers.getContentType();
+            if (contentType != null && charset != null) {
+                headers.setContentType(new MediaType(contentType, Charset.forName(charset)));
+            }
+        }
+
+        @Override
+        public String getContentType() {
+            MediaType contentType = headers.getContentType();
+            return contentType == null ? null : contentType.toString();
+        }
+
+        @Override
+        public void setContentType(String type) {
+            if (committed) {
+                return;
+            }
+            if (type == null) {
+                headers.remove(HttpHeaders.CONTENT_TYPE);
+                return;
+            }
+            MediaType mediaType = MediaType.parseMediaType(type);
+            if (mediaType.getCharset() != null && writer == null) {
+                characterEncoding = mediaType.getCharset().name();
+            }
+            else if (characterEncoding != null && mediaType.getCharset() == null) {
+                mediaType = new MediaType(mediaType, Charset.forName(characterEncoding));
+            }
+            headers.setContentType(mediaType);
+        }
+
+        @Override
+        public void setContentLength(int length) {
+            headers.setContentLength(length);
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+            headers.setContentLength(length);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called for this response");
+            }
+            if (outputStream == null) {
+                outputStream = new ByteArrayServletOutputStream(content);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            if (writer == null) {
+                Charset charset = charsetOf(null, getCharacterEncoding());
+                writer = new PrintWriter(new OutputStreamWriter(content, charset), true);
+            }
+            return writer;
+        }
+
+        @Override
+        public void setBufferSize(int size) {
+            this.bufferSize = size;
+        }
+
+        @Override
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        @Override
+        public void flushBuffer() {
+            flushWriter();
+            committed = true;
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (committed) {
+                throw new IllegalStateException("Response is already committed");
+            }
+            content.reset();
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return committed;
+        }
+
+        @Override
+        public void reset() {
+            resetBuffer();
+            headers.clear();
+            status = HttpStatus.OK.value();
+            characterEncoding = null;
+            errorMessage = null;
+        }
+
+        @Override
+        public void setLocale(Locale locale) {
+            this.locale = locale;
+        }
+
+        @Override
+        public Locale getLocale() {
+            return locale;
+        }
+    }
+
+    private static final class ByteArrayServletInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream delegate;
+
+        ByteArrayServletInputStream(byte[] content) {
+            this.delegate = new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public int read() {
+            return delegate.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            return delegate.read(buffer, offset, length);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new IllegalStateException("Non-blocking reads are not supported for in-process MCP dispatch");
+        }
+    }
+
+    private static final class ByteArrayServletOutputStream extends ServletOutputStream {
+
+        private final ByteArrayOutputStream delegate;
+
+        ByteArrayServletOutputStream(ByteArrayOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int value) {
+            delegate.write(value);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            delegate.write(buffer, offset, length);
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new IllegalStateException("Non-blocking writes are not supported for in-process MCP dispatch");
+        }
+    }
+}
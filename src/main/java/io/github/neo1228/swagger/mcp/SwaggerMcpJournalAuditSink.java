@@ -0,0 +1,122 @@
+package io.github.neo1228.swagger.mcp;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends audit events to a memory-mapped journal (see {@link SwaggerMcpAuditJournal} for the format).
+ * <p>
+ * Segments are pre-allocated to {@code segmentSizeBytes} and mapped once, so a write is a CRC and a copy into the
+ * page cache: records survive a crash of the JVM as soon as {@link #write} returns. With {@code fsync} every batch is
+ * also forced to the device, which additionally covers an operating-system crash. When a record does not fit, the
+ * segment is forced and a new one named after the next sequence number is started. On startup the last segment is
+ * scanned and appended to, so sequence numbers continue across restarts. Read journals with
+ * {@link SwaggerMcpAuditJournalReader}.
+ */
+public class SwaggerMcpJournalAuditSink implements SwaggerMcpAuditSink {
+
+    private final Path directory;
+    private final long segmentSizeBytes;
+    private final boolean fsync;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int position;
+    private long nextSequence = 1;
+
+    public SwaggerMcpJournalAuditSink(Path directory, long segmentSizeBytes, boolean fsync) {
+        if (segmentSizeBytes <= SwaggerMcpAuditJournal.HEADER_SIZE || segmentSizeBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Journal segment size must be between "
+                    + (SwaggerMcpAuditJournal.HEADER_SIZE + 1) + " bytes and 2GB: " + segmentSizeBytes);
+        }
+        this.directory = directory;
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.fsync = fsync;
+    }
+
+    @Override
+    public synchronized void write(List<SwaggerMcpAuditEvent> events) throws IOException {
+        if (segment == null) {
+            open();
+        }
+        for (SwaggerMcpAuditEvent event : events) {
+            byte[] body = SwaggerMcpAuditJournal.encode(nextSequence, event);
+            int recordSize = SwaggerMcpAuditJournal.RECORD_OVERHEAD + body.length;
+            if (recordSize > segmentSizeBytes - SwaggerMcpAuditJournal.HEADER_SIZE) {
+                throw new IOException("Audit record of " + recordSize + " bytes exceeds the journal segment size");
+            }
+            if (position + recordSize > segment.capacity()) {
+                roll();
+            }
+            // Length goes last: until it is set the slot still reads as the zero end marker.
+            segment.put(position + SwaggerMcpAuditJournal.RECORD_OVERHEAD, body);
+            segment.putInt(position + Integer.BYTES, SwaggerMcpAuditJournal.crc(body, 0, body.length));
+            segment.putInt(position, body.length);
+            position += recordSize;
+            nextSequence++;
+        }
+        if (fsync) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (segment != null) {
+            segment.force();
+            segment = null;
+        }
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = SwaggerMcpAuditJournal.segments(directory);
+        if (segments.isEmpty()) {
+            openSegment(SwaggerMcpAuditJournal.segmentPath(directory, nextSequence), nextSequence, true);
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        openSegment(last, 0, false);
+        long[] lastSequence = {segment.getLong(8) - 1};
+        position = SwaggerMcpAuditJournal.scan(segment, body -> lastSequence[0] = body.getLong(0));
+        nextSequence = lastSequence[0] + 1;
+    }
+
+    private void roll() throws IOException {
+        segment.force();
+        channel.close();
+        openSegment(SwaggerMcpAuditJournal.segmentPath(directory, nextSequence), nextSequence, true);
+    }
+
+    private void openSegment(Path path, long firstSequence, boolean create) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = create ? segmentSizeBytes : Math.max(channel.size(), SwaggerMcpAuditJournal.HEADER_SIZE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        if (create) {
+            SwaggerMcpAuditJournal.writeHeader(segment, firstSequence);
+        }
+        else if (!SwaggerMcpAuditJournal.hasValidHeader(segment)) {
+            if (segment.getInt(0) != 0) {
+                channel.close();
+                throw new IOException("Not an audit journal segment: " + path);
+            }
+            // Created but never initialized before a crash; the file name carries the first sequence.
+            SwaggerMcpAuditJournal.writeHeader(segment, sequenceFromName(path));
+        }
+        position = SwaggerMcpAuditJournal.HEADER_SIZE;
+    }
+
+    private static long sequenceFromName(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SwaggerMcpAuditJournal.SEGMENT_PREFIX.length(),
+                name.length() - SwaggerMcpAuditJournal.SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.neo1228.swagger.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends one JSON object per audit event to a file and rotates it by size: when a batch would push the file past
+ * {@code maxSizeBytes} it is renamed to {@code <file>.1} (older files shift up to {@code <file>.<maxHistory>}, the
+ * oldest is deleted) and a new file is started. Each batch is written with a single flush.
+ */
+public class SwaggerMcpJsonLinesAuditSink implements SwaggerMcpAuditSink {
+
+    private final Path file;
+    private final long maxSizeBytes;
+    private final int maxHistory;
+    private final ObjectMapper objectMapper;
+    private OutputStream output;
+    private long size;
+
+    public SwaggerMcpJsonLinesAuditSink(Path file, long maxSizeBytes, int maxHistory, ObjectMapper objectMapper) {
+        this.file = file;
+        this.maxSizeBytes = maxSizeBytes;
+        this.maxHistory = Math.max(0, maxHistory);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void write(List<SwaggerMcpAuditEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder(events.size() * 160);
+        for (SwaggerMcpAuditEvent event : events) {
+            lines.append(objectMapper.writeValueAsString(event.toMap())).append('\n');
+        }
+        byte[] bytes = lines.toString().getBytes(StandardCharsets.UTF_8);
+        OutputStream stream = open();
+        if (size > 0 && maxSizeBytes > 0 && size + bytes.length > maxSizeBytes) {
+            rotate();
+            stream = open();
+        }
+        stream.write(bytes);
+        stream.flush();
+        size += bytes.length;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (output != null) {
+            output.close();
+            output = null;
+        }
+    }
+
+    private OutputStream open() throws IOException {
+        if (output == null) {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            output = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            size = Files.size(file);
+        }
+        return output;
+    }
+
+    private void rotate() throws IOException {
+        close();
+        if (maxHistory == 0) {
+            Files.deleteIfExists(file);
+            return;
+        }
+        Files.deleteIfExists(rotated(maxHistory));
+        for (int index = maxHistory - 1; index >= 1; index--) {
+            Path source = rotated(index);
+            if (Files.exists(source)) {
+                Files.move(source, rotated(index + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes audit events to SLF4J at INFO. Uses the {@link SwaggerMcpSecurityPolicy} logger and message format, so
+ * existing logging configuration keeps matching. Each event is logged with the MDC of the call that produced it, also
+ * when the asynchronous pipeline writes it from its own thread.
+ */
+public class SwaggerMcpLoggerAuditSink implements SwaggerMcpAuditSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerMcpSecurityPolicy.class);
+
+    @Override
+    public void write(List<SwaggerMcpAuditEvent> events) {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        try {
+            for (SwaggerMcpAuditEvent event : events) {
+                MDC.setContextMap(event.mdc());
+                log(event);
+            }
+        }
+        finally {
+            if (previous == null) {
+                MDC.clear();
+            }
+            else {
+                MDC.setContextMap(previous);
+            }
+        }
+    }
+
+    private static void log(SwaggerMcpAuditEvent event) {
+        if (event.phase() == SwaggerMcpAuditEvent.Phase.STARTED) {
+            logger.info("MCP tool execution started: tool={}, method={}, path={}, argKeys={}",
+                    event.toolName(), event.httpMethod(), event.path(), event.argumentKeys());
+        }
+        else {
+            logger.info("MCP tool execution finished: tool={}, success={}, status={}",
+                    event.toolName(), event.success(), event.status());
+        }
+    }
+}
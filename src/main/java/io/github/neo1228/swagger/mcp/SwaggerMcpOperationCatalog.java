@@ -1,71 +1,153 @@
 package io.github.neo1228.swagger.mcp;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
-
+import java.util.TreeMap;
+
+/**
+ * Holds the operations currently exposed as tools.
+ * <p>
+ * Every {@link #replaceAll} builds a complete, immutable {@link Snapshot} (lookup map, ordered list, group index,
+ * search index and stats) and publishes it with a single volatile write. Readers never lock and always see one whole
+ * catalog generation; callers that combine several reads should take {@link #snapshot()} once and read from it.
+ */
 public class SwaggerMcpOperationCatalog {
 
     private static final String UNTAGGED_GROUP = "default";
 
-    private final Map<String, OpenApiOperationDescriptor> operationsByToolName = new ConcurrentHashMap<>();
-    private final List<OpenApiOperationDescriptor> operations = new CopyOnWriteArrayList<>();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
 
-    public void replaceAll(List<OpenApiOperationDescriptor> newOperations) {
-        operationsByToolName.clear();
-        operations.clear();
-        if (newOperations == null || newOperations.isEmpty()) {
-            return;
-        }
-        for (OpenApiOperationDescriptor operation : newOperations) {
-            operationsByToolName.put(operation.toolName(), operation);
-            operations.add(operation);
-        }
+    public synchronized Snapshot replaceAll(List<OpenApiOperationDescriptor> newOperations) {
+        List<OpenApiOperationDescriptor> operations = newOperations == null ? List.of() : List.copyOf(newOperations);
+        Snapshot next = new Snapshot(snapshot.generation() + 1, operations);
+        this.snapshot = next;
+        return next;
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public long generation() {
+        return snapshot.generation();
     }
 
     public Optional<OpenApiOperationDescriptor> findByToolName(String toolName) {
-        if (toolName == null) {
-            return Optional.empty();
-        }
-        return Optional.ofNullable(operationsByToolName.get(toolName));
+        return snapshot.findByToolName(toolName);
     }
 
     public List<OpenApiOperationDescriptor> operations() {
-        return List.copyOf(operations);
+        return snapshot.operations();
     }
 
     public List<GroupSummary> summarizeGroups(int maxToolsPerGroup) {
-        Map<String, GroupAccumulator> groups = new LinkedHashMap<>();
-        for (OpenApiOperationDescriptor operation : operations) {
-            List<String> tags = operation.tags() == null || operation.tags().isEmpty()
-                    ? List.of(UNTAGGED_GROUP)
-                    : operation.tags();
-            for (String rawTag : tags) {
-                String groupName = normalizeGroup(rawTag);
-                GroupAccumulator accumulator = groups.computeIfAbsent(groupName, GroupAccumulator::new);
-                accumulator.add(operation);
-            }
-        }
-        return groups.values().stream()
-                .map(accumulator -> accumulator.toSummary(maxToolsPerGroup))
-                .sorted(Comparator.comparing(GroupSummary::name))
-                .collect(Collectors.toList());
+        return snapshot.summarizeGroups(maxToolsPerGroup);
     }
 
     public CatalogStats stats() {
-        long riskyCount = operations.stream().filter(OpenApiOperationDescriptor::risky).count();
-        long readOnlyCount = operations.stream().filter(OpenApiOperationDescriptor::isReadOnly).count();
-        return new CatalogStats(operations.size(), summarizeGroups(0).size(), readOnlyCount, riskyCount);
+        return snapshot.stats();
+    }
+
+    /**
+     * One immutable catalog generation. All views are computed when the snapshot is built.
+     */
+    public static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(0L, List.of());
+
+        private final long generation;
+        private final List<OpenApiOperationDescriptor> operations;
+        private final Map<String, OpenApiOperationDescriptor> operationsByToolName;
+        private final Map<String, List<OpenApiOperationDescriptor>> operationsByGroup;
+        private final List<GroupSummary> groupSummaries;
+        private final SwaggerMcpToolSelector.Index searchIndex;
+        private final CatalogStats stats;
+
+        private Snapshot(long generation, List<OpenApiOperationDescriptor> operations) {
+            Map<String, OpenApiOperationDescriptor> byToolName = new LinkedHashMap<>();
+            Map<String, GroupAccumulator> accumulators = new TreeMap<>();
+            long readOnlyCount = 0;
+            long riskyCount = 0;
+            for (OpenApiOperationDescriptor operation : operations) {
+                byToolName.put(operation.toolName(), operation);
+                if (operation.isReadOnly()) {
+                    readOnlyCount++;
+                }
+                if (operation.risky()) {
+                    riskyCount++;
+                }
+                List<String> tags = operation.tags() == null || operation.tags().isEmpty()
+                        ? List.of(UNTAGGED_GROUP)
+                        : operation.tags();
+                for (String rawTag : tags) {
+                    accumulators.computeIfAbsent(normalizeGroup(rawTag), GroupAccumulator::new).add(operation);
+                }
+            }
+            Map<String, List<OpenApiOperationDescriptor>> groups = new LinkedHashMap<>();
+            List<GroupSummary> summaries = new ArrayList<>(accumulators.size());
+            for (GroupAccumulator accumulator : accumulators.values()) {
+                groups.put(accumulator.name, List.copyOf(accumulator.operations));
+                summaries.add(accumulator.toSummary());
+            }
+
+            this.generation = generation;
+            this.operations = operations;
+            this.operationsByToolName = Collections.unmodifiableMap(byToolName);
+            this.operationsByGroup = Collections.unmodifiableMap(groups);
+            this.groupSummaries = List.copyOf(summaries);
+            this.searchIndex = SwaggerMcpToolSelector.Index.of(operations);
+            this.stats = new CatalogStats(operations.size(), groups.size(), readOnlyCount, riskyCount);
+        }
+
+        public long generation() {
+            return generation;
+        }
+
+        public List<OpenApiOperationDescriptor> operations() {
+            return operations;
+        }
+
+        public Optional<OpenApiOperationDescriptor> findByToolName(String toolName) {
+            if (toolName == null) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(operationsByToolName.get(toolName));
+        }
+
+        /**
+         * Operations per normalized tag, sorted by group name; untagged operations are grouped as {@code default}.
+         */
+        public Map<String, List<OpenApiOperationDescriptor>> operationsByGroup() {
+            return operationsByGroup;
+        }
+
+        /**
+         * Group summaries sorted by name. Summaries are precomputed with every tool name; this only slices
+         * {@code sampleTools} down to {@code maxToolsPerGroup} (none when it is zero or negative).
+         */
+        public List<GroupSummary> summarizeGroups(int maxToolsPerGroup) {
+            List<GroupSummary> summaries = new ArrayList<>(groupSummaries.size());
+            for (GroupSummary summary : groupSummaries) {
+                summaries.add(summary.withSampleTools(maxToolsPerGroup));
+            }
+            return summaries;
+        }
+
+        public CatalogStats stats() {
+            return stats;
+        }
+
+        SwaggerMcpToolSelector.Index searchIndex() {
+            return searchIndex;
+        }
     }
 
-    private String normalizeGroup(String rawTag) {
+    private static String normalizeGroup(String rawTag) {
         if (rawTag == null || rawTag.isBlank()) {
             return UNTAGGED_GROUP;
         }
@@ -75,7 +157,7 @@ public class SwaggerMcpOperationCatalog {
     private static class GroupAccumulator {
         private final String name;
         private final Map<String, Long> methods = new LinkedHashMap<>();
-        private final List<String> toolNames = new ArrayList<>();
+        private final List<OpenApiOperationDescriptor> operations = new ArrayList<>();
         private int operationCount;
         private int riskyCount;
         private int readOnlyCount;
@@ -93,14 +175,12 @@ public class SwaggerMcpOperationCatalog {
                 readOnlyCount++;
             }
             methods.merge(operation.httpMethod().name(), 1L, Long::sum);
-            toolNames.add(operation.toolName());
+            operations.add(operation);
         }
 
-        GroupSummary toSummary(int maxToolsPerGroup) {
-            List<String> sampleTools = maxToolsPerGroup <= 0
-                    ? List.of()
-                    : toolNames.stream().limit(maxToolsPerGroup).toList();
-            return new GroupSummary(name, operationCount, readOnlyCount, riskyCount, Map.copyOf(methods), sampleTools);
+        GroupSummary toSummary() {
+            List<String> toolNames = operations.stream().map(OpenApiOperationDescriptor::toolName).toList();
+            return new GroupSummary(name, operationCount, readOnlyCount, riskyCount, Map.copyOf(methods), toolNames);
         }
     }
 
@@ -112,6 +192,17 @@ public class SwaggerMcpOperationCatalog {
             Map<String, Long> methods,
             List<String> sampleTools
     ) {
+
+        GroupSummary withSampleTools(int maxToolsPerGroup) {
+            if (maxToolsPerGroup <= 0) {
+                return new GroupSummary(name, operationCount, readOnlyCount, riskyCount, methods, List.of());
+            }
+            if (sampleTools.size() <= maxToolsPerGroup) {
+                return this;
+            }
+            return new GroupSummary(
+                    name, operationCount, readOnlyCount, riskyCount, methods, sampleTools.subList(0, maxToolsPerGroup));
+        }
     }
 
     public record CatalogStats(
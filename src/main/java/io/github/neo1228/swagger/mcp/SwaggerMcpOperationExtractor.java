@@ -0,0 +1,249 @@
+package io.github.neo1228.swagger.mcp;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Walks an {@link OpenAPI} document and produces one {@link OpenApiOperationDescriptor} per included operation.
+ * Shared by live discovery in {@link SwaggerMcpService} and by {@link SwaggerMcpCatalogGenerator} at build time, so
+ * both produce the same descriptors for the same document and settings.
+ */
+class SwaggerMcpOperationExtractor {
+
+    private final OpenApiToMcpToolConverter converter;
+    private final SwaggerMcpSecurityPolicy securityPolicy;
+    private final SwaggerMcpProperties properties;
+    private volatile SwaggerMcpPathMatcher includeMatcher;
+    private volatile SwaggerMcpPathMatcher excludeMatcher;
+
+    SwaggerMcpOperationExtractor(
+            OpenApiToMcpToolConverter converter,
+            SwaggerMcpSecurityPolicy securityPolicy,
+            SwaggerMcpProperties properties) {
+        this.converter = converter;
+        this.securityPolicy = securityPolicy;
+        this.properties = properties;
+    }
+
+    /**
+     * Extracts descriptors in document order. Documents with at least
+     * {@code swagger.mcp.extraction.parallel-threshold} operations are processed on the common fork-join pool; only
+     * tool-name deduplication runs sequentially afterwards, so both paths return identical lists.
+     */
+    List<OpenApiOperationDescriptor> extract(OpenAPI openAPI) {
+        if (openAPI == null || openAPI.getPaths() == null) {
+            return List.of();
+        }
+        compilePathMatchers();
+        List<OperationCandidate> candidates = new ArrayList<>();
+        for (Map.Entry<String, PathItem> pathEntry : openAPI.getPaths().entrySet()) {
+            PathItem pathItem = pathEntry.getValue();
+            if (pathItem == null) {
+                continue;
+            }
+            for (Map.Entry<PathItem.HttpMethod, Operation> opEntry : pathItem.readOperationsMap().entrySet()) {
+                candidates.add(new OperationCandidate(pathEntry.getKey(), opEntry.getKey(), opEntry.getValue()));
+            }
+        }
+
+        Stream<OperationCandidate> stream = properties.getExtraction().isParallel(candidates.size())
+                ? candidates.parallelStream()
+                : candidates.stream();
+        // toList() keeps encounter order for parallel streams, so deduplication below sees document order.
+        List<ExtractedOperation> extracted = stream.map(this::extractOperation).filter(Objects::nonNull).toList();
+
+        List<OpenApiOperationDescriptor> operations = new ArrayList<>(extracted.size());
+        Set<String> reservedToolNames = new HashSet<>();
+        for (ExtractedOperation operation : extracted) {
+            operations.add(operation.withToolName(deduplicateToolName(operation.baseToolName(), reservedToolNames)));
+        }
+        return operations;
+    }
+
+    private ExtractedOperation extractOperation(OperationCandidate candidate) {
+        String path = normalizePath(candidate.path());
+        Operation operation = candidate.operation();
+        HttpMethod httpMethod = toHttpMethod(candidate.method());
+        if (httpMethod == null || operation == null || !isMethodIncluded(httpMethod) || !isPathIncluded(path)) {
+            return null;
+        }
+        List<String> tags = operation.getTags() == null ? List.of() : new ArrayList<>(operation.getTags());
+        boolean risky = securityPolicy.isRisky(httpMethod, path, tags);
+        String operationId = resolveOperationId(httpMethod, path, operation.getOperationId());
+        String baseToolName = converter.toToolName(operationId, properties.getToolNamePrefix());
+        String description = StringUtils.hasText(operation.getSummary()) ? operation.getSummary() : operation.getDescription();
+
+        List<OpenApiParameterDescriptor> parameters = extractParameters(operation.getParameters());
+        Schema<?> requestBodySchema = extractRequestBodySchema(operation.getRequestBody());
+        boolean requestBodyRequired = operation.getRequestBody() != null
+                && Boolean.TRUE.equals(operation.getRequestBody().getRequired());
+
+        return new ExtractedOperation(
+                baseToolName,
+                operationId,
+                httpMethod,
+                path,
+                description,
+                tags,
+                parameters,
+                requestBodyRequired,
+                requestBodySchema,
+                risky
+        );
+    }
+
+    private String deduplicateToolName(String baseToolName, Set<String> reservedToolNames) {
+        String toolName = baseToolName;
+        int suffix = 2;
+        while (reservedToolNames.contains(toolName)) {
+            toolName = baseToolName + "_" + suffix;
+            suffix++;
+        }
+        reservedToolNames.add(toolName);
+        return toolName;
+    }
+
+    private List<OpenApiParameterDescriptor> extractParameters(List<Parameter> parameters) {
+        if (parameters == null || parameters.isEmpty()) {
+            return List.of();
+        }
+        List<OpenApiParameterDescriptor> result = new ArrayList<>();
+        for (Parameter parameter : parameters) {
+            if (parameter == null || !StringUtils.hasText(parameter.getName())) {
+                continue;
+            }
+            OpenApiParameterLocation location = toLocation(parameter.getIn());
+            if (location == null) {
+                continue;
+            }
+            result.add(new OpenApiParameterDescriptor(
+                    parameter.getName(),
+                    location,
+                    Boolean.TRUE.equals(parameter.getRequired()),
+                    parameter.getSchema()
+            ));
+        }
+        return result;
+    }
+
+    private Schema<?> extractRequestBodySchema(RequestBody requestBody) {
+        if (requestBody == null) {
+            return null;
+        }
+        Content content = requestBody.getContent();
+        if (content == null || content.isEmpty()) {
+            return null;
+        }
+        MediaType jsonMediaType = content.get("application/json");
+        if (jsonMediaType == null) {
+            for (Map.Entry<String, MediaType> entry : content.entrySet()) {
+                if (entry.getKey() != null && entry.getKey().toLowerCase().contains("json")) {
+                    jsonMediaType = entry.getValue();
+                    break;
+                }
+            }
+        }
+        if (jsonMediaType == null) {
+            jsonMediaType = content.values().stream().findFirst().orElse(null);
+        }
+        return jsonMediaType == null ? null : jsonMediaType.getSchema();
+    }
+
+    private String resolveOperationId(HttpMethod method, String path, String operationId) {
+        if (StringUtils.hasText(operationId)) {
+            return operationId;
+        }
+        String generated = method.name().toLowerCase() + "_" + path.replace("/", "_").replaceAll("[{}]", "");
+        generated = generated.replaceAll("_+", "_").replaceAll("^_+|_+$", "");
+        return StringUtils.hasText(generated) ? generated : method.name().toLowerCase() + "_root";
+    }
+
+    private HttpMethod toHttpMethod(PathItem.HttpMethod method) {
+        if (method == null) {
+            return null;
+        }
+        try {
+            return HttpMethod.valueOf(method.name());
+        }
+        catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private OpenApiParameterLocation toLocation(String rawLocation) {
+        if (!StringUtils.hasText(rawLocation)) {
+            return null;
+        }
+        return switch (rawLocation.toLowerCase()) {
+            case "path" -> OpenApiParameterLocation.PATH;
+            case "query" -> OpenApiParameterLocation.QUERY;
+            case "header" -> OpenApiParameterLocation.HEADER;
+            case "cookie" -> OpenApiParameterLocation.COOKIE;
+            default -> null;
+        };
+    }
+
+    private void compilePathMatchers() {
+        if (includeMatcher == null || !includeMatcher.isCompiledFrom(properties.getIncludePathPatterns())) {
+            includeMatcher = SwaggerMcpPathMatcher.compile(properties.getIncludePathPatterns());
+        }
+        if (excludeMatcher == null || !excludeMatcher.isCompiledFrom(properties.getExcludePathPatterns())) {
+            excludeMatcher = SwaggerMcpPathMatcher.compile(properties.getExcludePathPatterns());
+        }
+    }
+
+    private boolean isPathIncluded(String path) {
+        return (includeMatcher.isEmpty() || includeMatcher.matches(path)) && !excludeMatcher.matches(path);
+    }
+
+    private boolean isMethodIncluded(HttpMethod method) {
+        Set<String> includeMethods = properties.getIncludeHttpMethods();
+        return includeMethods == null
+                || includeMethods.isEmpty()
+                || includeMethods.contains(method.name());
+    }
+
+    private String normalizePath(String path) {
+        if (!StringUtils.hasText(path)) {
+            return "/";
+        }
+        return path.startsWith("/") ? path : "/" + path;
+    }
+
+    private record OperationCandidate(String path, PathItem.HttpMethod method, Operation operation) {
+    }
+
+    private record ExtractedOperation(
+            String baseToolName,
+            String operationId,
+            HttpMethod httpMethod,
+            String path,
+            String description,
+            List<String> tags,
+            List<OpenApiParameterDescriptor> parameters,
+            boolean requestBodyRequired,
+            Schema<?> requestBodySchema,
+            boolean risky) {
+
+        OpenApiOperationDescriptor withToolName(String toolName) {
+            return new OpenApiOperationDescriptor(toolName, operationId, httpMethod, path, description, tags,
+                    parameters, requestBodyRequired, requestBodySchema, risky);
+        }
+    }
+}
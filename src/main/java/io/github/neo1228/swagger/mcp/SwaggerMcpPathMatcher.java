@@ -0,0 +1,138 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A list of Ant-style path patterns compiled once into a combined matcher.
+ * <p>
+ * Literal patterns ({@code /error}) go into a hash set and literal prefix patterns ({@code /actuator/**}) into a
+ * segment trie, so the common cases cost one lookup per path segment regardless of how many patterns are configured.
+ * Anything else ({@code *}, {@code ?}, {@code {var}} or a {@code **} that is not the last segment) falls back to
+ * {@link AntPathMatcher}, which keeps the exact semantics of the previous per-pattern matching.
+ */
+final class SwaggerMcpPathMatcher {
+
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    private final List<String> source;
+    private final Set<String> exactPaths = new HashSet<>();
+    private final PrefixNode prefixes = new PrefixNode();
+    private final List<String> antPatterns = new ArrayList<>();
+    private boolean empty = true;
+
+    private SwaggerMcpPathMatcher(List<String> source) {
+        this.source = source == null ? null : new ArrayList<>(source);
+        if (source == null) {
+            return;
+        }
+        for (String pattern : source) {
+            if (!StringUtils.hasText(pattern)) {
+                continue;
+            }
+            empty = false;
+            if (!pattern.startsWith("/")) {
+                antPatterns.add(pattern);
+            }
+            else if (pattern.endsWith("/**") && isLiteral(pattern.substring(0, pattern.length() - 3))) {
+                prefixes.add(segments(pattern.substring(0, pattern.length() - 3)));
+            }
+            else if (isLiteral(pattern)) {
+                exactPaths.add(pattern);
+            }
+            else {
+                antPatterns.add(pattern);
+            }
+        }
+    }
+
+    static SwaggerMcpPathMatcher compile(List<String> patterns) {
+        return new SwaggerMcpPathMatcher(patterns);
+    }
+
+    /**
+     * Whether this matcher was compiled from patterns equal to {@code patterns}. The matcher keeps its own copy, so
+     * callers holding a compiled matcher pick up both a rebind and an in-place change of the list on the next check.
+     */
+    boolean isCompiledFrom(List<String> patterns) {
+        return Objects.equals(source, patterns);
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    boolean matches(String path) {
+        if (empty || path == null) {
+            return false;
+        }
+        if (exactPaths.contains(path) || (path.startsWith("/") && prefixes.matches(path))) {
+            return true;
+        }
+        for (String pattern : antPatterns) {
+            if (ANT_PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLiteral(String pattern) {
+        return pattern.indexOf('*') < 0 && pattern.indexOf('?') < 0 && pattern.indexOf('{') < 0;
+    }
+
+    private static List<String> segments(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    private static final class PrefixNode {
+        private final Map<String, PrefixNode> children = new HashMap<>();
+        private boolean terminal;
+
+        void add(List<String> segments) {
+            PrefixNode node = this;
+            for (String segment : segments) {
+                node = node.children.computeIfAbsent(segment, key -> new PrefixNode());
+            }
+            node.terminal = true;
+        }
+
+        boolean matches(String path) {
+            PrefixNode node = this;
+            int start = 0;
+            int length = path.length();
+            while (!node.terminal) {
+                while (start < length && path.charAt(start) == '/') {
+                    start++;
+                }
+                if (start >= length || node.children.isEmpty()) {
+                    return false;
+                }
+                int end = path.indexOf('/', start);
+                if (end < 0) {
+                    end = length;
+                }
+                node = node.children.get(path.substring(start, end));
+                if (node == null) {
+                    return false;
+                }
+                start = end;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,720 @@
+package io.github.neo1228.swagger.mcp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.io.EofSensorInputStream;
+import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.nio.support.AsyncRequestBuilder;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+
+/**
+ * Default {@link SwaggerMcpDispatchClient} backed by a {@link RestTemplate} over a pooled, keep-alive connection
+ * engine configured from {@code swagger.mcp.execution.pool.*}.
+ * <ul>
+ *     <li>{@code apache-pooled}: Apache HttpClient 5 connection pool with total/per-route limits, idle eviction and
+ *     keep-alive. Used by default when HttpClient 5 is on the classpath.</li>
+ *     <li>{@code jdk}: JDK {@link HttpClient}, which multiplexes over HTTP/2 when {@code pool.http2=true} and
+ *     otherwise keeps HTTP/1.1 connections alive with its built-in pool.</li>
+ * </ul>
+ * {@link #exchangeAsync} uses the same engine without parking a thread per call: the Apache HttpClient 5 async client
+ * over its own pool built from the same {@code pool.*} settings (created on first use), or the JDK client's
+ * {@code sendAsync}.
+ * <p>
+ * Response bodies are read only up to the caller's byte ceiling. When the upstream sends more, the connection is
+ * drained for reuse if the remainder is within {@code swagger.mcp.response.max-drain-size}, and aborted otherwise.
+ */
+public class SwaggerMcpPooledDispatchClient implements SwaggerMcpDispatchClient, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerMcpPooledDispatchClient.class);
+    private static final boolean APACHE_HTTP_CLIENT_PRESENT = ClassUtils.isPresent(
+            "org.apache.hc.client5.http.impl.classic.HttpClients",
+            SwaggerMcpPooledDispatchClient.class.getClassLoader());
+    // Headers the asynchronous engines manage themselves and reject when set explicitly.
+    private static final Set<String> ENGINE_MANAGED_HEADERS = Set.of(
+            "connection", "content-length", "expect", "host", "upgrade", "keep-alive", "transfer-encoding");
+
+    private final RestTemplate restTemplate;
+    private final ClientHttpRequestFactory requestFactory;
+    private final String engine;
+    private final SwaggerMcpProperties properties;
+    private final SwaggerMcpProperties.Execution execution;
+    private final ObjectMapper objectMapper;
+    private final HttpClient jdkHttpClient;
+    private volatile ApacheAsyncEngine apacheAsyncEngine;
+
+    public SwaggerMcpPooledDispatchClient(
+            SwaggerMcpProperties properties,
+            RestTemplateBuilder restTemplateBuilder,
+            ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.execution = properties.getExecution();
+        this.objectMapper = objectMapper;
+        SwaggerMcpProperties.Pool pool = execution.getPool();
+        if (!pool.isHttp2() && APACHE_HTTP_CLIENT_PRESENT) {
+            this.requestFactory = ApacheEngine.create(execution, pool);
+            this.jdkHttpClient = null;
+            this.engine = "apache-pooled";
+        }
+        else {
+            HttpClient httpClient = jdkHttpClient(execution, pool);
+            this.requestFactory = jdkRequestFactory(httpClient, execution);
+            this.jdkHttpClient = httpClient;
+            this.engine = pool.isHttp2() ? "jdk-http2" : "jdk";
+        }
+        this.restTemplate = restTemplateBuilder
+                .requestFactory(() -> requestFactory)
+                .errorHandler(new DefaultResponseErrorHandler() {
+                    @Override
+                    public boolean hasError(HttpStatusCode statusCode) {
+                        return false;
+                    }
+                })
+                .build();
+        logger.debug("Swagger MCP dispatch client uses the {} engine", engine);
+    }
+
+    @Override
+    public ResponseEntity<SwaggerMcpResponseBody> exchange(
+            HttpMethod method,
+            URI uri,
+            HttpHeaders headers,
+            Object body,
+            long maxBodyBytes) {
+        HttpEntity<?> requestEntity = body == null ? new HttpEntity<>(headers) : new HttpEntity<>(body, headers);
+        return restTemplate.execute(
+                uri,
+                method,
+                restTemplate.httpEntityCallback(requestEntity, String.class),
+                response -> readBounded(response, maxBodyBytes));
+    }
+
+    /**
+     * Runs on the engine's own I/O threads; {@code blockingExecutor} is not used.
+     */
+    @Override
+    public CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> exchangeAsync(
+            HttpMethod method,
+            URI uri,
+            HttpHeaders headers,
+            Object body,
+            long maxBodyBytes,
+            Executor blockingExecutor) {
+        if (jdkHttpClient == null) {
+            HttpHeaders requestHeaders = new HttpHeaders();
+            if (headers != null) {
+                requestHeaders.addAll(headers);
+            }
+            byte[] payload;
+            try {
+                payload = body == null ? null : serializeBody(body, requestHeaders);
+            }
+            catch (RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+            return apacheAsyncEngine().exchange(method, uri, requestHeaders, payload, maxBodyBytes, maxDrainBytes());
+        }
+        HttpRequest request;
+        try {
+            request = toJdkRequest(method, uri, headers, body);
+        }
+        catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        long maxDrainBytes = maxDrainBytes();
+        HttpResponse.BodyHandler<SwaggerMcpResponseBody> bodyHandler = responseInfo -> {
+            HttpHeaders responseHeaders = toHttpHeaders(responseInfo.headers());
+            return new BoundedBodySubscriber(
+                    SwaggerMcpResponseBody.charsetOf(contentType(responseHeaders)),
+                    maxBodyBytes,
+                    responseHeaders.getContentLength(),
+                    maxDrainBytes);
+        };
+        CompletableFuture<HttpResponse<SwaggerMcpResponseBody>> sent = jdkHttpClient.sendAsync(request, bodyHandler);
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> response = sent
+                .thenApply(result -> ResponseEntity.status(result.statusCode())
+                        .headers(toHttpHeaders(result.headers()))
+                        .body(result.body()));
+        // Cancelling the returned future aborts the underlying exchange (e.g. a losing hedged request).
+        response.whenComplete((result, failure) -> {
+            if (response.isCancelled()) {
+                sent.cancel(true);
+            }
+        });
+        return response;
+    }
+
+    @Override
+    public String engine() {
+        return engine;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (requestFactory instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+        ApacheAsyncEngine asyncEngine = apacheAsyncEngine;
+        if (asyncEngine != null) {
+            asyncEngine.close();
+        }
+    }
+
+    private ResponseEntity<SwaggerMcpResponseBody> readBounded(ClientHttpResponse response, long maxBodyBytes)
+            throws IOException {
+        HttpHeaders responseHeaders = response.getHeaders();
+        InputStream stream = response.getBody();
+        SwaggerMcpResponseBody body = SwaggerMcpResponseBody.read(
+                stream,
+                SwaggerMcpResponseBody.charsetOf(contentType(responseHeaders)),
+                maxBodyBytes);
+        if (body.truncated()) {
+            release(stream, responseHeaders.getContentLength() - body.size() - 1);
+        }
+        return ResponseEntity.status(response.getStatusCode()).headers(responseHeaders).body(body);
+    }
+
+    /**
+     * Drains a small remainder so the pooled connection can be reused; aborts the connection when the remainder is
+     * unknown (chunked) or larger than the drain budget, instead of reading it just to throw it away.
+     */
+    private void release(InputStream stream, long remainingBytes) {
+        try {
+            if (remainingBytes >= 0 && remainingBytes <= maxDrainBytes()) {
+                StreamUtils.drain(stream);
+                return;
+            }
+            if (APACHE_HTTP_CLIENT_PRESENT && ApacheEngine.abort(stream)) {
+                return;
+            }
+            stream.close();
+        }
+        catch (IOException ex) {
+            logger.debug("Failed to release truncated response stream", ex);
+        }
+    }
+
+    private long maxDrainBytes() {
+        var maxDrainSize = properties.getResponse().getMaxDrainSize();
+        return maxDrainSize == null ? 0 : maxDrainSize.toBytes();
+    }
+
+    private static MediaType contentType(HttpHeaders headers) {
+        try {
+            return headers.getContentType();
+        }
+        catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private ApacheAsyncEngine apacheAsyncEngine() {
+        ApacheAsyncEngine asyncEngine = apacheAsyncEngine;
+        if (asyncEngine == null) {
+            synchronized (this) {
+                asyncEngine = apacheAsyncEngine;
+                if (asyncEngine == null) {
+                    asyncEngine = new ApacheAsyncEngine(execution, execution.getPool());
+                    apacheAsyncEngine = asyncEngine;
+                }
+            }
+        }
+        return asyncEngine;
+    }
+
+    private HttpRequest toJdkRequest(HttpMethod method, URI uri, HttpHeaders headers, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+        if (execution.getReadTimeout() != null) {
+            builder.timeout(execution.getReadTimeout());
+        }
+        HttpHeaders requestHeaders = new HttpHeaders();
+        if (headers != null) {
+            requestHeaders.addAll(headers);
+        }
+        byte[] payload = body == null ? null : serializeBody(body, requestHeaders);
+        for (var header : requestHeaders.entrySet()) {
+            if (ENGINE_MANAGED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                builder.header(header.getKey(), value);
+            }
+        }
+        HttpRequest.BodyPublisher publisher = payload == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(payload);
+        return builder.method(method.name(), publisher).build();
+    }
+
+    /**
+     * Mirrors the {@link RestTemplate} message converters the blocking path relies on: strings and byte arrays are
+     * sent as-is, everything else as JSON.
+     */
+    private byte[] serializeBody(Object body, HttpHeaders headers) {
+        if (body instanceof byte[] bytes) {
+            if (headers.getContentType() == null) {
+                headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+            }
+            return bytes;
+        }
+        if (body instanceof String text) {
+            if (headers.getContentType() == null) {
+                headers.setContentType(MediaType.TEXT_PLAIN);
+            }
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+        if (headers.getContentType() == null) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        }
+        catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Request body is not serializable as JSON: " + ex.getOriginalMessage(), ex);
+        }
+    }
+
+    private static HttpHeaders toHttpHeaders(java.net.http.HttpHeaders source) {
+        HttpHeaders headers = new HttpHeaders();
+        source.map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                headers.addAll(name, List.copyOf(values));
+            }
+        });
+        return headers;
+    }
+
+    private static HttpClient jdkHttpClient(SwaggerMcpProperties.Execution execution, SwaggerMcpProperties.Pool pool) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(pool.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1);
+        if (execution.getConnectTimeout() != null) {
+            builder.connectTimeout(execution.getConnectTimeout());
+        }
+        return builder.build();
+    }
+
+    private static ClientHttpRequestFactory jdkRequestFactory(
+            HttpClient httpClient,
+            SwaggerMcpProperties.Execution execution) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        if (execution.getReadTimeout() != null) {
+            factory.setReadTimeout(execution.getReadTimeout());
+        }
+        return factory;
+    }
+
+    /**
+     * Isolates Apache HttpClient 5 types so the client still loads when the library has been excluded.
+     */
+    private static final class ApacheEngine {
+
+        static ClientHttpRequestFactory create(SwaggerMcpProperties.Execution execution, SwaggerMcpProperties.Pool pool) {
+            PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(Math.max(1, pool.getMaxTotal()))
+                    .setMaxConnPerRoute(Math.max(1, pool.getMaxPerRoute()))
+                    .setDefaultConnectionConfig(connectionConfig(execution, pool))
+                    .build();
+            HttpClientBuilder httpClientBuilder = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setDefaultRequestConfig(requestConfig(execution, pool))
+                    .evictExpiredConnections()
+                    .disableCookieManagement()
+                    .disableAutomaticRetries();
+            if (pool.getKeepAlive() != null) {
+                TimeValue keepAlive = timeValue(pool.getKeepAlive());
+                httpClientBuilder.setKeepAliveStrategy((response, context) -> keepAlive);
+            }
+            if (pool.getIdleTimeout() != null) {
+                httpClientBuilder.evictIdleConnections(timeValue(pool.getIdleTimeout()));
+            }
+            CloseableHttpClient httpClient = httpClientBuilder.build();
+            return new HttpComponentsClientHttpRequestFactory(httpClient) {
+                @Override
+                protected ClassicHttpRequest createHttpUriRequest(HttpMethod httpMethod, URI uri) {
+                    ClassicHttpRequest request = super.createHttpUriRequest(httpMethod, uri);
+                    // A blocking socket read ignores interrupts; cancelling the request closes its connection.
+                    if (request instanceof Cancellable cancellable) {
+                        SwaggerMcpCancellation.onCancel(cancellable::cancel);
+                    }
+                    return request;
+                }
+            };
+        }
+
+        static ConnectionConfig connectionConfig(SwaggerMcpProperties.Execution execution, SwaggerMcpProperties.Pool pool) {
+            ConnectionConfig.Builder connectionConfig = ConnectionConfig.custom();
+            if (execution.getConnectTimeout() != null) {
+                connectionConfig.setConnectTimeout(timeout(execution.getConnectTimeout()));
+            }
+            if (execution.getReadTimeout() != null) {
+                connectionConfig.setSocketTimeout(timeout(execution.getReadTimeout()));
+            }
+            if (pool.getValidateAfterInactivity() != null) {
+                connectionConfig.setValidateAfterInactivity(timeValue(pool.getValidateAfterInactivity()));
+            }
+            return connectionConfig.build();
+        }
+
+        static RequestConfig requestConfig(SwaggerMcpProperties.Execution execution, SwaggerMcpProperties.Pool pool) {
+            RequestConfig.Builder requestConfig = RequestConfig.custom();
+            if (pool.getConnectionRequestTimeout() != null) {
+                requestConfig.setConnectionRequestTimeout(timeout(pool.getConnectionRequestTimeout()));
+            }
+            if (execution.getReadTimeout() != null) {
+                requestConfig.setResponseTimeout(timeout(execution.getReadTimeout()));
+            }
+            return requestConfig.build();
+        }
+
+        /**
+         * Aborts the underlying connection rather than letting {@code close()} consume the rest of the entity.
+         */
+        static boolean abort(InputStream stream) throws IOException {
+            if (stream instanceof EofSensorInputStream sensorStream) {
+                sensorStream.abort();
+                return true;
+            }
+            return false;
+        }
+
+        static Timeout timeout(Duration duration) {
+            return Timeout.ofMilliseconds(duration.toMillis());
+        }
+
+        static TimeValue timeValue(Duration duration) {
+            return TimeValue.ofMilliseconds(duration.toMillis());
+        }
+    }
+
+    /**
+     * Apache HttpClient 5 async client over a {@link PoolingAsyncClientConnectionManager} with the same limits,
+     * timeouts, keep-alive and idle eviction as the blocking engine. HTTP/1.1 only, like the blocking engine.
+     */
+    private static final class ApacheAsyncEngine {
+
+        private final CloseableHttpAsyncClient httpClient;
+
+        ApacheAsyncEngine(SwaggerMcpProperties.Execution execution, SwaggerMcpProperties.Pool pool) {
+            PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(Math.max(1, pool.getMaxTotal()))
+                    .setMaxConnPerRoute(Math.max(1, pool.getMaxPerRoute()))
+                    .setDefaultConnectionConfig(ApacheEngine.connectionConfig(execution, pool))
+                    .setDefaultTlsConfig(TlsConfig.custom().setVersionPolicy(HttpVersionPolicy.FORCE_HTTP_1).build())
+                    .build();
+            HttpAsyncClientBuilder httpClientBuilder = HttpAsyncClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setDefaultRequestConfig(ApacheEngine.requestConfig(execution, pool))
+                    .evictExpiredConnections()
+                    .disableCookieManagement()
+                    .disableAutomaticRetries();
+            if (pool.getKeepAlive() != null) {
+                TimeValue keepAlive = ApacheEngine.timeValue(pool.getKeepAlive());
+                httpClientBuilder.setKeepAliveStrategy((response, context) -> keepAlive);
+            }
+            if (pool.getIdleTimeout() != null) {
+                httpClientBuilder.evictIdleConnections(ApacheEngine.timeValue(pool.getIdleTimeout()));
+            }
+            this.httpClient = httpClientBuilder.build();
+            this.httpClient.start();
+        }
+
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> exchange(
+                HttpMethod method,
+                URI uri,
+                HttpHeaders headers,
+                byte[] payload,
+                long maxBodyBytes,
+                long maxDrainBytes) {
+            AsyncRequestBuilder builder = AsyncRequestBuilder.create(method.name()).setUri(uri);
+            headers.forEach((name, values) -> {
+                if (!ENGINE_MANAGED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    values.forEach(value -> builder.addHeader(name, value));
+                }
+            });
+            if (payload != null) {
+                MediaType contentType = contentType(headers);
+                builder.setEntity(payload, contentType == null ? null : ContentType.parse(contentType.toString()));
+            }
+            CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> response = new CompletableFuture<>();
+            ExchangeHandle handle = new ExchangeHandle();
+            BoundedResponseConsumer consumer =
+                    new BoundedResponseConsumer(response, handle, maxBodyBytes, maxDrainBytes);
+            handle.attach(httpClient.execute(builder.build(), consumer, new FutureCallback<>() {
+                @Override
+                public void completed(ResponseEntity<SwaggerMcpResponseBody> result) {
+                    response.complete(result);
+                }
+
+                @Override
+                public void failed(Exception ex) {
+                    response.completeExceptionally(ex);
+                }
+
+                @Override
+                public void cancelled() {
+                    response.cancel(false);
+                }
+            }));
+            // Cancelling the returned future aborts the exchange and closes its connection (e.g. a losing hedge).
+            response.whenComplete((result, failure) -> {
+                if (response.isCancelled()) {
+                    handle.cancel();
+                }
+            });
+            return response;
+        }
+
+        void close() {
+            httpClient.close(CloseMode.GRACEFUL);
+        }
+    }
+
+    /**
+     * Future of an Apache async exchange, which may be cancelled before {@code execute} has returned it.
+     */
+    private static final class ExchangeHandle {
+
+        private Future<?> future;
+        private boolean cancelled;
+
+        void attach(Future<?> exchange) {
+            boolean cancelNow;
+            synchronized (this) {
+                future = exchange;
+                cancelNow = cancelled;
+            }
+            if (cancelNow) {
+                exchange.cancel(true);
+            }
+        }
+
+        void cancel() {
+            Future<?> exchange;
+            synchronized (this) {
+                cancelled = true;
+                exchange = future;
+            }
+            if (exchange != null) {
+                exchange.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Apache counterpart of {@link BoundedBodySubscriber}: past the byte ceiling it completes the caller's future
+     * right away, then keeps discarding a small known remainder or cancels the exchange to close the connection.
+     */
+    private static final class BoundedResponseConsumer implements AsyncResponseConsumer<ResponseEntity<SwaggerMcpResponseBody>> {
+
+        private final CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> response;
+        private final ExchangeHandle handle;
+        private final SwaggerMcpResponseBody.Collector collector;
+        private final long maxDrainBytes;
+        private FutureCallback<ResponseEntity<SwaggerMcpResponseBody>> resultCallback;
+        private int status;
+        private HttpHeaders headers;
+        private Charset charset;
+        private long contentLength;
+        private boolean draining;
+
+        BoundedResponseConsumer(
+                CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> response,
+                ExchangeHandle handle,
+                long maxBodyBytes,
+                long maxDrainBytes) {
+            this.response = response;
+            this.handle = handle;
+            this.collector = new SwaggerMcpResponseBody.Collector(maxBodyBytes);
+            this.maxDrainBytes = maxDrainBytes;
+        }
+
+        @Override
+        public void consumeResponse(
+                org.apache.hc.core5.http.HttpResponse message,
+                EntityDetails entityDetails,
+                HttpContext context,
+                FutureCallback<ResponseEntity<SwaggerMcpResponseBody>> resultCallback) {
+            this.status = message.getCode();
+            this.headers = new HttpHeaders();
+            for (Header header : message.getHeaders()) {
+                headers.add(header.getName(), header.getValue());
+            }
+            this.charset = SwaggerMcpResponseBody.charsetOf(contentType(headers));
+            this.contentLength = entityDetails == null ? 0 : entityDetails.getContentLength();
+            if (entityDetails == null) {
+                resultCallback.completed(result());
+                return;
+            }
+            this.resultCallback = resultCallback;
+        }
+
+        @Override
+        public void informationResponse(org.apache.hc.core5.http.HttpResponse message, HttpContext context) {
+        }
+
+        @Override
+        public void updateCapacity(CapacityChannel capacityChannel) throws IOException {
+            capacityChannel.update(Integer.MAX_VALUE);
+        }
+
+        @Override
+        public void consume(ByteBuffer src) {
+            if (!draining) {
+                collector.write(src);
+                if (collector.overflowed()) {
+                    response.complete(result());
+                    long remaining = contentLength - collector.size();
+                    if (contentLength < 0 || remaining > maxDrainBytes) {
+                        handle.cancel();
+                    }
+                    draining = true;
+                }
+            }
+            src.position(src.limit());
+        }
+
+        @Override
+        public void streamEnd(List<? extends Header> trailers) {
+            if (resultCallback != null) {
+                resultCallback.completed(result());
+            }
+        }
+
+        @Override
+        public void failed(Exception cause) {
+        }
+
+        @Override
+        public void releaseResources() {
+        }
+
+        private ResponseEntity<SwaggerMcpResponseBody> result() {
+            return ResponseEntity.status(status).headers(headers).body(collector.toBody(charset));
+        }
+    }
+
+    /**
+     * Collects the body up to the byte ceiling without blocking. Past the ceiling the future completes right away;
+     * the subscription keeps discarding a small known remainder so the connection stays reusable, or is cancelled,
+     * which makes the JDK client close the connection (HTTP/1.1) or reset the stream (HTTP/2).
+     */
+    private static final class BoundedBodySubscriber implements HttpResponse.BodySubscriber<SwaggerMcpResponseBody> {
+
+        private final SwaggerMcpResponseBody.Collector collector;
+        private final Charset charset;
+        private final long contentLength;
+        private final long maxDrainBytes;
+        private final CompletableFuture<SwaggerMcpResponseBody> result = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+        private boolean draining;
+
+        BoundedBodySubscriber(Charset charset, long maxBodyBytes, long contentLength, long maxDrainBytes) {
+            this.collector = new SwaggerMcpResponseBody.Collector(maxBodyBytes);
+            this.charset = charset;
+            this.contentLength = contentLength;
+            this.maxDrainBytes = maxDrainBytes;
+        }
+
+        @Override
+        public CompletionStage<SwaggerMcpResponseBody> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (!draining) {
+                for (ByteBuffer item : items) {
+                    collector.write(item);
+                }
+                if (collector.overflowed()) {
+                    result.complete(collector.toBody(charset));
+                    long remaining = contentLength - collector.size();
+                    if (contentLength < 0 || remaining > maxDrainBytes) {
+                        subscription.cancel();
+                        return;
+                    }
+                    draining = true;
+                }
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!result.isDone()) {
+                result.completeExceptionally(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(collector.toBody(charset));
+        }
+    }
+}
@@ -1,20 +1,39 @@
 package io.github.neo1228.swagger.mcp;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @ConfigurationProperties(prefix = "swagger.mcp")
 public class SwaggerMcpProperties {
 
+    /**
+     * Tracing and correlation headers that differ per request and are left out of request keys by default.
+     */
+    private static final List<String> PER_REQUEST_HEADERS = List.of(
+            "traceparent",
+            "tracestate",
+            "b3",
+            "x-b3-traceid",
+            "x-b3-spanid",
+            "x-b3-parentspanid",
+            "x-b3-sampled",
+            "x-request-id",
+            "x-correlation-id"
+    );
+
     private boolean enabled = true;
     private String apiDocsPath = "/v3/api-docs";
+    private ApiDocsSource apiDocsSource = ApiDocsSource.AUTO;
     private String toolNamePrefix = "api_";
     private List<String> includePathPatterns = new ArrayList<>(List.of("/**"));
     private List<String> excludePathPatterns = new ArrayList<>(List.of(
@@ -33,6 +52,11 @@ public class SwaggerMcpProperties {
     private final SmartContext smartContext = new SmartContext();
     private final Response response = new Response();
     private final Security security = new Security();
+    private final PrebuiltCatalog prebuiltCatalog = new PrebuiltCatalog();
+    private final Startup startup = new Startup();
+    private final Refresh refresh = new Refresh();
+    private final Extraction extraction = new Extraction();
+    private final Resilience resilience = new Resilience();
 
     public boolean isEnabled() {
         return enabled;
@@ -58,6 +82,14 @@ public class SwaggerMcpProperties {
         this.apiDocsPath = apiDocsPath;
     }
 
+    public ApiDocsSource getApiDocsSource() {
+        return apiDocsSource;
+    }
+
+    public void setApiDocsSource(ApiDocsSource apiDocsSource) {
+        this.apiDocsSource = apiDocsSource;
+    }
+
     public List<String> getIncludePathPatterns() {
         return includePathPatterns;
     }
@@ -98,13 +130,35 @@ public class SwaggerMcpProperties {
         return security;
     }
 
+    public PrebuiltCatalog getPrebuiltCatalog() {
+        return prebuiltCatalog;
+    }
+
+    public Startup getStartup() {
+        return startup;
+    }
+
+    public Refresh getRefresh() {
+        return refresh;
+    }
+
+    public Extraction getExtraction() {
+        return extraction;
+    }
+
+    public Resilience getResilience() {
+        return resilience;
+    }
+
     public static class Execution {
+        private DispatchMode mode = DispatchMode.LOOPBACK;
         private String baseUrl = "";
         private Duration connectTimeout = Duration.ofSeconds(3);
         private Duration readTimeout = Duration.ofSeconds(30);
         private boolean copyIncomingAuthorizationHeader = true;
         private boolean copyIncomingCookieHeader = false;
         private boolean virtualThreadsEnabled = true;
+        private int blockingPoolSize = 64;
         private Set<String> allowedArgumentHeaders = new LinkedHashSet<>();
         private Set<String> blockedArgumentHeaders = new LinkedHashSet<>(Set.of(
                 "host",
@@ -117,6 +171,15 @@ public class SwaggerMcpProperties {
                 "expect"
         ));
         private Map<String, String> defaultHeaders = new LinkedHashMap<>();
+        private final Pool pool = new Pool();
+
+        public DispatchMode getMode() {
+            return mode;
+        }
+
+        public void setMode(DispatchMode mode) {
+            this.mode = mode;
+        }
 
         public String getBaseUrl() {
             return baseUrl;
@@ -166,6 +229,14 @@ public class SwaggerMcpProperties {
             this.virtualThreadsEnabled = virtualThreadsEnabled;
         }
 
+        public int getBlockingPoolSize() {
+            return blockingPoolSize;
+        }
+
+        public void setBlockingPoolSize(int blockingPoolSize) {
+            this.blockingPoolSize = blockingPoolSize;
+        }
+
         public Set<String> getAllowedArgumentHeaders() {
             return allowedArgumentHeaders;
         }
@@ -189,6 +260,710 @@ public class SwaggerMcpProperties {
         public void setDefaultHeaders(Map<String, String> defaultHeaders) {
             this.defaultHeaders = defaultHeaders;
         }
+
+        public Pool getPool() {
+            return pool;
+        }
+    }
+
+    public static class Pool {
+        private int maxTotal = 200;
+        private int maxPerRoute = 50;
+        private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+        private Duration keepAlive = Duration.ofMinutes(1);
+        private Duration idleTimeout = Duration.ofSeconds(30);
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+        private boolean http2 = false;
+
+        public int getMaxTotal() {
+            return maxTotal;
+        }
+
+        public void setMaxTotal(int maxTotal) {
+            this.maxTotal = maxTotal;
+        }
+
+        public int getMaxPerRoute() {
+            return maxPerRoute;
+        }
+
+        public void setMaxPerRoute(int maxPerRoute) {
+            this.maxPerRoute = maxPerRoute;
+        }
+
+        public Duration getConnectionRequestTimeout() {
+            return connectionRequestTimeout;
+        }
+
+        public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+            this.connectionRequestTimeout = connectionRequestTimeout;
+        }
+
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public Duration getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        public void setIdleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
+
+        public Duration getValidateAfterInactivity() {
+            return validateAfterInactivity;
+        }
+
+        public void setValidateAfterInactivity(Duration validateAfterInactivity) {
+            this.validateAfterInactivity = validateAfterInactivity;
+        }
+
+        public boolean isHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(boolean http2) {
+            this.http2 = http2;
+        }
+    }
+
+    public static class Startup {
+        private boolean asyncRegistration = false;
+
+        public boolean isAsyncRegistration() {
+            return asyncRegistration;
+        }
+
+        public void setAsyncRegistration(boolean asyncRegistration) {
+            this.asyncRegistration = asyncRegistration;
+        }
+    }
+
+    public static class ResponseCache {
+        private boolean enabled = false;
+        private Duration defaultTtl = Duration.ofMinutes(1);
+        private int maxEntries = 1000;
+        private DataSize maxSize = DataSize.ofMegabytes(32);
+        private boolean honorCacheControl = true;
+        private Set<String> ignoredHeaders = new LinkedHashSet<>(PER_REQUEST_HEADERS);
+        private Map<String, ToolCache> tools = new LinkedHashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getDefaultTtl() {
+            return defaultTtl;
+        }
+
+        public void setDefaultTtl(Duration defaultTtl) {
+            this.defaultTtl = defaultTtl;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public boolean isHonorCacheControl() {
+            return honorCacheControl;
+        }
+
+        public void setHonorCacheControl(boolean honorCacheControl) {
+            this.honorCacheControl = honorCacheControl;
+        }
+
+        public Set<String> getIgnoredHeaders() {
+            return ignoredHeaders;
+        }
+
+        public void setIgnoredHeaders(Set<String> ignoredHeaders) {
+            this.ignoredHeaders = ignoredHeaders;
+        }
+
+        public Map<String, ToolCache> getTools() {
+            return tools;
+        }
+
+        public void setTools(Map<String, ToolCache> tools) {
+            this.tools = tools;
+        }
+    }
+
+    public static class ToolCache {
+        private boolean enabled = true;
+        private Duration ttl;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    public static class Resilience {
+        private final Bulkhead bulkhead = new Bulkhead();
+        private final AdaptiveLimit adaptiveLimit = new AdaptiveLimit();
+        private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+        private final Retry retry = new Retry();
+        private final Hedge hedge = new Hedge();
+        private final SingleFlight singleFlight = new SingleFlight();
+
+        public Bulkhead getBulkhead() {
+            return bulkhead;
+        }
+
+        public SingleFlight getSingleFlight() {
+            return singleFlight;
+        }
+
+        public Hedge getHedge() {
+            return hedge;
+        }
+
+        public Retry getRetry() {
+            return retry;
+        }
+
+        public CircuitBreaker getCircuitBreaker() {
+            return circuitBreaker;
+        }
+
+        public AdaptiveLimit getAdaptiveLimit() {
+            return adaptiveLimit;
+        }
+    }
+
+    public static class Bulkhead {
+        private boolean enabled = false;
+        private final BulkheadLimit defaults = new BulkheadLimit();
+        private Map<String, BulkheadLimit> tools = new LinkedHashMap<>();
+        private Map<String, BulkheadLimit> tags = new LinkedHashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public BulkheadLimit getDefaults() {
+            return defaults;
+        }
+
+        public Map<String, BulkheadLimit> getTools() {
+            return tools;
+        }
+
+        public void setTools(Map<String, BulkheadLimit> tools) {
+            this.tools = tools;
+        }
+
+        public Map<String, BulkheadLimit> getTags() {
+            return tags;
+        }
+
+        public void setTags(Map<String, BulkheadLimit> tags) {
+            this.tags = tags;
+        }
+    }
+
+    public static class BulkheadLimit {
+        private int maxConcurrent = 0;
+        private int maxWaiting = 0;
+        private Duration maxWait = Duration.ZERO;
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getMaxWaiting() {
+            return maxWaiting;
+        }
+
+        public void setMaxWaiting(int maxWaiting) {
+            this.maxWaiting = maxWaiting;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+
+    public static class SingleFlight {
+        private boolean enabled = false;
+        private Set<String> ignoredHeaders = new LinkedHashSet<>(PER_REQUEST_HEADERS);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Set<String> getIgnoredHeaders() {
+            return ignoredHeaders;
+        }
+
+        public void setIgnoredHeaders(Set<String> ignoredHeaders) {
+            this.ignoredHeaders = ignoredHeaders;
+        }
+    }
+
+    public static class Hedge {
+        private boolean enabled = false;
+        private double percentile = 95.0;
+        private int minSamples = 20;
+        private int windowSize = 512;
+        private Duration minDelay = Duration.ofMillis(10);
+        private Duration maxDelay = Duration.ofSeconds(2);
+        private double budgetPercent = 10.0;
+        private int budgetBurst = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+        }
+
+        public double getBudgetPercent() {
+            return budgetPercent;
+        }
+
+        public void setBudgetPercent(double budgetPercent) {
+            this.budgetPercent = budgetPercent;
+        }
+
+        public int getBudgetBurst() {
+            return budgetBurst;
+        }
+
+        public void setBudgetBurst(int budgetBurst) {
+            this.budgetBurst = budgetBurst;
+        }
+    }
+
+    public static class Retry {
+        private boolean enabled = false;
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(100);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        private double multiplier = 2.0;
+        private double jitter = 0.5;
+        private Duration deadline = Duration.ofSeconds(10);
+        private Set<Integer> retryOnStatuses = new LinkedHashSet<>(Set.of(502, 503, 504));
+        private Set<String> idempotencyKeyHeaders = new LinkedHashSet<>(Set.of("Idempotency-Key"));
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        public void setMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+        }
+
+        public double getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(double jitter) {
+            this.jitter = jitter;
+        }
+
+        public Duration getDeadline() {
+            return deadline;
+        }
+
+        public void setDeadline(Duration deadline) {
+            this.deadline = deadline;
+        }
+
+        public Set<Integer> getRetryOnStatuses() {
+            return retryOnStatuses;
+        }
+
+        public void setRetryOnStatuses(Set<Integer> retryOnStatuses) {
+            this.retryOnStatuses = retryOnStatuses;
+        }
+
+        public Set<String> getIdempotencyKeyHeaders() {
+            return idempotencyKeyHeaders;
+        }
+
+        public void setIdempotencyKeyHeaders(Set<String> idempotencyKeyHeaders) {
+            this.idempotencyKeyHeaders = idempotencyKeyHeaders;
+        }
+    }
+
+    public static class CircuitBreaker {
+        private boolean enabled = false;
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 100;
+        private Duration slowCallDuration = Duration.ofSeconds(10);
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 3;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public float getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(float failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public float getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public Duration getSlowCallDuration() {
+            return slowCallDuration;
+        }
+
+        public void setSlowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+        }
+
+        public Duration getWaitDurationInOpenState() {
+            return waitDurationInOpenState;
+        }
+
+        public void setWaitDurationInOpenState(Duration waitDurationInOpenState) {
+            this.waitDurationInOpenState = waitDurationInOpenState;
+        }
+
+        public int getPermittedCallsInHalfOpenState() {
+            return permittedCallsInHalfOpenState;
+        }
+
+        public void setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+            this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+        }
+    }
+
+    public static class AdaptiveLimit {
+        private boolean enabled = false;
+        private AdaptiveLimitAlgorithm algorithm = AdaptiveLimitAlgorithm.GRADIENT;
+        private AdaptiveLimitScope scope = AdaptiveLimitScope.GLOBAL;
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private double backoffRatio = 0.9;
+        private double rttTolerance = 1.5;
+        private double smoothing = 0.2;
+        private int minRttProbeInterval = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public AdaptiveLimitAlgorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(AdaptiveLimitAlgorithm algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public AdaptiveLimitScope getScope() {
+            return scope;
+        }
+
+        public void setScope(AdaptiveLimitScope scope) {
+            this.scope = scope;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public double getRttTolerance() {
+            return rttTolerance;
+        }
+
+        public void setRttTolerance(double rttTolerance) {
+            this.rttTolerance = rttTolerance;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public int getMinRttProbeInterval() {
+            return minRttProbeInterval;
+        }
+
+        public void setMinRttProbeInterval(int minRttProbeInterval) {
+            this.minRttProbeInterval = minRttProbeInterval;
+        }
+    }
+
+    public static class Extraction {
+        private int parallelThreshold = 1000;
+
+        public int getParallelThreshold() {
+            return parallelThreshold;
+        }
+
+        public void setParallelThreshold(int parallelThreshold) {
+            this.parallelThreshold = parallelThreshold;
+        }
+
+        boolean isParallel(int operationCount) {
+            return parallelThreshold > 0 && operationCount >= parallelThreshold;
+        }
+    }
+
+    public static class Refresh {
+        private boolean enabled = false;
+        private Duration interval = Duration.ofMinutes(5);
+        private Duration jitter = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public Duration getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(Duration jitter) {
+            this.jitter = jitter;
+        }
+    }
+
+    public static class PrebuiltCatalog {
+        private boolean enabled = true;
+        private String location = "classpath:META-INF/swagger-mcp/catalog.json";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public void setLocation(String location) {
+            this.location = location;
+        }
+    }
+
+    /**
+     * Where the OpenAPI document is read from when tools are (re)registered.
+     */
+    public enum ApiDocsSource {
+        /** Read springdoc's model in-process unless {@code execution.base-url} is set; fall back to HTTP. */
+        AUTO,
+        /** Always try springdoc's in-process model first; fall back to HTTP when it is unavailable. */
+        IN_PROCESS,
+        /** Always fetch {@code api-docs-path} over HTTP. */
+        HTTP
+    }
+
+    /**
+     * How generated API tools reach the controllers of the hosting application.
+     */
+    public enum DispatchMode {
+        /** Send a real HTTP request to {@code base-url} (or the local server port). */
+        LOOPBACK,
+        /** Invoke the Spring MVC {@code DispatcherServlet} directly, applying registered servlet filters. */
+        IN_PROCESS
     }
 
     public static class SmartContext {
@@ -248,6 +1023,13 @@ public class SwaggerMcpProperties {
         private int truncateStringsAt = 1024;
         private boolean projectionArgumentEnabled = true;
         private boolean summarizeByDefault = false;
+        private DataSize maxBodySize = DataSize.ofMegabytes(2);
+        private DataSize maxDrainSize = DataSize.ofKilobytes(64);
+        private final ResponseCache cache = new ResponseCache();
+
+        public ResponseCache getCache() {
+            return cache;
+        }
 
         public int getMaxChars() {
             return maxChars;
@@ -312,6 +1094,22 @@ public class SwaggerMcpProperties {
         public void setSummarizeByDefault(boolean summarizeByDefault) {
             this.summarizeByDefault = summarizeByDefault;
         }
+
+        public DataSize getMaxBodySize() {
+            return maxBodySize;
+        }
+
+        public void setMaxBodySize(DataSize maxBodySize) {
+            this.maxBodySize = maxBodySize;
+        }
+
+        public DataSize getMaxDrainSize() {
+            return maxDrainSize;
+        }
+
+        public void setMaxDrainSize(DataSize maxDrainSize) {
+            this.maxDrainSize = maxDrainSize;
+        }
     }
 
     public static class Security {
@@ -320,10 +1118,12 @@ public class SwaggerMcpProperties {
         private boolean requireConfirmationForRiskyOperations = true;
         private String confirmationToken = "CONFIRM";
         private Set<String> riskyHttpMethods = new LinkedHashSet<>(Set.of("POST", "PUT", "PATCH", "DELETE"));
-        private List<String> riskyPathPatterns = new ArrayList<>();
-        private List<String> blockedPathPatterns = new ArrayList<>();
-        private List<String> roleProtectedPathPatterns = new ArrayList<>();
+        private List<String> riskyPathPatterns = List.of();
+        private List<String> blockedPathPatterns = List.of();
+        private List<String> roleProtectedPathPatterns = List.of();
         private Set<String> requiredAnyRole = new LinkedHashSet<>();
+        private final Audit audit = new Audit();
+        private final AtomicInteger pathPatternsVersion = new AtomicInteger();
 
         public boolean isAuditLogEnabled() {
             return auditLogEnabled;
@@ -370,7 +1170,8 @@ public class SwaggerMcpProperties {
         }
 
         public void setRiskyPathPatterns(List<String> riskyPathPatterns) {
-            this.riskyPathPatterns = riskyPathPatterns;
+            this.riskyPathPatterns = unmodifiablePatterns(riskyPathPatterns);
+            pathPatternsVersion.incrementAndGet();
         }
 
         public List<String> getBlockedPathPatterns() {
@@ -378,7 +1179,8 @@ public class SwaggerMcpProperties {
         }
 
         public void setBlockedPathPatterns(List<String> blockedPathPatterns) {
-            this.blockedPathPatterns = blockedPathPatterns;
+            this.blockedPathPatterns = unmodifiablePatterns(blockedPathPatterns);
+            pathPatternsVersion.incrementAndGet();
         }
 
         public List<String> getRoleProtectedPathPatterns() {
@@ -386,7 +1188,8 @@ public class SwaggerMcpProperties {
         }
 
         public void setRoleProtectedPathPatterns(List<String> roleProtectedPathPatterns) {
-            this.roleProtectedPathPatterns = roleProtectedPathPatterns;
+            this.roleProtectedPathPatterns = unmodifiablePatterns(roleProtectedPathPatterns);
+            pathPatternsVersion.incrementAndGet();
         }
 
         public Set<String> getRequiredAnyRole() {
@@ -396,6 +1199,192 @@ public class SwaggerMcpProperties {
         public void setRequiredAnyRole(Set<String> requiredAnyRole) {
             this.requiredAnyRole = requiredAnyRole;
         }
+
+        public Audit getAudit() {
+            return audit;
+        }
+
+        /**
+         * Changes whenever one of the path pattern lists is replaced. The lists are unmodifiable copies, so a
+         * replacement is the only way they change and compiled matchers can detect it with one field read.
+         */
+        int pathPatternsVersion() {
+            return pathPatternsVersion.get();
+        }
+
+        private static List<String> unmodifiablePatterns(List<String> patterns) {
+            return patterns == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(patterns));
+        }
     }
-}
 
+    public static class Audit {
+        private boolean async = true;
+        private int bufferSize = 8192;
+        private int batchSize = 256;
+        private Duration flushInterval = Duration.ofMillis(100);
+        private AuditOverflowPolicy overflowPolicy = AuditOverflowPolicy.BLOCK;
+        private AuditSinkType sink = AuditSinkType.LOGGER;
+        private final AuditFile file = new AuditFile();
+        private final AuditJournal journal = new AuditJournal();
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        public void setAsync(boolean async) {
+            this.async = async;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public AuditOverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(AuditOverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public AuditSinkType getSink() {
+            return sink;
+        }
+
+        public void setSink(AuditSinkType sink) {
+            this.sink = sink;
+        }
+
+        public AuditFile getFile() {
+            return file;
+        }
+
+        public AuditJournal getJournal() {
+            return journal;
+        }
+    }
+
+    public static class AuditJournal {
+        private String directory = "logs/swagger-mcp-audit";
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+        private boolean fsync = false;
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getSegmentSize() {
+            return segmentSize;
+        }
+
+        public void setSegmentSize(DataSize segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+
+        public boolean isFsync() {
+            return fsync;
+        }
+
+        public void setFsync(boolean fsync) {
+            this.fsync = fsync;
+        }
+    }
+
+    public static class AuditFile {
+        private String path = "logs/swagger-mcp-audit.jsonl";
+        private DataSize maxSize = DataSize.ofMegabytes(10);
+        private int maxHistory = 5;
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getMaxHistory() {
+            return maxHistory;
+        }
+
+        public void setMaxHistory(int maxHistory) {
+            this.maxHistory = maxHistory;
+        }
+    }
+
+    /**
+     * What the audit pipeline does when its ring buffer is full.
+     */
+    public enum AuditOverflowPolicy {
+        /** Wait on the calling thread until the writer frees a slot; no event is lost. */
+        BLOCK,
+        /** Discard the event and count it in the dropped counter. */
+        DROP
+    }
+
+    /**
+     * Built-in audit sinks; a {@link SwaggerMcpAuditSink} bean replaces them.
+     */
+    public enum AuditSinkType {
+        /** The SLF4J logger of {@link SwaggerMcpSecurityPolicy}, in the same format as before. */
+        LOGGER,
+        /** A size-rotated JSON-lines file under {@code swagger.mcp.security.audit.file.*}. */
+        JSON_FILE,
+        /** Memory-mapped binary segments under {@code swagger.mcp.security.audit.journal.*}. */
+        JOURNAL
+    }
+
+    /**
+     * How the adaptive limiter moves its concurrency limit.
+     */
+    public enum AdaptiveLimitAlgorithm {
+        /** Additive increase while the limit is in use, multiplicative decrease on errors and overload responses. */
+        AIMD,
+        /** Vegas-style: shrink as latency rises above the observed minimum, grow while it stays near it. */
+        GRADIENT
+    }
+
+    /**
+     * Which adaptive limits a call must pass.
+     */
+    public enum AdaptiveLimitScope {
+        /** One limit shared by all upstream calls. */
+        GLOBAL,
+        /** An independent limit per tool. */
+        OPERATION,
+        /** Both the shared limit and the per-tool limit. */
+        GLOBAL_AND_OPERATION
+    }
+}
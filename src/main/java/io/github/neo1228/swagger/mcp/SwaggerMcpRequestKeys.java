@@ -0,0 +1,68 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * SHA-256 keys of prepared outbound calls, shared by {@link SwaggerMcpSingleFlight} and
+ * {@link SwaggerMcpResponseCache}.
+ * <p>
+ * A key covers the tool, method, resolved URI, body and every outbound header (header parameters, {@code _headers}
+ * arguments, default and forwarded headers) except the ignored ones, so two calls only share a key when the upstream
+ * would see the same request.
+ */
+final class SwaggerMcpRequestKeys {
+
+    private SwaggerMcpRequestKeys() {
+    }
+
+    /**
+     * Canonical key of an outbound call; header names are case-insensitive and sorted.
+     */
+    static String key(
+            String toolName,
+            HttpMethod method,
+            URI uri,
+            HttpHeaders headers,
+            Object body,
+            Collection<String> ignoredHeaders) {
+        Map<String, String> canonicalHeaders = new TreeMap<>();
+        headers.forEach((name, values) -> {
+            String normalized = name.toLowerCase(Locale.ROOT);
+            if (!isIgnored(normalized, ignoredHeaders)) {
+                canonicalHeaders.merge(normalized, String.join(",", values), (left, right) -> left + "," + right);
+            }
+        });
+        StringBuilder canonical = new StringBuilder(256)
+                .append(toolName).append('\n')
+                .append(method).append(' ').append(uri).append('\n');
+        canonicalHeaders.forEach((name, value) -> canonical.append(name).append(':').append(value).append('\n'));
+        canonical.append('\n').append(Objects.toString(body, ""));
+        return sha256(canonical.toString());
+    }
+
+    static boolean isIgnored(String headerName, Collection<String> ignoredHeaders) {
+        return ignoredHeaders != null && ignoredHeaders.stream().anyMatch(headerName::equalsIgnoreCase);
+    }
+
+    static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Upstream response body captured up to a byte ceiling.
+ * <p>
+ * Bodies are kept as raw bytes so a large response is never widened into a UTF-16 {@link String}; consumers read
+ * them through {@link #stream()} or decode only the prefix they need with {@link #text(int)}. When the upstream sent
+ * more than the ceiling, {@link #truncated()} is {@code true} and the excess was never buffered.
+ */
+public final class SwaggerMcpResponseBody {
+
+    private static final SwaggerMcpResponseBody EMPTY = new SwaggerMcpResponseBody(new byte[0], 0, StandardCharsets.UTF_8, false);
+
+    private final byte[] content;
+    private final int length;
+    private final Charset charset;
+    private final boolean truncated;
+
+    private SwaggerMcpResponseBody(byte[] content, int length, Charset charset, boolean truncated) {
+        this.content = content;
+        this.length = length;
+        this.charset = charset;
+        this.truncated = truncated;
+    }
+
+    public static SwaggerMcpResponseBody empty() {
+        return EMPTY;
+    }
+
+    public static SwaggerMcpResponseBody of(String text) {
+        if (text == null || text.isEmpty()) {
+            return EMPTY;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return new SwaggerMcpResponseBody(bytes, bytes.length, StandardCharsets.UTF_8, false);
+    }
+
+    /**
+     * Reads at most {@code maxBytes} from {@code input}, plus one byte to detect overflow. The stream is left open
+     * and positioned after the bytes consumed so the caller can decide whether to drain or abort the connection.
+     *
+     * @param maxBytes byte ceiling; zero or negative reads the stream to the end
+     */
+    public static SwaggerMcpResponseBody read(InputStream input, Charset charset, long maxBytes) throws IOException {
+        Collector collector = new Collector(maxBytes);
+        if (input == null) {
+            return collector.toBody(charset);
+        }
+        byte[] buffer = new byte[8192];
+        while (!collector.overflowed()) {
+            long budget = collector.remaining() + 1;
+            int read = input.read(buffer, 0, (int) Math.min(buffer.length, budget));
+            if (read < 0) {
+                break;
+            }
+            collector.write(buffer, 0, read);
+        }
+        return collector.toBody(charset);
+    }
+
+    public static Charset charsetOf(MediaType contentType) {
+        if (contentType != null && contentType.getCharset() != null) {
+            return contentType.getCharset();
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    public InputStream stream() {
+        return new ByteArrayInputStream(content, 0, length);
+    }
+
+    public Reader reader() {
+        return new InputStreamReader(stream(), charset);
+    }
+
+    public String text() {
+        return new String(content, 0, length, charset);
+    }
+
+    /**
+     * Decodes at most {@code maxChars} characters, or the whole body when {@code maxChars} is not positive.
+     */
+    public String text(int maxChars) {
+        if (maxChars <= 0 || length <= maxChars) {
+            return text();
+        }
+        char[] chars = new char[maxChars];
+        int filled = 0;
+        try (Reader reader = reader()) {
+            while (filled < maxChars) {
+                int read = reader.read(chars, filled, maxChars - filled);
+                if (read < 0) {
+                    break;
+                }
+                filled += read;
+            }
+        }
+        catch (IOException ex) {
+            throw new IllegalStateException("In-memory body could not be decoded", ex);
+        }
+        return new String(chars, 0, filled);
+    }
+
+    public int size() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    public boolean truncated() {
+        return truncated;
+    }
+
+    public Charset charset() {
+        return charset;
+    }
+
+    @Override
+    public String toString() {
+        return "SwaggerMcpResponseBody[size=" + length + ", truncated=" + truncated + "]";
+    }
+
+    /**
+     * Output buffer that keeps the first {@code maxBytes} written and silently discards the rest, remembering that
+     * it did so.
+     */
+    static final class Collector extends ByteArrayOutputStream {
+
+        private final long maxBytes;
+        private boolean overflowed;
+
+        Collector(long maxBytes) {
+            super(maxBytes > 0 ? (int) Math.min(maxBytes, 8192) : 256);
+            this.maxBytes = maxBytes > 0 ? Math.min(maxBytes, Integer.MAX_VALUE - 8) : Integer.MAX_VALUE - 8;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            if (count >= maxBytes) {
+                overflowed = true;
+                return;
+            }
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            int accepted = (int) Math.min(len, maxBytes - count);
+            if (accepted < len) {
+                overflowed = true;
+            }
+            if (accepted > 0) {
+                super.write(b, off, accepted);
+            }
+        }
+
+        synchronized void write(ByteBuffer buffer) {
+            int accepted = (int) Math.min(buffer.remaining(), maxBytes - count);
+            if (accepted < buffer.remaining()) {
+                overflowed = true;
+            }
+            if (accepted > 0) {
+                byte[] chunk = new byte[accepted];
+                buffer.get(chunk);
+                super.write(chunk, 0, accepted);
+            }
+        }
+
+        @Override
+        public synchronized void reset() {
+            super.reset();
+            overflowed = false;
+        }
+
+        synchronized boolean overflowed() {
+            return overflowed;
+        }
+
+        synchronized long remaining() {
+            return maxBytes - count;
+        }
+
+        synchronized SwaggerMcpResponseBody toBody(Charset charset) {
+            if (count == 0 && !overflowed) {
+                return charset == null || StandardCharsets.UTF_8.equals(charset)
+                        ? EMPTY
+                        : new SwaggerMcpResponseBody(new byte[0], 0, charset, false);
+            }
+            return new SwaggerMcpResponseBody(buf, count, charset == null ? StandardCharsets.UTF_8 : charset, overflowed);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-memory cache of upstream responses for read-only tools ({@code swagger.mcp.response.cache.*}).
+ * <p>
+ * Entries are keyed like {@link SwaggerMcpSingleFlight} calls: tool, method, resolved URI, body and every outbound
+ * header except {@code ignored-headers}, so callers with different credentials, tenants or header arguments never
+ * share an entry. Successful, untruncated responses are kept for the tool's {@code ttl} (or {@code default-ttl});
+ * with {@code honor-cache-control} the upstream {@code Cache-Control}/{@code Expires} freshness shortens that
+ * lifetime, and {@code no-store}, {@code no-cache}, {@code Vary: *} or a {@code Vary} on an ignored header prevents
+ * caching. The least recently used entries are evicted beyond {@code max-entries} or {@code max-size} (counting body
+ * bytes plus headers). A tool is excluded with {@code tools.<tool-name>.enabled=false}.
+ * <p>
+ * Lookups do not lock: entries live in a {@link ConcurrentHashMap}, and a hit only records the entry in a bounded
+ * lock-free read buffer. Writers, and a reader that finds the buffer full, replay the recorded reads into the
+ * access order under the eviction lock. Reads dropped while the buffer is full make the order approximate.
+ */
+public class SwaggerMcpResponseCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+    private static final int READ_BUFFER_CAPACITY = 128;
+
+    private final SwaggerMcpProperties properties;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    /** Access order of {@link #entries}; guarded by {@link #evictionLock}. */
+    private final LinkedHashMap<String, Entry> accessOrder = new LinkedHashMap<>(64, 0.75f, true);
+    private final SwaggerMcpAuditRingBuffer<Entry> readBuffer = new SwaggerMcpAuditRingBuffer<>(READ_BUFFER_CAPACITY);
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    /** Guarded by {@link #evictionLock}. */
+    private long totalBytes;
+
+    public SwaggerMcpResponseCache(SwaggerMcpProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    SwaggerMcpResponseCache(SwaggerMcpProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    boolean isCached(OpenApiOperationDescriptor operation) {
+        SwaggerMcpProperties.ResponseCache settings = properties.getResponse().getCache();
+        if (!settings.isEnabled() || !operation.isReadOnly()) {
+            return false;
+        }
+        SwaggerMcpProperties.ToolCache tool = toolSettings(settings, operation.toolName());
+        return tool == null || tool.isEnabled();
+    }
+
+    String key(String toolName, HttpMethod method, URI uri, HttpHeaders headers, Object body) {
+        return SwaggerMcpRequestKeys.key(toolName, method, uri, headers, body,
+                properties.getResponse().getCache().getIgnoredHeaders());
+    }
+
+    ResponseEntity<SwaggerMcpResponseBody> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (nanoClock.getAsLong() - entry.expiresAtNanos() >= 0) {
+            evictionLock.lock();
+            try {
+                if (entries.get(key) == entry) {
+                    remove(key, entry);
+                    expirations.increment();
+                }
+            }
+            finally {
+                evictionLock.unlock();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        if (!readBuffer.offer(entry) && evictionLock.tryLock()) {
+            try {
+                replayReads();
+            }
+            finally {
+                evictionLock.unlock();
+            }
+        }
+        return entry.response();
+    }
+
+    /**
+     * Stores a response if it is cacheable; returns whether it was stored.
+     */
+    boolean put(OpenApiOperationDescriptor operation, String key, ResponseEntity<SwaggerMcpResponseBody> response) {
+        SwaggerMcpProperties.ResponseCache settings = properties.getResponse().getCache();
+        long ttlNanos = ttlNanos(settings, operation.toolName(), response);
+        if (ttlNanos <= 0) {
+            return false;
+        }
+        long weight = weight(response);
+        long maxBytes = settings.getMaxSize() == null ? Long.MAX_VALUE : settings.getMaxSize().toBytes();
+        int maxEntries = Math.max(1, settings.getMaxEntries());
+        if (weight > maxBytes) {
+            return false;
+        }
+        evictionLock.lock();
+        try {
+            replayReads();
+            Entry previous = accessOrder.get(key);
+            if (previous != null) {
+                remove(key, previous);
+            }
+            Entry entry = new Entry(key, response, nanoClock.getAsLong() + ttlNanos, weight);
+            accessOrder.put(key, entry);
+            entries.put(key, entry);
+            totalBytes += weight;
+            stores.increment();
+            Iterator<Map.Entry<String, Entry>> eldest = accessOrder.entrySet().iterator();
+            while ((accessOrder.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+                Map.Entry<String, Entry> candidate = eldest.next();
+                entries.remove(candidate.getKey(), candidate.getValue());
+                totalBytes -= candidate.getValue().weight();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+        finally {
+            evictionLock.unlock();
+        }
+        return true;
+    }
+
+    public void clear() {
+        evictionLock.lock();
+        try {
+            replayReads();
+            accessOrder.clear();
+            entries.clear();
+            totalBytes = 0;
+        }
+        finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        long bytes;
+        evictionLock.lock();
+        try {
+            bytes = totalBytes;
+        }
+        finally {
+            evictionLock.unlock();
+        }
+        return new Stats(hits.sum(), misses.sum(), stores.sum(), evictions.sum(), expirations.sum(), entries.size(), bytes);
+    }
+
+    /**
+     * @param evictions   entries dropped to stay within {@code max-entries} or {@code max-size}
+     * @param expirations entries found stale on lookup
+     * @param bytes       estimated size of the cached responses
+     */
+    public record Stats(long hits, long misses, long stores, long evictions, long expirations, int entries, long bytes) {
+    }
+
+    private long ttlNanos(
+            SwaggerMcpProperties.ResponseCache settings,
+            String toolName,
+            ResponseEntity<SwaggerMcpResponseBody> response) {
+        int status = response.getStatusCode().value();
+        if ((status != 200 && status != 203 && status != 204)
+                || (response.getBody() != null && response.getBody().truncated())) {
+            return 0;
+        }
+        SwaggerMcpProperties.ToolCache tool = toolSettings(settings, toolName);
+        Duration ttl = tool != null && tool.getTtl() != null ? tool.getTtl() : settings.getDefaultTtl();
+        long ttlNanos = ttl == null || ttl.isNegative() ? 0 : ttl.toNanos();
+        if (!settings.isHonorCacheControl()) {
+            return ttlNanos;
+        }
+        HttpHeaders headers = response.getHeaders();
+        if (!varyIsKeyed(headers, settings.getIgnoredHeaders())) {
+            return 0;
+        }
+        long upstreamMillis = upstreamFreshnessMillis(headers);
+        return upstreamMillis < 0 ? ttlNanos : Math.min(ttlNanos, TimeUnit.MILLISECONDS.toNanos(upstreamMillis));
+    }
+
+    /**
+     * Freshness granted by the upstream in milliseconds, {@code 0} when it forbids caching, {@code -1} when it says
+     * nothing.
+     */
+    static long upstreamFreshnessMillis(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        long maxAge = -1;
+        long sharedMaxAge = -1;
+        if (StringUtils.hasText(cacheControl)) {
+            for (String directive : cacheControl.split(",")) {
+                String normalized = directive.trim().toLowerCase(Locale.ROOT);
+                if (normalized.equals("no-store") || normalized.equals("no-cache")) {
+                    return 0;
+                }
+                if (normalized.startsWith("s-maxage=")) {
+                    sharedMaxAge = parseSeconds(normalized.substring("s-maxage=".length()));
+                }
+                else if (normalized.startsWith("max-age=")) {
+                    maxAge = parseSeconds(normalized.substring("max-age=".length()));
+                }
+            }
+        }
+        long seconds = sharedMaxAge >= 0 ? sharedMaxAge : maxAge;
+        if (seconds >= 0) {
+            long age = parseSeconds(headers.getFirst(HttpHeaders.AGE));
+            return Math.max(0, seconds - Math.max(0, age)) * 1000;
+        }
+        long expires = headers.getExpires();
+        if (expires >= 0 || headers.containsKey(HttpHeaders.EXPIRES)) {
+            // An invalid Expires value such as "0" means already expired.
+            long date = headers.getDate();
+            return Math.max(0, expires - (date >= 0 ? date : System.currentTimeMillis()));
+        }
+        return -1;
+    }
+
+    /**
+     * Whether every request header the upstream varies on is part of the key.
+     */
+    private static boolean varyIsKeyed(HttpHeaders headers, Collection<String> ignoredHeaders) {
+        for (String vary : headers.getVary()) {
+            String normalized = vary.trim();
+            if (normalized.equals("*") || SwaggerMcpRequestKeys.isIgnored(normalized, ignoredHeaders)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static SwaggerMcpProperties.ToolCache toolSettings(
+            SwaggerMcpProperties.ResponseCache settings,
+            String toolName) {
+        return settings.getTools() == null ? null : settings.getTools().get(toolName);
+    }
+
+    private static long weight(ResponseEntity<SwaggerMcpResponseBody> response) {
+        long weight = ENTRY_OVERHEAD_BYTES + (response.getBody() == null ? 0 : response.getBody().size());
+        for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+            weight += header.getKey().length();
+            for (String value : header.getValue()) {
+                weight += value.length();
+            }
+        }
+        return weight;
+    }
+
+    private static long parseSeconds(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim().replace("\"", ""));
+        }
+        catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Moves entries read since the last replay to the most recently used end. Called with the eviction lock held.
+     */
+    private void replayReads() {
+        Entry read;
+        while ((read = readBuffer.poll()) != null) {
+            if (entries.get(read.key()) == read) {
+                accessOrder.get(read.key());
+            }
+        }
+    }
+
+    /**
+     * Called with the eviction lock held.
+     */
+    private void remove(String key, Entry entry) {
+        accessOrder.remove(key);
+        entries.remove(key, entry);
+        totalBytes -= entry.weight();
+    }
+
+    private record Entry(String key, ResponseEntity<SwaggerMcpResponseBody> response, long expiresAtNanos, long weight) {
+    }
+}
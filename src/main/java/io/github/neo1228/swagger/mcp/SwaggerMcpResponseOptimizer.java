@@ -6,6 +6,7 @@ import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.PathNotFoundException;
 import org.springframework.util.StringUtils;
 
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -15,50 +16,81 @@ public class SwaggerMcpResponseOptimizer {
 
     private final ObjectMapper objectMapper;
     private final SwaggerMcpProperties properties;
+    private final SwaggerMcpStreamingSummarizer streamingSummarizer;
 
     public SwaggerMcpResponseOptimizer(ObjectMapper objectMapper, SwaggerMcpProperties properties) {
         this.objectMapper = objectMapper;
         this.properties = properties;
+        this.streamingSummarizer = new SwaggerMcpStreamingSummarizer(objectMapper);
     }
 
     public OptimizationResult optimize(String rawResponseBody, Map<String, Object> arguments) {
-        String sourceText = rawResponseBody == null ? "" : rawResponseBody;
-        Map<String, Object> safeArguments = arguments == null ? Map.of() : arguments;
+        return optimize(SwaggerMcpResponseBody.of(rawResponseBody), arguments);
+    }
 
-        Object structuredContent = parseJsonOrNull(sourceText);
-        if (structuredContent == null) {
-            String trimmed = truncate(sourceText, properties.getResponse().getMaxChars());
-            return new OptimizationResult(trimmed, null);
-        }
+    /**
+     * Optimizes a bounded upstream body. When only a summary is needed, it is built straight from the JSON token
+     * stream without materializing the full tree; projections still parse the whole document first. A body cut off
+     * at the byte ceiling yields a partial summary, or a text prefix when no summary was requested.
+     */
+    public OptimizationResult optimize(SwaggerMcpResponseBody body, Map<String, Object> arguments) {
+        SwaggerMcpResponseBody source = body == null ? SwaggerMcpResponseBody.empty() : body;
+        Map<String, Object> safeArguments = arguments == null ? Map.of() : arguments;
 
+        String projection = null;
         if (properties.getResponse().isProjectionArgumentEnabled()) {
-            String projection = asString(safeArguments.get("_projection"));
-            if (StringUtils.hasText(projection)) {
-                structuredContent = project(structuredContent, projection);
-            }
+            projection = asString(safeArguments.get("_projection"));
         }
-
         boolean summarize = asBoolean(
                 safeArguments.get("_summarize"),
                 properties.getResponse().isSummarizeByDefault()
-                        || sourceText.length() >= properties.getResponse().getSummaryThresholdChars()
+                        || source.size() >= properties.getResponse().getSummaryThresholdChars()
+        );
+        SwaggerMcpStreamingSummarizer.Limits limits = new SwaggerMcpStreamingSummarizer.Limits(
+                asInt(safeArguments.get("_maxDepth"), properties.getResponse().getMaxDepth()),
+                asInt(safeArguments.get("_maxArrayItems"), properties.getResponse().getMaxArrayItems()),
+                asInt(safeArguments.get("_maxObjectEntries"), properties.getResponse().getMaxObjectEntries()),
+                properties.getResponse().getTruncateStringsAt()
         );
 
-        if (summarize) {
-            int maxDepth = asInt(safeArguments.get("_maxDepth"), properties.getResponse().getMaxDepth());
-            int maxArrayItems = asInt(safeArguments.get("_maxArrayItems"), properties.getResponse().getMaxArrayItems());
-            int maxObjectEntries = asInt(safeArguments.get("_maxObjectEntries"), properties.getResponse().getMaxObjectEntries());
-            structuredContent = summarize(structuredContent, 0, maxDepth, maxArrayItems, maxObjectEntries);
+        Object structuredContent;
+        if (summarize && !StringUtils.hasText(projection)) {
+            structuredContent = streamingSummarizer.summarize(source, limits);
+        }
+        else {
+            structuredContent = source.truncated() ? null : parseJsonOrNull(source);
+            if (structuredContent != null && StringUtils.hasText(projection)) {
+                structuredContent = project(structuredContent, projection);
+            }
+            if (structuredContent != null && summarize) {
+                structuredContent = summarize(structuredContent, 0, limits);
+            }
+        }
+
+        if (structuredContent == null) {
+            int maxChars = properties.getResponse().getMaxChars();
+            String trimmed = truncate(source.text(maxChars > 0 ? maxChars + 1 : 0), maxChars);
+            return new OptimizationResult(withCutOffMarker(trimmed, source), null);
         }
 
         String text = toJsonText(structuredContent);
         text = truncate(text, properties.getResponse().getMaxChars());
-        return new OptimizationResult(text, structuredContent);
+        return new OptimizationResult(withCutOffMarker(text, source), structuredContent);
     }
 
-    private Object parseJsonOrNull(String source) {
-        try {
-            return objectMapper.readValue(source, Object.class);
+    private String withCutOffMarker(String text, SwaggerMcpResponseBody source) {
+        if (!source.truncated()) {
+            return text;
+        }
+        return text + "\n...[upstream body exceeded " + source.size() + " bytes and was cut off]";
+    }
+
+    private Object parseJsonOrNull(SwaggerMcpResponseBody source) {
+        if (source.isEmpty()) {
+            return null;
+        }
+        try (Reader reader = source.reader()) {
+            return objectMapper.readValue(reader, Object.class);
         }
         catch (Exception ex) {
             return null;
@@ -78,6 +110,10 @@ public class SwaggerMcpResponseOptimizer {
         }
     }
 
+    private Object summarize(Object value, int depth, SwaggerMcpStreamingSummarizer.Limits limits) {
+        return summarize(value, depth, limits.maxDepth(), limits.maxArrayItems(), limits.maxObjectEntries());
+    }
+
     @SuppressWarnings("unchecked")
     private Object summarize(Object value, int depth, int maxDepth, int maxArrayItems, int maxObjectEntries) {
         if (value == null) {
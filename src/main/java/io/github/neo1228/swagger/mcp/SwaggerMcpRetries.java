@@ -0,0 +1,209 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Server-side retry of upstream dispatch ({@code swagger.mcp.resilience.retry.*}), so a transient failure does not
+ * cost the MCP client a full model round trip.
+ * <p>
+ * Only idempotent operations ({@link OpenApiOperationDescriptor#isIdempotent()}) and calls whose outbound request
+ * carries one of the {@code idempotency-key-headers} are retried; the check runs on the prepared headers, after
+ * {@code allowed-argument-headers}/{@code blocked-argument-headers} were applied, so a key that never reaches the
+ * upstream does not make a call retryable. An attempt is retried
+ * when dispatch fails with {@link SwaggerMcpErrorCode#HTTP_DISPATCH_FAILED} or the upstream answers with one of the
+ * {@code retry-on-statuses}; every other outcome, including an open circuit or a full bulkhead, is returned as is.
+ * Attempts are capped by {@code max-attempts}, spaced by exponential backoff reduced by up to {@code jitter} of
+ * itself, and no attempt starts after the per-call {@code deadline} ({@code 0} for none); an attempt already in
+ * flight is bounded by the dispatch timeouts. When retrying stops the last response or failure is returned unchanged.
+ */
+public class SwaggerMcpRetries {
+
+    private static final long NO_DEADLINE = Long.MIN_VALUE;
+
+    private final SwaggerMcpProperties properties;
+    private final LongAdder retriedCalls = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder deadlineExceeded = new LongAdder();
+
+    public SwaggerMcpRetries(SwaggerMcpProperties properties) {
+        this.properties = properties;
+    }
+
+    ResponseEntity<SwaggerMcpResponseBody> execute(
+            OpenApiOperationDescriptor operation,
+            HttpHeaders outboundHeaders,
+            Supplier<ResponseEntity<SwaggerMcpResponseBody>> attempt) {
+        SwaggerMcpProperties.Retry settings = properties.getResilience().getRetry();
+        if (!isRetryEligible(settings, operation, outboundHeaders)) {
+            return attempt.get();
+        }
+        long deadlineNanos = deadlineNanos(settings);
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            ResponseEntity<SwaggerMcpResponseBody> response = null;
+            SwaggerMcpToolException failure = null;
+            try {
+                response = attempt.get();
+            }
+            catch (SwaggerMcpToolException ex) {
+                failure = ex;
+            }
+            long delayNanos = nextDelay(settings, attemptNumber, deadlineNanos, response, failure);
+            if (delayNanos < 0) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(delayNanos);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw SwaggerMcpToolException.dispatchInterrupted(ex);
+            }
+        }
+    }
+
+    CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> executeAsync(
+            OpenApiOperationDescriptor operation,
+            HttpHeaders outboundHeaders,
+            Supplier<CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>>> attempt) {
+        SwaggerMcpProperties.Retry settings = properties.getResilience().getRetry();
+        if (!isRetryEligible(settings, operation, outboundHeaders)) {
+            return attempt.get();
+        }
+        long deadlineNanos = deadlineNanos(settings);
+        return attemptAsync(settings, attempt, 1, deadlineNanos);
+    }
+
+    public Stats stats() {
+        return new Stats(retriedCalls.sum(), retries.sum(), recovered.sum(), exhausted.sum(), deadlineExceeded.sum());
+    }
+
+    /**
+     * @param retriedCalls     calls that were attempted more than once
+     * @param retries          attempts beyond the first, across all calls
+     * @param recovered        retried calls whose final attempt was not retryable, e.g. succeeded
+     * @param exhausted        calls that still failed after {@code max-attempts}
+     * @param deadlineExceeded calls whose next attempt would have started after the deadline
+     */
+    public record Stats(long retriedCalls, long retries, long recovered, long exhausted, long deadlineExceeded) {
+    }
+
+    private CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> attemptAsync(
+            SwaggerMcpProperties.Retry settings,
+            Supplier<CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>>> attempt,
+            int attemptNumber,
+            long deadlineNanos) {
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> response;
+        try {
+            response = attempt.get();
+        }
+        catch (RuntimeException ex) {
+            response = CompletableFuture.failedFuture(ex);
+        }
+        return response.handle((result, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            SwaggerMcpToolException failure = cause instanceof SwaggerMcpToolException toolException ? toolException : null;
+            long delayNanos = cause != null && failure == null
+                    ? -1
+                    : nextDelay(settings, attemptNumber, deadlineNanos, result, failure);
+            if (delayNanos < 0) {
+                return cause == null
+                        ? CompletableFuture.completedFuture(result)
+                        : CompletableFuture.<ResponseEntity<SwaggerMcpResponseBody>>failedFuture(cause);
+            }
+            return CompletableFuture
+                    .runAsync(() -> {
+                    }, CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS))
+                    .thenCompose(ignored -> attemptAsync(settings, attempt, attemptNumber + 1, deadlineNanos));
+        }).thenCompose(next -> next);
+    }
+
+    /**
+     * Decides after an attempt: the backoff before the next attempt, or {@code -1} to stop and return this outcome.
+     */
+    private long nextDelay(
+            SwaggerMcpProperties.Retry settings,
+            int attemptNumber,
+            long deadlineNanos,
+            ResponseEntity<SwaggerMcpResponseBody> response,
+            SwaggerMcpToolException failure) {
+        boolean retryable = failure != null
+                ? failure.code() == SwaggerMcpErrorCode.HTTP_DISPATCH_FAILED
+                : response != null && settings.getRetryOnStatuses() != null
+                        && settings.getRetryOnStatuses().contains(response.getStatusCode().value());
+        if (!retryable) {
+            if (attemptNumber > 1) {
+                recovered.increment();
+            }
+            return -1;
+        }
+        if (attemptNumber >= Math.max(1, settings.getMaxAttempts())) {
+            exhausted.increment();
+            return -1;
+        }
+        long delayNanos = backoffNanos(settings, attemptNumber);
+        if (deadlineNanos != NO_DEADLINE && System.nanoTime() + delayNanos - deadlineNanos >= 0) {
+            deadlineExceeded.increment();
+            return -1;
+        }
+        if (attemptNumber == 1) {
+            retriedCalls.increment();
+        }
+        retries.increment();
+        return delayNanos;
+    }
+
+    static long backoffNanos(SwaggerMcpProperties.Retry settings, int attemptNumber) {
+        double base = positiveNanos(settings.getInitialBackoff())
+                * Math.pow(Math.max(1.0, settings.getMultiplier()), attemptNumber - 1);
+        double capped = Math.min(base, positiveNanos(settings.getMaxBackoff()));
+        double jitter = Math.min(Math.max(settings.getJitter(), 0.0), 1.0);
+        return (long) (capped * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    private boolean isRetryEligible(
+            SwaggerMcpProperties.Retry settings,
+            OpenApiOperationDescriptor operation,
+            HttpHeaders outboundHeaders) {
+        if (!settings.isEnabled() || settings.getMaxAttempts() <= 1) {
+            return false;
+        }
+        return operation.isIdempotent() || hasIdempotencyKey(settings.getIdempotencyKeyHeaders(), outboundHeaders);
+    }
+
+    private static boolean hasIdempotencyKey(Collection<String> headerNames, HttpHeaders outboundHeaders) {
+        if (headerNames == null || outboundHeaders == null) {
+            return false;
+        }
+        for (String headerName : headerNames) {
+            if (StringUtils.hasText(headerName) && StringUtils.hasText(outboundHeaders.getFirst(headerName.trim()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long deadlineNanos(SwaggerMcpProperties.Retry settings) {
+        long budget = positiveNanos(settings.getDeadline());
+        return budget == 0 ? NO_DEADLINE : System.nanoTime() + budget;
+    }
+
+    private static long positiveNanos(Duration duration) {
+        return duration == null || duration.isNegative() ? 0 : duration.toNanos();
+    }
+}
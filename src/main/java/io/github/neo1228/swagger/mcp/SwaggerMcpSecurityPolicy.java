@@ -3,13 +3,14 @@ package io.github.neo1228.swagger.mcp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpMethod;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 
-import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashSet;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
@@ -19,16 +20,32 @@ public class SwaggerMcpSecurityPolicy {
 
     private static final Logger logger = LoggerFactory.getLogger(SwaggerMcpSecurityPolicy.class);
     private final SwaggerMcpProperties properties;
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final SwaggerMcpAuthorityResolver authorityResolver;
+    private final SwaggerMcpAuditPipeline auditPipeline;
+    private volatile PathMatchers pathMatchers;
+    private volatile ResolvedOperations resolvedOperations = new ResolvedOperations(null, Map.of());
 
     public SwaggerMcpSecurityPolicy(SwaggerMcpProperties properties) {
+        this(properties, SwaggerMcpAuthorityResolver.detect(SwaggerMcpSecurityPolicy.class.getClassLoader()));
+    }
+
+    public SwaggerMcpSecurityPolicy(SwaggerMcpProperties properties, SwaggerMcpAuthorityResolver authorityResolver) {
+        this(properties, authorityResolver, SwaggerMcpAuditPipeline.synchronous(new SwaggerMcpLoggerAuditSink()));
+    }
+
+    public SwaggerMcpSecurityPolicy(
+            SwaggerMcpProperties properties,
+            SwaggerMcpAuthorityResolver authorityResolver,
+            SwaggerMcpAuditPipeline auditPipeline) {
         this.properties = properties;
+        this.authorityResolver = authorityResolver;
+        this.auditPipeline = auditPipeline;
     }
 
     public boolean isRisky(HttpMethod method, String path, Collection<String> tags) {
         SwaggerMcpProperties.Security security = properties.getSecurity();
         boolean riskyMethod = security.getRiskyHttpMethods().contains(method.name());
-        boolean riskyPath = security.getRiskyPathPatterns().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+        boolean riskyPath = pathMatchers().risky().matches(path);
         boolean riskyTag = tags != null && tags.stream()
                 .filter(StringUtils::hasText)
                 .map(tag -> tag.toLowerCase(Locale.ROOT))
@@ -37,8 +54,20 @@ public class SwaggerMcpSecurityPolicy {
     }
 
     public boolean isBlocked(OpenApiOperationDescriptor operation) {
-        return properties.getSecurity().getBlockedPathPatterns().stream()
-                .anyMatch(pattern -> pathMatcher.match(pattern, operation.path()));
+        return flags(operation).blocked();
+    }
+
+    /**
+     * Resolves the blocked and role-protected path flags of the registered operations once, so per-call checks for
+     * these descriptors are a map lookup instead of pattern matching. Called by the adapter on every registration.
+     */
+    void resolve(Collection<OpenApiOperationDescriptor> operations) {
+        PathMatchers matchers = pathMatchers();
+        Map<String, OperationFlags> flags = new HashMap<>();
+        for (OpenApiOperationDescriptor operation : operations) {
+            flags.put(operation.toolName(), computeFlags(operation, matchers));
+        }
+        resolvedOperations = new ResolvedOperations(matchers, flags);
     }
 
     public boolean shouldExpose(OpenApiOperationDescriptor operation) {
@@ -74,16 +103,18 @@ public class SwaggerMcpSecurityPolicy {
         if (!properties.getSecurity().isAuditLogEnabled()) {
             return;
         }
-        logger.info("MCP tool execution started: tool={}, method={}, path={}, argKeys={}",
-                operation.toolName(), operation.httpMethod(), operation.path(), argumentKeys(arguments));
+        auditPipeline.publish(SwaggerMcpAuditEvent.started(operation, argumentKeys(arguments)));
     }
 
     public void auditEnd(OpenApiOperationDescriptor operation, boolean success, int statusCode) {
+        auditEnd(operation, success, statusCode, null);
+    }
+
+    public void auditEnd(OpenApiOperationDescriptor operation, boolean success, int statusCode, Duration latency) {
         if (!properties.getSecurity().isAuditLogEnabled()) {
             return;
         }
-        logger.info("MCP tool execution finished: tool={}, success={}, status={}",
-                operation.toolName(), success, statusCode);
+        auditPipeline.publish(SwaggerMcpAuditEvent.finished(operation, success, statusCode, latency));
     }
 
     private boolean shouldCheckRoles(OpenApiOperationDescriptor operation) {
@@ -94,62 +125,56 @@ public class SwaggerMcpSecurityPolicy {
         if (operation.risky()) {
             return true;
         }
-        return security.getRoleProtectedPathPatterns().stream()
-                .anyMatch(pattern -> pathMatcher.match(pattern, operation.path()));
+        return flags(operation).roleProtected();
     }
 
-    private boolean hasAnyRequiredRole(Set<String> requiredRoles) {
-        if (requiredRoles == null || requiredRoles.isEmpty()) {
-            return true;
-        }
-        Set<String> currentAuthorities = getCurrentAuthorities();
-        if (currentAuthorities.isEmpty()) {
-            return false;
+    private OperationFlags flags(OpenApiOperationDescriptor operation) {
+        PathMatchers matchers = pathMatchers();
+        ResolvedOperations resolved = resolvedOperations;
+        if (resolved.matchers() == matchers) {
+            OperationFlags flags = resolved.flags().get(operation.toolName());
+            // Same descriptor instance as at registration; anything else is matched on the spot.
+            if (flags != null && flags.operation() == operation) {
+                return flags;
+            }
         }
-        return requiredRoles.stream().anyMatch(currentAuthorities::contains);
+        return computeFlags(operation, matchers);
     }
 
-    @SuppressWarnings("unchecked")
-    private Set<String> getCurrentAuthorities() {
-        try {
-            Class<?> holderClass = Class.forName("org.springframework.security.core.context.SecurityContextHolder");
-            Method getContext = holderClass.getMethod("getContext");
-            Object context = getContext.invoke(null);
-            if (context == null) {
-                return Collections.emptySet();
-            }
-
-            Method getAuthentication = context.getClass().getMethod("getAuthentication");
-            Object authentication = getAuthentication.invoke(context);
-            if (authentication == null) {
-                return Collections.emptySet();
-            }
+    private OperationFlags computeFlags(OpenApiOperationDescriptor operation, PathMatchers matchers) {
+        return new OperationFlags(
+                operation,
+                matchers.blocked().matches(operation.path()),
+                matchers.roleProtected().matches(operation.path()));
+    }
 
-            Method getAuthorities = authentication.getClass().getMethod("getAuthorities");
-            Object authoritiesObj = getAuthorities.invoke(authentication);
-            if (!(authoritiesObj instanceof Collection<?> authorities)) {
-                return Collections.emptySet();
-            }
+    private PathMatchers pathMatchers() {
+        SwaggerMcpProperties.Security security = properties.getSecurity();
+        PathMatchers current = pathMatchers;
+        // Read the version before the lists, so a concurrent replacement is recompiled on the next call.
+        int version = security.pathPatternsVersion();
+        if (current != null && current.version() == version) {
+            return current;
+        }
+        PathMatchers compiled = new PathMatchers(
+                version,
+                SwaggerMcpPathMatcher.compile(security.getRiskyPathPatterns()),
+                SwaggerMcpPathMatcher.compile(security.getBlockedPathPatterns()),
+                SwaggerMcpPathMatcher.compile(security.getRoleProtectedPathPatterns()));
+        pathMatchers = compiled;
+        return compiled;
+    }
 
-            Set<String> authoritySet = new LinkedHashSet<>();
-            for (Object authority : authorities) {
-                if (authority == null) {
-                    continue;
-                }
-                Method getAuthority = authority.getClass().getMethod("getAuthority");
-                Object value = getAuthority.invoke(authority);
-                if (value != null) {
-                    authoritySet.add(String.valueOf(value));
-                }
-            }
-            return authoritySet;
+    private boolean hasAnyRequiredRole(Set<String> requiredRoles) {
+        if (requiredRoles == null || requiredRoles.isEmpty()) {
+            return true;
         }
-        catch (ClassNotFoundException ex) {
-            return Collections.emptySet();
+        try {
+            return authorityResolver.hasAnyAuthority(requiredRoles);
         }
-        catch (Exception ex) {
-            logger.debug("Failed to resolve Spring Security authorities", ex);
-            return Collections.emptySet();
+        catch (RuntimeException ex) {
+            logger.debug("Failed to resolve caller authorities", ex);
+            return false;
         }
     }
 
@@ -157,8 +182,22 @@ public class SwaggerMcpSecurityPolicy {
         return value == null ? null : String.valueOf(value);
     }
 
-    private Set<String> argumentKeys(Map<String, Object> arguments) {
-        return arguments == null ? Set.of() : arguments.keySet();
+    private List<String> argumentKeys(Map<String, Object> arguments) {
+        return arguments == null || arguments.isEmpty()
+                ? List.of()
+                : Collections.unmodifiableList(new ArrayList<>(arguments.keySet()));
+    }
+
+    private record PathMatchers(
+            int version,
+            SwaggerMcpPathMatcher risky,
+            SwaggerMcpPathMatcher blocked,
+            SwaggerMcpPathMatcher roleProtected) {
     }
-}
 
+    private record OperationFlags(OpenApiOperationDescriptor operation, boolean blocked, boolean roleProtected) {
+    }
+
+    private record ResolvedOperations(PathMatchers matchers, Map<String, OperationFlags> flags) {
+    }
+}
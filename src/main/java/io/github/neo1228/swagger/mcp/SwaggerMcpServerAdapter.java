@@ -3,35 +3,36 @@ package io.github.neo1228.swagger.mcp;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.PathNotFoundException;
-import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpAsyncServer;
 import io.modelcontextprotocol.server.McpSyncServer;
 import io.modelcontextprotocol.spec.McpSchema;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.DisposableBean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.core.env.Environment;
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
-import org.springframework.web.client.DefaultResponseErrorHandler;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.web.util.UriUtils;
 
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.channels.ClosedByInterruptException;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -39,11 +40,23 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -54,7 +67,7 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
     private static final String STEPS_FIELD = "steps";
     private static final Pattern WORKFLOW_TEMPLATE = Pattern.compile("\\$\\{([A-Za-z0-9_-]+):(.*?)}");
 
-    private final McpSyncServer mcpSyncServer;
+    private final SwaggerMcpToolServer toolServer;
     private final OpenApiToMcpToolConverter converter;
     private final SwaggerMcpToolSelector toolSelector;
     private final SwaggerMcpOperationCatalog operationCatalog;
@@ -62,10 +75,12 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
     private final SwaggerMcpSecurityPolicy securityPolicy;
     private final SwaggerMcpProperties properties;
     private final Environment environment;
-    private final RestTemplate restTemplate;
+    private final SwaggerMcpDispatchClient dispatchClient;
+    private final SwaggerMcpInProcessDispatcher inProcessDispatcher;
     private final ObjectMapper objectMapper;
     private final SwaggerMcpToolResults toolResults;
-    private final Set<String> registeredToolNames = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> registeredToolHashes = new ConcurrentHashMap<>();
+    private volatile boolean registrationPending;
     private final String discoverToolName;
     private final String describeToolName;
     private final String capabilitiesToolName;
@@ -76,6 +91,14 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
     private final String invokeByIntentToolName;
     private final boolean virtualThreadsAvailable;
     private final ExecutorService virtualThreadExecutor;
+    private volatile ExecutorService platformBlockingExecutor;
+    private final SwaggerMcpBulkheads bulkheads;
+    private final SwaggerMcpAdaptiveLimiter adaptiveLimiter;
+    private final SwaggerMcpCircuitBreakers circuitBreakers;
+    private final SwaggerMcpRetries retries;
+    private final SwaggerMcpHedging hedging;
+    private final SwaggerMcpSingleFlight singleFlight;
+    private final SwaggerMcpResponseCache responseCache;
 
     public SwaggerMcpServerAdapter(
             McpSyncServer mcpSyncServer,
@@ -86,9 +109,42 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
             SwaggerMcpSecurityPolicy securityPolicy,
             SwaggerMcpProperties properties,
             Environment environment,
-            RestTemplateBuilder restTemplateBuilder,
+            SwaggerMcpDispatchClient dispatchClient,
+            SwaggerMcpInProcessDispatcher inProcessDispatcher,
             ObjectMapper objectMapper) {
-        this.mcpSyncServer = mcpSyncServer;
+        this(SwaggerMcpToolServer.of(mcpSyncServer), converter, toolSelector, operationCatalog, responseOptimizer,
+                securityPolicy, properties, environment, dispatchClient, inProcessDispatcher, objectMapper);
+    }
+
+    public SwaggerMcpServerAdapter(
+            McpAsyncServer mcpAsyncServer,
+            OpenApiToMcpToolConverter converter,
+            SwaggerMcpToolSelector toolSelector,
+            SwaggerMcpOperationCatalog operationCatalog,
+            SwaggerMcpResponseOptimizer responseOptimizer,
+            SwaggerMcpSecurityPolicy securityPolicy,
+            SwaggerMcpProperties properties,
+            Environment environment,
+            SwaggerMcpDispatchClient dispatchClient,
+            SwaggerMcpInProcessDispatcher inProcessDispatcher,
+            ObjectMapper objectMapper) {
+        this(SwaggerMcpToolServer.of(mcpAsyncServer), converter, toolSelector, operationCatalog, responseOptimizer,
+                securityPolicy, properties, environment, dispatchClient, inProcessDispatcher, objectMapper);
+    }
+
+    SwaggerMcpServerAdapter(
+            SwaggerMcpToolServer toolServer,
+            OpenApiToMcpToolConverter converter,
+            SwaggerMcpToolSelector toolSelector,
+            SwaggerMcpOperationCatalog operationCatalog,
+            SwaggerMcpResponseOptimizer responseOptimizer,
+            SwaggerMcpSecurityPolicy securityPolicy,
+            SwaggerMcpProperties properties,
+            Environment environment,
+            SwaggerMcpDispatchClient dispatchClient,
+            SwaggerMcpInProcessDispatcher inProcessDispatcher,
+            ObjectMapper objectMapper) {
+        this.toolServer = toolServer;
         this.converter = converter;
         this.toolSelector = toolSelector;
         this.operationCatalog = operationCatalog;
@@ -96,20 +152,17 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
         this.securityPolicy = securityPolicy;
         this.properties = properties;
         this.environment = environment;
+        this.dispatchClient = dispatchClient;
+        this.inProcessDispatcher = inProcessDispatcher;
         this.objectMapper = objectMapper;
+        this.bulkheads = new SwaggerMcpBulkheads(properties);
+        this.adaptiveLimiter = new SwaggerMcpAdaptiveLimiter(properties);
+        this.circuitBreakers = new SwaggerMcpCircuitBreakers(properties);
+        this.retries = new SwaggerMcpRetries(properties);
+        this.hedging = new SwaggerMcpHedging(properties);
+        this.singleFlight = new SwaggerMcpSingleFlight(properties);
+        this.responseCache = new SwaggerMcpResponseCache(properties);
         this.toolResults = new SwaggerMcpToolResults(objectMapper);
-        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.defaults()
-                .withConnectTimeout(properties.getExecution().getConnectTimeout())
-                .withReadTimeout(properties.getExecution().getReadTimeout());
-        this.restTemplate = restTemplateBuilder
-                .requestFactorySettings(settings)
-                .errorHandler(new DefaultResponseErrorHandler() {
-                    @Override
-                    public boolean hasError(HttpStatusCode statusCode) {
-                        return false;
-                    }
-                })
-                .build();
         this.discoverToolName = converter.toToolName("meta_discover_api_tools", properties.getToolNamePrefix());
         this.describeToolName = converter.toToolName("meta_describe_api_tool", properties.getToolNamePrefix());
         this.capabilitiesToolName = converter.toToolName("meta_get_api_capabilities", properties.getToolNamePrefix());
@@ -127,11 +180,22 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
         if (virtualThreadExecutor != null) {
             virtualThreadExecutor.shutdown();
         }
+        ExecutorService pool = platformBlockingExecutor;
+        if (pool != null) {
+            pool.shutdown();
+        }
     }
 
-    public synchronized void registerOperations(List<OpenApiOperationDescriptor> operations) {
-        removeRegisteredTools();
+    public void registerOperations(List<OpenApiOperationDescriptor> operations) {
+        registerOperations(operations, Map.of());
+    }
 
+    /**
+     * Registers operations reusing already converted tool definitions (from a prebuilt catalog) where available.
+     */
+    synchronized void registerOperations(
+            List<OpenApiOperationDescriptor> operations,
+            Map<String, McpSchema.Tool> prebuiltTools) {
         SwaggerMcpProperties.SmartContext smartContext = properties.getSmartContext();
         List<OpenApiOperationDescriptor> sourceOperations = operations == null ? List.of() : operations;
         List<OpenApiOperationDescriptor> eligibleOperations = new ArrayList<>();
@@ -145,84 +209,307 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
             }
             eligibleOperations.add(operation);
         }
-        operationCatalog.replaceAll(eligibleOperations);
-        toolSelector.setCandidates(eligibleOperations);
-
-        Set<String> existingToolNames = new LinkedHashSet<>();
-        for (McpSchema.Tool tool : mcpSyncServer.listTools()) {
-            existingToolNames.add(tool.name());
-        }
-
-        if (smartContext.isEnabled() && smartContext.isGatewayToolEnabled()) {
-            registerDiscoverTool(existingToolNames);
-            registerDescribeTool(existingToolNames);
-            registerCapabilitiesTool(existingToolNames);
-            registerValidateTool(existingToolNames);
-            registerListGroupsTool(existingToolNames);
-            registerPlanWorkflowTool(existingToolNames);
-            registerInvokeWorkflowTool(existingToolNames);
-            registerIntentInvokeTool(existingToolNames);
-        }
+        securityPolicy.resolve(eligibleOperations);
+        SwaggerMcpOperationCatalog.Snapshot catalog = operationCatalog.replaceAll(eligibleOperations);
+        toolSelector.publish(catalog.searchIndex());
+        registrationPending = false;
 
+        Map<String, ToolRegistration> desiredTools = metaTools();
         if (!smartContext.isGatewayOnly()) {
+            Map<String, McpSchema.Tool> convertedTools = convertTools(eligibleOperations, prebuiltTools);
             for (OpenApiOperationDescriptor operation : eligibleOperations) {
-                if (existingToolNames.contains(operation.toolName())) {
+                if (desiredTools.containsKey(operation.toolName())) {
                     logger.debug("Skipping tool registration because name already exists: {}", operation.toolName());
                     continue;
                 }
-                registerOperationTool(operation);
-                existingToolNames.add(operation.toolName());
+                desiredTools.put(operation.toolName(), operationTool(operation, convertedTools.get(operation.toolName())));
+            }
+        }
+
+        if (applyToolChanges(desiredTools)) {
+            toolServer.notifyToolsListChanged();
+        }
+    }
+
+    /**
+     * Registers only the gateway tools and marks the catalog as pending: until {@link #registerOperations} publishes
+     * it (or {@link #endPendingRegistration} gives up), tool calls get a retryable {@code CATALOG_NOT_READY} error
+     * instead of an empty catalog or an unknown-tool error.
+     */
+    synchronized void beginPendingRegistration() {
+        registrationPending = true;
+        if (applyToolChanges(metaTools())) {
+            toolServer.notifyToolsListChanged();
+        }
+    }
+
+    /**
+     * Leaves the pending state without publishing a catalog, e.g. after background registration failed.
+     */
+    void endPendingRegistration() {
+        registrationPending = false;
+    }
+
+    public boolean isRegistrationPending() {
+        return registrationPending;
+    }
+
+    /**
+     * Per-tool and per-tag concurrency compartments guarding upstream dispatch.
+     */
+    public SwaggerMcpBulkheads bulkheads() {
+        return bulkheads;
+    }
+
+    /**
+     * Latency-driven concurrency limits guarding upstream dispatch.
+     */
+    public SwaggerMcpAdaptiveLimiter adaptiveLimiter() {
+        return adaptiveLimiter;
+    }
+
+    /**
+     * Per-tool circuit breakers guarding upstream dispatch.
+     */
+    public SwaggerMcpCircuitBreakers circuitBreakers() {
+        return circuitBreakers;
+    }
+
+    /**
+     * Server-side retry of idempotent upstream calls, with retry counters.
+     */
+    public SwaggerMcpRetries retries() {
+        return retries;
+    }
+
+    /**
+     * Hedged dispatch of read-only upstream calls, with current hedge delays and counters.
+     */
+    public SwaggerMcpHedging hedging() {
+        return hedging;
+    }
+
+    /**
+     * Coalescing of identical concurrent read-only upstream calls.
+     */
+    public SwaggerMcpSingleFlight singleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * Cache of read-only upstream responses, with hit, miss and eviction counters.
+     */
+    public SwaggerMcpResponseCache responseCache() {
+        return responseCache;
+    }
+
+    private Map<String, ToolRegistration> metaTools() {
+        SwaggerMcpProperties.SmartContext smartContext = properties.getSmartContext();
+        Map<String, ToolRegistration> tools = new LinkedHashMap<>();
+        if (smartContext.isEnabled() && smartContext.isGatewayToolEnabled()) {
+            for (ToolRegistration registration : List.of(
+                    discoverTool(),
+                    describeTool(),
+                    capabilitiesTool(),
+                    validateTool(),
+                    listGroupsTool(),
+                    planWorkflowTool(),
+                    invokeWorkflowTool(),
+                    intentInvokeTool())) {
+                // Capabilities stay answerable while pending and report whether the catalog is ready.
+                String toolName = registration.tool().name();
+                tools.put(toolName, toolName.equals(capabilitiesToolName) ? registration : whenCatalogReady(registration));
+            }
+        }
+        return tools;
+    }
+
+    private ToolRegistration whenCatalogReady(ToolRegistration registration) {
+        return new ToolRegistration(
+                registration.tool(),
+                arguments -> registrationPending ? catalogNotReadyResult() : registration.handler().apply(arguments),
+                arguments -> registrationPending
+                        ? CompletableFuture.completedFuture(catalogNotReadyResult())
+                        : registration.asyncHandler().apply(arguments));
+    }
+
+    private SwaggerMcpToolException unknownTool(String toolName) {
+        return registrationPending ? SwaggerMcpToolException.catalogNotReady() : SwaggerMcpToolException.unknownTool(toolName);
+    }
+
+    private McpSchema.CallToolResult catalogNotReadyResult() {
+        return errorResult(SwaggerMcpToolException.catalogNotReady());
+    }
+
+    /**
+     * Brings the server's tool list in line with {@code desiredTools}, touching only tools that were added, removed
+     * or whose converted definition changed (compared by content hash). Tools registered by someone else are left
+     * alone. Returns whether anything changed.
+     */
+    private boolean applyToolChanges(Map<String, ToolRegistration> desiredTools) {
+        boolean changed = false;
+        for (String toolName : new ArrayList<>(registeredToolHashes.keySet())) {
+            if (!desiredTools.containsKey(toolName)) {
+                removeRegisteredTool(toolName);
+                changed = true;
+            }
+        }
+
+        Set<String> foreignToolNames = new LinkedHashSet<>();
+        for (McpSchema.Tool tool : toolServer.listTools()) {
+            if (!registeredToolHashes.containsKey(tool.name())) {
+                foreignToolNames.add(tool.name());
+            }
+        }
+
+        int added = 0;
+        int replaced = 0;
+        int unchanged = 0;
+        for (ToolRegistration registration : desiredTools.values()) {
+            String toolName = registration.tool().name();
+            String contentHash = contentHash(registration.tool());
+            String registeredHash = registeredToolHashes.get(toolName);
+            if (contentHash.equals(registeredHash)) {
+                unchanged++;
+                continue;
+            }
+            if (registeredHash != null) {
+                removeRegisteredTool(toolName);
+                replaced++;
+            }
+            else if (foreignToolNames.contains(toolName)) {
+                logger.debug("Skipping tool registration because name already exists: {}", toolName);
+                continue;
+            }
+            else {
+                added++;
             }
+            toolServer.addTool(registration.tool(), registration.handler(), registration.asyncHandler());
+            registeredToolHashes.put(toolName, contentHash);
+            changed = true;
+        }
+        logger.debug("Tool registration diff: {} added, {} replaced, {} unchanged, {} registered",
+                added, replaced, unchanged, registeredToolHashes.size());
+        return changed;
+    }
+
+    private void removeRegisteredTool(String toolName) {
+        try {
+            toolServer.removeTool(toolName);
+        }
+        catch (Exception ex) {
+            logger.debug("Tool was not registered or already removed: {}", toolName);
+        }
+        registeredToolHashes.remove(toolName);
+    }
+
+    private String contentHash(McpSchema.Tool tool) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(tool)));
         }
-        if (!registeredToolNames.isEmpty()) {
-            mcpSyncServer.notifyToolsListChanged();
+        catch (Exception ex) {
+            // Never equal to a SHA-256 digest, so the tool is simply re-registered.
+            return "hash:" + tool.hashCode();
         }
     }
 
     public McpSchema.CallToolResult invokeTool(String toolName, Map<String, Object> arguments) {
         OpenApiOperationDescriptor operation = operationCatalog.findByToolName(toolName).orElse(null);
         if (operation == null) {
-            return errorResult(SwaggerMcpToolException.unknownTool(toolName));
+            return errorResult(unknownTool(toolName));
         }
         Map<String, Object> safeArguments = copyMap(arguments);
+        long startedNanos = System.nanoTime();
         securityPolicy.auditStart(operation, safeArguments);
         try {
-            String argumentValidation = validateRequiredArguments(operation, safeArguments);
-            if (argumentValidation != null) {
-                throw SwaggerMcpToolException.invalidArgument(argumentValidation, Map.of("toolName", operation.toolName()));
-            }
+            validateInvocation(operation, safeArguments);
+            ResponseEntity<SwaggerMcpResponseBody> response = executeHttp(operation, safeArguments);
+            return toolResult(operation, response, safeArguments, startedNanos);
+        }
+        catch (Exception ex) {
+            return failedToolResult(operation, ex, startedNanos);
+        }
+    }
 
-            var validationResult = securityPolicy.validateExecution(operation, safeArguments);
-            if (validationResult.isPresent()) {
-                throw SwaggerMcpToolException.securityDenied(validationResult.get());
-            }
+    /**
+     * Non-blocking counterpart of {@link #invokeTool}: validation runs on the caller, the HTTP exchange is awaited
+     * without parking a thread, and response optimization runs on the common pool once the body arrives.
+     */
+    public CompletableFuture<McpSchema.CallToolResult> invokeToolAsync(String toolName, Map<String, Object> arguments) {
+        OpenApiOperationDescriptor operation = operationCatalog.findByToolName(toolName).orElse(null);
+        if (operation == null) {
+            return CompletableFuture.completedFuture(errorResult(unknownTool(toolName)));
+        }
+        Map<String, Object> safeArguments = copyMap(arguments);
+        long startedNanos = System.nanoTime();
+        securityPolicy.auditStart(operation, safeArguments);
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> response;
+        try {
+            validateInvocation(operation, safeArguments);
+            response = executeHttpAsync(operation, safeArguments);
+        }
+        catch (Exception ex) {
+            return CompletableFuture.completedFuture(failedToolResult(operation, ex, startedNanos));
+        }
+        return response
+                .thenApplyAsync(result -> toolResult(operation, result, safeArguments, startedNanos),
+                        ForkJoinPool.commonPool())
+                .exceptionally(ex -> failedToolResult(operation, unwrapCompletion(ex), startedNanos));
+    }
 
-            ResponseEntity<String> response = executeHttp(operation, safeArguments);
-            String responseBody = response.getBody() == null ? "" : response.getBody();
-            SwaggerMcpResponseOptimizer.OptimizationResult optimized = responseOptimizer.optimize(responseBody, safeArguments);
+    private void validateInvocation(OpenApiOperationDescriptor operation, Map<String, Object> arguments) {
+        String argumentValidation = validateRequiredArguments(operation, arguments);
+        if (argumentValidation != null) {
+            throw SwaggerMcpToolException.invalidArgument(argumentValidation, Map.of("toolName", operation.toolName()));
+        }
 
-            boolean success = response.getStatusCode().is2xxSuccessful();
-            securityPolicy.auditEnd(operation, success, response.getStatusCode().value());
+        var validationResult = securityPolicy.validateExecution(operation, arguments);
+        if (validationResult.isPresent()) {
+            throw SwaggerMcpToolException.securityDenied(validationResult.get());
+        }
+    }
 
-            String text = "HTTP " + response.getStatusCode().value() + "\n" + optimized.text();
-            McpSchema.CallToolResult.Builder resultBuilder = McpSchema.CallToolResult.builder()
-                    .isError(!success)
-                    .addTextContent(text);
-            if (optimized.structuredContent() != null) {
-                resultBuilder.structuredContent(optimized.structuredContent());
-            }
-            return resultBuilder.build();
+    private McpSchema.CallToolResult toolResult(
+            OpenApiOperationDescriptor operation,
+            ResponseEntity<SwaggerMcpResponseBody> response,
+            Map<String, Object> arguments,
+            long startedNanos) {
+        SwaggerMcpResponseBody responseBody = response.getBody() == null ? SwaggerMcpResponseBody.empty() : response.getBody();
+        SwaggerMcpResponseOptimizer.OptimizationResult optimized = responseOptimizer.optimize(responseBody, arguments);
+
+        boolean success = response.getStatusCode().is2xxSuccessful();
+        securityPolicy.auditEnd(operation, success, response.getStatusCode().value(), elapsedSince(startedNanos));
+
+        String text = "HTTP " + response.getStatusCode().value() + "\n" + optimized.text();
+        McpSchema.CallToolResult.Builder resultBuilder = McpSchema.CallToolResult.builder()
+                .isError(!success)
+                .addTextContent(text);
+        if (optimized.structuredContent() != null) {
+            resultBuilder.structuredContent(optimized.structuredContent());
         }
-        catch (SwaggerMcpToolException ex) {
-            securityPolicy.auditEnd(operation, false, ex.status());
+        return resultBuilder.build();
+    }
+
+    private McpSchema.CallToolResult failedToolResult(
+            OpenApiOperationDescriptor operation,
+            Throwable failure,
+            long startedNanos) {
+        if (failure instanceof SwaggerMcpToolException ex) {
+            securityPolicy.auditEnd(operation, false, ex.status(), elapsedSince(startedNanos));
             logToolException(operation, ex);
             return errorResult(ex);
         }
-        catch (Exception ex) {
-            securityPolicy.auditEnd(operation, false, 500);
-            logger.warn("Tool execution failed: {}", operation.toolName(), ex);
-            return errorResult(SwaggerMcpToolException.internal("Tool execution failed: " + ex.getMessage(), ex));
+        if (failure instanceof Error error) {
+            throw error;
         }
+        securityPolicy.auditEnd(operation, false, 500, elapsedSince(startedNanos));
+        logger.warn("Tool execution failed: {}", operation.toolName(), failure);
+        return errorResult(SwaggerMcpToolException.internal("Tool execution failed: " + failure.getMessage(), failure));
+    }
+
+    private static Duration elapsedSince(long startedNanos) {
+        return Duration.ofNanos(System.nanoTime() - startedNanos);
     }
 
     private void logToolException(OpenApiOperationDescriptor operation, SwaggerMcpToolException exception) {
@@ -247,20 +534,34 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
                 || invokeByIntentToolName.equals(toolName);
     }
 
-    private void registerOperationTool(OpenApiOperationDescriptor operation) {
-        McpSchema.Tool tool = converter.convert(operation, properties);
-        McpServerFeatures.SyncToolSpecification specification = McpServerFeatures.SyncToolSpecification.builder()
-                .tool(tool)
-                .callHandler((exchange, request) -> invokeTool(operation.toolName(), request.arguments()))
-                .build();
-        mcpSyncServer.addTool(specification);
-        registeredToolNames.add(operation.toolName());
+    /**
+     * Converts every operation without a prebuilt definition up front, on the common fork-join pool once the catalog
+     * reaches {@code swagger.mcp.extraction.parallel-threshold}. Tool names are unique, so the result does not depend
+     * on completion order.
+     */
+    private Map<String, McpSchema.Tool> convertTools(
+            List<OpenApiOperationDescriptor> operations,
+            Map<String, McpSchema.Tool> prebuiltTools) {
+        if (!properties.getExtraction().isParallel(operations.size())) {
+            return prebuiltTools;
+        }
+        Map<String, McpSchema.Tool> tools = new ConcurrentHashMap<>(prebuiltTools);
+        operations.parallelStream()
+                .filter(operation -> !tools.containsKey(operation.toolName()))
+                .forEach(operation -> tools.put(operation.toolName(), converter.convert(operation, properties)));
+        return tools;
     }
 
-    private void registerDiscoverTool(Set<String> existingToolNames) {
-        if (existingToolNames.contains(discoverToolName)) {
-            return;
-        }
+    private ToolRegistration operationTool(OpenApiOperationDescriptor operation, McpSchema.Tool prebuiltTool) {
+        McpSchema.Tool tool = prebuiltTool != null ? prebuiltTool : converter.convert(operation, properties);
+        // Handlers resolve the operation by name on every call, so an unchanged tool keeps working across refreshes.
+        return new ToolRegistration(
+                tool,
+                arguments -> invokeTool(operation.toolName(), arguments),
+                arguments -> invokeToolAsync(operation.toolName(), arguments));
+    }
+
+    private ToolRegistration discoverTool() {
         McpSchema.Tool tool = McpSchema.Tool.builder()
                 .name(discoverToolName)
                 .title("Discover Relevant API Tools")
@@ -283,20 +584,10 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
                 ))
                 .build();
 
-        McpServerFeatures.SyncToolSpecification specification = McpServerFeatures.SyncToolSpecification.builder()
-                .tool(tool)
-                .callHandler((exchange, request) -> discoverRelevantTools(request.arguments()))
-                .build();
-
-        mcpSyncServer.addTool(specification);
-        existingToolNames.add(discoverToolName);
-        registeredToolNames.add(discoverToolName);
+        return new ToolRegistration(tool, this::discoverRelevantTools);
     }
 
-    private void registerDescribeTool(Set<String> existingToolNames) {
-        if (existingToolNames.contains(describeToolName)) {
-            return;
-        }
+    private ToolRegistration describeTool() {
         McpSchema.Tool tool = McpSchema.Tool.builder()
                 .name(describeToolName)
                 .title("Describe API Tool Contract")
@@ -319,20 +610,10 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
                 ))
                 .build();
 
-        McpServerFeatures.SyncToolSpecification specification = McpServerFeatures.SyncToolSpecification.builder()
-                .tool(tool)
-                .callHandler((exchange, request) -> describeApiTool(request.arguments()))
-                .build();
-
-        mcpSyncServer.addTool(specification);
-        existingToolNames.add(describeToolName);
-        registeredToolNames.add(describeToolName);
+        return new ToolRegistration(tool, this::describeApiTool);
     }
 
-    private void registerCapabilitiesTool(Set<String> existingToolNames) {
-        if (existingToolNames.contains(capabilitiesToolName)) {
-            return;
-        }
+    private ToolRegistration capabilitiesTool() {
         McpSchema.Tool tool = McpSchema.Tool.builder()
                 .name(capabilitiesToolName)
                 .title("Get API Gateway Capabilities")
@@ -355,20 +636,10 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
                 ))
                 .build();
 
-        McpServerFeatures.SyncToolSpecification specification = McpServerFeatures.SyncToolSpecification.builder()
-                .tool(tool)
-                .callHandler((exchange, request) -> getApiCapabilities(request.arguments()))
-                .build();
-
-        mcpSyncServer.addTool(specification);
-        existingToolNames.add(capabilitiesToolName);
-        registeredToolNames.add(capabilitiesToolName);
+        return new ToolRegistration(tool, this::getApiCapabilities);
     }
 
-    private void registerValidateTool(Set<String> existingToolNames) {
-        if (existingToolNames.contains(validateToolName)) {
-            return;
-        }
+    private ToolRegistration validateTool() {
         McpSchema.Tool tool = McpSchema.Tool.builder()
                 .name(validateToolName)
                 .title("Validate API Call")
@@ -391,20 +662,10 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
                 ))
                 .build();
 
-        McpServerFeatures.SyncToolSpecification specification = McpServerFeatures.SyncToolSpecification.builder()
-                .tool(tool)
-                .callHandler((exchange, request) -> validateApiCall(request.arguments()))
-                .build();
-
-        mcpSyncServer.addTool(specification);
-        existingToolNames.add(validateToolName);
-        registeredToolNames.add(validateToolName);
+        return new ToolRegistration(tool, this::validateApiCall);
     }
 
-    private void registerListGroupsTool(Set<String> existingToolNames) {
-        if (existingToolNames.contains(listGroupsToolName)) {
-            return;
-        }
+    private ToolRegistration listGroupsTool() {
         McpSchema.Tool tool = McpSchema.Tool.builder()
                 .name(listGroupsToolName)
                 .title("List API Tool Groups")
@@ -427,20 +688,10 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
                 ))
                 .build();
 
-        McpServerFeatures.SyncToolSpecification specification = McpServerFeatures.SyncToolSpecification.builder()
-                .tool(tool)
-                .callHandler((exchange, request) -> listApiGroups(request.arguments()))
-                .build();
-
-        mcpSyncServer.addTool(specification);
-        existingToolNames.add(listGroupsToolName);
-        registeredToolNames.add(listGroupsToolName);
+        return new ToolRegistration(tool, this::listApiGroups);
     }
 
-    private void registerPlanWorkflowTool(Set<String> existingToolNames) {
-        if (existingToolNames.contains(planWorkflowToolName)) {
-            return;
-        }
+    private ToolRegistration planWorkflowTool() {
         McpSchema.Tool tool = McpSchema.Tool.builder()
                 .name(planWorkflowToolName)
                 .title("Plan API Workflow")
@@ -463,20 +714,10 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
                 ))
                 .build();
 
-        McpServerFeatures.SyncToolSpecification specification = McpServerFeatures.SyncToolSpecification.builder()
-                .tool(tool)
-                .callHandler((exchange, request) -> planApiWorkflow(request.arguments()))
-                .build();
-
-        mcpSyncServer.addTool(specification);
-        existingToolNames.add(planWorkflowToolName);
-        registeredToolNames.add(planWorkflowToolName);
+        return new ToolRegistration(tool, this::planApiWorkflow);
     }
 
-    private void registerInvokeWorkflowTool(Set<String> existingToolNames) {
-        if (existingToolNames.contains(invokeWorkflowToolName)) {
-            return;
-        }
+    private ToolRegistration invokeWorkflowTool() {
         McpSchema.Tool tool = McpSchema.Tool.builder()
                 .name(invokeWorkflowToolName)
                 .title("Invoke API Workflow")
@@ -499,20 +740,13 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
                 ))
                 .build();
 
-        McpServerFeatures.SyncToolSpecification specification = McpServerFeatures.SyncToolSpecification.builder()
-                .tool(tool)
-                .callHandler((exchange, request) -> invokeApiWorkflow(request.arguments()))
-                .build();
-
-        mcpSyncServer.addTool(specification);
-        existingToolNames.add(invokeWorkflowToolName);
-        registeredToolNames.add(invokeWorkflowToolName);
+        return new ToolRegistration(
+                tool,
+                this::invokeApiWorkflow,
+                arguments -> CompletableFuture.supplyAsync(() -> invokeApiWorkflow(arguments), blockingExecutor()));
     }
 
-    private void registerIntentInvokeTool(Set<String> existingToolNames) {
-        if (existingToolNames.contains(invokeByIntentToolName)) {
-            return;
-        }
+    private ToolRegistration intentInvokeTool() {
         McpSchema.Tool tool = McpSchema.Tool.builder()
                 .name(invokeByIntentToolName)
                 .title("Invoke API By Intent")
@@ -535,14 +769,7 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
                 ))
                 .build();
 
-        McpServerFeatures.SyncToolSpecification specification = McpServerFeatures.SyncToolSpecification.builder()
-                .tool(tool)
-                .callHandler((exchange, request) -> invokeByIntent(request.arguments()))
-                .build();
-
-        mcpSyncServer.addTool(specification);
-        existingToolNames.add(invokeByIntentToolName);
-        registeredToolNames.add(invokeByIntentToolName);
+        return new ToolRegistration(tool, this::invokeByIntent, this::invokeByIntentAsync);
     }
 
     McpSchema.CallToolResult describeApiTool(Map<String, Object> arguments) {
@@ -553,7 +780,7 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
         }
         OpenApiOperationDescriptor operation = operationCatalog.findByToolName(toolName).orElse(null);
         if (operation == null) {
-            return errorResult(SwaggerMcpToolException.unknownTool(toolName));
+            return errorResult(unknownTool(toolName));
         }
         Map<String, Object> structured = describeOperation(operation);
         return successResult(structured);
@@ -564,10 +791,11 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
         int maxGroups = Math.max(0, asInt(safeArguments.get("maxGroups"), 10));
         int maxToolsPerGroup = Math.max(0, asInt(safeArguments.get("maxToolsPerGroup"), 3));
 
-        SwaggerMcpOperationCatalog.CatalogStats stats = operationCatalog.stats();
+        SwaggerMcpOperationCatalog.Snapshot catalog = operationCatalog.snapshot();
+        SwaggerMcpOperationCatalog.CatalogStats stats = catalog.stats();
         List<Map<String, Object>> groups = new ArrayList<>();
         int count = 0;
-        for (SwaggerMcpOperationCatalog.GroupSummary group : operationCatalog.summarizeGroups(maxToolsPerGroup)) {
+        for (SwaggerMcpOperationCatalog.GroupSummary group : catalog.summarizeGroups(maxToolsPerGroup)) {
             if (maxGroups > 0 && count >= maxGroups) {
                 break;
             }
@@ -584,6 +812,8 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
 
         Map<String, Object> structured = new LinkedHashMap<>();
         structured.put("catalog", mapOf(
+                "generation", catalog.generation(),
+                "ready", !registrationPending,
                 "operationCount", stats.operationCount(),
                 "groupCount", stats.groupCount(),
                 "readOnlyCount", stats.readOnlyCount(),
@@ -628,11 +858,43 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
                 "bytecodeRelease", 17,
                 "virtualThreadsEnabled", properties.getExecution().isVirtualThreadsEnabled(),
                 "virtualThreadsAvailable", virtualThreadsAvailable,
-                "httpDispatchThreadModel", httpDispatchThreadModel()
+                "httpDispatchThreadModel", httpDispatchThreadModel(),
+                "dispatchMode", isInProcessDispatch() ? "in-process" : "loopback",
+                "httpClientEngine", dispatchClient.engine(),
+                "toolExecution", toolServer.isAsync() ? "async" : "sync"
         ));
+        if (circuitBreakers.isEnabled()) {
+            structured.put("circuitBreakers", circuitBreakerStates());
+        }
         return successResult(structured);
     }
 
+    private Map<String, Object> circuitBreakerStates() {
+        Map<String, Object> breakers = new LinkedHashMap<>();
+        List<String> openTools = new ArrayList<>();
+        circuitBreakers.snapshots().forEach((toolName, snapshot) -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("state", snapshot.state().name());
+            item.put("bufferedCalls", snapshot.bufferedCalls());
+            if (snapshot.failureRate() >= 0) {
+                item.put("failureRate", snapshot.failureRate());
+                item.put("slowCallRate", snapshot.slowCallRate());
+            }
+            if (snapshot.state() != SwaggerMcpCircuitBreakers.State.CLOSED) {
+                openTools.add(toolName);
+            }
+            if (snapshot.state() == SwaggerMcpCircuitBreakers.State.OPEN) {
+                item.put("retryAfter", Math.max(1, (snapshot.retryAfter().toMillis() + 999) / 1000));
+            }
+            breakers.put(toolName, item);
+        });
+        return mapOf(
+                "enabled", true,
+                "openTools", openTools,
+                "breakers", breakers
+        );
+    }
+
     McpSchema.CallToolResult validateApiCall(Map<String, Object> arguments) {
         Map<String, Object> safeArguments = copyMap(arguments);
         String toolName = asString(safeArguments.get("toolName"));
@@ -646,7 +908,7 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
         }
         OpenApiOperationDescriptor operation = operationCatalog.findByToolName(toolName).orElse(null);
         if (operation == null) {
-            return errorResult(SwaggerMcpToolException.unknownTool(toolName));
+            return errorResult(unknownTool(toolName));
         }
 
         Map<String, Object> delegatedArguments = extractDelegatedArguments(safeArguments);
@@ -658,9 +920,10 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
         Map<String, Object> safeArguments = copyMap(arguments);
         int maxToolsPerGroup = Math.max(0, asInt(safeArguments.get("maxToolsPerGroup"), 5));
 
-        SwaggerMcpOperationCatalog.CatalogStats stats = operationCatalog.stats();
+        SwaggerMcpOperationCatalog.Snapshot catalog = operationCatalog.snapshot();
+        SwaggerMcpOperationCatalog.CatalogStats stats = catalog.stats();
         List<Map<String, Object>> groups = new ArrayList<>();
-        for (SwaggerMcpOperationCatalog.GroupSummary group : operationCatalog.summarizeGroups(maxToolsPerGroup)) {
+        for (SwaggerMcpOperationCatalog.GroupSummary group : catalog.summarizeGroups(maxToolsPerGroup)) {
             Map<String, Object> item = new LinkedHashMap<>();
             item.put("name", group.name());
             item.put("operationCount", group.operationCount());
@@ -672,6 +935,7 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
         }
 
         Map<String, Object> structured = new LinkedHashMap<>();
+        structured.put("generation", catalog.generation());
         structured.put("operationCount", stats.operationCount());
         structured.put("groupCount", stats.groupCount());
         structured.put("readOnlyCount", stats.readOnlyCount());
@@ -689,7 +953,7 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
         int requestedTopK = asInt(safeArguments.get("topK"), properties.getSmartContext().getDefaultTopK());
         int topK = Math.max(1, requestedTopK);
 
-        List<SwaggerMcpToolSelector.ScoredTool> candidates = toolSelector.select(goal, topK);
+        List<SwaggerMcpToolSelector.ScoredTool> candidates = toolSelector.select(operationCatalog.snapshot().searchIndex(), goal, topK);
         List<Map<String, Object>> steps = new ArrayList<>();
         int index = 1;
         for (SwaggerMcpToolSelector.ScoredTool candidate : candidates) {
@@ -862,7 +1126,7 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
         int requestedTopK = asInt(safeArguments.get("topK"), properties.getSmartContext().getDefaultTopK());
         int topK = Math.max(1, requestedTopK);
 
-        List<SwaggerMcpToolSelector.ScoredTool> results = toolSelector.select(query, topK);
+        List<SwaggerMcpToolSelector.ScoredTool> results = toolSelector.select(operationCatalog.snapshot().searchIndex(), query, topK);
         List<Map<String, Object>> payload = new ArrayList<>();
         for (SwaggerMcpToolSelector.ScoredTool scoredTool : results) {
             Map<String, Object> item = new LinkedHashMap<>();
@@ -884,30 +1148,52 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
     }
 
     private McpSchema.CallToolResult invokeByIntent(Map<String, Object> arguments) {
+        IntentSelection selection = selectIntent(arguments);
+        if (selection.error() != null) {
+            return selection.error();
+        }
+        McpSchema.CallToolResult delegatedResult = invokeTool(
+                selection.selected().operation().toolName(),
+                selection.delegatedArguments());
+        return intentResult(selection.selected(), delegatedResult);
+    }
+
+    private CompletableFuture<McpSchema.CallToolResult> invokeByIntentAsync(Map<String, Object> arguments) {
+        IntentSelection selection = selectIntent(arguments);
+        if (selection.error() != null) {
+            return CompletableFuture.completedFuture(selection.error());
+        }
+        return invokeToolAsync(selection.selected().operation().toolName(), selection.delegatedArguments())
+                .thenApply(delegatedResult -> intentResult(selection.selected(), delegatedResult));
+    }
+
+    private IntentSelection selectIntent(Map<String, Object> arguments) {
         Map<String, Object> safeArguments = copyMap(arguments);
         String query = asString(safeArguments.get("query"));
         if (!StringUtils.hasText(query)) {
-            return errorResult(SwaggerMcpToolException.invalidArgument("query is required"));
+            return IntentSelection.rejected(errorResult(SwaggerMcpToolException.invalidArgument("query is required")));
         }
         int requestedTopK = asInt(safeArguments.get("topK"), properties.getSmartContext().getDefaultTopK());
         int topK = Math.max(1, requestedTopK);
 
-        List<SwaggerMcpToolSelector.ScoredTool> results = toolSelector.select(query, topK);
+        List<SwaggerMcpToolSelector.ScoredTool> results = toolSelector.select(operationCatalog.snapshot().searchIndex(), query, topK);
         if (results.isEmpty()) {
-            return errorResult(SwaggerMcpToolException.invalidArgument(
+            return IntentSelection.rejected(errorResult(SwaggerMcpToolException.invalidArgument(
                     "No matching API tool found for query: " + query,
-                    Map.of("query", query)));
+                    Map.of("query", query))));
         }
         SwaggerMcpToolSelector.ScoredTool selected = results.get(0);
         if (selected.score() < properties.getSmartContext().getMinScore()) {
-            return errorResult(SwaggerMcpToolException.invalidArgument(
+            return IntentSelection.rejected(errorResult(SwaggerMcpToolException.invalidArgument(
                     "No API tool passed the minimum relevance threshold for query: " + query,
-                    Map.of("query", query)));
+                    Map.of("query", query))));
         }
+        return new IntentSelection(selected, extractDelegatedArguments(safeArguments), null);
+    }
 
-        Map<String, Object> delegatedArguments = extractDelegatedArguments(safeArguments);
-        McpSchema.CallToolResult delegatedResult = invokeTool(selected.operation().toolName(), delegatedArguments);
-
+    private McpSchema.CallToolResult intentResult(
+            SwaggerMcpToolSelector.ScoredTool selected,
+            McpSchema.CallToolResult delegatedResult) {
         Map<String, Object> wrapper = new LinkedHashMap<>();
         wrapper.put("selectedTool", selected.operation().toolName());
         wrapper.put("score", selected.score());
@@ -921,7 +1207,202 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
         return builder.build();
     }
 
-    private ResponseEntity<String> executeHttp(OpenApiOperationDescriptor operation, Map<String, Object> arguments) {
+    private ResponseEntity<SwaggerMcpResponseBody> executeHttp(OpenApiOperationDescriptor operation, Map<String, Object> arguments) {
+        DispatchRequest request = prepareDispatch(operation, arguments);
+        String cacheKey = responseCacheKey(operation, request);
+        if (cacheKey != null) {
+            ResponseEntity<SwaggerMcpResponseBody> cached = responseCache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Supplier<ResponseEntity<SwaggerMcpResponseBody>> dispatch = () -> retries.execute(operation, request.headers(),
+                () -> hedging.isHedged(operation)
+                        // Hedged attempts already run on the blocking executor, so they exchange without another hop
+                        // and cancelling a loser interrupts the thread doing its I/O.
+                        ? hedging.execute(operation, blockingExecutor(), () -> dispatchGuarded(operation, request, false))
+                        : dispatchGuarded(operation, request, true));
+        ResponseEntity<SwaggerMcpResponseBody> response = singleFlight.isCoalesced(operation)
+                ? singleFlight.execute(singleFlightKey(operation, request), dispatch)
+                : dispatch.get();
+        if (cacheKey != null) {
+            responseCache.put(operation, cacheKey, response);
+        }
+        return response;
+    }
+
+    private CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> executeHttpAsync(
+            OpenApiOperationDescriptor operation,
+            Map<String, Object> arguments) {
+        // Retries reuse the request prepared here, the only thread where the incoming servlet request is bound.
+        DispatchRequest request = prepareDispatch(operation, arguments);
+        String cacheKey = responseCacheKey(operation, request);
+        if (cacheKey != null) {
+            ResponseEntity<SwaggerMcpResponseBody> cached = responseCache.get(cacheKey);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        Supplier<CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>>> dispatch = () -> retries.executeAsync(
+                operation, request.headers(), () -> hedging.executeAsync(operation, () -> dispatchGuardedAsync(operation, request)));
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> response = singleFlight.isCoalesced(operation)
+                ? singleFlight.executeAsync(singleFlightKey(operation, request), dispatch)
+                : dispatch.get();
+        if (cacheKey != null) {
+            // Observed rather than chained, so cancelling the returned future still reaches the dispatch.
+            response.thenAccept(result -> responseCache.put(operation, cacheKey, result));
+        }
+        return response;
+    }
+
+    private String responseCacheKey(OpenApiOperationDescriptor operation, DispatchRequest request) {
+        if (!responseCache.isCached(operation)) {
+            return null;
+        }
+        return responseCache.key(operation.toolName(), request.method(), request.uri(), request.headers(), request.body());
+    }
+
+    private String singleFlightKey(OpenApiOperationDescriptor operation, DispatchRequest request) {
+        return singleFlight.key(operation.toolName(), request.method(), request.uri(), request.headers(), request.body());
+    }
+
+    private ResponseEntity<SwaggerMcpResponseBody> dispatchGuarded(
+            OpenApiOperationDescriptor operation,
+            DispatchRequest request,
+            boolean offload) {
+        DispatchGuard guard = acquireDispatchGuard(operation, true);
+        // The guard is settled by the thread doing the exchange, so its permits stay held until the exchange really
+        // ends even when the caller stopped waiting for it.
+        Callable<ResponseEntity<SwaggerMcpResponseBody>> exchange = () -> {
+            ResponseEntity<SwaggerMcpResponseBody> response;
+            try {
+                response = isInProcessDispatch()
+                        ? inProcessDispatcher.exchange(
+                                request.method(), request.uri(), request.headers(), request.body(), maxBodyBytes())
+                        : dispatchClient.exchange(
+                                request.method(), request.uri(), request.headers(), request.body(), maxBodyBytes());
+            }
+            catch (RuntimeException | Error ex) {
+                if (Thread.currentThread().isInterrupted()
+                        || SwaggerMcpCancellation.isCurrentCancelled()
+                        || isInterruption(ex)) {
+                    guard.onIgnore();
+                }
+                else {
+                    guard.onFailure(ex);
+                }
+                throw ex;
+            }
+            guard.onResponse(response.getStatusCode().value());
+            return response;
+        };
+        return dispatchHttp(exchange, guard, offload);
+    }
+
+    private CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> dispatchGuardedAsync(
+            OpenApiOperationDescriptor operation,
+            DispatchRequest request) {
+        // Asynchronous callers are never parked on a full bulkhead; the guard is held until the exchange completes.
+        DispatchGuard guard = acquireDispatchGuard(operation, false);
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> response;
+        try {
+            response = dispatchAsync(request);
+        }
+        catch (RuntimeException ex) {
+            guard.onFailure(ex);
+            throw ex;
+        }
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> guarded = response.handle((result, failure) -> {
+            if (failure != null) {
+                Throwable cause = unwrapCompletion(failure);
+                guard.onFailure(cause);
+                throw dispatchFailure(cause);
+            }
+            guard.onResponse(result.getStatusCode().value());
+            return result;
+        });
+        // A cancelled hedge loser aborts its exchange instead of leaving it to complete unobserved.
+        guarded.whenComplete((result, failure) -> {
+            if (guarded.isCancelled()) {
+                response.cancel(true);
+            }
+        });
+        return guarded;
+    }
+
+    /**
+     * Passes the circuit breaker, the bulkheads and the adaptive limiter in that order, so an open circuit fails fast
+     * without occupying capacity; whatever was acquired is handed back if a later stage rejects the call.
+     */
+    private DispatchGuard acquireDispatchGuard(OpenApiOperationDescriptor operation, boolean mayWait) {
+        SwaggerMcpCircuitBreakers.Permit circuit = circuitBreakers.acquire(operation);
+        SwaggerMcpBulkheads.Permit bulkhead = null;
+        try {
+            bulkhead = bulkheads.acquire(operation, mayWait);
+            return new DispatchGuard(circuit, bulkhead, adaptiveLimiter.acquire(operation));
+        }
+        catch (RuntimeException ex) {
+            if (bulkhead != null) {
+                bulkhead.close();
+            }
+            circuit.onIgnore();
+            throw ex;
+        }
+    }
+
+    private record DispatchGuard(
+            SwaggerMcpCircuitBreakers.Permit circuit,
+            SwaggerMcpBulkheads.Permit bulkhead,
+            SwaggerMcpAdaptiveLimiter.Token limit) {
+
+        void onResponse(int status) {
+            bulkhead.close();
+            limit.onResponse(status);
+            circuit.onResponse(status);
+        }
+
+        void onIgnore() {
+            bulkhead.close();
+            limit.onIgnore();
+            circuit.onIgnore();
+        }
+
+        void onFailure(Throwable failure) {
+            bulkhead.close();
+            if (failure instanceof CancellationException
+                    || (failure instanceof SwaggerMcpToolException toolException
+                    && toolException.code() == SwaggerMcpErrorCode.HTTP_DISPATCH_INTERRUPTED)) {
+                limit.onIgnore();
+                circuit.onIgnore();
+            }
+            else {
+                limit.onDropped();
+                circuit.onFailure();
+            }
+        }
+    }
+
+    private CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> dispatchAsync(DispatchRequest request) {
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> response;
+        if (isInProcessDispatch()) {
+            // The servlet pipeline is blocking by nature, so it runs on the dispatch executor instead of the caller.
+            response = CompletableFuture.supplyAsync(
+                    () -> inProcessDispatcher.exchange(
+                            request.method(), request.uri(), request.headers(), request.body(), maxBodyBytes()),
+                    blockingExecutor());
+        }
+        else {
+            response = dispatchClient.exchangeAsync(
+                    request.method(), request.uri(), request.headers(), request.body(), maxBodyBytes(), blockingExecutor());
+        }
+        return response;
+    }
+
+    /**
+     * Builds the outbound request on the calling thread, which is the only place the incoming servlet request
+     * (for forwarded authorization and cookie headers) is bound.
+     */
+    private DispatchRequest prepareDispatch(OpenApiOperationDescriptor operation, Map<String, Object> arguments) {
         String resolvedPath = resolvePath(operation, arguments);
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromHttpUrl(resolveBaseUrl() + resolvedPath);
         applyQueryParameters(uriBuilder, operation, arguments);
@@ -934,15 +1415,27 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
         copyIncomingHeaders(headers);
 
         Object body = resolveRequestBody(operation, arguments);
-        HttpEntity<?> requestEntity = body == null ? new HttpEntity<>(headers) : new HttpEntity<>(body, headers);
-        return dispatchHttp(() ->
-                restTemplate.exchange(uriBuilder.build(true).toUri(), operation.httpMethod(), requestEntity, String.class));
+        return new DispatchRequest(operation.httpMethod(), uriBuilder.build(true).toUri(), headers, body);
+    }
+
+    private long maxBodyBytes() {
+        DataSize maxBodySize = properties.getResponse().getMaxBodySize();
+        return maxBodySize == null ? 0 : maxBodySize.toBytes();
+    }
+
+    private boolean isInProcessDispatch() {
+        return properties.getExecution().getMode() == SwaggerMcpProperties.DispatchMode.IN_PROCESS
+                && inProcessDispatcher != null
+                && inProcessDispatcher.isAvailable();
     }
 
-    private ResponseEntity<String> dispatchHttp(Callable<ResponseEntity<String>> dispatch) {
-        if (!properties.getExecution().isVirtualThreadsEnabled() || !virtualThreadsAvailable) {
+    private ResponseEntity<SwaggerMcpResponseBody> dispatchHttp(
+            Callable<ResponseEntity<SwaggerMcpResponseBody>> exchange,
+            DispatchGuard guard,
+            boolean offload) {
+        if (!offload || !properties.getExecution().isVirtualThreadsEnabled() || !virtualThreadsAvailable) {
             try {
-                return dispatch.call();
+                return exchange.call();
             }
             catch (SwaggerMcpToolException ex) {
                 throw ex;
@@ -955,29 +1448,95 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
             }
         }
 
+        // Whoever claims first owns the guard: the task once it starts, or the caller abandoning it before that.
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<ResponseEntity<SwaggerMcpResponseBody>> future = virtualThreadExecutor.submit(
+                () -> claimed.compareAndSet(false, true) ? exchange.call() : null);
         try {
-            Future<ResponseEntity<String>> future = virtualThreadExecutor.submit(dispatch);
             return future.get();
         }
         catch (InterruptedException ex) {
+            future.cancel(true);
+            if (claimed.compareAndSet(false, true)) {
+                guard.onIgnore();
+            }
             Thread.currentThread().interrupt();
             throw SwaggerMcpToolException.dispatchInterrupted(ex);
         }
         catch (ExecutionException ex) {
-            Throwable cause = ex.getCause();
-            if (cause instanceof SwaggerMcpToolException toolException) {
-                throw toolException;
+            throw dispatchFailure(ex.getCause());
+        }
+    }
+
+    /**
+     * Whether a blocking exchange failed because its thread was interrupted, e.g. a cancelled hedge loser.
+     */
+    private static boolean isInterruption(Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (current instanceof InterruptedException
+                    || current instanceof InterruptedIOException
+                    || current instanceof ClosedByInterruptException) {
+                return true;
             }
-            if (cause instanceof RuntimeException runtimeException) {
-                throw SwaggerMcpToolException.dispatchFailed(
-                        "HTTP dispatch failed: " + runtimeException.getMessage(),
-                        runtimeException);
+            if (current.getCause() == current) {
+                break;
             }
-            if (cause instanceof Error error) {
-                throw error;
+        }
+        return false;
+    }
+
+    private SwaggerMcpToolException dispatchFailure(Throwable cause) {
+        if (cause instanceof SwaggerMcpToolException toolException) {
+            return toolException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return SwaggerMcpToolException.dispatchFailed("HTTP dispatch failed: " + cause.getMessage(), cause);
+    }
+
+    private Throwable unwrapCompletion(Throwable failure) {
+        Throwable current = failure;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    /**
+     * Executor for work that must block (in-process servlet dispatch, sequential workflows, hedged attempts): virtual
+     * threads where available, otherwise a bounded pool of {@code blocking-pool-size} platform threads created on
+     * first use, so blocking I/O never occupies the common fork-join pool.
+     */
+    private Executor blockingExecutor() {
+        if (properties.getExecution().isVirtualThreadsEnabled() && virtualThreadsAvailable) {
+            return virtualThreadExecutor;
+        }
+        ExecutorService pool = platformBlockingExecutor;
+        if (pool == null) {
+            synchronized (this) {
+                pool = platformBlockingExecutor;
+                if (pool == null) {
+                    pool = newPlatformBlockingExecutor(properties.getExecution().getBlockingPoolSize());
+                    platformBlockingExecutor = pool;
+                }
             }
-            throw SwaggerMcpToolException.dispatchFailed("HTTP dispatch failed: " + cause.getMessage(), cause);
         }
+        return pool;
+    }
+
+    private static ExecutorService newPlatformBlockingExecutor(int size) {
+        int threads = Math.max(1, size);
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "swagger-mcp-dispatch-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
     }
 
     private void applyDefaultHeaders(HttpHeaders headers) {
@@ -1613,18 +2172,6 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
         return result.toString();
     }
 
-    private void removeRegisteredTools() {
-        for (String toolName : new ArrayList<>(registeredToolNames)) {
-            try {
-                mcpSyncServer.removeTool(toolName);
-            }
-            catch (Exception ex) {
-                logger.debug("Tool was not registered or already removed: {}", toolName);
-            }
-        }
-        registeredToolNames.clear();
-    }
-
     private Map<String, Object> copyMap(Map<String, Object> source) {
         if (source == null || source.isEmpty()) {
             return new LinkedHashMap<>();
@@ -1704,6 +2251,32 @@ public class SwaggerMcpServerAdapter implements DisposableBean {
         }
     }
 
+    private record DispatchRequest(HttpMethod method, URI uri, HttpHeaders headers, Object body) {
+    }
+
+    private record ToolRegistration(
+            McpSchema.Tool tool,
+            Function<Map<String, Object>, McpSchema.CallToolResult> handler,
+            Function<Map<String, Object>, CompletableFuture<McpSchema.CallToolResult>> asyncHandler) {
+
+        /**
+         * For handlers that never block on I/O; see {@link SwaggerMcpToolServer#addTool(McpSchema.Tool, Function)}.
+         */
+        ToolRegistration(McpSchema.Tool tool, Function<Map<String, Object>, McpSchema.CallToolResult> handler) {
+            this(tool, handler, arguments -> CompletableFuture.completedFuture(handler.apply(arguments)));
+        }
+    }
+
+    private record IntentSelection(
+            SwaggerMcpToolSelector.ScoredTool selected,
+            Map<String, Object> delegatedArguments,
+            McpSchema.CallToolResult error) {
+
+        static IntentSelection rejected(McpSchema.CallToolResult error) {
+            return new IntentSelection(null, Map.of(), error);
+        }
+    }
+
     private record WorkflowReferenceValidation(
             List<String> errors,
             List<Map<String, Object>> references) {
@@ -1,45 +1,54 @@
 package io.github.neo1228.swagger.mcp;
 
 import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.oas.models.Operation;
-import io.swagger.v3.oas.models.PathItem;
-import io.swagger.v3.oas.models.media.Content;
-import io.swagger.v3.oas.models.media.MediaType;
-import io.swagger.v3.oas.models.media.Schema;
-import io.swagger.v3.oas.models.parameters.Parameter;
-import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.core.util.Json;
 import io.swagger.v3.core.util.Json31;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.env.Environment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
-public class SwaggerMcpService implements ApplicationListener<ApplicationReadyEvent> {
+public class SwaggerMcpService implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
 
     private static final Logger logger = LoggerFactory.getLogger(SwaggerMcpService.class);
 
-    private final OpenApiToMcpToolConverter converter;
     private final SwaggerMcpServerAdapter adapter;
-    private final SwaggerMcpSecurityPolicy securityPolicy;
     private final SwaggerMcpProperties properties;
     private final Environment environment;
-    private final RestTemplate restTemplate;
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final SwaggerMcpDispatchClient dispatchClient;
+    private final SwaggerMcpSpringdocOpenApiLoader springdocLoader;
+    private final SwaggerMcpOperationExtractor extractor;
+    private final boolean defaultConversion;
+    private volatile RegistrationState registrationState = RegistrationState.PENDING;
+    private volatile String registrationFailure;
+    private volatile RefreshReport lastRefresh;
+    private volatile String lastSpecHash;
+    private volatile String lastEtag;
+    private volatile String lastSettingsFingerprint;
+    private ScheduledExecutorService refreshScheduler;
 
     public SwaggerMcpService(
             OpenApiToMcpToolConverter converter,
@@ -47,18 +56,27 @@ public class SwaggerMcpService implements ApplicationListener<ApplicationReadyEv
             SwaggerMcpSecurityPolicy securityPolicy,
             SwaggerMcpProperties properties,
             Environment environment,
-            RestTemplateBuilder restTemplateBuilder) {
-        this.converter = converter;
+            SwaggerMcpDispatchClient dispatchClient) {
+        this(converter, adapter, securityPolicy, properties, environment, dispatchClient, null);
+    }
+
+    SwaggerMcpService(
+            OpenApiToMcpToolConverter converter,
+            SwaggerMcpServerAdapter adapter,
+            SwaggerMcpSecurityPolicy securityPolicy,
+            SwaggerMcpProperties properties,
+            Environment environment,
+            SwaggerMcpDispatchClient dispatchClient,
+            SwaggerMcpSpringdocOpenApiLoader springdocLoader) {
         this.adapter = adapter;
-        this.securityPolicy = securityPolicy;
         this.properties = properties;
         this.environment = environment;
-        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.defaults()
-                .withConnectTimeout(properties.getExecution().getConnectTimeout())
-                .withReadTimeout(properties.getExecution().getReadTimeout());
-        this.restTemplate = restTemplateBuilder
-                .requestFactorySettings(settings)
-                .build();
+        this.dispatchClient = dispatchClient;
+        this.springdocLoader = springdocLoader;
+        this.extractor = new SwaggerMcpOperationExtractor(converter, securityPolicy, properties);
+        // The generator uses the stock converter and policy; customized beans must see the live document.
+        this.defaultConversion = converter.getClass() == OpenApiToMcpToolConverter.class
+                && securityPolicy.getClass() == SwaggerMcpSecurityPolicy.class;
     }
 
     @Override
@@ -67,220 +85,347 @@ public class SwaggerMcpService implements ApplicationListener<ApplicationReadyEv
             logger.info("Swagger MCP bridge is disabled (swagger.mcp.enabled=false)");
             return;
         }
-        refresh();
+        if (!properties.getStartup().isAsyncRegistration()) {
+            registerAtStartup();
+        }
+        else {
+            // Gateway tools come up immediately and answer CATALOG_NOT_READY until the catalog is published.
+            adapter.beginPendingRegistration();
+            Thread registration = new Thread(() -> {
+                try {
+                    registerAtStartup();
+                }
+                catch (RuntimeException ex) {
+                    logger.error("Background Swagger MCP tool registration failed", ex);
+                }
+            }, "swagger-mcp-registration");
+            registration.setDaemon(true);
+            registration.start();
+        }
+        startScheduledRefresh();
     }
 
-    public synchronized void refresh() {
-        OpenAPI openAPI = loadOpenApiViaHttp();
-        if (openAPI == null || openAPI.getPaths() == null || openAPI.getPaths().isEmpty()) {
-            logger.warn("OpenAPI document is empty. MCP tools were not registered.");
-            return;
+    @Override
+    public synchronized void destroy() {
+        if (refreshScheduler != null) {
+            refreshScheduler.shutdownNow();
+            refreshScheduler = null;
         }
-        List<OpenApiOperationDescriptor> operations = collectOperations(openAPI);
-        adapter.registerOperations(operations);
-        logger.info("Swagger MCP bridge registered {} candidate API operations", operations.size());
     }
 
-    private OpenAPI loadOpenApiViaHttp() {
-        String baseUrl = properties.getExecution().getBaseUrl();
-        if (!StringUtils.hasText(baseUrl)) {
-            String port = environment.getProperty("local.server.port");
-            if (!StringUtils.hasText(port)) {
-                port = environment.getProperty("server.port", "8080");
-            }
-            baseUrl = "http://127.0.0.1:" + port;
+    private synchronized void startScheduledRefresh() {
+        SwaggerMcpProperties.Refresh refresh = properties.getRefresh();
+        if (!refresh.isEnabled() || refresh.getInterval() == null || refresh.getInterval().isZero()
+                || refresh.getInterval().isNegative() || refreshScheduler != null) {
+            return;
         }
-        String docsPath = properties.getApiDocsPath();
-        if (!StringUtils.hasText(docsPath)) {
-            docsPath = "/v3/api-docs";
+        refreshScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "swagger-mcp-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleNextRefresh();
+    }
+
+    /**
+     * Each run is followed by {@code interval} plus a random share of {@code jitter}, so replicas started together
+     * drift apart instead of hitting the document in lockstep.
+     */
+    private synchronized void scheduleNextRefresh() {
+        if (refreshScheduler == null) {
+            return;
         }
-        if (!docsPath.startsWith("/")) {
-            docsPath = "/" + docsPath;
+        SwaggerMcpProperties.Refresh refresh = properties.getRefresh();
+        long delayMillis = refresh.getInterval().toMillis();
+        long jitterMillis = refresh.getJitter() == null ? 0 : refresh.getJitter().toMillis();
+        if (jitterMillis > 0) {
+            delayMillis += ThreadLocalRandom.current().nextLong(jitterMillis + 1);
         }
-        String url = trimTrailingSlash(baseUrl) + docsPath;
+        refreshScheduler.schedule(this::runScheduledRefresh, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void runScheduledRefresh() {
         try {
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-            if (!response.getStatusCode().is2xxSuccessful() || !StringUtils.hasText(response.getBody())) {
-                logger.warn("Unable to load OpenAPI from {} (status={})", url, response.getStatusCode().value());
-                return null;
-            }
-            String body = response.getBody();
-            try {
-                return Json31.mapper().readValue(body, OpenAPI.class);
-            }
-            catch (Exception json31Ex) {
-                return Json.mapper().readValue(body, OpenAPI.class);
-            }
+            refresh(false);
         }
-        catch (Exception ex) {
-            logger.warn("Failed to fetch OpenAPI document from {}", url, ex);
-            return null;
+        catch (RuntimeException ex) {
+            logger.warn("Scheduled Swagger MCP refresh failed", ex);
+        }
+        finally {
+            scheduleNextRefresh();
         }
     }
 
-    private List<OpenApiOperationDescriptor> collectOperations(OpenAPI openAPI) {
-        List<OpenApiOperationDescriptor> operations = new ArrayList<>();
-        Set<String> reservedToolNames = new LinkedHashSet<>();
+    /**
+     * Reloads the OpenAPI document and re-registers tools.
+     */
+    public void refresh() {
+        refresh(true);
+    }
 
-        for (Map.Entry<String, PathItem> pathEntry : openAPI.getPaths().entrySet()) {
-            String path = normalizePath(pathEntry.getKey());
-            PathItem pathItem = pathEntry.getValue();
-            if (pathItem == null || !isPathIncluded(path)) {
-                continue;
+    /**
+     * Like {@link #refresh()}; without {@code force}, extraction, conversion and registration are skipped when neither
+     * the document (HTTP {@code 304} or same content hash) nor the settings that shape the tools changed since the
+     * last successful refresh. Scheduled refreshes use this.
+     */
+    public synchronized void refresh(boolean force) {
+        if (registrationState != RegistrationState.READY) {
+            registrationState = RegistrationState.REGISTERING;
+        }
+        long started = System.nanoTime();
+        try {
+            String settingsFingerprint = settingsFingerprint();
+            LoadedSpec spec = loadSpec(force || !settingsFingerprint.equals(lastSettingsFingerprint));
+            long loaded = System.nanoTime();
+            if (spec.unchanged()) {
+                markReady();
+                recordRefresh(RefreshOutcome.UNCHANGED, started, loaded, loaded, loaded, operationCountOrZero());
+                logger.debug("OpenAPI document unchanged; skipped MCP tool rebuild ({} ms)", millis(started, loaded));
+                return;
             }
-            for (Map.Entry<PathItem.HttpMethod, Operation> opEntry : pathItem.readOperationsMap().entrySet()) {
-                PathItem.HttpMethod pathMethod = opEntry.getKey();
-                Operation operation = opEntry.getValue();
-                HttpMethod httpMethod = toHttpMethod(pathMethod);
-                if (httpMethod == null || operation == null || !isMethodIncluded(httpMethod)) {
-                    continue;
-                }
-                List<String> tags = operation.getTags() == null ? List.of() : new ArrayList<>(operation.getTags());
-                boolean risky = securityPolicy.isRisky(httpMethod, path, tags);
-                String operationId = resolveOperationId(httpMethod, path, operation.getOperationId());
-                String baseToolName = converter.toToolName(operationId, properties.getToolNamePrefix());
-                String toolName = deduplicateToolName(baseToolName, reservedToolNames);
-                String description = StringUtils.hasText(operation.getSummary()) ? operation.getSummary() : operation.getDescription();
-
-                List<OpenApiParameterDescriptor> parameters = extractParameters(operation.getParameters());
-                Schema<?> requestBodySchema = extractRequestBodySchema(operation.getRequestBody());
-                boolean requestBodyRequired = operation.getRequestBody() != null
-                        && Boolean.TRUE.equals(operation.getRequestBody().getRequired());
-
-                OpenApiOperationDescriptor descriptor = new OpenApiOperationDescriptor(
-                        toolName,
-                        operationId,
-                        httpMethod,
-                        path,
-                        description,
-                        tags,
-                        parameters,
-                        requestBodyRequired,
-                        requestBodySchema,
-                        risky
-                );
-                operations.add(descriptor);
+            OpenAPI openAPI = spec.openAPI();
+            if (openAPI == null || openAPI.getPaths() == null || openAPI.getPaths().isEmpty()) {
+                logger.warn("OpenAPI document is empty. MCP tools were not registered.");
+                markFailed("OpenAPI document is empty or could not be loaded");
+                recordRefresh(RefreshOutcome.FAILED, started, loaded, loaded, loaded, 0);
+                return;
             }
+            List<OpenApiOperationDescriptor> operations = extractor.extract(openAPI);
+            long extracted = System.nanoTime();
+            adapter.registerOperations(operations);
+            long registered = System.nanoTime();
+            lastSpecHash = spec.contentHash();
+            lastEtag = spec.etag();
+            lastSettingsFingerprint = settingsFingerprint;
+            markReady();
+            recordRefresh(RefreshOutcome.UPDATED, started, loaded, extracted, registered, operations.size());
+            logger.info("Swagger MCP bridge registered {} candidate API operations (load {} ms, extract {} ms, register {} ms)",
+                    operations.size(), millis(started, loaded), millis(loaded, extracted), millis(extracted, registered));
+        }
+        catch (RuntimeException ex) {
+            markFailed(ex.getMessage());
+            long failed = System.nanoTime();
+            recordRefresh(RefreshOutcome.FAILED, started, failed, failed, failed, 0);
+            throw ex;
         }
-        return operations;
     }
 
-    private String deduplicateToolName(String baseToolName, Set<String> reservedToolNames) {
-        String toolName = baseToolName;
-        int suffix = 2;
-        while (reservedToolNames.contains(toolName)) {
-            toolName = baseToolName + "_" + suffix;
-            suffix++;
-        }
-        reservedToolNames.add(toolName);
-        return toolName;
+    /**
+     * Outcome and phase timings of the most recent refresh, or {@code null} before the first one.
+     */
+    public RefreshReport lastRefresh() {
+        return lastRefresh;
+    }
+
+    public RegistrationState registrationState() {
+        return registrationState;
+    }
+
+    /**
+     * Why the last registration or refresh failed, or {@code null} when it succeeded. A failed refresh of a
+     * {@code READY} service is only reported here and in {@link #lastRefresh()}.
+     */
+    public String registrationFailure() {
+        return registrationFailure;
     }
 
-    private List<OpenApiParameterDescriptor> extractParameters(List<Parameter> parameters) {
-        if (parameters == null || parameters.isEmpty()) {
-            return List.of();
+    private void registerAtStartup() {
+        registrationState = RegistrationState.REGISTERING;
+        if (!registerPrebuiltCatalog()) {
+            refresh();
         }
-        List<OpenApiParameterDescriptor> result = new ArrayList<>();
-        for (Parameter parameter : parameters) {
-            if (parameter == null || !StringUtils.hasText(parameter.getName())) {
-                continue;
-            }
-            OpenApiParameterLocation location = toLocation(parameter.getIn());
-            if (location == null) {
-                continue;
-            }
-            result.add(new OpenApiParameterDescriptor(
-                    parameter.getName(),
-                    location,
-                    Boolean.TRUE.equals(parameter.getRequired()),
-                    parameter.getSchema()
-            ));
+    }
+
+    private void recordRefresh(RefreshOutcome outcome, long started, long loaded, long extracted, long registered, int operationCount) {
+        lastRefresh = new RefreshReport(
+                Instant.now(),
+                outcome,
+                Duration.ofNanos(loaded - started),
+                Duration.ofNanos(extracted - loaded),
+                Duration.ofNanos(registered - extracted),
+                operationCount);
+    }
+
+    private int operationCountOrZero() {
+        RefreshReport previous = lastRefresh;
+        return previous == null ? 0 : previous.operationCount();
+    }
+
+    private static long millis(long fromNanos, long toNanos) {
+        return Duration.ofNanos(toNanos - fromNanos).toMillis();
+    }
+
+    private void markReady() {
+        registrationFailure = null;
+        registrationState = RegistrationState.READY;
+    }
+
+    /**
+     * Records a failed attempt. A service that is already {@code READY} stays so, because the previously registered
+     * catalog keeps serving; change detection is left alone so the next refresh compares against that catalog.
+     */
+    private void markFailed(String reason) {
+        adapter.endPendingRegistration();
+        registrationFailure = reason;
+        if (registrationState != RegistrationState.READY) {
+            registrationState = RegistrationState.FAILED;
         }
-        return result;
     }
 
-    private Schema<?> extractRequestBodySchema(RequestBody requestBody) {
-        if (requestBody == null) {
-            return null;
+    /**
+     * Registers tools from the build-time catalog. Returns {@code false} (live discovery follows) when the catalog is
+     * disabled, missing, corrupt, or was generated with settings that differ from the running configuration.
+     */
+    private boolean registerPrebuiltCatalog() {
+        SwaggerMcpProperties.PrebuiltCatalog prebuilt = properties.getPrebuiltCatalog();
+        if (!prebuilt.isEnabled() || !StringUtils.hasText(prebuilt.getLocation()) || !defaultConversion) {
+            return false;
         }
-        Content content = requestBody.getContent();
-        if (content == null || content.isEmpty()) {
-            return null;
+        Resource resource = new DefaultResourceLoader(getClass().getClassLoader()).getResource(prebuilt.getLocation());
+        if (!resource.exists()) {
+            logger.debug("No prebuilt MCP catalog at {}", prebuilt.getLocation());
+            return false;
         }
-        MediaType jsonMediaType = content.get("application/json");
-        if (jsonMediaType == null) {
-            for (Map.Entry<String, MediaType> entry : content.entrySet()) {
-                if (entry.getKey() != null && entry.getKey().toLowerCase().contains("json")) {
-                    jsonMediaType = entry.getValue();
-                    break;
-                }
-            }
+        SwaggerMcpCatalogArtifact artifact;
+        try (InputStream input = resource.getInputStream()) {
+            artifact = SwaggerMcpCatalogArtifact.read(input);
+        }
+        catch (IOException | RuntimeException ex) {
+            logger.warn("Ignoring prebuilt MCP catalog at {}: {}; discovering tools live", prebuilt.getLocation(), ex.getMessage());
+            return false;
         }
-        if (jsonMediaType == null) {
-            jsonMediaType = content.values().stream().findFirst().orElse(null);
+        if (!artifact.settingsFingerprint().equals(SwaggerMcpCatalogArtifact.fingerprint(properties))) {
+            logger.info("Prebuilt MCP catalog at {} was generated with different swagger.mcp settings; discovering tools live",
+                    prebuilt.getLocation());
+            return false;
         }
-        return jsonMediaType == null ? null : jsonMediaType.getSchema();
+        adapter.registerOperations(artifact.operations(), artifact.tools());
+        markReady();
+        logger.info("Swagger MCP bridge registered {} candidate API operations from prebuilt catalog {}",
+                artifact.operations().size(), prebuilt.getLocation());
+        return true;
     }
 
-    private String resolveOperationId(HttpMethod method, String path, String operationId) {
-        if (StringUtils.hasText(operationId)) {
-            return operationId;
-        }
-        String generated = method.name().toLowerCase() + "_" + path.replace("/", "_").replaceAll("[{}]", "");
-        generated = generated.replaceAll("_+", "_").replaceAll("^_+|_+$", "");
-        return StringUtils.hasText(generated) ? generated : method.name().toLowerCase() + "_root";
+    /**
+     * The catalog fingerprint plus the settings that decide which converted tools get exposed.
+     */
+    private String settingsFingerprint() {
+        SwaggerMcpProperties.Security security = properties.getSecurity();
+        return SwaggerMcpCatalogArtifact.fingerprint(properties)
+                + "|exposeRiskyTools=" + security.isExposeRiskyTools()
+                + "|blockedPathPatterns=" + security.getBlockedPathPatterns();
     }
 
-    private HttpMethod toHttpMethod(PathItem.HttpMethod method) {
-        if (method == null) {
-            return null;
-        }
-        try {
-            return HttpMethod.valueOf(method.name());
-        }
-        catch (IllegalArgumentException ex) {
-            return null;
+    private LoadedSpec loadSpec(boolean force) {
+        String baseUrl = resolveBaseUrl();
+        String docsPath = resolveDocsPath();
+        if (useSpringdocInProcess()) {
+            OpenAPI openAPI = springdocLoader.load(docsPath, baseUrl).orElse(null);
+            if (openAPI != null) {
+                logger.debug("Loaded OpenAPI for {} from springdoc in-process", docsPath);
+                String contentHash = hashModel(openAPI);
+                boolean unchanged = !force && contentHash != null && contentHash.equals(lastSpecHash);
+                return new LoadedSpec(unchanged ? null : openAPI, contentHash, null, unchanged);
+            }
+            logger.info("springdoc in-process OpenAPI is unavailable for {}; falling back to HTTP", docsPath);
         }
+        return loadSpecViaHttp(baseUrl, docsPath, force);
     }
 
-    private OpenApiParameterLocation toLocation(String rawLocation) {
-        if (!StringUtils.hasText(rawLocation)) {
-            return null;
+    /**
+     * {@code auto} only goes in-process when no explicit {@code base-url} is set, since a configured base URL may
+     * point at another application whose document differs from the local springdoc model.
+     */
+    private boolean useSpringdocInProcess() {
+        if (springdocLoader == null) {
+            return false;
         }
-        return switch (rawLocation.toLowerCase()) {
-            case "path" -> OpenApiParameterLocation.PATH;
-            case "query" -> OpenApiParameterLocation.QUERY;
-            case "header" -> OpenApiParameterLocation.HEADER;
-            case "cookie" -> OpenApiParameterLocation.COOKIE;
-            default -> null;
+        return switch (properties.getApiDocsSource()) {
+            case IN_PROCESS -> true;
+            case HTTP -> false;
+            case AUTO -> !StringUtils.hasText(properties.getExecution().getBaseUrl());
         };
     }
 
-    private boolean isPathIncluded(String path) {
-        List<String> includes = properties.getIncludePathPatterns();
-        List<String> excludes = properties.getExcludePathPatterns();
+    private String resolveBaseUrl() {
+        String baseUrl = properties.getExecution().getBaseUrl();
+        if (!StringUtils.hasText(baseUrl)) {
+            String port = environment.getProperty("local.server.port");
+            if (!StringUtils.hasText(port)) {
+                port = environment.getProperty("server.port", "8080");
+            }
+            baseUrl = "http://127.0.0.1:" + port;
+        }
+        return trimTrailingSlash(baseUrl);
+    }
 
-        boolean included = includes == null || includes.isEmpty()
-                || includes.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
-        if (!included) {
-            return false;
+    private String resolveDocsPath() {
+        String docsPath = properties.getApiDocsPath();
+        if (!StringUtils.hasText(docsPath)) {
+            docsPath = "/v3/api-docs";
         }
-        return excludes == null || excludes.isEmpty()
-                || excludes.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+        if (!docsPath.startsWith("/")) {
+            docsPath = "/" + docsPath;
+        }
+        return docsPath;
     }
 
-    private boolean isMethodIncluded(HttpMethod method) {
-        Set<String> includeMethods = properties.getIncludeHttpMethods();
-        return includeMethods == null
-                || includeMethods.isEmpty()
-                || includeMethods.contains(method.name());
+    /**
+     * Sends {@code If-None-Match} with the last ETag and hashes the body, so an unchanged document is neither parsed
+     * nor converted again.
+     */
+    private LoadedSpec loadSpecViaHttp(String baseUrl, String docsPath, boolean force) {
+        String url = baseUrl + docsPath;
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setAccept(List.of(MediaType.APPLICATION_JSON, MediaType.ALL));
+            if (!force && lastSpecHash != null && StringUtils.hasText(lastEtag)) {
+                headers.setIfNoneMatch(lastEtag);
+            }
+            // The OpenAPI document must be read whole, so no byte ceiling applies here.
+            ResponseEntity<SwaggerMcpResponseBody> response =
+                    dispatchClient.exchange(HttpMethod.GET, URI.create(url), headers, null, 0);
+            if (response.getStatusCode().value() == 304 && lastSpecHash != null) {
+                return new LoadedSpec(null, lastSpecHash, lastEtag, true);
+            }
+            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null || response.getBody().isEmpty()) {
+                logger.warn("Unable to load OpenAPI from {} (status={})", url, response.getStatusCode().value());
+                return LoadedSpec.MISSING;
+            }
+            String etag = response.getHeaders().getETag();
+            String contentHash = sha256(response.getBody().stream().readAllBytes());
+            if (!force && contentHash.equals(lastSpecHash)) {
+                return new LoadedSpec(null, contentHash, etag, true);
+            }
+            String body = response.getBody().text();
+            OpenAPI openAPI;
+            try {
+                openAPI = Json31.mapper().readValue(body, OpenAPI.class);
+            }
+            catch (Exception json31Ex) {
+                openAPI = Json.mapper().readValue(body, OpenAPI.class);
+            }
+            return new LoadedSpec(openAPI, contentHash, etag, false);
+        }
+        catch (Exception ex) {
+            logger.warn("Failed to fetch OpenAPI document from {}", url, ex);
+            return LoadedSpec.MISSING;
+        }
     }
 
-    private String normalizePath(String path) {
-        if (!StringUtils.hasText(path)) {
-            return "/";
+    private String hashModel(OpenAPI openAPI) {
+        try {
+            return sha256(Json.mapper().writeValueAsBytes(openAPI));
         }
-        return path.startsWith("/") ? path : "/" + path;
+        catch (Exception ex) {
+            // Without a hash the document is treated as changed.
+            logger.debug("Unable to hash in-process OpenAPI model", ex);
+            return null;
+        }
+    }
+
+    private static String sha256(byte[] bytes) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
     }
 
     private String trimTrailingSlash(String value) {
@@ -290,5 +435,45 @@ public class SwaggerMcpService implements ApplicationListener<ApplicationReadyEv
         }
         return trimmed;
     }
-}
 
+    /**
+     * Lifecycle of tool registration, reported by the {@code swaggerMcp} health indicator.
+     */
+    public enum RegistrationState {
+        /** The application has not finished starting yet. */
+        PENDING,
+        /** The OpenAPI document is being loaded and tools registered. */
+        REGISTERING,
+        /** The catalog is published and tools are registered. */
+        READY,
+        /** The last registration attempt failed; see {@link #registrationFailure()}. */
+        FAILED
+    }
+
+    public enum RefreshOutcome {
+        /** A changed document was extracted and registered. */
+        UPDATED,
+        /** The document was unchanged; extraction, conversion and registration were skipped. */
+        UNCHANGED,
+        /** The document could not be loaded or registered. */
+        FAILED
+    }
+
+    /**
+     * Outcome and phase timings of one refresh: loading (fetch or in-process build plus change detection),
+     * extraction into descriptors, and conversion plus registration on the MCP server.
+     */
+    public record RefreshReport(
+            Instant completedAt,
+            RefreshOutcome outcome,
+            Duration loadTime,
+            Duration extractTime,
+            Duration registerTime,
+            int operationCount) {
+    }
+
+    private record LoadedSpec(OpenAPI openAPI, String contentHash, String etag, boolean unchanged) {
+
+        static final LoadedSpec MISSING = new LoadedSpec(null, null, null, false);
+    }
+}
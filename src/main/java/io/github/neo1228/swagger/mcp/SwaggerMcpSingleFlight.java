@@ -0,0 +1,131 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent read-only calls into one upstream dispatch
+ * ({@code swagger.mcp.resilience.single-flight.*}).
+ * <p>
+ * Calls are identical when they target the same tool with the same method, resolved URI, body and outbound headers,
+ * hashed into a SHA-256 key; per-request headers listed in {@code ignored-headers} (tracing and correlation ids) are
+ * left out so they do not defeat coalescing, while {@code Authorization} and cookies keep callers apart. The first
+ * caller dispatches and every caller arriving before it finishes receives the same response or failure. Response
+ * optimization ({@code _projection}, {@code _summarize}) still runs per caller on the shared raw body.
+ */
+public class SwaggerMcpSingleFlight {
+
+    private final SwaggerMcpProperties properties;
+    private final ConcurrentMap<String, CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>>> inFlight =
+            new ConcurrentHashMap<>();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public SwaggerMcpSingleFlight(SwaggerMcpProperties properties) {
+        this.properties = properties;
+    }
+
+    boolean isCoalesced(OpenApiOperationDescriptor operation) {
+        return properties.getResilience().getSingleFlight().isEnabled() && operation.isReadOnly();
+    }
+
+    String key(String toolName, HttpMethod method, URI uri, HttpHeaders headers, Object body) {
+        return SwaggerMcpRequestKeys.key(toolName, method, uri, headers, body,
+                properties.getResilience().getSingleFlight().getIgnoredHeaders());
+    }
+
+    ResponseEntity<SwaggerMcpResponseBody> execute(
+            String key,
+            Supplier<ResponseEntity<SwaggerMcpResponseBody>> dispatch) {
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> flight = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            coalesced.increment();
+            return await(leader);
+        }
+        dispatched.increment();
+        try {
+            ResponseEntity<SwaggerMcpResponseBody> response = dispatch.get();
+            inFlight.remove(key, flight);
+            flight.complete(response);
+            return response;
+        }
+        catch (RuntimeException | Error ex) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> executeAsync(
+            String key,
+            Supplier<CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>>> dispatch) {
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> flight = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            coalesced.increment();
+            // A copy, so a follower cancelling its call cannot complete the shared flight.
+            return leader.copy();
+        }
+        dispatched.increment();
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> response;
+        try {
+            response = dispatch.get();
+        }
+        catch (RuntimeException ex) {
+            response = CompletableFuture.failedFuture(ex);
+        }
+        response.whenComplete((result, failure) -> {
+            inFlight.remove(key, flight);
+            if (failure != null) {
+                flight.completeExceptionally(failure);
+            }
+            else {
+                flight.complete(result);
+            }
+        });
+        return flight.copy();
+    }
+
+    public Stats stats() {
+        return new Stats(dispatched.sum(), coalesced.sum(), inFlight.size());
+    }
+
+    /**
+     * @param dispatched calls that led a flight and dispatched upstream
+     * @param coalesced  calls that joined a flight already in progress
+     * @param inFlight   flights currently waiting for the upstream
+     */
+    public record Stats(long dispatched, long coalesced, int inFlight) {
+    }
+
+    private static ResponseEntity<SwaggerMcpResponseBody> await(
+            CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> leader) {
+        try {
+            return leader.get();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw SwaggerMcpToolException.dispatchInterrupted(ex);
+        }
+        catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw SwaggerMcpToolException.dispatchFailed("HTTP dispatch failed: " + cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Reads authorities from Spring Security's {@link SecurityContextHolder} with plain method calls. Only loaded after
+ * {@link SwaggerMcpAuthorityResolver#detect(ClassLoader)} has found Spring Security on the classpath.
+ */
+class SwaggerMcpSpringSecurityAuthorityResolver implements SwaggerMcpAuthorityResolver {
+
+    static final String SECURITY_CONTEXT_HOLDER = "org.springframework.security.core.context.SecurityContextHolder";
+
+    @Override
+    public Set<String> currentAuthorities() {
+        Collection<? extends GrantedAuthority> authorities = authorities();
+        if (authorities.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (GrantedAuthority authority : authorities) {
+            if (authority != null && authority.getAuthority() != null) {
+                result.add(authority.getAuthority());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean hasAnyAuthority(Collection<String> requiredAuthorities) {
+        if (requiredAuthorities == null || requiredAuthorities.isEmpty()) {
+            return true;
+        }
+        for (GrantedAuthority authority : authorities()) {
+            if (authority != null && requiredAuthorities.contains(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Collection<? extends GrantedAuthority> authorities() {
+        SecurityContext context = SecurityContextHolder.getContext();
+        Authentication authentication = context == null ? null : context.getAuthentication();
+        if (authentication == null || authentication.getAuthorities() == null) {
+            return Set.of();
+        }
+        return authentication.getAuthorities();
+    }
+}
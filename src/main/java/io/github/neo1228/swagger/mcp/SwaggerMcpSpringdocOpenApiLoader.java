@@ -0,0 +1,120 @@
+package io.github.neo1228.swagger.mcp;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads the {@link OpenAPI} model straight from springdoc's in-process resource beans, so startup skips the loopback
+ * GET of {@code /v3/api-docs} and the serialize/parse round trip.
+ * <p>
+ * springdoc builds the model in a protected method of its resource classes, so beans are looked up by class name and
+ * that method is called reflectively. Group documents ({@code <springdoc.api-docs.path>/<group>}) are resolved through
+ * the multiple-group resource. Anything unexpected (another springdoc line, WebFlux, an unknown group or a custom docs
+ * path) yields an empty result and the caller falls back to HTTP.
+ */
+class SwaggerMcpSpringdocOpenApiLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(SwaggerMcpSpringdocOpenApiLoader.class);
+    private static final String SINGLE_RESOURCE_CLASS = "org.springdoc.api.AbstractOpenApiResource";
+    private static final String MULTIPLE_RESOURCE_CLASS = "org.springdoc.webmvc.api.MultipleOpenApiResource";
+    private static final String DEFAULT_SPRINGDOC_PATH = "/v3/api-docs";
+
+    private final ListableBeanFactory beanFactory;
+    private final Environment environment;
+
+    SwaggerMcpSpringdocOpenApiLoader(ListableBeanFactory beanFactory, Environment environment) {
+        this.beanFactory = beanFactory;
+        this.environment = environment;
+    }
+
+    /**
+     * Returns the document springdoc would serve at {@code apiDocsPath}, or empty when it cannot be built in-process.
+     */
+    Optional<OpenAPI> load(String apiDocsPath, String serverBaseUrl) {
+        try {
+            Object resource = resolveResource(apiDocsPath);
+            if (resource == null) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(buildOpenApi(resource, serverBaseUrl));
+        }
+        catch (Exception | LinkageError ex) {
+            logger.debug("In-process OpenAPI acquisition from springdoc failed for {}", apiDocsPath, ex);
+            return Optional.empty();
+        }
+    }
+
+    private Object resolveResource(String apiDocsPath) throws ReflectiveOperationException {
+        String springdocPath = trimTrailingSlash(environment.getProperty("springdoc.api-docs.path", DEFAULT_SPRINGDOC_PATH));
+        String requestedPath = trimTrailingSlash(apiDocsPath);
+        if (requestedPath.equals(springdocPath)) {
+            Class<?> resourceType = loadClass(SINGLE_RESOURCE_CLASS);
+            Map<String, ?> resources = resourceType == null ? Map.of() : beanFactory.getBeansOfType(resourceType);
+            return resources.size() == 1 ? resources.values().iterator().next() : null;
+        }
+        if (!requestedPath.startsWith(springdocPath + "/")) {
+            return null;
+        }
+        String group = UriUtils.decode(requestedPath.substring(springdocPath.length() + 1), StandardCharsets.UTF_8);
+        Class<?> multipleType = loadClass(MULTIPLE_RESOURCE_CLASS);
+        if (!StringUtils.hasText(group) || group.contains("/") || multipleType == null) {
+            return null;
+        }
+        Map<String, ?> multiples = beanFactory.getBeansOfType(multipleType);
+        if (multiples.size() != 1) {
+            return null;
+        }
+        Object multiple = multiples.values().iterator().next();
+        Field field = ReflectionUtils.findField(multiple.getClass(), "groupedOpenApiResources");
+        if (field == null) {
+            return null;
+        }
+        ReflectionUtils.makeAccessible(field);
+        Object grouped = field.get(multiple);
+        return grouped instanceof Map<?, ?> resources ? resources.get(group) : null;
+    }
+
+    private OpenAPI buildOpenApi(Object resource, String serverBaseUrl) throws ReflectiveOperationException {
+        Method withServerUrl = ReflectionUtils.findMethod(resource.getClass(), "getOpenApi", String.class, Locale.class);
+        if (withServerUrl != null) {
+            ReflectionUtils.makeAccessible(withServerUrl);
+            return (OpenAPI) withServerUrl.invoke(resource, serverBaseUrl, Locale.getDefault());
+        }
+        Method localeOnly = ReflectionUtils.findMethod(resource.getClass(), "getOpenApi", Locale.class);
+        if (localeOnly != null) {
+            ReflectionUtils.makeAccessible(localeOnly);
+            return (OpenAPI) localeOnly.invoke(resource, Locale.getDefault());
+        }
+        return null;
+    }
+
+    private Class<?> loadClass(String className) {
+        ClassLoader classLoader = getClass().getClassLoader();
+        return ClassUtils.isPresent(className, classLoader) ? ClassUtils.resolveClassName(className, classLoader) : null;
+    }
+
+    private String trimTrailingSlash(String value) {
+        String trimmed = StringUtils.hasText(value) ? value.trim() : "/";
+        if (!trimmed.startsWith("/")) {
+            trimmed = "/" + trimmed;
+        }
+        while (trimmed.length() > 1 && trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+}
@@ -0,0 +1,191 @@
+package io.github.neo1228.swagger.mcp;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Summarizes a JSON body straight from Jackson's token stream.
+ * <p>
+ * Produces the same shape as summarizing a fully materialized tree (depth, array, object-entry and string limits),
+ * but values beyond the limits are skipped with {@link JsonParser#skipChildren()} and never allocated, so work and
+ * memory follow the size of the summary rather than the size of the response. A body cut off at the byte ceiling
+ * yields the partial summary read so far, with a marker in the innermost open container.
+ */
+class SwaggerMcpStreamingSummarizer {
+
+    static final String CUT_OFF_KEY = "_truncated";
+    static final String CUT_OFF_MESSAGE = "upstream body cut off";
+
+    private final ObjectMapper objectMapper;
+
+    SwaggerMcpStreamingSummarizer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the summarized value, or {@code null} when the body is not JSON (or is the JSON literal {@code null}).
+     */
+    Object summarize(SwaggerMcpResponseBody body, Limits limits) {
+        if (body == null || body.isEmpty()) {
+            return null;
+        }
+        Run run = new Run(limits);
+        try (JsonParser parser = objectMapper.createParser(body.reader())) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return null;
+            }
+            run.readValue(parser, token, 0, value -> run.root = value);
+            return run.root;
+        }
+        catch (IOException ex) {
+            if (!body.truncated() || run.root == null) {
+                return null;
+            }
+            run.markCutOff();
+            return run.root;
+        }
+    }
+
+    record Limits(int maxDepth, int maxArrayItems, int maxObjectEntries, int truncateStringsAt) {
+    }
+
+    private final class Run {
+
+        private final Limits limits;
+        private final Deque<Object> openContainers = new ArrayDeque<>();
+        private Object root;
+
+        private Run(Limits limits) {
+            this.limits = limits;
+        }
+
+        private void readValue(JsonParser parser, JsonToken token, int depth, Consumer<Object> sink) throws IOException {
+            if (token == JsonToken.VALUE_NULL) {
+                sink.accept(null);
+                return;
+            }
+            if (depth >= limits.maxDepth()) {
+                parser.skipChildren();
+                sink.accept("[truncated-depth]");
+                return;
+            }
+            switch (token) {
+                case START_OBJECT -> readObject(parser, depth, sink);
+                case START_ARRAY -> readArray(parser, depth, sink);
+                case VALUE_STRING -> sink.accept(readString(parser));
+                case VALUE_NUMBER_INT -> sink.accept(readInteger(parser));
+                case VALUE_NUMBER_FLOAT -> sink.accept(readFloat(parser));
+                case VALUE_TRUE -> sink.accept(Boolean.TRUE);
+                case VALUE_FALSE -> sink.accept(Boolean.FALSE);
+                case VALUE_EMBEDDED_OBJECT -> sink.accept(parser.getEmbeddedObject());
+                default -> throw new IOException("Unexpected JSON token: " + token);
+            }
+        }
+
+        private void readObject(JsonParser parser, int depth, Consumer<Object> sink) throws IOException {
+            Map<String, Object> summarized = new LinkedHashMap<>();
+            // Attach before filling so a cut-off body still leaves the partial container in the tree.
+            sink.accept(summarized);
+            openContainers.push(summarized);
+            int count = 0;
+            JsonToken token;
+            while ((token = next(parser)) == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken valueToken = next(parser);
+                if (count >= limits.maxObjectEntries()) {
+                    summarized.put("_truncated", "remaining keys omitted");
+                    parser.skipChildren();
+                    while (next(parser) == JsonToken.FIELD_NAME) {
+                        next(parser);
+                        parser.skipChildren();
+                    }
+                    break;
+                }
+                readValue(parser, valueToken, depth + 1, value -> summarized.put(name, value));
+                count++;
+            }
+            openContainers.pop();
+        }
+
+        private void readArray(JsonParser parser, int depth, Consumer<Object> sink) throws IOException {
+            List<Object> summarized = new ArrayList<>();
+            sink.accept(summarized);
+            openContainers.push(summarized);
+            int size = 0;
+            JsonToken token;
+            while ((token = next(parser)) != JsonToken.END_ARRAY) {
+                if (size < limits.maxArrayItems()) {
+                    readValue(parser, token, depth + 1, summarized::add);
+                }
+                else {
+                    parser.skipChildren();
+                }
+                size++;
+            }
+            int limit = Math.min(limits.maxArrayItems(), size);
+            if (size > limit) {
+                summarized.add("[truncated " + (size - limit) + " items]");
+            }
+            openContainers.pop();
+        }
+
+        private String readString(JsonParser parser) throws IOException {
+            int maxChars = limits.truncateStringsAt();
+            int length = parser.getTextLength();
+            if (maxChars <= 0 || length <= maxChars) {
+                return parser.getText();
+            }
+            return new String(parser.getTextCharacters(), parser.getTextOffset(), maxChars) + "...[truncated]";
+        }
+
+        private Object readInteger(JsonParser parser) throws IOException {
+            if (objectMapper.isEnabled(DeserializationFeature.USE_BIG_INTEGER_FOR_INTS)) {
+                return parser.getBigIntegerValue();
+            }
+            Number number = parser.getNumberValue();
+            if (number instanceof Integer && objectMapper.isEnabled(DeserializationFeature.USE_LONG_FOR_INTS)) {
+                return number.longValue();
+            }
+            return number;
+        }
+
+        private Object readFloat(JsonParser parser) throws IOException {
+            if (objectMapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)) {
+                return parser.getDecimalValue();
+            }
+            return parser.getDoubleValue();
+        }
+
+        private JsonToken next(JsonParser parser) throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new EOFException("Unexpected end of JSON input");
+            }
+            return token;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void markCutOff() {
+            Object innermost = openContainers.peek();
+            if (innermost instanceof Map<?, ?> map) {
+                ((Map<String, Object>) map).put(CUT_OFF_KEY, CUT_OFF_MESSAGE);
+            }
+            else if (innermost instanceof List<?> list) {
+                ((List<Object>) list).add("[truncated: " + CUT_OFF_MESSAGE + "]");
+            }
+        }
+    }
+}
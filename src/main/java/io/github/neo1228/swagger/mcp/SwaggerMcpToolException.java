@@ -54,6 +54,42 @@ public class SwaggerMcpToolException extends RuntimeException {
         return new SwaggerMcpToolException(SwaggerMcpErrorCode.WORKFLOW_ERROR, 400, message, details, null);
     }
 
+    public static SwaggerMcpToolException catalogNotReady() {
+        return new SwaggerMcpToolException(
+                SwaggerMcpErrorCode.CATALOG_NOT_READY,
+                503,
+                "API tool catalog is still being registered; retry shortly",
+                Map.of(),
+                null
+        );
+    }
+
+    public static SwaggerMcpToolException concurrencyLimitExceeded(String limiter, int limit) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("limiter", limiter);
+        details.put("limit", limit);
+        return new SwaggerMcpToolException(
+                SwaggerMcpErrorCode.CONCURRENCY_LIMIT_EXCEEDED,
+                429,
+                "Too many concurrent calls for " + limiter + " (limit " + limit + "); retry shortly",
+                details,
+                null
+        );
+    }
+
+    public static SwaggerMcpToolException circuitOpen(String toolName, long retryAfterSeconds) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("toolName", toolName);
+        details.put("retryAfter", retryAfterSeconds);
+        return new SwaggerMcpToolException(
+                SwaggerMcpErrorCode.CIRCUIT_OPEN,
+                503,
+                "Circuit open for " + toolName + " after repeated upstream failures; retry after " + retryAfterSeconds + "s",
+                details,
+                null
+        );
+    }
+
     public static SwaggerMcpToolException dispatchFailed(String message, Throwable cause) {
         return new SwaggerMcpToolException(SwaggerMcpErrorCode.HTTP_DISPATCH_FAILED, 502, message, Map.of(), cause);
     }
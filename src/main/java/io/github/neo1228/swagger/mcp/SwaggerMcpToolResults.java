@@ -49,7 +49,10 @@ class SwaggerMcpToolResults {
     }
 
     private boolean retryable(SwaggerMcpErrorCode code) {
-        return code == SwaggerMcpErrorCode.HTTP_DISPATCH_FAILED
+        return code == SwaggerMcpErrorCode.CATALOG_NOT_READY
+                || code == SwaggerMcpErrorCode.CONCURRENCY_LIMIT_EXCEEDED
+                || code == SwaggerMcpErrorCode.CIRCUIT_OPEN
+                || code == SwaggerMcpErrorCode.HTTP_DISPATCH_FAILED
                 || code == SwaggerMcpErrorCode.HTTP_DISPATCH_INTERRUPTED;
     }
 
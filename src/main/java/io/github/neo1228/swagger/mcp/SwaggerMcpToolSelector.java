@@ -2,55 +2,136 @@ package io.github.neo1228.swagger.mcp;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
+/**
+ * Ranks catalog operations against a natural-language query with BM25 over an inverted index.
+ * <p>
+ * {@link #setCandidates} tokenizes every operation once and builds posting lists (token to candidate ids with
+ * precomputed BM25 term weights). {@link #select} only touches candidates sharing a token with the query and keeps
+ * the best {@code topK} in a bounded heap, so a query costs roughly the size of its posting lists instead of the
+ * catalog size.
+ * <p>
+ * Relevance is divided by the weight of a candidate matching every known query token once, so
+ * {@code swagger.mcp.smart-context.min-score} means the same for short and long queries; repeated or heavily weighted
+ * tokens can push it past that, and a candidate whose search text contains the whole query adds a phrase bonus of
+ * {@code 0.45}, so scores are not capped at 1. When the index yields fewer than {@code topK} candidates, the
+ * remaining ones are scanned for that phrase, so partial or singular queries such as {@code order} still find
+ * {@code listOrders} or {@code /orders}.
+ */
 public class SwaggerMcpToolSelector {
 
     private static final Pattern SPLIT_PATTERN = Pattern.compile("[^a-zA-Z0-9]+");
-    private final List<Candidate> candidates = new CopyOnWriteArrayList<>();
+    private static final double K1 = 1.2d;
+    private static final double B = 0.75d;
+    private static final double RELEVANCE_WEIGHT = 0.85d;
+    private static final double PHRASE_BONUS = 0.45d;
+    private static final Comparator<ScoredCandidate> RANKING = Comparator
+            .comparingDouble(ScoredCandidate::score)
+            .thenComparing(Comparator.comparingInt(ScoredCandidate::id).reversed());
+
+    private volatile Index index = Index.EMPTY;
 
     public void setCandidates(List<OpenApiOperationDescriptor> operations) {
-        List<Candidate> newCandidates = new ArrayList<>();
-        for (OpenApiOperationDescriptor operation : operations) {
-            String searchText = buildSearchText(operation);
-            newCandidates.add(new Candidate(operation, searchText, tokenize(searchText)));
-        }
-        candidates.clear();
-        candidates.addAll(newCandidates);
+        publish(Index.of(operations));
+    }
+
+    /**
+     * Swaps in an index built elsewhere, typically the one carried by a {@link SwaggerMcpOperationCatalog.Snapshot}.
+     */
+    void publish(Index index) {
+        this.index = index == null ? Index.EMPTY : index;
     }
 
     public List<ScoredTool> select(String query, int topK) {
+        return select(index, query, topK);
+    }
+
+    List<ScoredTool> select(Index current, String query, int topK) {
         Set<String> queryTokens = tokenize(query);
         String normalizedQuery = normalize(query);
         if (queryTokens.isEmpty() && normalizedQuery.isEmpty()) {
             return List.of();
         }
-        return candidates.stream()
-                .map(candidate -> new ScoredTool(candidate.operation(), score(queryTokens, normalizedQuery, candidate)))
-                .filter(scored -> scored.score() > 0d)
-                .sorted(Comparator.comparingDouble(ScoredTool::score).reversed())
-                .limit(Math.max(1, topK))
-                .collect(Collectors.toList());
+        if (current.candidates().isEmpty()) {
+            return List.of();
+        }
+
+        double[] scores = new double[current.candidates().size()];
+        int[] touched = new int[current.candidates().size()];
+        int touchedCount = 0;
+        double idealScore = 0d;
+        for (String token : queryTokens) {
+            PostingList postings = current.postings().get(token);
+            if (postings == null) {
+                continue;
+            }
+            idealScore += postings.idf();
+            for (int i = 0; i < postings.ids().length; i++) {
+                int id = postings.ids()[i];
+                if (scores[id] == 0d) {
+                    touched[touchedCount++] = id;
+                }
+                scores[id] += postings.weights()[i];
+            }
+        }
+        int limit = Math.max(1, topK);
+        if (touchedCount < limit && !normalizedQuery.isEmpty()) {
+            touchedCount = addPhraseMatches(current, normalizedQuery, scores, touched, touchedCount);
+        }
+        if (touchedCount == 0) {
+            return List.of();
+        }
+
+        PriorityQueue<ScoredCandidate> best = new PriorityQueue<>(Math.min(limit, touchedCount) + 1, RANKING);
+        for (int i = 0; i < touchedCount; i++) {
+            int id = touched[i];
+            Candidate candidate = current.candidates().get(id);
+            double relevance = idealScore > 0d ? scores[id] / idealScore : 0d;
+            double containsScore = normalizedQuery.isEmpty() ? 0d : (candidate.searchText().contains(normalizedQuery) ? PHRASE_BONUS : 0d);
+            double score = relevance * RELEVANCE_WEIGHT + containsScore;
+            if (score <= 0d) {
+                continue;
+            }
+            ScoredCandidate scored = new ScoredCandidate(id, score);
+            if (best.size() < limit) {
+                best.add(scored);
+            }
+            else if (RANKING.compare(scored, best.peek()) > 0) {
+                best.poll();
+                best.add(scored);
+            }
+        }
+
+        List<ScoredCandidate> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING.reversed());
+        List<ScoredTool> results = new ArrayList<>(ranked.size());
+        for (ScoredCandidate scored : ranked) {
+            results.add(new ScoredTool(current.candidates().get(scored.id()).operation(), scored.score()));
+        }
+        return results;
     }
 
-    private double score(Set<String> queryTokens, String normalizedQuery, Candidate candidate) {
-        if (candidate.tokens().isEmpty()) {
-            return 0d;
+    /**
+     * Adds candidates without a shared token whose search text contains the query, which the phrase bonus then scores.
+     */
+    private static int addPhraseMatches(Index current, String normalizedQuery, double[] scores, int[] touched, int touchedCount) {
+        for (int id = 0; id < scores.length; id++) {
+            if (scores[id] == 0d && current.candidates().get(id).searchText().contains(normalizedQuery)) {
+                touched[touchedCount++] = id;
+            }
         }
-        long overlap = queryTokens.stream().filter(candidate.tokens()::contains).count();
-        double overlapScore = queryTokens.isEmpty() ? 0d : (double) overlap / (double) queryTokens.size();
-        double coverageScore = (double) overlap / (double) candidate.tokens().size();
-        double containsScore = normalizedQuery.isEmpty() ? 0d : (candidate.searchText().contains(normalizedQuery) ? 0.45d : 0d);
-        return overlapScore * 0.65d + coverageScore * 0.2d + containsScore;
+        return touchedCount;
     }
 
-    private String buildSearchText(OpenApiOperationDescriptor operation) {
+    private static String buildSearchText(OpenApiOperationDescriptor operation) {
         StringBuilder builder = new StringBuilder();
         builder.append(operation.toolName()).append(' ');
         builder.append(operation.operationId()).append(' ');
@@ -65,13 +146,17 @@ public class SwaggerMcpToolSelector {
         return normalize(builder.toString());
     }
 
-    private Set<String> tokenize(String value) {
+    private static Set<String> tokenize(String value) {
+        return new LinkedHashSet<>(tokenizeAll(value));
+    }
+
+    private static List<String> tokenizeAll(String value) {
         String normalized = normalize(value);
         if (normalized.isEmpty()) {
-            return Set.of();
+            return List.of();
         }
         String[] parts = SPLIT_PATTERN.split(normalized);
-        Set<String> tokens = new LinkedHashSet<>();
+        List<String> tokens = new ArrayList<>(parts.length);
         for (String part : parts) {
             if (!part.isBlank()) {
                 tokens.add(part);
@@ -80,14 +165,76 @@ public class SwaggerMcpToolSelector {
         return tokens;
     }
 
-    private String normalize(String value) {
+    private static String normalize(String value) {
         return value == null ? "" : value.toLowerCase(Locale.ROOT).trim();
     }
 
-    private record Candidate(OpenApiOperationDescriptor operation, String searchText, Set<String> tokens) {
+    private record Candidate(OpenApiOperationDescriptor operation, String searchText, int length) {
+    }
+
+    private record ScoredCandidate(int id, double score) {
+    }
+
+    /**
+     * Candidate ids in ascending order with their precomputed BM25 contribution for one token.
+     */
+    private record PostingList(double idf, int[] ids, double[] weights) {
+    }
+
+    /**
+     * Immutable search index over one candidate list; safe to share between threads and snapshots.
+     */
+    record Index(List<Candidate> candidates, Map<String, PostingList> postings) {
+
+        static final Index EMPTY = new Index(List.of(), Map.of());
+
+        static Index of(List<OpenApiOperationDescriptor> operations) {
+            if (operations == null || operations.isEmpty()) {
+                return EMPTY;
+            }
+            List<Candidate> candidates = new ArrayList<>();
+            Map<String, Map<Integer, Integer>> termFrequencies = new HashMap<>();
+            long totalLength = 0;
+            for (OpenApiOperationDescriptor operation : operations) {
+                String searchText = buildSearchText(operation);
+                List<String> tokens = tokenizeAll(searchText);
+                int id = candidates.size();
+                candidates.add(new Candidate(operation, searchText, tokens.size()));
+                totalLength += tokens.size();
+                for (String token : tokens) {
+                    termFrequencies.computeIfAbsent(token, ignored -> new HashMap<>()).merge(id, 1, Integer::sum);
+                }
+            }
+            return build(candidates, termFrequencies, totalLength);
+        }
+
+        private static Index build(
+                List<Candidate> candidates,
+                Map<String, Map<Integer, Integer>> termFrequencies,
+                long totalLength) {
+            if (candidates.isEmpty()) {
+                return EMPTY;
+            }
+            int documentCount = candidates.size();
+            double averageLength = Math.max(1d, (double) totalLength / documentCount);
+            Map<String, PostingList> postings = new HashMap<>(termFrequencies.size() * 2);
+            for (Map.Entry<String, Map<Integer, Integer>> entry : termFrequencies.entrySet()) {
+                Map<Integer, Integer> frequencies = entry.getValue();
+                int documentFrequency = frequencies.size();
+                double idf = Math.log(1d + (documentCount - documentFrequency + 0.5d) / (documentFrequency + 0.5d));
+                int[] ids = frequencies.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+                double[] weights = new double[ids.length];
+                for (int i = 0; i < ids.length; i++) {
+                    int termFrequency = frequencies.get(ids[i]);
+                    double lengthNorm = 1d - B + B * candidates.get(ids[i]).length() / averageLength;
+                    weights[i] = idf * termFrequency * (K1 + 1d) / (termFrequency + K1 * lengthNorm);
+                }
+                postings.put(entry.getKey(), new PostingList(idf, ids, weights));
+            }
+            return new Index(List.copyOf(candidates), Map.copyOf(postings));
+        }
     }
 
     public record ScoredTool(OpenApiOperationDescriptor operation, double score) {
     }
 }
-
@@ -0,0 +1,118 @@
+package io.github.neo1228.swagger.mcp;
+
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServer;
+import io.modelcontextprotocol.spec.McpSchema;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Registers generated tools on either an {@link McpSyncServer} or an {@link McpAsyncServer}.
+ * <p>
+ * Every tool carries a blocking handler and a {@link CompletableFuture}-based handler; the sync server calls the
+ * former on its request thread, the async server subscribes to the latter so no thread waits on upstream I/O.
+ */
+interface SwaggerMcpToolServer {
+
+    List<McpSchema.Tool> listTools();
+
+    void addTool(
+            McpSchema.Tool tool,
+            Function<Map<String, Object>, McpSchema.CallToolResult> handler,
+            Function<Map<String, Object>, CompletableFuture<McpSchema.CallToolResult>> asyncHandler);
+
+    /**
+     * Registers a tool whose handler never blocks on I/O, so the async server may run it inline.
+     */
+    default void addTool(McpSchema.Tool tool, Function<Map<String, Object>, McpSchema.CallToolResult> handler) {
+        addTool(tool, handler, arguments -> CompletableFuture.completedFuture(handler.apply(arguments)));
+    }
+
+    void removeTool(String toolName);
+
+    void notifyToolsListChanged();
+
+    boolean isAsync();
+
+    static SwaggerMcpToolServer of(McpSyncServer server) {
+        return new SyncToolServer(server);
+    }
+
+    static SwaggerMcpToolServer of(McpAsyncServer server) {
+        return new AsyncToolServer(server);
+    }
+
+    record SyncToolServer(McpSyncServer server) implements SwaggerMcpToolServer {
+
+        @Override
+        public List<McpSchema.Tool> listTools() {
+            return server.listTools();
+        }
+
+        @Override
+        public void addTool(
+                McpSchema.Tool tool,
+                Function<Map<String, Object>, McpSchema.CallToolResult> handler,
+                Function<Map<String, Object>, CompletableFuture<McpSchema.CallToolResult>> asyncHandler) {
+            server.addTool(McpServerFeatures.SyncToolSpecification.builder()
+                    .tool(tool)
+                    .callHandler((exchange, request) -> handler.apply(request.arguments()))
+                    .build());
+        }
+
+        @Override
+        public void removeTool(String toolName) {
+            server.removeTool(toolName);
+        }
+
+        @Override
+        public void notifyToolsListChanged() {
+            server.notifyToolsListChanged();
+        }
+
+        @Override
+        public boolean isAsync() {
+            return false;
+        }
+    }
+
+    record AsyncToolServer(McpAsyncServer server) implements SwaggerMcpToolServer {
+
+        @Override
+        public List<McpSchema.Tool> listTools() {
+            List<McpSchema.Tool> tools = server.listTools().collectList().block();
+            return tools == null ? List.of() : tools;
+        }
+
+        @Override
+        public void addTool(
+                McpSchema.Tool tool,
+                Function<Map<String, Object>, McpSchema.CallToolResult> handler,
+                Function<Map<String, Object>, CompletableFuture<McpSchema.CallToolResult>> asyncHandler) {
+            server.addTool(McpServerFeatures.AsyncToolSpecification.builder()
+                    .tool(tool)
+                    .callHandler((exchange, request) -> Mono.fromFuture(() -> asyncHandler.apply(request.arguments())))
+                    .build()).block();
+        }
+
+        @Override
+        public void removeTool(String toolName) {
+            server.removeTool(toolName).block();
+        }
+
+        @Override
+        public void notifyToolsListChanged() {
+            server.notifyToolsListChanged().block();
+        }
+
+        @Override
+        public boolean isAsync() {
+            return true;
+        }
+    }
+}
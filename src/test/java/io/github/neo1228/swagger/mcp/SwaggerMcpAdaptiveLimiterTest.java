@@ -0,0 +1,99 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SwaggerMcpAdaptiveLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void gradientLimitGrowsNearMinimumLatencyAndShrinksUnderQueueing() {
+        SwaggerMcpProperties.AdaptiveLimit settings = new SwaggerMcpProperties.AdaptiveLimit();
+        SwaggerMcpAdaptiveLimiter.Limit limit = new SwaggerMcpAdaptiveLimiter.Limit("global", settings);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, limit.limit(), false);
+        }
+        int grown = limit.limit();
+        assertThat(grown).isGreaterThan(settings.getInitialLimit());
+
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(80 * MILLIS, limit.limit(), false);
+        }
+        assertThat(limit.limit()).isLessThan(grown / 2);
+
+        // An idle limiter has no evidence that more concurrency would help.
+        int settled = limit.limit();
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, 0, false);
+        }
+        assertThat(limit.limit()).isEqualTo(settled);
+    }
+
+    @Test
+    void aimdBacksOffOnDropsAndRespectsBounds() {
+        SwaggerMcpProperties.AdaptiveLimit settings = new SwaggerMcpProperties.AdaptiveLimit();
+        settings.setAlgorithm(SwaggerMcpProperties.AdaptiveLimitAlgorithm.AIMD);
+        settings.setInitialLimit(10);
+        settings.setMaxLimit(12);
+        SwaggerMcpAdaptiveLimiter.Limit limit = new SwaggerMcpAdaptiveLimiter.Limit("global", settings);
+
+        limit.onSample(MILLIS, 10, false);
+        assertThat(limit.limit()).isEqualTo(11);
+        limit.onSample(MILLIS, 2, false);
+        assertThat(limit.limit()).isEqualTo(11);
+        for (int i = 0; i < 5; i++) {
+            limit.onSample(MILLIS, 11, false);
+        }
+        assertThat(limit.limit()).isEqualTo(12);
+
+        limit.onSample(MILLIS, 12, true);
+        assertThat(limit.limit()).isEqualTo(10);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(MILLIS, 1, true);
+        }
+        assertThat(limit.limit()).isEqualTo(settings.getMinLimit());
+    }
+
+    @Test
+    void rejectsBeyondGlobalAndPerToolLimitsAndReleasesOnCompletion() {
+        SwaggerMcpProperties properties = new SwaggerMcpProperties();
+        SwaggerMcpProperties.AdaptiveLimit settings = properties.getResilience().getAdaptiveLimit();
+        settings.setEnabled(true);
+        settings.setScope(SwaggerMcpProperties.AdaptiveLimitScope.GLOBAL_AND_OPERATION);
+        settings.setAlgorithm(SwaggerMcpProperties.AdaptiveLimitAlgorithm.AIMD);
+        settings.setInitialLimit(1);
+        SwaggerMcpAdaptiveLimiter limiter = new SwaggerMcpAdaptiveLimiter(properties);
+        OpenApiOperationDescriptor orders = operation("api_listorders");
+
+        SwaggerMcpAdaptiveLimiter.Token token = limiter.acquire(orders);
+        assertThatThrownBy(() -> limiter.acquire(operation("api_listusers")))
+                .isInstanceOfSatisfying(SwaggerMcpToolException.class, ex -> {
+                    assertThat(ex.code()).isEqualTo(SwaggerMcpErrorCode.CONCURRENCY_LIMIT_EXCEEDED);
+                    assertThat(ex.details()).containsEntry("limiter", "adaptive:global");
+                });
+
+        token.onResponse(503);
+        token.onResponse(200);
+        assertThat(limiter.gauges()).containsOnlyKeys("global", "tool:api_listorders", "tool:api_listusers");
+        assertThat(limiter.gauges().get("global").inFlight()).isZero();
+        assertThat(limiter.gauges().get("global").rejected()).isEqualTo(1);
+        assertThat(limiter.gauges().get("tool:api_listorders").limit()).isEqualTo(1);
+
+        SwaggerMcpAdaptiveLimiter.Token next = limiter.acquire(orders);
+        next.onResponse(200);
+        assertThat(limiter.gauges().get("tool:api_listorders").limit()).isEqualTo(2);
+        assertThat(limiter.gauges().get("tool:api_listorders").inFlight()).isZero();
+    }
+
+    private static OpenApiOperationDescriptor operation(String toolName) {
+        return new OpenApiOperationDescriptor(
+                toolName, toolName, HttpMethod.GET, "/" + toolName, null, List.of(), List.of(), false, null, false);
+    }
+}
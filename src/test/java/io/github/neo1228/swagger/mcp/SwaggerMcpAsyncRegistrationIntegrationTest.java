@@ -0,0 +1,123 @@
+package io.github.neo1228.swagger.mcp;
+
+import io.modelcontextprotocol.server.McpSyncServer;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(
+        classes = SwaggerMcpIntegrationTest.TestApp.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.ai.mcp.server.protocol=STREAMABLE_HTTP",
+                "swagger.mcp.tool-name-prefix=api_",
+                "swagger.mcp.startup.async-registration=true"
+        }
+)
+class SwaggerMcpAsyncRegistrationIntegrationTest {
+
+    @Autowired
+    private McpSyncServer mcpSyncServer;
+
+    @Autowired
+    private SwaggerMcpService service;
+
+    @Autowired
+    private SwaggerMcpServerAdapter adapter;
+
+    @Autowired
+    private SwaggerMcpProperties properties;
+
+    @Autowired
+    @Qualifier("swaggerMcpHealthIndicator")
+    private HealthIndicator healthIndicator;
+
+    @Test
+    void registersInBackgroundAndReportsReadinessThroughHealth() {
+        await().atMost(15, SECONDS).untilAsserted(() ->
+                assertThat(service.registrationState()).isEqualTo(SwaggerMcpService.RegistrationState.READY));
+
+        assertThat(adapter.isRegistrationPending()).isFalse();
+        assertThat(mcpSyncServer.listTools()).extracting(McpSchema.Tool::name)
+                .contains("api_gethello", "api_meta_discover_api_tools");
+        Health health = healthIndicator.health();
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("state", "READY").containsKey("operationCount");
+    }
+
+    @Test
+    void changeDetectingRefreshSkipsUnchangedDocumentWhilePlainRefreshRebuilds() {
+        await().atMost(15, SECONDS).untilAsserted(() ->
+                assertThat(service.registrationState()).isEqualTo(SwaggerMcpService.RegistrationState.READY));
+
+        service.refresh(false);
+        assertThat(service.lastRefresh().outcome()).isEqualTo(SwaggerMcpService.RefreshOutcome.UNCHANGED);
+        assertThat(service.lastRefresh().extractTime()).isZero();
+
+        service.refresh();
+        assertThat(service.lastRefresh().outcome()).isEqualTo(SwaggerMcpService.RefreshOutcome.UPDATED);
+        assertThat(service.lastRefresh().operationCount()).isPositive();
+        assertThat(service.registrationState()).isEqualTo(SwaggerMcpService.RegistrationState.READY);
+        assertThat(healthIndicator.health().getDetails()).containsKey("lastRefresh");
+    }
+
+    @Test
+    void failedRefreshKeepsReadyServiceAndItsChangeDetection() {
+        await().atMost(15, SECONDS).untilAsserted(() ->
+                assertThat(service.registrationState()).isEqualTo(SwaggerMcpService.RegistrationState.READY));
+        String apiDocsPath = properties.getApiDocsPath();
+        SwaggerMcpProperties.ApiDocsSource apiDocsSource = properties.getApiDocsSource();
+        try {
+            properties.setApiDocsSource(SwaggerMcpProperties.ApiDocsSource.HTTP);
+            properties.setApiDocsPath("/missing-api-docs");
+            service.refresh();
+
+            assertThat(service.lastRefresh().outcome()).isEqualTo(SwaggerMcpService.RefreshOutcome.FAILED);
+            assertThat(service.registrationState()).isEqualTo(SwaggerMcpService.RegistrationState.READY);
+            assertThat(service.registrationFailure()).isNotNull();
+            Health health = healthIndicator.health();
+            assertThat(health.getStatus()).isEqualTo(Status.UP);
+            assertThat(health.getDetails()).containsKey("failure");
+            assertThat(mcpSyncServer.listTools()).extracting(McpSchema.Tool::name).contains("api_gethello");
+        }
+        finally {
+            properties.setApiDocsPath(apiDocsPath);
+            properties.setApiDocsSource(apiDocsSource);
+        }
+
+        service.refresh(false);
+        assertThat(service.lastRefresh().outcome()).isEqualTo(SwaggerMcpService.RefreshOutcome.UNCHANGED);
+        assertThat(service.registrationFailure()).isNull();
+    }
+
+    @Test
+    void changeDetectingRefreshRebuildsAfterASettingsChange() {
+        await().atMost(15, SECONDS).untilAsserted(() ->
+                assertThat(service.registrationState()).isEqualTo(SwaggerMcpService.RegistrationState.READY));
+        service.refresh(false);
+        List<String> blockedPathPatterns = properties.getSecurity().getBlockedPathPatterns();
+        try {
+            properties.getSecurity().setBlockedPathPatterns(List.of("/hello"));
+            service.refresh(false);
+
+            assertThat(service.lastRefresh().outcome()).isEqualTo(SwaggerMcpService.RefreshOutcome.UPDATED);
+            assertThat(mcpSyncServer.listTools()).extracting(McpSchema.Tool::name).doesNotContain("api_gethello");
+        }
+        finally {
+            properties.getSecurity().setBlockedPathPatterns(blockedPathPatterns);
+            service.refresh();
+        }
+        assertThat(mcpSyncServer.listTools()).extracting(McpSchema.Tool::name).contains("api_gethello");
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.neo1228.swagger.mcp;
+
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(
+        classes = SwaggerMcpIntegrationTest.TestApp.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.ai.mcp.server.protocol=STREAMABLE",
+                "spring.ai.mcp.server.type=ASYNC",
+                "swagger.mcp.tool-name-prefix=api_",
+                "swagger.mcp.security.confirmation-token=CONFIRM"
+        }
+)
+class SwaggerMcpAsyncServerIntegrationTest {
+
+    @Autowired
+    private McpAsyncServer mcpAsyncServer;
+
+    @Autowired
+    private SwaggerMcpServerAdapter adapter;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registersToolsOnAsyncServerAndDispatchesWithoutBlocking() throws Exception {
+        await().atMost(15, SECONDS).untilAsserted(() ->
+                assertThat(mcpAsyncServer.listTools().map(McpSchema.Tool::name).collectList().block())
+                        .contains("api_gethello", "api_createorder", "api_meta_invoke_api_by_intent"));
+
+        McpSchema.CallToolResult hello = adapter.invokeToolAsync("api_gethello", Map.of("name", "Neo")).get(10, SECONDS);
+        assertThat(hello.isError()).isFalse();
+        assertThat(((McpSchema.TextContent) hello.content().get(0)).text()).startsWith("HTTP 200").contains("Hello Neo");
+
+        McpSchema.CallToolResult created = adapter.invokeToolAsync(
+                "api_createorder",
+                Map.of("body", Map.of("id", "order-3", "item", "book"), "_confirm", "CONFIRM")
+        ).get(10, SECONDS);
+        assertThat(created.isError()).isFalse();
+        assertThat((Map<String, Object>) created.structuredContent()).containsEntry("status", "CREATED");
+
+        McpSchema.CallToolResult capabilities = adapter.getApiCapabilities(Map.of());
+        assertThat((Map<String, Object>) ((Map<String, Object>) capabilities.structuredContent()).get("runtime"))
+                .containsEntry("toolExecution", "async");
+    }
+
+    @Test
+    void sustainsManyConcurrentInFlightCalls() {
+        await().atMost(15, SECONDS).untilAsserted(() ->
+                assertThat(mcpAsyncServer.listTools().map(McpSchema.Tool::name).collectList().block())
+                        .contains("api_gethello"));
+
+        List<CompletableFuture<McpSchema.CallToolResult>> calls = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            calls.add(adapter.invokeToolAsync("api_gethello", Map.of("name", "caller-" + i)));
+        }
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).orTimeout(30, SECONDS).join();
+
+        for (int i = 0; i < calls.size(); i++) {
+            McpSchema.CallToolResult result = calls.get(i).join();
+            assertThat(result.isError()).isFalse();
+            assertThat(((McpSchema.TextContent) result.content().get(0)).text()).contains("Hello caller-" + i);
+        }
+    }
+
+    @Test
+    void reportsValidationAndUnknownToolErrorsAsCompletedResults() throws Exception {
+        McpSchema.CallToolResult unknown = adapter.invokeToolAsync("api_missing", Map.of()).get(5, SECONDS);
+        assertThat(unknown.isError()).isTrue();
+
+        await().atMost(15, SECONDS).untilAsserted(() ->
+                assertThat(mcpAsyncServer.listTools().map(McpSchema.Tool::name).collectList().block())
+                        .contains("api_createorder"));
+        McpSchema.CallToolResult unconfirmed = adapter.invokeToolAsync(
+                "api_createorder",
+                Map.of("body", Map.of("id", "order-4", "item", "pen"))
+        ).get(5, SECONDS);
+        assertThat(unconfirmed.isError()).isTrue();
+    }
+}
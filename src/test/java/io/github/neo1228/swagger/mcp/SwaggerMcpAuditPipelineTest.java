@@ -0,0 +1,192 @@
+package io.github.neo1228.swagger.mcp;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.http.HttpMethod;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SwaggerMcpAuditPipelineTest {
+
+    private static final OpenApiOperationDescriptor OPERATION = new OpenApiOperationDescriptor(
+            "api_hello", "hello", HttpMethod.GET, "/hello", null, List.of(), List.of(), false, null, false);
+
+    @Test
+    void deliversEveryEventFromConcurrentPublishersInPerThreadOrder() throws Exception {
+        SwaggerMcpInMemoryAuditSink sink = new SwaggerMcpInMemoryAuditSink();
+        SwaggerMcpProperties.Audit audit = new SwaggerMcpProperties.Audit();
+        audit.setBufferSize(64);
+        audit.setBatchSize(16);
+        SwaggerMcpAuditPipeline pipeline = new SwaggerMcpAuditPipeline(sink, audit);
+
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            String tool = "tool_" + t;
+            publishers.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    pipeline.publish(new SwaggerMcpAuditEvent(null, SwaggerMcpAuditEvent.Phase.FINISHED, tool,
+                            "GET", "/hello", List.of(), true, i, null, Map.of()));
+                }
+            }));
+        }
+        publishers.forEach(Thread::start);
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+
+        assertThat(pipeline.awaitDrained(Duration.ofSeconds(10))).isTrue();
+        pipeline.destroy();
+        assertThat(sink.events()).hasSize(8000);
+        assertThat(pipeline.stats().dropped()).isZero();
+        for (int t = 0; t < 8; t++) {
+            String tool = "tool_" + t;
+            assertThat(sink.events().stream().filter(event -> event.toolName().equals(tool)).map(SwaggerMcpAuditEvent::status))
+                    .isSorted()
+                    .hasSize(1000);
+        }
+    }
+
+    @Test
+    void dropPolicyCountsEventsThatDoNotFitWhileTheSinkIsStalled() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SwaggerMcpInMemoryAuditSink delegate = new SwaggerMcpInMemoryAuditSink();
+        SwaggerMcpAuditSink stalledSink = events -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            delegate.write(events);
+        };
+        SwaggerMcpProperties.Audit audit = new SwaggerMcpProperties.Audit();
+        audit.setBufferSize(4);
+        audit.setBatchSize(1);
+        audit.setOverflowPolicy(SwaggerMcpProperties.AuditOverflowPolicy.DROP);
+        SwaggerMcpAuditPipeline pipeline = new SwaggerMcpAuditPipeline(stalledSink, audit);
+
+        for (int i = 0; i < 50; i++) {
+            pipeline.publish(SwaggerMcpAuditEvent.finished(OPERATION, true, 200, Duration.ofMillis(3)));
+        }
+        SwaggerMcpAuditPipeline.Stats stalled = pipeline.stats();
+        release.countDown();
+
+        assertThat(stalled.dropped()).isPositive();
+        assertThat(stalled.published() + stalled.dropped()).isEqualTo(50);
+        assertThat(pipeline.awaitDrained(Duration.ofSeconds(10))).isTrue();
+        assertThat(delegate.events()).hasSize((int) stalled.published());
+        pipeline.destroy();
+    }
+
+    @Test
+    void eventsPublishedWhileTheWriterShutsDownAreStillWritten() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            SwaggerMcpInMemoryAuditSink sink = new SwaggerMcpInMemoryAuditSink();
+            SwaggerMcpAuditPipeline pipeline = new SwaggerMcpAuditPipeline(sink, new SwaggerMcpProperties.Audit());
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> publishers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                publishers.add(new Thread(() -> {
+                    awaitQuietly(start);
+                    for (int i = 0; i < 200; i++) {
+                        pipeline.publish(SwaggerMcpAuditEvent.finished(OPERATION, true, 200, null));
+                    }
+                }));
+            }
+            publishers.forEach(Thread::start);
+            start.countDown();
+            pipeline.destroy();
+            for (Thread publisher : publishers) {
+                publisher.join();
+            }
+
+            SwaggerMcpAuditPipeline.Stats stats = pipeline.stats();
+            assertThat(stats.published()).isEqualTo(800);
+            assertThat(sink.events()).as("round %d", round).hasSize(800);
+        }
+    }
+
+    @Test
+    void loggerSinkLogsWithTheCallersMdcFromTheWriterThread() throws Exception {
+        Logger auditLogger = (Logger) LoggerFactory.getLogger(SwaggerMcpSecurityPolicy.class);
+        List<ILoggingEvent> logged = new CopyOnWriteArrayList<>();
+        AppenderBase<ILoggingEvent> appender = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                event.prepareForDeferredProcessing();
+                logged.add(event);
+            }
+        };
+        appender.start();
+        auditLogger.addAppender(appender);
+        SwaggerMcpAuditPipeline pipeline = new SwaggerMcpAuditPipeline(new SwaggerMcpLoggerAuditSink(), new SwaggerMcpProperties.Audit());
+        try {
+            MDC.put("traceId", "trace-1");
+            pipeline.publish(SwaggerMcpAuditEvent.started(OPERATION, List.of("name")));
+            MDC.clear();
+            assertThat(pipeline.awaitDrained(Duration.ofSeconds(10))).isTrue();
+        }
+        finally {
+            MDC.clear();
+            pipeline.destroy();
+            auditLogger.detachAppender(appender);
+        }
+
+        assertThat(logged).singleElement().satisfies(event -> {
+            assertThat(event.getThreadName()).isEqualTo("swagger-mcp-audit");
+            assertThat(event.getMDCPropertyMap()).containsEntry("traceId", "trace-1");
+        });
+    }
+
+    @Test
+    void jsonLinesSinkRotatesBySize(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("audit/audit.jsonl");
+        SwaggerMcpJsonLinesAuditSink sink = new SwaggerMcpJsonLinesAuditSink(file, 600, 2, new ObjectMapper());
+
+        for (int i = 0; i < 20; i++) {
+            sink.write(List.of(
+                    SwaggerMcpAuditEvent.started(OPERATION, List.of("name")),
+                    SwaggerMcpAuditEvent.finished(OPERATION, true, 200, Duration.ofMillis(3))));
+        }
+        sink.close();
+
+        assertThat(file).exists();
+        assertThat(tempDir.resolve("audit/audit.jsonl.1")).exists();
+        assertThat(tempDir.resolve("audit/audit.jsonl.2")).exists();
+        assertThat(tempDir.resolve("audit/audit.jsonl.3")).doesNotExist();
+        assertThat(Files.size(file)).isLessThanOrEqualTo(600);
+        List<String> lines = Files.readAllLines(file);
+        JsonNode first = new ObjectMapper().readTree(lines.get(0));
+        assertThat(first.path("tool").asText()).isEqualTo("api_hello");
+        assertThat(first.path("phase").asText()).isEqualTo("STARTED");
+        assertThat(new ObjectMapper().convertValue(first.path("argKeys"), new TypeReference<List<String>>() {})).containsExactly("name");
+        assertThat(new ObjectMapper().readValue(lines.get(1), new TypeReference<Map<String, Object>>() {})).containsEntry("status", 200);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SwaggerMcpBulkheadsTest {
+
+    @Test
+    void rejectsCallsOverTheToolLimitWithRetryableCode() {
+        SwaggerMcpProperties properties = new SwaggerMcpProperties();
+        properties.getResilience().getBulkhead().setEnabled(true);
+        properties.getResilience().getBulkhead().getDefaults().setMaxConcurrent(1);
+        SwaggerMcpBulkheads bulkheads = new SwaggerMcpBulkheads(properties);
+        OpenApiOperationDescriptor orders = operation("api_listorders", "orders");
+
+        SwaggerMcpBulkheads.Permit permit = bulkheads.acquire(orders, true);
+
+        assertThatThrownBy(() -> bulkheads.acquire(orders, true))
+                .isInstanceOfSatisfying(SwaggerMcpToolException.class, ex -> {
+                    assertThat(ex.code()).isEqualTo(SwaggerMcpErrorCode.CONCURRENCY_LIMIT_EXCEEDED);
+                    assertThat(ex.status()).isEqualTo(429);
+                    assertThat(ex.details()).containsEntry("limiter", "tool:api_listorders");
+                });
+        assertThat(bulkheads.gauges().get("tool:api_listorders"))
+                .isEqualTo(new SwaggerMcpBulkheads.Gauge(1, 1, 0, 1));
+
+        permit.close();
+        permit.close();
+        bulkheads.acquire(orders, true).close();
+        assertThat(bulkheads.gauges().get("tool:api_listorders").inFlight()).isZero();
+    }
+
+    @Test
+    void queuedCallerGetsThePermitOnceReleased() throws Exception {
+        SwaggerMcpProperties properties = new SwaggerMcpProperties();
+        properties.getResilience().getBulkhead().setEnabled(true);
+        SwaggerMcpProperties.BulkheadLimit limit = new SwaggerMcpProperties.BulkheadLimit();
+        limit.setMaxConcurrent(1);
+        limit.setMaxWaiting(1);
+        limit.setMaxWait(Duration.ofSeconds(5));
+        properties.getResilience().getBulkhead().getTools().put("api_listorders", limit);
+        SwaggerMcpBulkheads bulkheads = new SwaggerMcpBulkheads(properties);
+        OpenApiOperationDescriptor orders = operation("api_listorders", "orders");
+
+        SwaggerMcpBulkheads.Permit first = bulkheads.acquire(orders, true);
+        CompletableFuture<SwaggerMcpBulkheads.Permit> queued =
+                CompletableFuture.supplyAsync(() -> bulkheads.acquire(orders, true));
+        while (bulkheads.gauges().get("tool:api_listorders").waiting() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> bulkheads.acquire(orders, false))
+                .isInstanceOf(SwaggerMcpToolException.class);
+        first.close();
+        queued.get(5, TimeUnit.SECONDS).close();
+        assertThat(bulkheads.gauges().get("tool:api_listorders"))
+                .isEqualTo(new SwaggerMcpBulkheads.Gauge(1, 0, 0, 1));
+    }
+
+    @Test
+    void tagLimitIsSharedAcrossToolsAndReleasedOnPartialFailure() {
+        SwaggerMcpProperties properties = new SwaggerMcpProperties();
+        properties.getResilience().getBulkhead().setEnabled(true);
+        SwaggerMcpProperties.BulkheadLimit tagLimit = new SwaggerMcpProperties.BulkheadLimit();
+        tagLimit.setMaxConcurrent(2);
+        properties.getResilience().getBulkhead().getTags().put("orders", tagLimit);
+        SwaggerMcpProperties.BulkheadLimit toolLimit = new SwaggerMcpProperties.BulkheadLimit();
+        toolLimit.setMaxConcurrent(1);
+        properties.getResilience().getBulkhead().getTools().put("api_getorder", toolLimit);
+        SwaggerMcpBulkheads bulkheads = new SwaggerMcpBulkheads(properties);
+        OpenApiOperationDescriptor list = operation("api_listorders", "orders");
+        OpenApiOperationDescriptor get = operation("api_getorder", "orders");
+
+        bulkheads.acquire(get, false);
+        assertThatThrownBy(() -> bulkheads.acquire(get, false))
+                .isInstanceOf(SwaggerMcpToolException.class);
+        assertThat(bulkheads.gauges().get("tag:orders").inFlight()).isEqualTo(1);
+
+        bulkheads.acquire(list, false);
+        assertThatThrownBy(() -> bulkheads.acquire(list, false))
+                .isInstanceOfSatisfying(SwaggerMcpToolException.class,
+                        ex -> assertThat(ex.details()).containsEntry("limiter", "tag:orders"));
+        assertThat(bulkheads.gauges()).containsOnlyKeys("tag:orders", "tool:api_getorder");
+    }
+
+    @Test
+    void disabledBulkheadsHandOutNoOpPermits() {
+        SwaggerMcpProperties properties = new SwaggerMcpProperties();
+        properties.getResilience().getBulkhead().getDefaults().setMaxConcurrent(1);
+        SwaggerMcpBulkheads bulkheads = new SwaggerMcpBulkheads(properties);
+        OpenApiOperationDescriptor orders = operation("api_listorders", "orders");
+
+        bulkheads.acquire(orders, false);
+        bulkheads.acquire(orders, false);
+
+        assertThat(bulkheads.gauges()).isEmpty();
+    }
+
+    private static OpenApiOperationDescriptor operation(String toolName, String tag) {
+        return new OpenApiOperationDescriptor(
+                toolName, toolName, HttpMethod.GET, "/" + toolName, null, List.of(tag), List.of(), false, null, false);
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.neo1228.swagger.mcp;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpMethod;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SwaggerMcpCatalogArtifactTest {
+
+    private static final String SPEC = """
+            {
+              "openapi": "3.0.1",
+              "info": {"title": "Orders", "version": "1"},
+              "paths": {
+                "/orders/{id}": {
+                  "get": {
+                    "operationId": "getOrder",
+                    "summary": "Get an order",
+                    "tags": ["orders"],
+                    "parameters": [
+                      {"name": "id", "in": "path", "required": true, "schema": {"type": "string"}},
+                      {"name": "expand", "in": "query", "schema": {"type": "boolean"}}
+                    ]
+                  },
+                  "delete": {"operationId": "deleteOrder", "parameters": [
+                    {"name": "id", "in": "path", "required": true, "schema": {"type": "string"}}
+                  ]}
+                },
+                "/orders": {
+                  "post": {
+                    "operationId": "createOrder",
+                    "requestBody": {"required": true, "content": {"application/json": {"schema": {
+                      "type": "object", "required": ["item"],
+                      "properties": {"item": {"type": "string", "maxLength": 40}, "quantity": {"type": "integer", "minimum": 1}}
+                    }}}}
+                  }
+                }
+              }
+            }
+            """;
+
+    @Test
+    void roundTripsDescriptorsAndToolDefinitions() throws Exception {
+        SwaggerMcpProperties properties = new SwaggerMcpProperties();
+        SwaggerMcpCatalogArtifact artifact = SwaggerMcpCatalogGenerator.generate(openApi(), properties);
+
+        SwaggerMcpCatalogArtifact read = SwaggerMcpCatalogArtifact.read(new ByteArrayInputStream(serialize(artifact)));
+
+        assertThat(read.settingsFingerprint()).isEqualTo(SwaggerMcpCatalogArtifact.fingerprint(properties));
+        assertThat(read.operations()).extracting(OpenApiOperationDescriptor::toolName)
+                .containsExactly("api_getorder", "api_deleteorder", "api_createorder");
+        OpenApiOperationDescriptor create = read.operations().get(2);
+        assertThat(create.httpMethod()).isEqualTo(HttpMethod.POST);
+        assertThat(create.requestBodyRequired()).isTrue();
+        assertThat(create.requestBodySchema().getProperties()).containsKeys("item", "quantity");
+        assertThat(create.risky()).isTrue();
+        assertThat(read.operations().get(0).parameters()).extracting(OpenApiParameterDescriptor::name)
+                .containsExactly("id", "expand");
+        for (String toolName : artifact.tools().keySet()) {
+            assertThat(Json.mapper().writeValueAsString(read.tools().get(toolName)))
+                    .isEqualTo(Json.mapper().writeValueAsString(artifact.tools().get(toolName)));
+        }
+    }
+
+    @Test
+    void rejectsTamperedPayload() throws Exception {
+        SwaggerMcpCatalogArtifact artifact = SwaggerMcpCatalogGenerator.generate(openApi(), new SwaggerMcpProperties());
+        String tampered = new String(serialize(artifact), StandardCharsets.UTF_8).replace("getOrder", "getOrdex");
+
+        assertThatThrownBy(() -> SwaggerMcpCatalogArtifact.read(
+                new ByteArrayInputStream(tampered.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    void fingerprintTracksSettingsThatShapeTools() {
+        SwaggerMcpProperties defaults = new SwaggerMcpProperties();
+        SwaggerMcpProperties prefixed = new SwaggerMcpProperties();
+        prefixed.setToolNamePrefix("shop_");
+        SwaggerMcpProperties tuned = new SwaggerMcpProperties();
+        tuned.getSmartContext().setDefaultTopK(3);
+
+        assertThat(SwaggerMcpCatalogArtifact.fingerprint(prefixed))
+                .isNotEqualTo(SwaggerMcpCatalogArtifact.fingerprint(defaults));
+        assertThat(SwaggerMcpCatalogArtifact.fingerprint(tuned))
+                .isEqualTo(SwaggerMcpCatalogArtifact.fingerprint(defaults));
+    }
+
+    @Test
+    void generatorWritesCatalogWithCommandLineSettings(@TempDir Path tempDir) throws Exception {
+        Path spec = Files.writeString(tempDir.resolve("openapi.json"), SPEC);
+        Path output = tempDir.resolve("META-INF/swagger-mcp/catalog.json");
+
+        SwaggerMcpCatalogGenerator.main(new String[] {
+                "--spec=" + spec,
+                "--output=" + output,
+                "--swagger.mcp.tool-name-prefix=shop_"
+        });
+
+        SwaggerMcpProperties runtime = new SwaggerMcpProperties();
+        runtime.setToolNamePrefix("shop_");
+        try (InputStream input = Files.newInputStream(output)) {
+            SwaggerMcpCatalogArtifact read = SwaggerMcpCatalogArtifact.read(input);
+            assertThat(read.settingsFingerprint()).isEqualTo(SwaggerMcpCatalogArtifact.fingerprint(runtime));
+            assertThat(read.tools()).containsKeys("shop_getorder", "shop_deleteorder", "shop_createorder");
+        }
+    }
+
+    private static OpenAPI openApi() throws IOException {
+        return Json.mapper().readValue(SPEC, OpenAPI.class);
+    }
+
+    private static byte[] serialize(SwaggerMcpCatalogArtifact artifact) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        artifact.write(output);
+        return output.toByteArray();
+    }
+}
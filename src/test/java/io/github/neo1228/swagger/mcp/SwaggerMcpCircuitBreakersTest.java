@@ -0,0 +1,176 @@
+package io.github.neo1228.swagger.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SwaggerMcpCircuitBreakersTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SwaggerMcpProperties properties = new SwaggerMcpProperties();
+    private final SwaggerMcpCircuitBreakers breakers = new SwaggerMcpCircuitBreakers(properties, clock::get);
+    private final OpenApiOperationDescriptor orders = operation("api_listorders");
+
+    SwaggerMcpCircuitBreakersTest() {
+        SwaggerMcpProperties.CircuitBreaker settings = properties.getResilience().getCircuitBreaker();
+        settings.setEnabled(true);
+        settings.setSlidingWindowSize(4);
+        settings.setMinimumCalls(4);
+        settings.setPermittedCallsInHalfOpenState(2);
+        settings.setWaitDurationInOpenState(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void opensOnFailureRateAndFailsFastWithRetryAfter() {
+        breakers.acquire(orders).onResponse(200);
+        breakers.acquire(orders).onResponse(502);
+        breakers.acquire(orders).onFailure();
+        assertThat(breakers.snapshots().get("api_listorders").state()).isEqualTo(SwaggerMcpCircuitBreakers.State.CLOSED);
+
+        breakers.acquire(orders).onResponse(404);
+        assertThat(breakers.snapshots().get("api_listorders").state()).isEqualTo(SwaggerMcpCircuitBreakers.State.OPEN);
+
+        clock.addAndGet(Duration.ofMillis(2500).toNanos());
+        assertThatThrownBy(() -> breakers.acquire(orders))
+                .isInstanceOfSatisfying(SwaggerMcpToolException.class, ex -> {
+                    assertThat(ex.code()).isEqualTo(SwaggerMcpErrorCode.CIRCUIT_OPEN);
+                    assertThat(ex.status()).isEqualTo(503);
+                    assertThat(ex.details()).containsEntry("toolName", "api_listorders").containsEntry("retryAfter", 8L);
+                });
+        assertThat(breakers.acquire(operation("api_listusers"))).isNotNull();
+    }
+
+    @Test
+    void halfOpenTrialsCloseOrReopenTheCircuit() {
+        tripOpen();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        SwaggerMcpCircuitBreakers.Permit first = breakers.acquire(orders);
+        SwaggerMcpCircuitBreakers.Permit second = breakers.acquire(orders);
+        assertThatThrownBy(() -> breakers.acquire(orders)).isInstanceOf(SwaggerMcpToolException.class);
+        first.onResponse(200);
+        second.onFailure();
+        assertThat(breakers.snapshots().get("api_listorders").state()).isEqualTo(SwaggerMcpCircuitBreakers.State.OPEN);
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        breakers.acquire(orders).onIgnore();
+        breakers.acquire(orders).onResponse(200);
+        breakers.acquire(orders).onResponse(200);
+        SwaggerMcpCircuitBreakers.BreakerSnapshot closed = breakers.snapshots().get("api_listorders");
+        assertThat(closed.state()).isEqualTo(SwaggerMcpCircuitBreakers.State.CLOSED);
+        assertThat(closed.bufferedCalls()).isZero();
+        assertThat(closed.failureRate()).isEqualTo(-1);
+    }
+
+    @Test
+    void opensOnSlowCallRateAndIgnoresOutcomesFromBeforeTheTransition() {
+        properties.getResilience().getCircuitBreaker().setSlowCallRateThreshold(75);
+        properties.getResilience().getCircuitBreaker().setSlowCallDuration(Duration.ofSeconds(1));
+        SwaggerMcpCircuitBreakers.Permit straggler = breakers.acquire(orders);
+        for (int i = 0; i < 3; i++) {
+            SwaggerMcpCircuitBreakers.Permit permit = breakers.acquire(orders);
+            clock.addAndGet(Duration.ofSeconds(2).toNanos());
+            permit.onResponse(200);
+        }
+        breakers.acquire(orders).onResponse(200);
+
+        SwaggerMcpCircuitBreakers.BreakerSnapshot open = breakers.snapshots().get("api_listorders");
+        assertThat(open.state()).isEqualTo(SwaggerMcpCircuitBreakers.State.OPEN);
+        assertThat(open.slowCallRate()).isEqualTo(75f);
+        assertThat(open.failureRate()).isZero();
+
+        straggler.onFailure();
+        assertThat(breakers.snapshots().get("api_listorders").bufferedCalls()).isEqualTo(4);
+    }
+
+    @Test
+    void openCircuitSkipsDispatchAndIsReportedByCapabilities() {
+        properties.getExecution().setBaseUrl("http://upstream.test");
+        AtomicInteger dispatched = new AtomicInteger();
+        SwaggerMcpDispatchClient failingClient = (method, uri, headers, body, maxBodyBytes) -> {
+            dispatched.incrementAndGet();
+            throw new IllegalStateException("Read timed out");
+        };
+        ObjectMapper objectMapper = new ObjectMapper();
+        SwaggerMcpServerAdapter adapter = new SwaggerMcpServerAdapter(
+                new NoOpToolServer(),
+                new OpenApiToMcpToolConverter(),
+                new SwaggerMcpToolSelector(),
+                new SwaggerMcpOperationCatalog(),
+                new SwaggerMcpResponseOptimizer(objectMapper, properties),
+                new SwaggerMcpSecurityPolicy(properties),
+                properties,
+                new MockEnvironment(),
+                failingClient,
+                null,
+                objectMapper);
+        try {
+            adapter.registerOperations(List.of(orders));
+            for (int i = 0; i < 4; i++) {
+                assertThat(adapter.invokeTool("api_listorders", Map.of()).isError()).isTrue();
+            }
+            McpSchema.CallToolResult rejected = adapter.invokeTool("api_listorders", Map.of());
+
+            assertThat(dispatched).hasValue(4);
+            assertThat(rejected.structuredContent()).asString().contains("CIRCUIT_OPEN", "retryable=true", "retryAfter=10");
+            assertThat(adapter.getApiCapabilities(Map.of()).structuredContent()).asString()
+                    .contains("openTools=[api_listorders]", "state=OPEN", "failureRate=100.0");
+        }
+        finally {
+            adapter.destroy();
+        }
+    }
+
+    private void tripOpen() {
+        for (int i = 0; i < 4; i++) {
+            breakers.acquire(orders).onFailure();
+        }
+        assertThat(breakers.snapshots().get("api_listorders").state()).isEqualTo(SwaggerMcpCircuitBreakers.State.OPEN);
+    }
+
+    private static OpenApiOperationDescriptor operation(String toolName) {
+        return new OpenApiOperationDescriptor(
+                toolName, toolName, HttpMethod.GET, "/" + toolName, null, List.of(), List.of(), false, null, false);
+    }
+
+    private static final class NoOpToolServer implements SwaggerMcpToolServer {
+
+        @Override
+        public List<McpSchema.Tool> listTools() {
+            return List.of();
+        }
+
+        @Override
+        public void addTool(
+                McpSchema.Tool tool,
+                Function<Map<String, Object>, McpSchema.CallToolResult> handler,
+                Function<Map<String, Object>, CompletableFuture<McpSchema.CallToolResult>> asyncHandler) {
+        }
+
+        @Override
+        public void removeTool(String toolName) {
+        }
+
+        @Override
+        public void notifyToolsListChanged() {
+        }
+
+        @Override
+        public boolean isAsync() {
+            return false;
+        }
+    }
+}
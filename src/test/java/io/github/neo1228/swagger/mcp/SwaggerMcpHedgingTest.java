@@ -0,0 +1,298 @@
+package io.github.neo1228.swagger.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SwaggerMcpHedgingTest {
+
+    private final SwaggerMcpProperties properties = new SwaggerMcpProperties();
+    private final SwaggerMcpHedging hedging = new SwaggerMcpHedging(properties);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final OpenApiOperationDescriptor listItems = operation(HttpMethod.GET);
+
+    SwaggerMcpHedgingTest() {
+        SwaggerMcpProperties.Hedge settings = properties.getResilience().getHedge();
+        settings.setEnabled(true);
+        settings.setMinSamples(5);
+        settings.setMinDelay(Duration.ofMillis(20));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void doesNotHedgeUntilLatenciesAreKnownThenFirstResponseWins() throws Exception {
+        assertThat(hedging.executeAsync(listItems, SwaggerMcpHedgingTest::fast).get(1, TimeUnit.SECONDS)
+                .getBody().text()).isEqualTo("fast");
+        assertThat(hedging.delays().get("api_items")).isNull();
+        warmUp();
+        assertThat(hedging.delays().get("api_items")).isEqualTo(Duration.ofMillis(20));
+
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> slow = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> result = hedging.executeAsync(
+                listItems, () -> attempts.incrementAndGet() == 1 ? slow : fast());
+
+        assertThat(result.get(5, TimeUnit.SECONDS).getBody().text()).isEqualTo("fast");
+        assertThat(attempts).hasValue(2);
+        assertThat(slow).isCancelled();
+        assertThat(hedging.stats()).isEqualTo(new SwaggerMcpHedging.Stats(1, 1, 0));
+    }
+
+    @Test
+    void globalBudgetCapsHedgesAndWriteOperationsAreNeverHedged() throws Exception {
+        properties.getResilience().getHedge().setBudgetBurst(1);
+        properties.getResilience().getHedge().setBudgetPercent(0);
+        warmUp();
+
+        assertThat(hedging.executeAsync(listItems, () -> delayed("primary", 100)).get(5, TimeUnit.SECONDS)
+                .getBody().text()).isEqualTo("primary");
+        assertThat(hedging.executeAsync(listItems, () -> delayed("primary", 100)).get(5, TimeUnit.SECONDS)
+                .getBody().text()).isEqualTo("primary");
+        assertThat(hedging.stats().hedgedCalls()).isEqualTo(1);
+        assertThat(hedging.stats().budgetDenied()).isEqualTo(1);
+
+        AtomicInteger writes = new AtomicInteger();
+        hedging.executeAsync(operation(HttpMethod.POST), () -> {
+            writes.incrementAndGet();
+            return delayed("created", 100);
+        }).get(5, TimeUnit.SECONDS);
+        assertThat(writes).hasValue(1);
+    }
+
+    @Test
+    void blockingHedgeInterruptsTheLosingAttempt() throws Exception {
+        warmUp();
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch primaryInterrupted = new CountDownLatch(1);
+
+        ResponseEntity<SwaggerMcpResponseBody> response = hedging.execute(listItems, executor, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(10_000);
+                }
+                catch (InterruptedException ex) {
+                    primaryInterrupted.countDown();
+                    throw SwaggerMcpToolException.dispatchInterrupted(ex);
+                }
+            }
+            return ResponseEntity.ok(SwaggerMcpResponseBody.of("hedge"));
+        });
+
+        assertThat(response.getBody().text()).isEqualTo("hedge");
+        assertThat(primaryInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void losingExchangeKeepsItsBulkheadPermitUntilItReallyEnds() throws Exception {
+        properties.getExecution().setBaseUrl("http://upstream.test");
+        properties.getExecution().setVirtualThreadsEnabled(false);
+        properties.getResilience().getBulkhead().setEnabled(true);
+        properties.getResilience().getBulkhead().getDefaults().setMaxConcurrent(10);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch primaryStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch primaryInterrupted = new CountDownLatch(1);
+        SwaggerMcpDispatchClient client = (method, uri, headers, body, maxBodyBytes) -> {
+            if (calls.incrementAndGet() == 6) {
+                primaryStarted.countDown();
+                // An engine that notices the interrupt but cannot abort the exchange right away.
+                while (true) {
+                    try {
+                        if (release.await(10, TimeUnit.SECONDS)) {
+                            break;
+                        }
+                    }
+                    catch (InterruptedException ex) {
+                        primaryInterrupted.countDown();
+                    }
+                }
+                return ResponseEntity.ok(SwaggerMcpResponseBody.of("{\"attempt\":\"primary\"}"));
+            }
+            return ResponseEntity.ok(SwaggerMcpResponseBody.of("{\"attempt\":\"hedge\"}"));
+        };
+        ObjectMapper objectMapper = new ObjectMapper();
+        SwaggerMcpServerAdapter adapter = new SwaggerMcpServerAdapter(
+                new NoOpToolServer(),
+                new OpenApiToMcpToolConverter(),
+                new SwaggerMcpToolSelector(),
+                new SwaggerMcpOperationCatalog(),
+                new SwaggerMcpResponseOptimizer(objectMapper, properties),
+                new SwaggerMcpSecurityPolicy(properties),
+                properties,
+                new MockEnvironment(),
+                client,
+                null,
+                objectMapper);
+        try {
+            adapter.registerOperations(List.of(listItems));
+            for (int i = 0; i < 5; i++) {
+                adapter.invokeTool("api_items", Map.of());
+            }
+
+            McpSchema.CallToolResult result = adapter.invokeTool("api_items", Map.of());
+
+            assertThat(result.structuredContent()).asString().contains("hedge");
+            assertThat(primaryStarted.getCount()).isZero();
+            assertThat(primaryInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(adapter.bulkheads().gauges().get("tool:api_items").inFlight()).isEqualTo(1);
+
+            release.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (adapter.bulkheads().gauges().get("tool:api_items").inFlight() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(adapter.bulkheads().gauges().get("tool:api_items").inFlight()).isZero();
+        }
+        finally {
+            release.countDown();
+            adapter.destroy();
+        }
+    }
+
+    @Test
+    void apacheLoserIsAbortedInsteadOfWaitingForTheUpstream() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/items", exchange -> {
+            if (requests.incrementAndGet() == 6) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            try (exchange) {
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            catch (IOException ignored) {
+                // The aborted client has already hung up.
+            }
+        });
+        server.start();
+        properties.getExecution().setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.getExecution().setVirtualThreadsEnabled(false);
+        properties.getResilience().getBulkhead().setEnabled(true);
+        properties.getResilience().getBulkhead().getDefaults().setMaxConcurrent(10);
+        ObjectMapper objectMapper = new ObjectMapper();
+        SwaggerMcpPooledDispatchClient client =
+                new SwaggerMcpPooledDispatchClient(properties, new RestTemplateBuilder(), objectMapper);
+        assertThat(client.engine()).isEqualTo("apache-pooled");
+        SwaggerMcpServerAdapter adapter = new SwaggerMcpServerAdapter(
+                new NoOpToolServer(),
+                new OpenApiToMcpToolConverter(),
+                new SwaggerMcpToolSelector(),
+                new SwaggerMcpOperationCatalog(),
+                new SwaggerMcpResponseOptimizer(objectMapper, properties),
+                new SwaggerMcpSecurityPolicy(properties),
+                properties,
+                new MockEnvironment(),
+                client,
+                null,
+                objectMapper);
+        try {
+            adapter.registerOperations(List.of(listItems));
+            for (int i = 0; i < 5; i++) {
+                adapter.invokeTool("api_items", Map.of());
+            }
+
+            McpSchema.CallToolResult result = adapter.invokeTool("api_items", Map.of());
+
+            assertThat(result.isError()).isFalse();
+            assertThat(requests).hasValue(7);
+            // The upstream still holds the primary's response; only aborting the request frees its permit.
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+            while (adapter.bulkheads().gauges().get("tool:api_items").inFlight() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(adapter.bulkheads().gauges().get("tool:api_items").inFlight()).isZero();
+            assertThat(release.getCount()).isEqualTo(1);
+        }
+        finally {
+            release.countDown();
+            adapter.destroy();
+            client.destroy();
+            server.stop(0);
+        }
+    }
+
+    private void warmUp() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            hedging.executeAsync(listItems, SwaggerMcpHedgingTest::fast).get(1, TimeUnit.SECONDS);
+        }
+    }
+
+    private static CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> fast() {
+        return CompletableFuture.completedFuture(ResponseEntity.ok(SwaggerMcpResponseBody.of("fast")));
+    }
+
+    private static CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> delayed(String text, long millis) {
+        return CompletableFuture.supplyAsync(
+                () -> ResponseEntity.ok(SwaggerMcpResponseBody.of(text)),
+                CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS));
+    }
+
+    private static OpenApiOperationDescriptor operation(HttpMethod method) {
+        return new OpenApiOperationDescriptor(
+                "api_items", "items", method, "/items", null, List.of(), List.of(), false, null, false);
+    }
+
+    private static final class NoOpToolServer implements SwaggerMcpToolServer {
+
+        @Override
+        public List<McpSchema.Tool> listTools() {
+            return List.of();
+        }
+
+        @Override
+        public void addTool(
+                McpSchema.Tool tool,
+                Function<Map<String, Object>, McpSchema.CallToolResult> handler,
+                Function<Map<String, Object>, CompletableFuture<McpSchema.CallToolResult>> asyncHandler) {
+        }
+
+        @Override
+        public void removeTool(String toolName) {
+        }
+
+        @Override
+        public void notifyToolsListChanged() {
+        }
+
+        @Override
+        public boolean isAsync() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.neo1228.swagger.mcp;
+
+import io.modelcontextprotocol.server.McpSyncServer;
+import io.modelcontextprotocol.spec.McpSchema;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(
+        classes = SwaggerMcpIntegrationTest.TestApp.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.ai.mcp.server.protocol=STREAMABLE_HTTP",
+                "swagger.mcp.tool-name-prefix=api_",
+                "swagger.mcp.execution.mode=in-process"
+        }
+)
+@Import(SwaggerMcpInProcessDispatchIntegrationTest.FilterConfig.class)
+class SwaggerMcpInProcessDispatchIntegrationTest {
+
+    @Autowired
+    private McpSyncServer mcpSyncServer;
+
+    @Autowired
+    private SwaggerMcpServerAdapter adapter;
+
+    @Autowired
+    private SwaggerMcpProperties properties;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dispatchesGeneratedToolsWithoutLoopbackHttp() {
+        await().atMost(15, SECONDS).untilAsserted(() ->
+                assertThat(mcpSyncServer.listTools().stream().map(McpSchema.Tool::name).toList())
+                        .contains("api_gethello", "api_createorder", "api_echoheader"));
+
+        // An unreachable base URL proves the call never leaves the JVM.
+        properties.getExecution().setBaseUrl("http://127.0.0.1:1");
+        try {
+            McpSchema.CallToolResult hello = adapter.invokeTool("api_gethello", Map.of("name", "Neo"));
+            assertThat(hello.isError()).isFalse();
+            assertThat(((McpSchema.TextContent) hello.content().get(0)).text()).startsWith("HTTP 200").contains("Hello Neo");
+
+            McpSchema.CallToolResult created = adapter.invokeTool(
+                    "api_createorder",
+                    Map.of("body", Map.of("id", "order-9", "item", "shoe"), "_confirm", "CONFIRM")
+            );
+            assertThat(created.isError()).isFalse();
+            assertThat((Map<String, Object>) created.structuredContent()).containsEntry("status", "CREATED");
+
+            McpSchema.CallToolResult header = adapter.invokeTool("api_echoheader", Map.of("X-Trace-Id", "trace-7"));
+            assertThat(header.isError()).isFalse();
+            assertThat((Map<String, Object>) header.structuredContent()).containsEntry("traceId", "trace-7");
+
+            McpSchema.CallToolResult capabilities = adapter.getApiCapabilities(Map.of());
+            assertThat((Map<String, Object>) ((Map<String, Object>) capabilities.structuredContent()).get("runtime"))
+                    .containsEntry("dispatchMode", "in-process");
+        }
+        finally {
+            properties.getExecution().setBaseUrl(null);
+        }
+    }
+
+    @Test
+    void reportsSpringMvcErrorStatusFromInProcessDispatch() {
+        await().atMost(15, SECONDS).untilAsserted(() ->
+                assertThat(mcpSyncServer.listTools().stream().map(McpSchema.Tool::name).toList()).contains("api_searchorders"));
+
+        McpSchema.CallToolResult result = adapter.invokeTool("api_searchorders", Map.of("q", List.of()));
+
+        assertThat(result.isError()).isTrue();
+        assertThat(((McpSchema.TextContent) result.content().get(0)).text()).startsWith("HTTP 400");
+    }
+
+    @Test
+    void hidesInternalExceptionMessagesAndSkipsErrorOnlyFilters() {
+        await().atMost(15, SECONDS).untilAsserted(() ->
+                assertThat(mcpSyncServer.listTools().stream().map(McpSchema.Tool::name).toList()).contains("api_gethello"));
+
+        McpSchema.CallToolResult failed = adapter.invokeTool(
+                "api_gethello", Map.of("name", "Neo", "_headers", Map.of("X-Fail-In-Filter", "true")));
+
+        assertThat(failed.isError()).isTrue();
+        String text = ((McpSchema.TextContent) failed.content().get(0)).text();
+        assertThat(text).startsWith("HTTP 500").doesNotContain("db-password");
+        assertThat(adapter.invokeTool("api_gethello", Map.of("name", "Neo")).isError()).isFalse();
+    }
+
+    @TestConfiguration
+    static class FilterConfig {
+
+        @Bean
+        FilterRegistrationBean<Filter> failingRequestFilter() {
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+                if (((HttpServletRequest) request).getHeader("X-Fail-In-Filter") != null) {
+                    throw new IllegalStateException("Connection refused: jdbc:postgresql://db?password=db-password");
+                }
+                chain.doFilter(request, response);
+            });
+            registration.addUrlPatterns("/hello");
+            return registration;
+        }
+
+        @Bean
+        FilterRegistrationBean<Filter> errorOnlyFilter() {
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+                throw new IllegalStateException("ERROR dispatch filter must not run for in-process requests");
+            });
+            registration.setDispatcherTypes(DispatcherType.ERROR);
+            return registration;
+        }
+    }
+}
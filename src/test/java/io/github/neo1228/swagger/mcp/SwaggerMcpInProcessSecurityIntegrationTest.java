@@ -0,0 +1,148 @@
+package io.github.neo1228.swagger.mcp;
+
+import io.modelcontextprotocol.server.McpSyncServer;
+import io.modelcontextprotocol.spec.McpSchema;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.DefaultSecurityFilterChain;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.access.ExceptionTranslationFilter;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.web.bind.annotation.CookieValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(
+        classes = SwaggerMcpInProcessSecurityIntegrationTest.SecuredApp.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.ai.mcp.server.protocol=STREAMABLE_HTTP",
+                "swagger.mcp.tool-name-prefix=api_",
+                "swagger.mcp.execution.mode=in-process",
+                "swagger.mcp.execution.virtual-threads-enabled=false",
+                "swagger.mcp.execution.copy-incoming-cookie-header=true",
+                "swagger.mcp.security.required-any-role=ROLE_AGENT",
+                "swagger.mcp.security.role-protected-path-patterns=/preferences"
+        }
+)
+class SwaggerMcpInProcessSecurityIntegrationTest {
+
+    @Autowired
+    private McpSyncServer mcpSyncServer;
+
+    @Autowired
+    private SwaggerMcpServerAdapter adapter;
+
+    @AfterEach
+    void clearCallerContext() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void callerSecurityAndRequestContextSurviveConsecutiveCalls() {
+        awaitTools();
+        TestingAuthenticationToken caller = new TestingAuthenticationToken("agent", "secret", "ROLE_AGENT");
+        SecurityContextHolder.getContext().setAuthentication(caller);
+        MockHttpServletRequest incoming = new MockHttpServletRequest("POST", "/mcp");
+        incoming.addHeader(HttpHeaders.COOKIE, "theme=dark; session-hint=\"abc\"");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(incoming));
+
+        for (int call = 0; call < 2; call++) {
+            McpSchema.CallToolResult result = adapter.invokeTool(
+                    "api_preferences", Map.of("_headers", Map.of(HttpHeaders.ACCEPT_LANGUAGE, "fr-CA,fr;q=0.8,en;q=0.5")));
+
+            assertThat(result.isError()).as("call %d: %s", call, result.content()).isFalse();
+            assertThat((Map<String, Object>) result.structuredContent())
+                    .containsEntry("theme", "dark")
+                    .containsEntry("locale", Locale.CANADA_FRENCH.toLanguageTag());
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isSameAs(caller);
+            assertThat(((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest())
+                    .isSameAs(incoming);
+        }
+    }
+
+    @Test
+    void securityRejectionThatSavesTheRequestIsReportedAsUnauthorized() {
+        awaitTools();
+
+        McpSchema.CallToolResult result = adapter.invokeTool("api_securedping", Map.of());
+
+        assertThat(result.isError()).isTrue();
+        assertThat(((McpSchema.TextContent) result.content().get(0)).text()).startsWith("HTTP 401");
+    }
+
+    private void awaitTools() {
+        await().atMost(15, SECONDS).untilAsserted(() ->
+                assertThat(mcpSyncServer.listTools().stream().map(McpSchema.Tool::name).toList())
+                        .contains("api_preferences", "api_securedping"));
+    }
+
+    @RestController
+    static class PreferencesController {
+
+        @GetMapping(path = "/preferences", produces = MediaType.APPLICATION_JSON_VALUE)
+        public Map<String, String> preferences(@CookieValue(name = "theme", required = false) String theme, Locale locale) {
+            return Map.of("theme", String.valueOf(theme), "locale", locale.toLanguageTag());
+        }
+
+        @GetMapping(path = "/secured/ping", produces = MediaType.APPLICATION_JSON_VALUE)
+        public Map<String, String> securedPing() {
+            return Map.of("status", "ok");
+        }
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @ImportAutoConfiguration(SwaggerMcpAutoConfiguration.class)
+    @Import(PreferencesController.class)
+    static class SecuredApp {
+
+        /**
+         * A minimal Spring Security chain: {@code /secured/**} requires an authenticated caller, and every request
+         * passes through {@link FilterChainProxy}, which clears the security context when it finishes.
+         */
+        @Bean
+        Filter springSecurityFilterChain() {
+            ExceptionTranslationFilter exceptionTranslation =
+                    new ExceptionTranslationFilter(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED));
+            DefaultSecurityFilterChain secured = new DefaultSecurityFilterChain(
+                    request -> request.getRequestURI().startsWith("/secured/"),
+                    new SecurityContextHolderFilter(new HttpSessionSecurityContextRepository()),
+                    exceptionTranslation,
+                    new AuthorizationFilter(AuthenticatedAuthorizationManager.authenticated()));
+            DefaultSecurityFilterChain open = new DefaultSecurityFilterChain(AnyRequestMatcher.INSTANCE, List.of());
+            return new FilterChainProxy(List.of(secured, open));
+        }
+    }
+}
@@ -3,16 +3,18 @@ package io.github.neo1228.swagger.mcp;
 import io.modelcontextprotocol.server.McpSyncServer;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.models.OpenAPI;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringBootConfiguration;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
-import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -21,6 +23,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -60,6 +63,12 @@ class SwaggerMcpIntegrationTest {
     @Autowired
     private SwaggerMcpProperties properties;
 
+    @Autowired
+    private ListableBeanFactory beanFactory;
+
+    @Autowired
+    private Environment environment;
+
     @Test
     void registersToolsForControllerOperations() {
         await().atMost(15, SECONDS).untilAsserted(() -> {
@@ -160,7 +169,8 @@ class SwaggerMcpIntegrationTest {
                         "api_meta_invoke_api_workflow"
                 );
         assertThat((Map<String, Object>) payload.get("catalog"))
-                .containsKeys("operationCount", "groupCount", "readOnlyCount", "riskyCount", "groups");
+                .containsEntry("ready", true)
+                .containsKeys("generation", "operationCount", "groupCount", "readOnlyCount", "riskyCount", "groups");
         assertThat((Map<String, Object>) payload.get("orchestration"))
                 .containsEntry("recursiveMetaToolsAllowed", false)
                 .containsEntry("defaultDryRun", true);
@@ -171,7 +181,8 @@ class SwaggerMcpIntegrationTest {
                 .containsEntry("bytecodeRelease", 17)
                 .containsEntry("virtualThreadsEnabled", true)
                 .containsKey("virtualThreadsAvailable")
-                .containsKey("httpDispatchThreadModel");
+                .containsKey("httpDispatchThreadModel")
+                .containsEntry("httpClientEngine", "apache-pooled");
     }
 
     @Test
@@ -395,11 +406,9 @@ class SwaggerMcpIntegrationTest {
     }
 
     @Test
-    @SuppressWarnings("unchecked")
     void rejectsUnresolvedPathTemplates() {
-        Map<String, OpenApiOperationDescriptor> operations =
-                (Map<String, OpenApiOperationDescriptor>) ReflectionTestUtils.getField(operationCatalog, "operationsByToolName");
-        assertThat(operations).isNotNull();
+        List<OpenApiOperationDescriptor> operations = operationCatalog.operations();
+        assertThat(operations).isNotEmpty();
 
         OpenApiOperationDescriptor descriptor = new OpenApiOperationDescriptor(
                 "api_broken_path",
@@ -414,7 +423,9 @@ class SwaggerMcpIntegrationTest {
                 false
         );
         try {
-            operations.put("api_broken_path", descriptor);
+            List<OpenApiOperationDescriptor> withBrokenPath = new ArrayList<>(operations);
+            withBrokenPath.add(descriptor);
+            operationCatalog.replaceAll(withBrokenPath);
 
             McpSchema.CallToolResult result = adapter.invokeTool("api_broken_path", Map.of("id", "123"));
 
@@ -424,7 +435,7 @@ class SwaggerMcpIntegrationTest {
             assertErrorCode(result, SwaggerMcpErrorCode.INVALID_ARGUMENT);
         }
         finally {
-            operations.remove("api_broken_path");
+            operationCatalog.replaceAll(operations);
         }
     }
 
@@ -478,6 +489,17 @@ class SwaggerMcpIntegrationTest {
         }
     }
 
+    @Test
+    void readsOpenApiFromSpringdocInProcess() {
+        SwaggerMcpSpringdocOpenApiLoader loader = new SwaggerMcpSpringdocOpenApiLoader(beanFactory, environment);
+
+        OpenAPI openAPI = loader.load("/v3/api-docs", "http://127.0.0.1").orElseThrow();
+
+        assertThat(openAPI.getPaths()).containsKeys("/hello", "/orders", "/orders/{orderId}");
+        assertThat(loader.load("/v3/api-docs/unknown-group", "http://127.0.0.1")).isEmpty();
+        assertThat(loader.load("/custom-docs", "http://127.0.0.1")).isEmpty();
+    }
+
     @Test
     void selectsRelevantToolsByNaturalLanguage() {
         await().atMost(15, SECONDS).untilAsserted(() ->
@@ -497,7 +519,10 @@ class SwaggerMcpIntegrationTest {
         Map<String, Object> error = (Map<String, Object>) payload.get("error");
         assertThat(error)
                 .containsEntry("code", expectedCode.name())
-                .containsEntry("retryable", expectedCode == SwaggerMcpErrorCode.HTTP_DISPATCH_FAILED
+                .containsEntry("retryable", expectedCode == SwaggerMcpErrorCode.CATALOG_NOT_READY
+                        || expectedCode == SwaggerMcpErrorCode.CONCURRENCY_LIMIT_EXCEEDED
+                        || expectedCode == SwaggerMcpErrorCode.CIRCUIT_OPEN
+                        || expectedCode == SwaggerMcpErrorCode.HTTP_DISPATCH_FAILED
                         || expectedCode == SwaggerMcpErrorCode.HTTP_DISPATCH_INTERRUPTED)
                 .containsKeys("message", "status");
     }
@@ -0,0 +1,95 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpMethod;
+
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SwaggerMcpJournalAuditSinkTest {
+
+    private static final OpenApiOperationDescriptor OPERATION = new OpenApiOperationDescriptor(
+            "api_createorder", "createOrder", HttpMethod.POST, "/orders", null, List.of(), List.of(), false, null, true);
+
+    @Test
+    void rollsSegmentsAndContinuesSequenceAfterReopen(@TempDir Path directory) throws Exception {
+        SwaggerMcpJournalAuditSink sink = new SwaggerMcpJournalAuditSink(directory, 512, false);
+        for (int i = 0; i < 10; i++) {
+            sink.write(List.of(
+                    SwaggerMcpAuditEvent.started(OPERATION, List.of("item", "quantity")),
+                    SwaggerMcpAuditEvent.finished(OPERATION, true, 201, Duration.ofMillis(12))));
+        }
+        sink.close();
+
+        SwaggerMcpJournalAuditSink reopened = new SwaggerMcpJournalAuditSink(directory, 512, true);
+        reopened.write(List.of(SwaggerMcpAuditEvent.finished(OPERATION, false, 503, null)));
+        reopened.close();
+
+        assertThat(SwaggerMcpAuditJournal.segments(directory)).hasSizeGreaterThan(1);
+        List<SwaggerMcpAuditJournalReader.Entry> entries = SwaggerMcpAuditJournalReader.read(directory);
+        assertThat(entries).extracting(SwaggerMcpAuditJournalReader.Entry::sequence)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, 21).boxed().toList());
+
+        SwaggerMcpAuditEvent started = entries.get(0).event();
+        assertThat(started.phase()).isEqualTo(SwaggerMcpAuditEvent.Phase.STARTED);
+        assertThat(started.toolName()).isEqualTo("api_createorder");
+        assertThat(started.httpMethod()).isEqualTo("POST");
+        assertThat(started.path()).isEqualTo("/orders");
+        assertThat(started.argumentKeys()).containsExactly("item", "quantity");
+        assertThat(started.status()).isNull();
+
+        SwaggerMcpAuditEvent finished = entries.get(1).event();
+        assertThat(finished.success()).isTrue();
+        assertThat(finished.status()).isEqualTo(201);
+        assertThat(finished.latency()).isEqualTo(Duration.ofMillis(12));
+
+        SwaggerMcpAuditEvent last = entries.get(20).event();
+        assertThat(last.success()).isFalse();
+        assertThat(last.status()).isEqualTo(503);
+        assertThat(last.latency()).isNull();
+
+        assertThat(SwaggerMcpAuditJournalReader.read(directory, event -> Integer.valueOf(503).equals(event.status())))
+                .hasSize(1);
+    }
+
+    @Test
+    void ignoresTornRecordAndOverwritesItOnReopen(@TempDir Path directory) throws Exception {
+        SwaggerMcpJournalAuditSink sink = new SwaggerMcpJournalAuditSink(directory, 4096, false);
+        sink.write(List.of(
+                SwaggerMcpAuditEvent.finished(OPERATION, true, 201, null),
+                SwaggerMcpAuditEvent.finished(OPERATION, true, 202, null)));
+        sink.close();
+
+        Path segment = SwaggerMcpAuditJournal.segments(directory).get(0);
+        List<SwaggerMcpAuditJournalReader.Entry> intact = SwaggerMcpAuditJournalReader.read(directory);
+        assertThat(intact).hasSize(2);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // Flip the last byte of the second record's body, as if the write was cut short.
+            long secondRecordEnd = SwaggerMcpAuditJournal.scan(
+                    ByteBuffer.wrap(Files.readAllBytes(segment)), null);
+            file.seek(secondRecordEnd - 1);
+            file.write(0x7F);
+        }
+
+        assertThat(SwaggerMcpAuditJournalReader.read(directory)).extracting(entry -> entry.event().status())
+                .containsExactly(201);
+
+        SwaggerMcpJournalAuditSink reopened = new SwaggerMcpJournalAuditSink(directory, 4096, false);
+        reopened.write(List.of(SwaggerMcpAuditEvent.finished(OPERATION, true, 204, null)));
+        reopened.close();
+        assertThat(SwaggerMcpAuditJournalReader.read(directory))
+                .extracting(SwaggerMcpAuditJournalReader.Entry::sequence, entry -> entry.event().status())
+                .containsExactly(
+                        Tuple.tuple(1L, 201),
+                        Tuple.tuple(2L, 204));
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.http.HttpMethod;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class SwaggerMcpOperationCatalogTest {
 
@@ -33,6 +34,31 @@ class SwaggerMcpOperationCatalogTest {
                 .orElseThrow();
         assertThat(orders.operationCount()).isEqualTo(2);
         assertThat(orders.sampleTools()).containsExactly("api_get_order", "api_create_order");
+        assertThat(orders.methods()).containsEntry("GET", 1L).containsEntry("POST", 1L);
+        assertThat(catalog.summarizeGroups(0))
+                .allSatisfy(group -> assertThat(group.sampleTools()).isEmpty());
+        assertThat(catalog.summarizeGroups(1).get(1).sampleTools()).containsExactly("api_get_order");
+    }
+
+    @Test
+    void publishesEachReplacementAsNewImmutableGeneration() {
+        SwaggerMcpOperationCatalog catalog = new SwaggerMcpOperationCatalog();
+        assertThat(catalog.generation()).isZero();
+
+        SwaggerMcpOperationCatalog.Snapshot first = catalog.replaceAll(List.of(
+                operation("api_get_order", HttpMethod.GET, List.of("orders"), false)));
+        SwaggerMcpOperationCatalog.Snapshot second = catalog.replaceAll(List.of(
+                operation("api_get_invoice", HttpMethod.GET, List.of("billing"), false)));
+
+        assertThat(first.generation()).isEqualTo(1);
+        assertThat(second.generation()).isEqualTo(2);
+        assertThat(catalog.snapshot()).isSameAs(second);
+        assertThat(first.findByToolName("api_get_order")).isPresent();
+        assertThat(first.findByToolName("api_get_invoice")).isEmpty();
+        assertThat(catalog.findByToolName("api_get_order")).isEmpty();
+        assertThat(second.operationsByGroup()).containsOnlyKeys("billing");
+        assertThatThrownBy(() -> second.operations().add(operation("api_x", HttpMethod.GET, List.of(), false)))
+                .isInstanceOf(UnsupportedOperationException.class);
     }
 
     private OpenApiOperationDescriptor operation(String toolName, HttpMethod method, List<String> tags, boolean risky) {
@@ -0,0 +1,67 @@
+package io.github.neo1228.swagger.mcp;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SwaggerMcpOperationExtractorTest {
+
+    @Test
+    void parallelExtractionMatchesSequentialOutputIncludingDuplicateNames() {
+        OpenAPI openAPI = largeDocument(1500);
+
+        SwaggerMcpProperties sequentialProperties = new SwaggerMcpProperties();
+        sequentialProperties.getExtraction().setParallelThreshold(0);
+        SwaggerMcpProperties parallelProperties = new SwaggerMcpProperties();
+        parallelProperties.getExtraction().setParallelThreshold(1);
+
+        List<OpenApiOperationDescriptor> sequential = extractor(sequentialProperties).extract(openAPI);
+        List<OpenApiOperationDescriptor> parallel = extractor(parallelProperties).extract(openAPI);
+
+        assertThat(sequential).hasSize(3000);
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(sequential).extracting(OpenApiOperationDescriptor::toolName)
+                .startsWith("api_listitems", "api_deleteitem", "api_listitems_2", "api_deleteitem_2")
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void parallelCatalogGenerationKeepsToolDefinitionsInOperationOrder() {
+        OpenAPI openAPI = largeDocument(50);
+        SwaggerMcpProperties sequentialProperties = new SwaggerMcpProperties();
+        sequentialProperties.getExtraction().setParallelThreshold(0);
+        SwaggerMcpProperties parallelProperties = new SwaggerMcpProperties();
+        parallelProperties.getExtraction().setParallelThreshold(1);
+
+        SwaggerMcpCatalogArtifact sequential = SwaggerMcpCatalogGenerator.generate(openAPI, sequentialProperties);
+        SwaggerMcpCatalogArtifact parallel = SwaggerMcpCatalogGenerator.generate(openAPI, parallelProperties);
+
+        assertThat(parallel.tools()).isEqualTo(sequential.tools());
+        assertThat(parallel.tools().get("api_deleteitem_7").name()).isEqualTo("api_deleteitem_7");
+    }
+
+    private static SwaggerMcpOperationExtractor extractor(SwaggerMcpProperties properties) {
+        return new SwaggerMcpOperationExtractor(
+                new OpenApiToMcpToolConverter(), new SwaggerMcpSecurityPolicy(properties), properties);
+    }
+
+    private static OpenAPI largeDocument(int pathCount) {
+        Paths paths = new Paths();
+        for (int i = 0; i < pathCount; i++) {
+            Parameter id = new Parameter().name("id").in("path").required(true).schema(new StringSchema());
+            // Every path reuses the same operation ids, so names are only unique after deduplication.
+            paths.addPathItem("/tenants/" + i + "/items/{id}", new PathItem()
+                    .get(new Operation().operationId("listItems").addParametersItem(id))
+                    .delete(new Operation().operationId("deleteItem").addParametersItem(id)));
+        }
+        return new OpenAPI().paths(paths);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SwaggerMcpPathMatcherTest {
+
+    private static final List<String> PATTERNS = List.of(
+            "/actuator/**",
+            "/error",
+            "/v3/api-docs/**",
+            "/admin/*/users",
+            "/orders/{id}/refund",
+            "/**/internal/**",
+            "payments/**"
+    );
+
+    private static final List<String> PATHS = List.of(
+            "/actuator", "/actuator/", "/actuator/health", "/actuatorx", "/error", "/error/", "/errors",
+            "/v3/api-docs/orders", "/admin/eu/users", "/admin/eu/west/users", "/orders/7/refund",
+            "/orders/7/cancel", "/a/internal/b", "/internal", "/payments/1", "/", "/hello"
+    );
+
+    @Test
+    void matchesExactlyLikeAntPathMatcher() {
+        AntPathMatcher antPathMatcher = new AntPathMatcher();
+        SwaggerMcpPathMatcher matcher = SwaggerMcpPathMatcher.compile(PATTERNS);
+
+        for (String path : PATHS) {
+            boolean expected = PATTERNS.stream().anyMatch(pattern -> antPathMatcher.match(pattern, path));
+            assertThat(matcher.matches(path)).as(path).isEqualTo(expected);
+        }
+        assertThat(SwaggerMcpPathMatcher.compile(List.of("/**")).matches("/anything/at/all")).isTrue();
+        assertThat(SwaggerMcpPathMatcher.compile(List.of()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void securityPolicyResolvesFlagsAtRegistrationAndFollowsRebinding() {
+        SwaggerMcpProperties properties = new SwaggerMcpProperties();
+        properties.getSecurity().setBlockedPathPatterns(List.of("/admin/**"));
+        SwaggerMcpSecurityPolicy policy = new SwaggerMcpSecurityPolicy(properties);
+        OpenApiOperationDescriptor admin = operation("api_admin", "/admin/users");
+        OpenApiOperationDescriptor hello = operation("api_hello", "/hello");
+
+        policy.resolve(List.of(admin, hello));
+
+        assertThat(policy.isBlocked(admin)).isTrue();
+        assertThat(policy.isBlocked(hello)).isFalse();
+        assertThat(policy.shouldExpose(hello)).isTrue();
+
+        properties.getSecurity().setBlockedPathPatterns(List.of("/hello"));
+        assertThat(policy.isBlocked(admin)).isFalse();
+        assertThat(policy.isBlocked(hello)).isTrue();
+        assertThat(policy.validateExecution(hello, null)).contains("Blocked operation: /hello");
+
+        // The properties keep an unmodifiable copy, so replacing the list is the only change there is to detect.
+        List<String> source = new ArrayList<>(List.of("/admin/**"));
+        properties.getSecurity().setBlockedPathPatterns(source);
+        source.set(0, "/hello");
+        assertThat(policy.isBlocked(admin)).isTrue();
+        assertThat(policy.isBlocked(hello)).isFalse();
+        assertThatThrownBy(() -> properties.getSecurity().getBlockedPathPatterns().add("/hello"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private static OpenApiOperationDescriptor operation(String toolName, String path) {
+        return new OpenApiOperationDescriptor(
+                toolName, toolName, HttpMethod.GET, path, null, List.of(), List.of(), false, null, false);
+    }
+}
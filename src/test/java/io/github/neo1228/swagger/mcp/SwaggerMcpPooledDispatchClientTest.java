@@ -0,0 +1,175 @@
+package io.github.neo1228.swagger.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SwaggerMcpPooledDispatchClientTest {
+
+    private static final int LARGE_BODY_BYTES = 8 * 1024 * 1024;
+
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+    private HttpServer server;
+    private SwaggerMcpPooledDispatchClient client;
+    private SwaggerMcpProperties properties;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/large", exchange -> {
+            byte[] chunk = new byte[64 * 1024];
+            Arrays.fill(chunk, (byte) 'a');
+            exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=UTF-8");
+            exchange.sendResponseHeaders(200, LARGE_BODY_BYTES);
+            try (OutputStream body = exchange.getResponseBody()) {
+                for (int written = 0; written < LARGE_BODY_BYTES; written += chunk.length) {
+                    body.write(chunk);
+                }
+            }
+            catch (Exception ignored) {
+                // The client is expected to hang up early.
+            }
+        });
+        server.createContext("/small", exchange -> {
+            byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        properties = new SwaggerMcpProperties();
+        properties.getResponse().setMaxDrainSize(DataSize.ofKilobytes(4));
+        client = new SwaggerMcpPooledDispatchClient(properties, new RestTemplateBuilder(), new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.destroy();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void stopsReadingAtByteCeiling() {
+        ResponseEntity<SwaggerMcpResponseBody> response = client.exchange(
+                HttpMethod.GET, uri("/large"), new HttpHeaders(), null, 1024);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody().truncated()).isTrue();
+        assertThat(response.getBody().size()).isEqualTo(1024);
+
+        ResponseEntity<SwaggerMcpResponseBody> next = client.exchange(
+                HttpMethod.GET, uri("/small"), new HttpHeaders(), null, 1024);
+        assertThat(next.getBody().truncated()).isFalse();
+        assertThat(next.getBody().text()).isEqualTo("{\"ok\":true}");
+    }
+
+    @Test
+    void stopsReadingAtByteCeilingAsynchronously() throws Exception {
+        ResponseEntity<SwaggerMcpResponseBody> response = client.exchangeAsync(
+                HttpMethod.GET, uri("/large"), new HttpHeaders(), null, 2048, Runnable::run).get(10, SECONDS);
+
+        assertThat(response.getBody().truncated()).isTrue();
+        assertThat(response.getBody().size()).isEqualTo(2048);
+    }
+
+    @Test
+    void asynchronousExchangesShareThePoolLimits() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        server.createContext("/slow", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+                byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        properties.getExecution().getPool().setMaxPerRoute(1);
+        SwaggerMcpPooledDispatchClient limited =
+                new SwaggerMcpPooledDispatchClient(properties, new RestTemplateBuilder(), new ObjectMapper());
+        try {
+            List<CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>>> responses = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                responses.add(limited.exchangeAsync(
+                        HttpMethod.GET, uri("/slow"), new HttpHeaders(), null, 1024, Runnable::run));
+            }
+            for (CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> response : responses) {
+                assertThat(response.get(10, SECONDS).getBody().text()).isEqualTo("{\"ok\":true}");
+            }
+            assertThat(limited.engine()).isEqualTo("apache-pooled");
+            assertThat(maxInFlight).hasValue(1);
+        }
+        finally {
+            limited.destroy();
+        }
+    }
+
+    @Test
+    void defaultAsynchronousExchangeRunsOnTheSuppliedExecutor() throws Exception {
+        SwaggerMcpDispatchClient blocking = (method, uri, headers, body, maxBodyBytes) ->
+                ResponseEntity.ok(SwaggerMcpResponseBody.of(Thread.currentThread().getName()));
+        ExecutorService executor = Executors.newSingleThreadExecutor(task -> new Thread(task, "blocking-dispatch"));
+        try {
+            ResponseEntity<SwaggerMcpResponseBody> response = blocking.exchangeAsync(
+                    HttpMethod.GET, uri("/small"), new HttpHeaders(), null, 1024, executor).get(5, SECONDS);
+
+            assertThat(response.getBody().text()).isEqualTo("blocking-dispatch");
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void optimizerReportsTruncatedBodies() {
+        ResponseEntity<SwaggerMcpResponseBody> response = client.exchange(
+                HttpMethod.GET, uri("/large"), new HttpHeaders(), null, 512);
+
+        SwaggerMcpResponseOptimizer optimizer = new SwaggerMcpResponseOptimizer(new ObjectMapper(), properties);
+        SwaggerMcpResponseOptimizer.OptimizationResult result = optimizer.optimize(response.getBody(), Map.of());
+
+        assertThat(result.structuredContent()).isNull();
+        assertThat(result.text()).startsWith("aaaa").contains("exceeded 512 bytes");
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+}
@@ -0,0 +1,298 @@
+package io.github.neo1228.swagger.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SwaggerMcpResponseCacheTest {
+
+    private static final URI REPORT = URI.create("http://upstream.test/reports/7");
+
+    private final SwaggerMcpProperties properties = new SwaggerMcpProperties();
+    private final AtomicLong clock = new AtomicLong();
+    private final SwaggerMcpResponseCache cache = new SwaggerMcpResponseCache(properties, clock::get);
+    private final OpenApiOperationDescriptor report = operation("api_report", HttpMethod.GET);
+
+    SwaggerMcpResponseCacheTest() {
+        properties.getResponse().getCache().setEnabled(true);
+        properties.getResponse().getCache().setDefaultTtl(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void servesFreshEntriesAndExpiresThemAfterTtl() {
+        String key = cache.key("api_report", HttpMethod.GET, REPORT, headers("Bearer alice"), null);
+
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.put(report, key, ok("{\"total\":3}", new HttpHeaders()))).isTrue();
+        assertThat(cache.get(key).getBody().text(100)).isEqualTo("{\"total\":3}");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.stats()).isEqualTo(new SwaggerMcpResponseCache.Stats(1, 2, 1, 0, 1, 0, 0));
+    }
+
+    @Test
+    void keySeparatesCallersByEveryOutboundHeaderExceptTracing() {
+        String alice = cache.key("api_report", HttpMethod.GET, REPORT, headers("Bearer alice"), null);
+        HttpHeaders aliceTraced = headers("Bearer alice");
+        aliceTraced.set("traceparent", "00-aaa-01");
+
+        assertThat(cache.key("api_report", HttpMethod.GET, REPORT, aliceTraced, null)).isEqualTo(alice);
+        assertThat(cache.key("api_report", HttpMethod.GET, REPORT, headers("Bearer bob"), null)).isNotEqualTo(alice);
+        assertThat(cache.key("api_report", HttpMethod.GET, REPORT, new HttpHeaders(), null)).isNotEqualTo(alice);
+        assertThat(cache.key("api_other", HttpMethod.GET, REPORT, headers("Bearer alice"), null)).isNotEqualTo(alice);
+        HttpHeaders otherTenant = headers("Bearer alice");
+        otherTenant.set("X-Tenant-Id", "acme");
+        assertThat(cache.key("api_report", HttpMethod.GET, REPORT, otherTenant, null)).isNotEqualTo(alice);
+    }
+
+    @Test
+    void callsDifferingOnlyByHeaderArgumentsAreCachedSeparately() {
+        properties.getExecution().setBaseUrl("http://upstream.test");
+        AtomicInteger dispatched = new AtomicInteger();
+        SwaggerMcpDispatchClient client = (method, uri, headers, body, maxBodyBytes) -> {
+            dispatched.incrementAndGet();
+            return ResponseEntity.ok(SwaggerMcpResponseBody.of(
+                    "{\"tenant\":\"" + headers.getFirst("X-Tenant-Id") + "\",\"user\":\""
+                            + headers.getFirst(HttpHeaders.AUTHORIZATION) + "\"}"));
+        };
+        OpenApiOperationDescriptor tenantReport = new OpenApiOperationDescriptor(
+                "api_report", "api_report", HttpMethod.GET, "/reports", null, List.of(),
+                List.of(new OpenApiParameterDescriptor("X-Tenant-Id", OpenApiParameterLocation.HEADER, false, null)),
+                false, null, false);
+        ObjectMapper objectMapper = new ObjectMapper();
+        SwaggerMcpServerAdapter adapter = new SwaggerMcpServerAdapter(
+                new NoOpToolServer(),
+                new OpenApiToMcpToolConverter(),
+                new SwaggerMcpToolSelector(),
+                new SwaggerMcpOperationCatalog(),
+                new SwaggerMcpResponseOptimizer(objectMapper, properties),
+                new SwaggerMcpSecurityPolicy(properties),
+                properties,
+                new MockEnvironment(),
+                client,
+                null,
+                objectMapper);
+        try {
+            adapter.registerOperations(List.of(tenantReport));
+
+            String acme = text(adapter.invokeTool("api_report", Map.of("X-Tenant-Id", "acme")));
+            String globex = text(adapter.invokeTool("api_report", Map.of("X-Tenant-Id", "globex")));
+            String bob = text(adapter.invokeTool("api_report", Map.of(
+                    "X-Tenant-Id", "acme", "_headers", Map.of("Authorization", "Bearer bob"))));
+            String acmeAgain = text(adapter.invokeTool("api_report", Map.of("X-Tenant-Id", "acme")));
+
+            assertThat(acme).contains("acme").doesNotContain("globex");
+            assertThat(globex).contains("globex");
+            assertThat(bob).contains("Bearer bob");
+            assertThat(acmeAgain).isEqualTo(acme);
+            assertThat(dispatched).hasValue(3);
+            assertThat(adapter.responseCache().stats().hits()).isEqualTo(1);
+        }
+        finally {
+            adapter.destroy();
+        }
+    }
+
+    @Test
+    void upstreamCacheControlShortensOrPreventsCaching() {
+        assertThat(SwaggerMcpResponseCache.upstreamFreshnessMillis(cacheControl("no-store"))).isZero();
+        assertThat(SwaggerMcpResponseCache.upstreamFreshnessMillis(cacheControl("private, no-cache"))).isZero();
+        assertThat(SwaggerMcpResponseCache.upstreamFreshnessMillis(cacheControl("max-age=60, s-maxage=10")))
+                .isEqualTo(10_000);
+        HttpHeaders aged = cacheControl("max-age=60");
+        aged.set(HttpHeaders.AGE, "15");
+        assertThat(SwaggerMcpResponseCache.upstreamFreshnessMillis(aged)).isEqualTo(45_000);
+        HttpHeaders expires = new HttpHeaders();
+        expires.setDate(1_700_000_000_000L);
+        expires.setExpires(1_700_000_020_000L);
+        assertThat(SwaggerMcpResponseCache.upstreamFreshnessMillis(expires)).isEqualTo(20_000);
+        assertThat(SwaggerMcpResponseCache.upstreamFreshnessMillis(new HttpHeaders())).isEqualTo(-1);
+
+        String key = cache.key("api_report", HttpMethod.GET, REPORT, headers("Bearer alice"), null);
+        assertThat(cache.put(report, key, ok("{}", cacheControl("no-store")))).isFalse();
+        HttpHeaders varyAll = new HttpHeaders();
+        varyAll.setVary(List.of("*"));
+        assertThat(cache.put(report, key, ok("{}", varyAll))).isFalse();
+        HttpHeaders varyOnRequestId = new HttpHeaders();
+        varyOnRequestId.setVary(List.of("X-Request-Id"));
+        assertThat(cache.put(report, key, ok("{}", varyOnRequestId))).isFalse();
+
+        assertThat(cache.put(report, key, ok("{}", cacheControl("max-age=5")))).isTrue();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    void onlySuccessfulCompleteResponsesAreStored() throws Exception {
+        String key = cache.key("api_report", HttpMethod.GET, REPORT, headers("Bearer alice"), null);
+
+        assertThat(cache.put(report, key, ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(SwaggerMcpResponseBody.of("{}")))).isFalse();
+        assertThat(cache.put(report, key, ResponseEntity.ok(SwaggerMcpResponseBody.read(
+                new ByteArrayInputStream(new byte[16]), StandardCharsets.UTF_8, 8))))
+                .isFalse();
+        assertThat(cache.stats().stores()).isZero();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntriesBeyondEntryAndByteLimits() {
+        properties.getResponse().getCache().setMaxEntries(2);
+        String first = cache.key("api_report", HttpMethod.GET, URI.create("http://upstream.test/reports/1"), new HttpHeaders(), null);
+        String second = cache.key("api_report", HttpMethod.GET, URI.create("http://upstream.test/reports/2"), new HttpHeaders(), null);
+        String third = cache.key("api_report", HttpMethod.GET, URI.create("http://upstream.test/reports/3"), new HttpHeaders(), null);
+        cache.put(report, first, ok("1", new HttpHeaders()));
+        cache.put(report, second, ok("2", new HttpHeaders()));
+        cache.get(first);
+
+        cache.put(report, third, ok("3", new HttpHeaders()));
+
+        assertThat(cache.get(second)).isNull();
+        assertThat(cache.get(first)).isNotNull();
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+
+        properties.getResponse().getCache().setMaxSize(DataSize.ofBytes(1024));
+        assertThat(cache.put(report, second, ok("x".repeat(2048), new HttpHeaders()))).isFalse();
+        cache.put(report, second, ok("x".repeat(800), new HttpHeaders()));
+        assertThat(cache.stats().entries()).isEqualTo(1);
+        assertThat(cache.stats().bytes()).isLessThanOrEqualTo(1024);
+    }
+
+    @Test
+    void concurrentReadersAndWritersKeepTheLimitsAndAccounting() throws Exception {
+        properties.getResponse().getCache().setMaxEntries(16);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            keys.add(cache.key("api_report", HttpMethod.GET, URI.create("http://upstream.test/reports/" + i), new HttpHeaders(), null));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t;
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        String key = keys.get((i * 7 + offset) % keys.size());
+                        if (cache.get(key) == null) {
+                            cache.put(report, key, ok("v", new HttpHeaders()));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        SwaggerMcpResponseCache.Stats stats = cache.stats();
+        assertThat(stats.hits() + stats.misses()).isEqualTo(40_000);
+        assertThat(stats.entries()).isLessThanOrEqualTo(16);
+        assertThat(stats.stores() - stats.evictions()).isGreaterThanOrEqualTo(stats.entries());
+        SwaggerMcpResponseCache single = new SwaggerMcpResponseCache(properties, clock::get);
+        single.put(report, keys.get(0), ok("v", new HttpHeaders()));
+        assertThat(stats.bytes()).isEqualTo(stats.entries() * single.stats().bytes());
+    }
+
+    @Test
+    void appliesOnlyToReadOnlyToolsThatAreNotOptedOut() {
+        SwaggerMcpProperties.ToolCache reportCache = new SwaggerMcpProperties.ToolCache();
+        reportCache.setTtl(Duration.ofSeconds(2));
+        properties.getResponse().getCache().getTools().put("api_report", reportCache);
+        SwaggerMcpProperties.ToolCache auditCache = new SwaggerMcpProperties.ToolCache();
+        auditCache.setEnabled(false);
+        properties.getResponse().getCache().getTools().put("api_audit", auditCache);
+
+        assertThat(cache.isCached(report)).isTrue();
+        assertThat(cache.isCached(operation("api_audit", HttpMethod.GET))).isFalse();
+        assertThat(cache.isCached(operation("api_create", HttpMethod.POST))).isFalse();
+
+        String key = cache.key("api_report", HttpMethod.GET, REPORT, new HttpHeaders(), null);
+        cache.put(report, key, ok("{}", cacheControl("max-age=60")));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertThat(cache.get(key)).isNull();
+
+        properties.getResponse().getCache().setEnabled(false);
+        assertThat(cache.isCached(report)).isFalse();
+    }
+
+    private static String text(McpSchema.CallToolResult result) {
+        assertThat(result.isError()).isFalse();
+        return ((McpSchema.TextContent) result.content().get(0)).text();
+    }
+
+    private static ResponseEntity<SwaggerMcpResponseBody> ok(String body, HttpHeaders headers) {
+        return ResponseEntity.ok().headers(headers).body(SwaggerMcpResponseBody.of(body));
+    }
+
+    private static HttpHeaders cacheControl(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(value);
+        return headers;
+    }
+
+    private static HttpHeaders headers(String authorization) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+        return headers;
+    }
+
+    private static OpenApiOperationDescriptor operation(String toolName, HttpMethod method) {
+        return new OpenApiOperationDescriptor(
+                toolName, toolName, method, "/reports/{id}", null, List.of(), List.of(), false, null, false);
+    }
+
+    private static final class NoOpToolServer implements SwaggerMcpToolServer {
+
+        @Override
+        public List<McpSchema.Tool> listTools() {
+            return List.of();
+        }
+
+        @Override
+        public void addTool(
+                McpSchema.Tool tool,
+                Function<Map<String, Object>, McpSchema.CallToolResult> handler,
+                Function<Map<String, Object>, CompletableFuture<McpSchema.CallToolResult>> asyncHandler) {
+        }
+
+        @Override
+        public void removeTool(String toolName) {
+        }
+
+        @Override
+        public void notifyToolsListChanged() {
+        }
+
+        @Override
+        public boolean isAsync() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package io.github.neo1228.swagger.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SwaggerMcpRetriesTest {
+
+    private final SwaggerMcpProperties properties = new SwaggerMcpProperties();
+    private final SwaggerMcpRetries retries = new SwaggerMcpRetries(properties);
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    SwaggerMcpRetriesTest() {
+        SwaggerMcpProperties.Retry settings = properties.getResilience().getRetry();
+        settings.setEnabled(true);
+        settings.setInitialBackoff(Duration.ofMillis(1));
+        settings.setMaxBackoff(Duration.ofMillis(5));
+    }
+
+    @Test
+    void retriesIdempotentOperationUntilItSucceeds() {
+        ResponseEntity<SwaggerMcpResponseBody> response = retries.execute(operation(HttpMethod.GET), new HttpHeaders(), () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw SwaggerMcpToolException.dispatchFailed("Connection reset", null);
+            }
+            return ResponseEntity.ok(SwaggerMcpResponseBody.of("ok"));
+        });
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(attempts).hasValue(3);
+        assertThat(retries.stats()).isEqualTo(new SwaggerMcpRetries.Stats(1, 2, 1, 0, 0));
+    }
+
+    @Test
+    void retriesNonIdempotentOperationOnlyWithIdempotencyKey() {
+        OpenApiOperationDescriptor create = operation(HttpMethod.POST);
+
+        assertThat(retries.execute(create, new HttpHeaders(), this::unavailable).getStatusCode().value()).isEqualTo(503);
+        assertThat(attempts).hasValue(1);
+
+        attempts.set(0);
+        HttpHeaders keyed = new HttpHeaders();
+        keyed.set("Idempotency-Key", "order-42");
+        assertThat(retries.execute(create, keyed, this::unavailable).getStatusCode().value()).isEqualTo(503);
+        assertThat(attempts).hasValue(3);
+        assertThat(retries.stats().exhausted()).isEqualTo(1);
+    }
+
+    @Test
+    void blockedIdempotencyKeyArgumentDoesNotMakeAPostRetryable() {
+        properties.getExecution().setBaseUrl("http://upstream.test");
+        properties.getExecution().getBlockedArgumentHeaders().add("idempotency-key");
+        List<String> sentKeys = new CopyOnWriteArrayList<>();
+        SwaggerMcpDispatchClient client = (method, uri, headers, body, maxBodyBytes) -> {
+            sentKeys.add(String.valueOf(headers.getFirst("Idempotency-Key")));
+            return unavailable();
+        };
+        ObjectMapper objectMapper = new ObjectMapper();
+        SwaggerMcpServerAdapter adapter = new SwaggerMcpServerAdapter(
+                new NoOpToolServer(),
+                new OpenApiToMcpToolConverter(),
+                new SwaggerMcpToolSelector(),
+                new SwaggerMcpOperationCatalog(),
+                new SwaggerMcpResponseOptimizer(objectMapper, properties),
+                new SwaggerMcpSecurityPolicy(properties),
+                properties,
+                new MockEnvironment(),
+                client,
+                null,
+                objectMapper);
+        try {
+            adapter.registerOperations(List.of(operation(HttpMethod.POST)));
+
+            adapter.invokeTool("api_items", Map.of("_headers", Map.of("Idempotency-Key", "order-42")));
+
+            assertThat(sentKeys).containsExactly("null");
+            assertThat(adapter.retries().stats().retriedCalls()).isZero();
+        }
+        finally {
+            adapter.destroy();
+        }
+    }
+
+    @Test
+    void doesNotRetryFastFailuresOrStartAttemptsPastTheDeadline() {
+        assertThatThrownBy(() -> retries.execute(operation(HttpMethod.GET), new HttpHeaders(), () -> {
+            attempts.incrementAndGet();
+            throw SwaggerMcpToolException.circuitOpen("api_items", 5);
+        })).isInstanceOfSatisfying(SwaggerMcpToolException.class,
+                ex -> assertThat(ex.code()).isEqualTo(SwaggerMcpErrorCode.CIRCUIT_OPEN));
+        assertThat(attempts).hasValue(1);
+
+        attempts.set(0);
+        properties.getResilience().getRetry().setMaxAttempts(10);
+        properties.getResilience().getRetry().setInitialBackoff(Duration.ofMillis(40));
+        properties.getResilience().getRetry().setMaxBackoff(Duration.ofMillis(40));
+        properties.getResilience().getRetry().setJitter(0);
+        properties.getResilience().getRetry().setDeadline(Duration.ofMillis(100));
+        assertThat(retries.execute(operation(HttpMethod.GET), new HttpHeaders(), this::unavailable).getStatusCode().value())
+                .isEqualTo(503);
+        assertThat(attempts.get()).isBetween(2, 3);
+        assertThat(retries.stats().deadlineExceeded()).isEqualTo(1);
+    }
+
+    @Test
+    void asyncRetriesCompleteWithTheRecoveredResponse() throws Exception {
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> response =
+                retries.executeAsync(operation(HttpMethod.PUT), new HttpHeaders(), () -> attempts.incrementAndGet() == 1
+                        ? CompletableFuture.failedFuture(SwaggerMcpToolException.dispatchFailed("Read timed out", null))
+                        : CompletableFuture.completedFuture(ResponseEntity.ok(SwaggerMcpResponseBody.of("ok"))));
+
+        assertThat(response.get(5, TimeUnit.SECONDS).getStatusCode().value()).isEqualTo(200);
+        assertThat(attempts).hasValue(2);
+        assertThat(retries.stats().recovered()).isEqualTo(1);
+    }
+
+    @Test
+    void backoffGrowsExponentiallyWithinJitterAndCap() {
+        SwaggerMcpProperties.Retry settings = new SwaggerMcpProperties.Retry();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(SwaggerMcpRetries.backoffNanos(settings, 1)).isBetween(50_000_000L, 100_000_000L);
+            assertThat(SwaggerMcpRetries.backoffNanos(settings, 3)).isBetween(200_000_000L, 400_000_000L);
+            assertThat(SwaggerMcpRetries.backoffNanos(settings, 10)).isBetween(1_000_000_000L, 2_000_000_000L);
+        }
+    }
+
+    private ResponseEntity<SwaggerMcpResponseBody> unavailable() {
+        attempts.incrementAndGet();
+        return ResponseEntity.status(503).body(SwaggerMcpResponseBody.of("busy"));
+    }
+
+    private static OpenApiOperationDescriptor operation(HttpMethod method) {
+        return new OpenApiOperationDescriptor(
+                "api_items", "items", method, "/items", null, List.of(), List.of(), false, null, false);
+    }
+
+    private static final class NoOpToolServer implements SwaggerMcpToolServer {
+
+        @Override
+        public List<McpSchema.Tool> listTools() {
+            return List.of();
+        }
+
+        @Override
+        public void addTool(
+                McpSchema.Tool tool,
+                Function<Map<String, Object>, McpSchema.CallToolResult> handler,
+                Function<Map<String, Object>, CompletableFuture<McpSchema.CallToolResult>> asyncHandler) {
+        }
+
+        @Override
+        public void removeTool(String toolName) {
+        }
+
+        @Override
+        public void notifyToolsListChanged() {
+        }
+
+        @Override
+        public boolean isAsync() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SwaggerMcpSecurityPolicyTest {
+
+    private static final OpenApiOperationDescriptor ADMIN_OPERATION = new OpenApiOperationDescriptor(
+            "api_admin", "admin", HttpMethod.GET, "/admin/users", null, List.of(), List.of(), false, null, false);
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void detectsSpringSecurityAndChecksRolesFromSecurityContext() {
+        SwaggerMcpAuthorityResolver resolver = SwaggerMcpAuthorityResolver.detect(getClass().getClassLoader());
+        SwaggerMcpSecurityPolicy policy = new SwaggerMcpSecurityPolicy(roleProtectedProperties(), resolver);
+
+        assertThat(resolver).isInstanceOf(SwaggerMcpSpringSecurityAuthorityResolver.class);
+        assertThat(policy.validateExecution(ADMIN_OPERATION, null)).hasValueSatisfying(message ->
+                assertThat(message).startsWith("Forbidden"));
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "user", "n/a", List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        assertThat(resolver.currentAuthorities()).containsExactly("ROLE_USER", "ROLE_ADMIN");
+        assertThat(policy.validateExecution(ADMIN_OPERATION, null)).isEmpty();
+    }
+
+    @Test
+    void usesCustomAuthorityResolver() {
+        SwaggerMcpSecurityPolicy denied = new SwaggerMcpSecurityPolicy(
+                roleProtectedProperties(), SwaggerMcpAuthorityResolver.none());
+        SwaggerMcpSecurityPolicy allowed = new SwaggerMcpSecurityPolicy(
+                roleProtectedProperties(), () -> Set.of("ROLE_ADMIN"));
+
+        assertThat(denied.validateExecution(ADMIN_OPERATION, null)).isPresent();
+        assertThat(allowed.validateExecution(ADMIN_OPERATION, null)).isEmpty();
+    }
+
+    private static SwaggerMcpProperties roleProtectedProperties() {
+        SwaggerMcpProperties properties = new SwaggerMcpProperties();
+        properties.getSecurity().setRequiredAnyRole(Set.of("ROLE_ADMIN"));
+        properties.getSecurity().setRoleProtectedPathPatterns(List.of("/admin/**"));
+        return properties;
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SwaggerMcpSingleFlightTest {
+
+    private static final URI DASHBOARD = URI.create("http://upstream.test/dashboards/7?range=1h");
+
+    private final SwaggerMcpProperties properties = new SwaggerMcpProperties();
+    private final SwaggerMcpSingleFlight singleFlight = new SwaggerMcpSingleFlight(properties);
+
+    @Test
+    void keyIgnoresTracingHeadersButSeparatesCallers() {
+        HttpHeaders alice = headers("Bearer alice");
+        alice.set("traceparent", "00-aaa-01");
+        HttpHeaders aliceAgain = headers("Bearer alice");
+        aliceAgain.set("Traceparent", "00-bbb-01");
+        aliceAgain.set("X-Request-Id", "42");
+
+        String key = singleFlight.key("api_dashboard", HttpMethod.GET, DASHBOARD, alice, null);
+
+        assertThat(singleFlight.key("api_dashboard", HttpMethod.GET, DASHBOARD, aliceAgain, null)).isEqualTo(key);
+        assertThat(singleFlight.key("api_dashboard", HttpMethod.GET, DASHBOARD, headers("Bearer bob"), null))
+                .isNotEqualTo(key);
+        assertThat(singleFlight.key("api_dashboard", HttpMethod.GET,
+                URI.create("http://upstream.test/dashboards/7?range=24h"), alice, null)).isNotEqualTo(key);
+        assertThat(singleFlight.key("api_other", HttpMethod.GET, DASHBOARD, alice, null)).isNotEqualTo(key);
+    }
+
+    @Test
+    void concurrentIdenticalBlockingCallsShareOneDispatch() throws Exception {
+        AtomicInteger dispatches = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ResponseEntity<SwaggerMcpResponseBody> upstream = ResponseEntity.ok(SwaggerMcpResponseBody.of("{\"views\":3}"));
+
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> leader =
+                CompletableFuture.supplyAsync(() -> singleFlight.execute("k", () -> {
+                    dispatches.incrementAndGet();
+                    await(release);
+                    return upstream;
+                }));
+        while (singleFlight.stats().inFlight() == 0) {
+            Thread.onSpinWait();
+        }
+        List<CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>>> followers = List.of(
+                CompletableFuture.supplyAsync(() -> singleFlight.execute("k", () -> {
+                    dispatches.incrementAndGet();
+                    return upstream;
+                })),
+                CompletableFuture.supplyAsync(() -> singleFlight.execute("k", () -> {
+                    dispatches.incrementAndGet();
+                    return upstream;
+                })));
+        while (singleFlight.stats().coalesced() < 2) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        for (CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> caller : List.of(
+                leader, followers.get(0), followers.get(1))) {
+            assertThat(caller.get(5, TimeUnit.SECONDS)).isSameAs(upstream);
+        }
+        assertThat(dispatches).hasValue(1);
+        assertThat(singleFlight.stats()).isEqualTo(new SwaggerMcpSingleFlight.Stats(1, 2, 0));
+
+        singleFlight.execute("k", () -> {
+            dispatches.incrementAndGet();
+            return upstream;
+        });
+        assertThat(dispatches).hasValue(2);
+    }
+
+    @Test
+    void asyncFollowersShareTheLeadersFailureWithoutSharingCancellation() {
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> pending = new CompletableFuture<>();
+        AtomicInteger dispatches = new AtomicInteger();
+
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> leader = singleFlight.executeAsync("k", () -> {
+            dispatches.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> follower = singleFlight.executeAsync("k", () -> {
+            dispatches.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> impatient = singleFlight.executeAsync("k", () -> {
+            dispatches.incrementAndGet();
+            return pending;
+        });
+        impatient.cancel(true);
+        pending.completeExceptionally(SwaggerMcpToolException.dispatchFailed("Connection refused", null));
+
+        assertThat(dispatches).hasValue(1);
+        for (CompletableFuture<ResponseEntity<SwaggerMcpResponseBody>> caller : List.of(leader, follower)) {
+            assertThatThrownBy(() -> caller.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(SwaggerMcpToolException.class);
+        }
+        assertThat(singleFlight.stats().inFlight()).isZero();
+    }
+
+    private static HttpHeaders headers(String authorization) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+        headers.set(HttpHeaders.ACCEPT, "application/json");
+        return headers;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.neo1228.swagger.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SwaggerMcpStreamingSummarizerTest {
+
+    private final SwaggerMcpStreamingSummarizer summarizer = new SwaggerMcpStreamingSummarizer(new ObjectMapper());
+    private final SwaggerMcpStreamingSummarizer.Limits limits = new SwaggerMcpStreamingSummarizer.Limits(3, 2, 2, 5);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void appliesDepthArrayObjectAndStringLimitsWhileStreaming() {
+        String json = """
+                {"name":"abcdefghij","items":[1,2.5,{"deep":{"deeper":true}},4],"flag":false,"extra":null}
+                """;
+
+        Map<String, Object> summary = (Map<String, Object>) summarizer.summarize(SwaggerMcpResponseBody.of(json), limits);
+
+        assertThat(summary).containsOnlyKeys("name", "items", "_truncated");
+        assertThat(summary).containsEntry("name", "abcde...[truncated]");
+        assertThat(summary).containsEntry("_truncated", "remaining keys omitted");
+        assertThat((List<Object>) summary.get("items")).containsExactly(1, 2.5, "[truncated 2 items]");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replacesValuesBeyondMaxDepth() {
+        String json = "{\"a\":{\"b\":{\"c\":{\"d\":1}},\"n\":null}}";
+
+        Map<String, Object> summary = (Map<String, Object>) summarizer.summarize(SwaggerMcpResponseBody.of(json), limits);
+
+        Map<String, Object> a = (Map<String, Object>) summary.get("a");
+        assertThat((Map<String, Object>) a.get("b")).containsEntry("c", "[truncated-depth]");
+        assertThat(a).containsEntry("n", null);
+    }
+
+    @Test
+    void returnsNullForNonJsonBodies() {
+        assertThat(summarizer.summarize(SwaggerMcpResponseBody.of("plain text"), limits)).isNull();
+        assertThat(summarizer.summarize(SwaggerMcpResponseBody.of("{\"broken\":"), limits)).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void keepsPartialSummaryOfCutOffBody() throws Exception {
+        byte[] json = "{\"id\":7,\"rows\":[{\"v\":1},{\"v\":2},{\"v\":3}]}".getBytes(StandardCharsets.UTF_8);
+        SwaggerMcpResponseBody cutOff = SwaggerMcpResponseBody.read(new ByteArrayInputStream(json), StandardCharsets.UTF_8, 28);
+        assertThat(cutOff.truncated()).isTrue();
+
+        Map<String, Object> summary = (Map<String, Object>) summarizer.summarize(
+                cutOff,
+                new SwaggerMcpStreamingSummarizer.Limits(5, 5, 5, 50));
+
+        assertThat(summary).containsEntry("id", 7);
+        List<Object> rows = (List<Object>) summary.get("rows");
+        assertThat(rows.get(0)).isEqualTo(Map.of("v", 1));
+        assertThat((Map<String, Object>) rows.get(1)).containsEntry("_truncated", "upstream body cut off");
+    }
+}
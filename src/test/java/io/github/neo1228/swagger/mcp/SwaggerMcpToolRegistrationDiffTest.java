@@ -0,0 +1,156 @@
+package io.github.neo1228.swagger.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SwaggerMcpToolRegistrationDiffTest {
+
+    private final RecordingToolServer toolServer = new RecordingToolServer();
+    private final SwaggerMcpProperties properties = new SwaggerMcpProperties();
+    private final SwaggerMcpServerAdapter adapter = newAdapter();
+
+    @AfterEach
+    void tearDown() {
+        adapter.destroy();
+    }
+
+    @Test
+    void onlyTouchesChangedToolsAndNotifiesOncePerEffectiveChange() {
+        adapter.registerOperations(List.of(
+                operation("api_getorder", "Get order"),
+                operation("api_listorders", "List orders")));
+        int metaTools = 8;
+        assertThat(toolServer.tools).hasSize(metaTools + 2);
+        assertThat(toolServer.notifications).isEqualTo(1);
+
+        toolServer.events.clear();
+        adapter.registerOperations(List.of(
+                operation("api_getorder", "Get order"),
+                operation("api_listorders", "List orders")));
+        assertThat(toolServer.events).isEmpty();
+        assertThat(toolServer.notifications).isEqualTo(1);
+
+        adapter.registerOperations(List.of(
+                operation("api_getorder", "Get one order by id"),
+                operation("api_cancelorder", "Cancel order")));
+        assertThat(toolServer.events).containsExactlyInAnyOrder(
+                "remove:api_listorders",
+                "remove:api_getorder",
+                "add:api_getorder",
+                "add:api_cancelorder");
+        assertThat(toolServer.notifications).isEqualTo(2);
+        assertThat(toolServer.tools.get("api_getorder").description()).contains("Get one order by id");
+    }
+
+    @Test
+    void leavesForeignToolsAlone() {
+        toolServer.tools.put("api_getorder", McpSchema.Tool.builder().name("api_getorder").build());
+
+        adapter.registerOperations(List.of(operation("api_getorder", "Get order")));
+        adapter.registerOperations(List.of());
+
+        assertThat(toolServer.events).doesNotContain("add:api_getorder", "remove:api_getorder");
+        assertThat(toolServer.tools).containsKey("api_getorder");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void pendingRegistrationAnswersRetryableErrorsUntilCatalogIsPublished() {
+        adapter.beginPendingRegistration();
+        assertThat(adapter.isRegistrationPending()).isTrue();
+        assertThat(toolServer.tools).hasSize(8).containsKey("api_meta_discover_api_tools");
+
+        McpSchema.CallToolResult pending = toolServer.call("api_meta_discover_api_tools", Map.of("query", "order"));
+        assertThat(pending.isError()).isTrue();
+        Map<String, Object> error = (Map<String, Object>) ((Map<String, Object>) pending.structuredContent()).get("error");
+        assertThat(error)
+                .containsEntry("code", SwaggerMcpErrorCode.CATALOG_NOT_READY.name())
+                .containsEntry("retryable", true);
+        assertThat(adapter.invokeTool("api_getorder", Map.of()).isError()).isTrue();
+
+        toolServer.events.clear();
+        adapter.registerOperations(List.of(operation("api_getorder", "Get order")));
+
+        assertThat(adapter.isRegistrationPending()).isFalse();
+        assertThat(toolServer.events).containsExactly("add:api_getorder");
+        assertThat(toolServer.call("api_meta_discover_api_tools", Map.of("query", "order")).isError()).isFalse();
+    }
+
+    private SwaggerMcpServerAdapter newAdapter() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        return new SwaggerMcpServerAdapter(
+                toolServer,
+                new OpenApiToMcpToolConverter(),
+                new SwaggerMcpToolSelector(),
+                new SwaggerMcpOperationCatalog(),
+                new SwaggerMcpResponseOptimizer(objectMapper, properties),
+                new SwaggerMcpSecurityPolicy(properties),
+                properties,
+                new MockEnvironment(),
+                null,
+                null,
+                objectMapper);
+    }
+
+    private static OpenApiOperationDescriptor operation(String toolName, String description) {
+        return new OpenApiOperationDescriptor(
+                toolName, toolName, HttpMethod.GET, "/" + toolName, description, List.of("orders"), List.of(), false, null, false);
+    }
+
+    private static final class RecordingToolServer implements SwaggerMcpToolServer {
+
+        private final Map<String, McpSchema.Tool> tools = new LinkedHashMap<>();
+        private final Map<String, Function<Map<String, Object>, McpSchema.CallToolResult>> handlers = new LinkedHashMap<>();
+        private final List<String> events = new ArrayList<>();
+        private int notifications;
+
+        @Override
+        public List<McpSchema.Tool> listTools() {
+            return List.copyOf(tools.values());
+        }
+
+        @Override
+        public void addTool(
+                McpSchema.Tool tool,
+                Function<Map<String, Object>, McpSchema.CallToolResult> handler,
+                Function<Map<String, Object>, CompletableFuture<McpSchema.CallToolResult>> asyncHandler) {
+            tools.put(tool.name(), tool);
+            handlers.put(tool.name(), handler);
+            events.add("add:" + tool.name());
+        }
+
+        @Override
+        public void removeTool(String toolName) {
+            tools.remove(toolName);
+            handlers.remove(toolName);
+            events.add("remove:" + toolName);
+        }
+
+        @Override
+        public void notifyToolsListChanged() {
+            notifications++;
+        }
+
+        @Override
+        public boolean isAsync() {
+            return false;
+        }
+
+        McpSchema.CallToolResult call(String toolName, Map<String, Object> arguments) {
+            return handlers.get(toolName).apply(arguments);
+        }
+    }
+}
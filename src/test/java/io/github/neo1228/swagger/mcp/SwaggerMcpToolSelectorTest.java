@@ -0,0 +1,69 @@
+package io.github.neo1228.swagger.mcp;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SwaggerMcpToolSelectorTest {
+
+    private final SwaggerMcpToolSelector selector = new SwaggerMcpToolSelector();
+
+    @Test
+    void ranksByBm25AndKeepsOnlyTopK() {
+        selector.setCandidates(List.of(
+                operation("api_listorders", "listOrders", HttpMethod.GET, "/orders", "List orders", "orders"),
+                operation("api_cancelorder", "cancelOrder", HttpMethod.POST, "/orders/{id}/cancel", "Cancel an order", "orders"),
+                operation("api_getinvoice", "getInvoice", HttpMethod.GET, "/invoices/{id}", "Get invoice", "billing")));
+
+        List<SwaggerMcpToolSelector.ScoredTool> selected = selector.select("cancel order", 1);
+
+        assertThat(selected).hasSize(1);
+        assertThat(selected.get(0).operation().toolName()).isEqualTo("api_cancelorder");
+        assertThat(selected.get(0).score()).isBetween(0d, 1.3d);
+    }
+
+    @Test
+    void returnsNothingForUnknownTokensAndReplacesIndexAtomically() {
+        selector.setCandidates(List.of(
+                operation("api_getinvoice", "getInvoice", HttpMethod.GET, "/invoices/{id}", "Get invoice", "billing")));
+        assertThat(selector.select("weather forecast", 5)).isEmpty();
+
+        selector.setCandidates(List.of(
+                operation("api_getweather", "getWeather", HttpMethod.GET, "/weather", "Weather forecast", "weather")));
+        assertThat(selector.select("weather forecast", 5))
+                .extracting(scored -> scored.operation().toolName())
+                .containsExactly("api_getweather");
+        assertThat(selector.select("invoice", 5)).isEmpty();
+    }
+
+    @Test
+    void partialAndSingularQueriesStillMatchThroughThePhrase() {
+        selector.setCandidates(List.of(
+                operation("api_listorders", "listOrders", HttpMethod.GET, "/orders", "List orders", "orders"),
+                operation("api_getinvoice", "getInvoice", HttpMethod.GET, "/invoices/{id}", "Get invoice", "billing")));
+
+        List<SwaggerMcpToolSelector.ScoredTool> singular = selector.select("order", 5);
+        assertThat(singular).extracting(scored -> scored.operation().toolName()).containsExactly("api_listorders");
+        assertThat(singular.get(0).score()).isGreaterThan(new SwaggerMcpProperties().getSmartContext().getMinScore());
+
+        assertThat(selector.select("/orders", 5))
+                .extracting(scored -> scored.operation().toolName())
+                .containsExactly("api_listorders");
+        assertThat(selector.select("invo", 5))
+                .extracting(scored -> scored.operation().toolName())
+                .containsExactly("api_getinvoice");
+    }
+
+    private static OpenApiOperationDescriptor operation(
+            String toolName,
+            String operationId,
+            HttpMethod method,
+            String path,
+            String description,
+            String tag) {
+        return new OpenApiOperationDescriptor(toolName, operationId, method, path, description, List.of(tag), List.of(), false, null, false);
+    }
+}